@@ -0,0 +1,111 @@
+package com.example.bank_system.archive;
+
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.dto.TransactionExportRow;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A transaction as stored in a segment file: the row itself plus both account numbers and the
+ * source account's currency, so reading it back needs no other table.
+ */
+public record ArchivedTransaction(long id, String transactionId, Long fromAccountId, Long toAccountId,
+                                  String fromAccountNumber, String toAccountNumber, String currency,
+                                  BigDecimal amount, String type, String status, String description,
+                                  String referenceNumber, String failureReason, LocalDateTime createdAt,
+                                  LocalDateTime processedAt) {
+
+    /** The transaction as a line of {@code accountId}'s statement. */
+    public AccountStatementRow toStatementRow(long accountId) {
+        boolean debit = fromAccountId != null && fromAccountId == accountId;
+        return new AccountStatementRow(id, transactionId, debit ? "DEBIT" : "CREDIT",
+            debit ? toAccountNumber : fromAccountNumber, amount, type, status, description, createdAt);
+    }
+
+    public TransactionExportRow toExportRow() {
+        return new TransactionExportRow(transactionId, createdAt, processedAt, fromAccountNumber, toAccountNumber,
+            amount, currency, type, status, description, referenceNumber, failureReason);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        writeString(out, transactionId);
+        writeLong(out, fromAccountId);
+        writeLong(out, toAccountId);
+        writeString(out, fromAccountNumber);
+        writeString(out, toAccountNumber);
+        writeString(out, currency);
+        writeString(out, amount != null ? amount.toPlainString() : null);
+        writeString(out, type);
+        writeString(out, status);
+        writeString(out, description);
+        writeString(out, referenceNumber);
+        writeString(out, failureReason);
+        writeTime(out, createdAt);
+        writeTime(out, processedAt);
+    }
+
+    static ArchivedTransaction readFrom(DataInput in) throws IOException {
+        long id = in.readLong();
+        String transactionId = readString(in);
+        Long fromAccountId = readLong(in);
+        Long toAccountId = readLong(in);
+        String fromAccountNumber = readString(in);
+        String toAccountNumber = readString(in);
+        String currency = readString(in);
+        String amount = readString(in);
+        return new ArchivedTransaction(id, transactionId, fromAccountId, toAccountId, fromAccountNumber,
+            toAccountNumber, currency, amount != null ? new BigDecimal(amount) : null, readString(in),
+            readString(in), readString(in), readString(in), readString(in), readTime(in), readTime(in));
+    }
+
+    // Strings are length-prefixed UTF-8 (-1 for null): DataOutput.writeUTF stops at 64 KB
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bank_system.archive;
+
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.entity.TransactionArchiveSegment;
+import com.example.bank_system.repository.TransactionArchiveSegmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read side of the transaction archive: which months have left the {@code transactions} table, and
+ * an account's transactions in one of them, read from the month's segment file in
+ * {@code bank.transactions.archive.dir}.
+ */
+@Component
+public class TransactionArchive {
+
+    private final TransactionArchiveSegmentRepository segmentRepository;
+    private final Path directory;
+
+    public TransactionArchive(TransactionArchiveSegmentRepository segmentRepository,
+                              @Value("${bank.transactions.archive.dir:data/archive}") String directory) {
+        this.segmentRepository = segmentRepository;
+        this.directory = Path.of(directory);
+    }
+
+    /** Archived months with transactions that overlap {@code from}..{@code to}, oldest first. */
+    public List<TransactionArchiveSegment> segments(LocalDateTime from, LocalDateTime to) {
+        return segmentRepository.findByStatusOrderByMonthStartAsc(TransactionArchiveSegment.Status.ARCHIVED).stream()
+            .filter(segment -> segment.getFileName() != null)
+            .filter(segment -> !segment.getMonthStart().atStartOfDay().isAfter(to)
+                && segment.getMonthStart().plusMonths(1).atStartOfDay().isAfter(from))
+            .toList();
+    }
+
+    /** The account's transactions in the segment, oldest first. */
+    public List<ArchivedTransaction> read(TransactionArchiveSegment segment, long accountId) {
+        try {
+            return TransactionSegmentFile.read(path(segment.getFileName()), accountId);
+        } catch (IOException e) {
+            throw new RuntimeException("Transaction archive for " + YearMonth.from(segment.getMonthStart())
+                + " is not readable: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Continues a statement into the archive: up to {@code limit} of the account's archived
+     * transactions created from {@code since} and before the (created_at, id) position given,
+     * newest first.
+     */
+    public List<AccountStatementRow> findStatementRows(long accountId, LocalDateTime since,
+                                                       LocalDateTime beforeCreatedAt, long beforeId, int limit) {
+        List<AccountStatementRow> rows = new ArrayList<>();
+        List<TransactionArchiveSegment> segments = segments(since, beforeCreatedAt);
+        for (int i = segments.size() - 1; i >= 0 && rows.size() < limit; i--) {
+            List<ArchivedTransaction> month = read(segments.get(i), accountId);
+            for (int j = month.size() - 1; j >= 0 && rows.size() < limit; j--) {
+                ArchivedTransaction transaction = month.get(j);
+                if (transaction.createdAt().isBefore(since)) {
+                    break;
+                }
+                int position = transaction.createdAt().compareTo(beforeCreatedAt);
+                if (position < 0 || position == 0 && transaction.id() < beforeId) {
+                    rows.add(transaction.toStatementRow(accountId));
+                }
+            }
+        }
+        return rows;
+    }
+
+    Path path(String fileName) {
+        return directory.resolve(fileName);
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    static String fileName(YearMonth month) {
+        return "transactions-" + month + ".seg";
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.bank_system.archive;
+
+import com.example.bank_system.entity.TransactionArchiveSegment;
+import com.example.bank_system.repository.TransactionArchiveSegmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Moves months older than {@code bank.transactions.archive.retain-months} out of the
+ * {@code transactions} table into segment files, oldest first.
+ *
+ * <p>A month goes through three steps, each safe to repeat after a crash: the segment file is
+ * written next to the table and recorded as WRITTEN; its checksum is verified; then the month's
+ * rows are removed (by dropping its partition when the table is partitioned, see
+ * {@link TransactionPartitionManager}, otherwise with a range DELETE) and it is marked ARCHIVED.
+ * Only from then on do reads of the month go to the file. The month's row in
+ * {@code transaction_archive_segments} is locked with {@code SKIP LOCKED}, so when several
+ * instances run the job one works on a month; a run stops at the first month it cannot finish, so
+ * the archived months are always the oldest ones.
+ *
+ * <p>Segment files are local to the node; with several instances, {@code bank.transactions.archive.dir}
+ * must be shared storage.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.transactions.archive.enabled", havingValue = "true")
+@Slf4j
+public class TransactionArchiveJob {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String COUNT_SQL =
+        "SELECT COUNT(*) FROM transactions WHERE created_at >= ? AND created_at < ?";
+
+    private static final String FIRST_MONTH_SQL = "SELECT MIN(created_at) FROM transactions";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM transactions WHERE created_at >= ? AND created_at < ?";
+
+    /** Every transaction of the month once per account it touches, in segment order. */
+    private static final String MONTH_SQL =
+        "SELECT s.account_id, s.id, s.transaction_id, s.from_account_id, s.to_account_id, " +
+        "f.account_number AS from_account_number, a.account_number AS to_account_number, f.currency, " +
+        "s.amount, s.type, s.status, s.description, s.reference_number, s.failure_reason, s.created_at, s.processed_at " +
+        "FROM (" +
+        "  SELECT t.from_account_id AS account_id, t.id, t.transaction_id, t.from_account_id, t.to_account_id, " +
+        "         t.amount, t.type, t.status, t.description, t.reference_number, t.failure_reason, t.created_at, t.processed_at " +
+        "  FROM transactions t WHERE t.from_account_id IS NOT NULL AND t.created_at >= ? AND t.created_at < ? " +
+        "  UNION ALL " +
+        "  SELECT t.to_account_id, t.id, t.transaction_id, t.from_account_id, t.to_account_id, " +
+        "         t.amount, t.type, t.status, t.description, t.reference_number, t.failure_reason, t.created_at, t.processed_at " +
+        "  FROM transactions t WHERE t.to_account_id IS NOT NULL AND t.created_at >= ? AND t.created_at < ?" +
+        ") s " +
+        "LEFT JOIN accounts f ON f.id = s.from_account_id " +
+        "LEFT JOIN accounts a ON a.id = s.to_account_id " +
+        "ORDER BY s.account_id, s.created_at, s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchiveSegmentRepository segmentRepository;
+    private final TransactionArchive archive;
+    private final ObjectProvider<TransactionPartitionManager> partitionManager;
+
+    @Value("${bank.transactions.archive.retain-months:12}")
+    private int retainMonths = 12;
+
+    public TransactionArchiveJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 TransactionArchiveSegmentRepository segmentRepository, TransactionArchive archive,
+                                 ObjectProvider<TransactionPartitionManager> partitionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.segmentRepository = segmentRepository;
+        this.archive = archive;
+        this.partitionManager = partitionManager;
+    }
+
+    @Scheduled(fixedDelayString = "${bank.transactions.archive.interval-ms:3600000}",
+               initialDelayString = "${bank.transactions.archive.interval-ms:3600000}")
+    public void archive() {
+        try {
+            archiveMonthsBefore(YearMonth.now().minusMonths(retainMonths));
+        } catch (RuntimeException e) {
+            log.error("Transaction archive run failed", e);
+        }
+    }
+
+    /**
+     * Archives every month before {@code firstRetained} that is still in the table, oldest first.
+     *
+     * @return the number of months archived
+     */
+    public int archiveMonthsBefore(YearMonth firstRetained) {
+        YearMonth month = firstUnarchivedMonth();
+        int archived = 0;
+        while (month != null && month.isBefore(firstRetained) && archiveMonth(month)) {
+            archived++;
+            month = month.plusMonths(1);
+        }
+        return archived;
+    }
+
+    /**
+     * Takes the month through whatever steps it still needs.
+     *
+     * @return false if another instance is working on it
+     */
+    boolean archiveMonth(YearMonth month) {
+        TransactionArchiveSegment segment;
+        try {
+            segment = transactionTemplate.execute(status -> writeSegment(month));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the month's row first
+            log.debug("Archiving {} skipped: {}", month, e.getMessage());
+            return false;
+        }
+        if (segment == null) {
+            return false;
+        }
+        if (segment.getStatus() == TransactionArchiveSegment.Status.ARCHIVED) {
+            return true;
+        }
+        verify(segment);
+        TransactionPartitionManager partitions = partitionManager.getIfAvailable();
+        if (partitions != null) {
+            partitions.dropPartition(month);
+        }
+        Boolean purged = transactionTemplate.execute(status -> purge(month));
+        return Boolean.TRUE.equals(purged);
+    }
+
+    private YearMonth firstUnarchivedMonth() {
+        Optional<TransactionArchiveSegment> latest =
+            segmentRepository.findFirstByStatusOrderByMonthStartDesc(TransactionArchiveSegment.Status.ARCHIVED);
+        if (latest.isPresent()) {
+            return YearMonth.from(latest.get().getMonthStart()).plusMonths(1);
+        }
+        Timestamp first = jdbcTemplate.queryForObject(FIRST_MONTH_SQL, Timestamp.class);
+        return first != null ? YearMonth.from(first.toLocalDateTime()) : null;
+    }
+
+    /** Claims the month and writes its segment file unless that is already done; null if another instance holds it. */
+    private TransactionArchiveSegment writeSegment(YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+        Optional<TransactionArchiveSegment> locked = segmentRepository.lockByMonthStart(monthStart);
+        TransactionArchiveSegment segment;
+        if (locked.isPresent()) {
+            segment = locked.get();
+        } else if (segmentRepository.existsById(monthStart)) {
+            return null;
+        } else {
+            segment = segmentRepository.saveAndFlush(new TransactionArchiveSegment(monthStart,
+                TransactionArchiveSegment.Status.WRITING, null, null, null, null, null, null));
+        }
+        if (segment.getStatus() != TransactionArchiveSegment.Status.WRITING) {
+            return segment;
+        }
+
+        Timestamp from = Timestamp.valueOf(monthStart.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        long expected = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, from, to);
+        segment.setTransactionCount(expected);
+        segment.setAccountCount(0);
+        segment.setSizeBytes(0L);
+        if (expected > 0) {
+            String fileName = TransactionArchive.fileName(month);
+            TransactionSegmentFile.Summary summary = writeFile(fileName, from, to);
+            if (summary.transactionCount() != expected) {
+                throw new IllegalStateException("Segment for " + month + " holds " + summary.transactionCount()
+                    + " transactions, the table " + expected);
+            }
+            segment.setFileName(fileName);
+            segment.setAccountCount(summary.accountCount());
+            segment.setSizeBytes(summary.sizeBytes());
+            segment.setSha256(summary.sha256());
+            log.info("Wrote transaction segment {}: {} transactions, {} accounts, {} bytes", fileName, expected,
+                summary.accountCount(), summary.sizeBytes());
+        }
+        segment.setStatus(TransactionArchiveSegment.Status.WRITTEN);
+        return segmentRepository.save(segment);
+    }
+
+    /** Writes the file under a temporary name and moves it into place once complete and synced. */
+    private TransactionSegmentFile.Summary writeFile(String fileName, Timestamp from, Timestamp to) {
+        try {
+            Files.createDirectories(archive.directory());
+            Path target = archive.path(fileName);
+            Path temp = archive.path(fileName + ".tmp");
+            Files.deleteIfExists(temp);
+            TransactionSegmentFile.Summary summary;
+            try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(temp)) {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(MONTH_SQL);
+                    statement.setFetchSize(FETCH_SIZE);
+                    statement.setTimestamp(1, from);
+                    statement.setTimestamp(2, to);
+                    statement.setTimestamp(3, from);
+                    statement.setTimestamp(4, to);
+                    return statement;
+                }, (ResultSet rs) -> {
+                    try {
+                        writer.add(rs.getLong("account_id"), toArchived(rs));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                summary = writer.finish();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            target.toFile().setReadOnly();
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void verify(TransactionArchiveSegment segment) {
+        if (segment.getFileName() == null) {
+            return;
+        }
+        String actual;
+        try {
+            actual = TransactionSegmentFile.sha256(archive.path(segment.getFileName()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!actual.equals(segment.getSha256())) {
+            throw new IllegalStateException("Checksum mismatch for segment " + segment.getFileName());
+        }
+    }
+
+    /** Removes the month's rows (if its partition was not dropped) and marks it ARCHIVED. */
+    private boolean purge(YearMonth month) {
+        Optional<TransactionArchiveSegment> locked = segmentRepository.lockByMonthStart(month.atDay(1));
+        if (locked.isEmpty()) {
+            return false;
+        }
+        TransactionArchiveSegment segment = locked.get();
+        if (segment.getStatus() == TransactionArchiveSegment.Status.WRITTEN) {
+            int deleted = jdbcTemplate.update(DELETE_SQL, Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+            segment.setStatus(TransactionArchiveSegment.Status.ARCHIVED);
+            segmentRepository.save(segment);
+            log.info("Archived transactions of {} ({} rows deleted from the table)", month, deleted);
+        }
+        return true;
+    }
+
+    private static ArchivedTransaction toArchived(ResultSet rs) throws SQLException {
+        return new ArchivedTransaction(rs.getLong("id"), rs.getString("transaction_id"),
+            rs.getObject("from_account_id", Long.class), rs.getObject("to_account_id", Long.class),
+            rs.getString("from_account_number"), rs.getString("to_account_number"), rs.getString("currency"),
+            rs.getBigDecimal("amount"), rs.getString("type"), rs.getString("status"), rs.getString("description"),
+            rs.getString("reference_number"), rs.getString("failure_reason"), toLocalDateTime(rs, "created_at"),
+            toLocalDateTime(rs, "processed_at"));
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.bank_system.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the MySQL {@code transactions} table range-partitioned by month on {@code created_at}, so
+ * that archiving a month drops its partition instead of deleting its rows one by one, and the
+ * indexes of the live partitions only cover the months still in the table.
+ *
+ * <p>MySQL does not allow foreign keys on a partitioned table and requires every unique key to
+ * include the partitioning column. The one-time conversion therefore drops the table's foreign
+ * keys, makes the primary key {@code (id, created_at)} and the transaction id key
+ * {@code (transaction_id, created_at)}, and moves the (from account, idempotency key) uniqueness
+ * into {@code transaction_idempotency_keys}, kept in step by triggers: a duplicate key still fails
+ * the transfer insert with a duplicate-key error, and clearing a failed transfer's key frees it for
+ * a retry. Afterwards, each run adds partitions for
+ * the next {@code bank.transactions.partitioning.months-ahead} months. Instances serialize on a
+ * named lock.
+ *
+ * <p>Once converted, Hibernate must no longer manage the table: use
+ * {@code spring.jpa.hibernate.ddl-auto=validate} (or none).
+ */
+@Component
+@ConditionalOnProperty(name = "bank.transactions.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class TransactionPartitionManager {
+
+    private static final String LOCK_NAME = "bank_transactions_partitioning";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String COUNT_PARTITIONS_SQL =
+        "SELECT COUNT(*) FROM information_schema.partitions " +
+        "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND partition_name IS NOT NULL";
+
+    private static final String PARTITION_EXISTS_SQL = COUNT_PARTITIONS_SQL + " AND partition_name = ?";
+
+    private static final String LAST_MONTH_PARTITION_SQL =
+        "SELECT MAX(partition_name) FROM information_schema.partitions " +
+        "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND partition_name <> '" + FUTURE_PARTITION + "'";
+
+    private static final String FOREIGN_KEYS_SQL =
+        "SELECT table_name, constraint_name FROM information_schema.referential_constraints " +
+        "WHERE constraint_schema = DATABASE() AND (table_name = 'transactions' OR referenced_table_name = 'transactions')";
+
+    private static final String UNIQUE_KEYS_SQL =
+        "SELECT DISTINCT index_name FROM information_schema.statistics " +
+        "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND non_unique = 0 AND index_name <> 'PRIMARY'";
+
+    private static final String CREATE_IDEMPOTENCY_KEYS_SQL =
+        "CREATE TABLE IF NOT EXISTS transaction_idempotency_keys (" +
+        "from_account_id BIGINT NOT NULL, idempotency_key VARCHAR(255) NOT NULL, created_at DATETIME(6) NOT NULL, " +
+        "PRIMARY KEY (from_account_id, idempotency_key), " +
+        "KEY idx_transaction_idempotency_keys_created_at (created_at))";
+
+    private static final String COPY_IDEMPOTENCY_KEYS_SQL =
+        "INSERT IGNORE INTO transaction_idempotency_keys (from_account_id, idempotency_key, created_at) " +
+        "SELECT from_account_id, idempotency_key, COALESCE(created_at, NOW(6)) FROM transactions " +
+        "WHERE from_account_id IS NOT NULL AND idempotency_key IS NOT NULL";
+
+    private static final String CREATE_IDEMPOTENCY_TRIGGER_SQL =
+        "CREATE TRIGGER trg_transactions_idempotency_key BEFORE INSERT ON transactions FOR EACH ROW " +
+        "BEGIN " +
+        "  IF NEW.from_account_id IS NOT NULL AND NEW.idempotency_key IS NOT NULL THEN " +
+        "    INSERT INTO transaction_idempotency_keys (from_account_id, idempotency_key, created_at) " +
+        "    VALUES (NEW.from_account_id, NEW.idempotency_key, COALESCE(NEW.created_at, NOW(6))); " +
+        "  END IF; " +
+        "END";
+
+    private static final String UPDATE_TRIGGER = "trg_transactions_idempotency_key_update";
+
+    private static final String CREATE_IDEMPOTENCY_UPDATE_TRIGGER_SQL =
+        "CREATE TRIGGER " + UPDATE_TRIGGER + " BEFORE UPDATE ON transactions FOR EACH ROW " +
+        "BEGIN " +
+        "  IF NOT (OLD.from_account_id <=> NEW.from_account_id AND OLD.idempotency_key <=> NEW.idempotency_key) THEN " +
+        "    IF OLD.from_account_id IS NOT NULL AND OLD.idempotency_key IS NOT NULL THEN " +
+        "      DELETE FROM transaction_idempotency_keys " +
+        "      WHERE from_account_id = OLD.from_account_id AND idempotency_key = OLD.idempotency_key; " +
+        "    END IF; " +
+        "    IF NEW.from_account_id IS NOT NULL AND NEW.idempotency_key IS NOT NULL THEN " +
+        "      INSERT INTO transaction_idempotency_keys (from_account_id, idempotency_key, created_at) " +
+        "      VALUES (NEW.from_account_id, NEW.idempotency_key, COALESCE(NEW.created_at, NOW(6))); " +
+        "    END IF; " +
+        "  END IF; " +
+        "END";
+
+    static final String TRIGGER_EXISTS_SQL =
+        "SELECT COUNT(*) FROM information_schema.triggers WHERE trigger_schema = DATABASE() AND trigger_name = ?";
+
+    static final String DELETE_ORPHANED_IDEMPOTENCY_KEYS_SQL =
+        "DELETE FROM transaction_idempotency_keys WHERE NOT EXISTS (" +
+        "SELECT 1 FROM transactions t WHERE t.from_account_id = transaction_idempotency_keys.from_account_id " +
+        "AND t.idempotency_key = transaction_idempotency_keys.idempotency_key)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${bank.transactions.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${bank.transactions.partitioning.interval-ms:86400000}", initialDelay = 0)
+    public void maintain() {
+        try {
+            withLock(jdbc -> {
+                if (isPartitioned(jdbc)) {
+                    ensureIdempotencyUpdateTrigger(jdbc);
+                    addPartitions(jdbc);
+                } else {
+                    convert(jdbc);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Transaction partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Drops the month's partition, if there is one, with the idempotency keys of that month and
+     * earlier. Called by the archive job once the month's segment file is verified.
+     */
+    public void dropPartition(YearMonth month) {
+        withLock(jdbc -> {
+            String partition = partitionName(month);
+            Integer exists = jdbc.queryForObject(PARTITION_EXISTS_SQL, Integer.class, partition);
+            if (exists == null || exists == 0) {
+                return;
+            }
+            jdbc.execute("ALTER TABLE transactions DROP PARTITION " + partition);
+            int keys = jdbc.update("DELETE FROM transaction_idempotency_keys WHERE created_at < ?",
+                Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+            log.info("Dropped transactions partition {} and {} idempotency keys", partition, keys);
+        });
+    }
+
+    private void convert(JdbcTemplate jdbc) {
+        long started = System.nanoTime();
+        jdbc.query(FOREIGN_KEYS_SQL, rs -> {
+            jdbc.execute("ALTER TABLE " + rs.getString(1) + " DROP FOREIGN KEY " + rs.getString(2));
+        });
+
+        jdbc.execute(CREATE_IDEMPOTENCY_KEYS_SQL);
+        jdbc.execute(COPY_IDEMPOTENCY_KEYS_SQL);
+        jdbc.execute("DROP TRIGGER IF EXISTS trg_transactions_idempotency_key");
+        jdbc.execute(CREATE_IDEMPOTENCY_TRIGGER_SQL);
+        jdbc.execute("DROP TRIGGER IF EXISTS " + UPDATE_TRIGGER);
+        jdbc.execute(CREATE_IDEMPOTENCY_UPDATE_TRIGGER_SQL);
+
+        jdbc.update("UPDATE transactions SET created_at = COALESCE(processed_at, NOW(6)) WHERE created_at IS NULL");
+        List<String> keyChanges = new ArrayList<>();
+        keyChanges.add("MODIFY created_at DATETIME(6) NOT NULL");
+        keyChanges.add("DROP PRIMARY KEY");
+        keyChanges.add("ADD PRIMARY KEY (id, created_at)");
+        jdbc.queryForList(UNIQUE_KEYS_SQL, String.class).forEach(index -> keyChanges.add("DROP INDEX " + index));
+        keyChanges.add("ADD UNIQUE KEY uk_transactions_transaction_id_created_at (transaction_id, created_at)");
+        keyChanges.add("ADD INDEX idx_transactions_from_account_idempotency_key (from_account_id, idempotency_key)");
+        jdbc.execute("ALTER TABLE transactions " + String.join(", ", keyChanges));
+
+        Timestamp first = jdbc.queryForObject("SELECT MIN(created_at) FROM transactions", Timestamp.class);
+        YearMonth from = first != null ? YearMonth.from(first.toLocalDateTime()) : YearMonth.now();
+        jdbc.execute("ALTER TABLE transactions PARTITION BY RANGE COLUMNS(created_at) ("
+            + partitionDefinitions(from, YearMonth.now().plusMonths(monthsAhead)) + ")");
+        log.info("Partitioned the transactions table by month from {} in {} ms", from,
+            (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds the update trigger to tables converted before it existed, and frees the keys that
+     * failed transfers gave up while it was missing.
+     */
+    void ensureIdempotencyUpdateTrigger(JdbcTemplate jdbc) {
+        Integer triggers = jdbc.queryForObject(TRIGGER_EXISTS_SQL, Integer.class, UPDATE_TRIGGER);
+        if (triggers != null && triggers > 0) {
+            return;
+        }
+        jdbc.execute(CREATE_IDEMPOTENCY_UPDATE_TRIGGER_SQL);
+        int keys = jdbc.update(DELETE_ORPHANED_IDEMPOTENCY_KEYS_SQL);
+        log.info("Created trigger {} and released {} orphaned idempotency keys", UPDATE_TRIGGER, keys);
+    }
+
+    /** Splits the catch-all partition so every month up to months-ahead has its own. */
+    private void addPartitions(JdbcTemplate jdbc) {
+        String last = jdbc.queryForObject(LAST_MONTH_PARTITION_SQL, String.class);
+        YearMonth until = YearMonth.now().plusMonths(monthsAhead);
+        YearMonth next = last != null ? YearMonth.parse(last, PARTITION_NAME).plusMonths(1) : YearMonth.now();
+        if (next.isAfter(until)) {
+            return;
+        }
+        jdbc.execute("ALTER TABLE transactions REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+            + partitionDefinitions(next, until) + ")");
+        log.info("Added transactions partitions {} to {}", partitionName(next), partitionName(until));
+    }
+
+    /** One partition per month from {@code from} to {@code until}, then the catch-all. */
+    private static String partitionDefinitions(YearMonth from, YearMonth until) {
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(until); month = month.plusMonths(1)) {
+            partitions.add("PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        partitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        return String.join(", ", partitions);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month.atDay(1));
+    }
+
+    private boolean isPartitioned(JdbcTemplate jdbc) {
+        Integer partitions = jdbc.queryForObject(COUNT_PARTITIONS_SQL, Integer.class);
+        return partitions != null && partitions > 0;
+    }
+
+    /** Runs the work on one connection holding the named lock, so DDL from several instances does not interleave. */
+    private void withLock(Consumer<JdbcTemplate> work) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer locked = jdbc.queryForObject("SELECT GET_LOCK(?, 60)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                throw new IllegalStateException("Could not get lock " + LOCK_NAME);
+            }
+            try {
+                work.accept(jdbc);
+            } finally {
+                jdbc.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+}
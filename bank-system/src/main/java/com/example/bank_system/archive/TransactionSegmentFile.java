@@ -0,0 +1,241 @@
+package com.example.bank_system.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One month of archived transactions in an immutable file, grouped by account:
+ *
+ * <pre>
+ * header  magic, format version
+ * blocks  per account: the transactions it sent or received, oldest first, gzip-compressed
+ * index   account count, then (account id, block offset, block length, transaction count) by account id
+ * footer  index offset, transaction count, magic
+ * </pre>
+ *
+ * A transfer is stored in the blocks of both its accounts, so reading an account's month seeks to
+ * one block through the index (binary-searched in place) and decompresses only that.
+ */
+final class TransactionSegmentFile {
+
+    static final int MAGIC = 0x42545853;
+    static final short VERSION = 1;
+
+    private static final int HEADER_BYTES = 6;
+    private static final int INDEX_ENTRY_BYTES = 24;
+    private static final int FOOTER_BYTES = 20;
+
+    private TransactionSegmentFile() {
+    }
+
+    record Summary(long transactionCount, int accountCount, long sizeBytes, String sha256) {
+    }
+
+    /**
+     * Writes a segment from transactions ordered by account id, then created_at and id. Each
+     * transaction is added once per account it touches; it counts once, under its source account.
+     */
+    static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final CountingOutputStream file;
+        private final MessageDigest digest;
+        private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        private final DataOutputStream index = new DataOutputStream(indexBytes);
+        private long accountId;
+        private long blockStart;
+        private int blockRows;
+        private int accounts;
+        private long transactions;
+        private GZIPOutputStream blockGzip;
+        private DataOutputStream block;
+
+        Writer(Path path) throws IOException {
+            digest = sha256Digest();
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            file = new CountingOutputStream(new BufferedOutputStream(
+                new DigestOutputStream(Channels.newOutputStream(channel), digest), 1 << 16));
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+        }
+
+        void add(long accountId, ArchivedTransaction transaction) throws IOException {
+            if (block == null || accountId != this.accountId) {
+                if (block != null && accountId < this.accountId) {
+                    throw new IllegalStateException("Transactions must be added in account order: " + accountId
+                        + " after " + this.accountId);
+                }
+                finishBlock();
+                this.accountId = accountId;
+                blockStart = file.count;
+                blockRows = 0;
+                blockGzip = new GZIPOutputStream(file, 1 << 16);
+                block = new DataOutputStream(new BufferedOutputStream(blockGzip, 1 << 16));
+            }
+            transaction.writeTo(block);
+            blockRows++;
+            if (transaction.fromAccountId() == null || transaction.fromAccountId() == accountId) {
+                transactions++;
+            }
+        }
+
+        /** Writes the index and footer and syncs the file; the writer cannot be used afterwards. */
+        Summary finish() throws IOException {
+            finishBlock();
+            long indexOffset = file.count;
+            DataOutputStream out = new DataOutputStream(file);
+            out.writeInt(accounts);
+            indexBytes.writeTo(out);
+            out.writeLong(indexOffset);
+            out.writeLong(transactions);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+            file.close();
+            return new Summary(transactions, accounts, file.count, HexFormat.of().formatHex(digest.digest()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+
+        private void finishBlock() throws IOException {
+            if (block == null) {
+                return;
+            }
+            block.flush();
+            blockGzip.finish();
+            index.writeLong(accountId);
+            index.writeLong(blockStart);
+            index.writeInt(Math.toIntExact(file.count - blockStart));
+            index.writeInt(blockRows);
+            accounts++;
+            block = null;
+        }
+    }
+
+    /** The account's transactions in the segment, oldest first; empty if it has none there. */
+    static List<ArchivedTransaction> read(Path path, long accountId) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer footer = readFully(channel, channel.size() - FOOTER_BYTES, FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Not a transaction segment: " + path);
+            }
+            int accounts = readFully(channel, indexOffset, 4).getInt();
+            int low = 0;
+            int high = accounts - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                ByteBuffer entry = readFully(channel, indexOffset + 4 + (long) mid * INDEX_ENTRY_BYTES, INDEX_ENTRY_BYTES);
+                long entryAccountId = entry.getLong();
+                if (entryAccountId < accountId) {
+                    low = mid + 1;
+                } else if (entryAccountId > accountId) {
+                    high = mid - 1;
+                } else {
+                    long offset = entry.getLong();
+                    int length = entry.getInt();
+                    int rows = entry.getInt();
+                    return readBlock(readFully(channel, offset, length), rows);
+                }
+            }
+            return List.of();
+        }
+    }
+
+    /** Recomputes the file's SHA-256, checking it is a complete segment first. */
+    static String sha256(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES + FOOTER_BYTES
+                || readFully(channel, 0, 4).getInt() != MAGIC
+                || readFully(channel, channel.size() - 4, 4).getInt() != MAGIC) {
+                throw new IOException("Not a complete transaction segment: " + path);
+            }
+        }
+        MessageDigest digest = sha256Digest();
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] buffer = new byte[1 << 16];
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static List<ArchivedTransaction> readBlock(ByteBuffer block, int rows) throws IOException {
+        List<ArchivedTransaction> transactions = new ArrayList<>(rows);
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(
+            new ByteArrayInputStream(block.array(), 0, block.limit()), 1 << 16))) {
+            for (int i = 0; i < rows; i++) {
+                transactions.add(ArchivedTransaction.readFrom(in));
+            }
+        }
+        return transactions;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Transaction segment truncated at " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Tracks the file offset; closing a block's gzip stream must not close the file, so blocks only finish(). */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
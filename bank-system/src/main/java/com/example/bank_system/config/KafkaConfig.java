@@ -1,5 +1,6 @@
 package com.example.bank_system.config;
 
+import com.example.bank_system.event.TransactionEventSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,7 +9,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,18 +19,26 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    /** {@code json}, or {@code binary} once every consumer reads it (see {@link TransactionEventSerializer}). */
+    @Value("${bank.kafka.event-encoding:json}")
+    private String eventEncoding;
+
+    /** {@code low-latency}, {@code balanced}, {@code throughput} or {@code adaptive} (see {@link KafkaProducerProfile}). */
+    @Value("${bank.kafka.producer.profile:low-latency}")
+    private String producerProfile;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TransactionEventSerializer.class);
+        configProps.put(TransactionEventSerializer.ENCODING_CONFIG, eventEncoding);
 
         // Additional producer configurations for better reliability
         configProps.put(ProducerConfig.ACKS_CONFIG, "all"); // Wait for all replicas
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3); // Retry failed sends
-        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384); // Batch size in bytes
-        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1); // Wait 1ms to batch messages
+        KafkaProducerProfile.of(producerProfile).applyTo(configProps); // Linger, batch size and compression
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432); // 32MB buffer
         configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true); // Prevent duplicate messages
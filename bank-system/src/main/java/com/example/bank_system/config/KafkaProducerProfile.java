@@ -0,0 +1,65 @@
+package com.example.bank_system.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Batching and compression settings for the event producer, selected with
+ * {@code bank.kafka.producer.profile}. Longer linger and larger batches mean fewer, fuller requests
+ * to the broker at the cost of latency per send; compression works per batch, so it pays off with
+ * the larger ones.
+ */
+public enum KafkaProducerProfile {
+
+    /** Sends almost immediately, uncompressed: the lowest latency at low and moderate rates. */
+    LOW_LATENCY(1, 16 * 1024, "none"),
+    /** A few milliseconds of linger and lz4, which costs little CPU. */
+    BALANCED(5, 64 * 1024, "lz4"),
+    /** Large zstd batches for bulk publishing, where records per second matter more than latency. */
+    THROUGHPUT(20, 256 * 1024, "zstd"),
+    /**
+     * Starts like {@link #LOW_LATENCY} with lz4; {@code ProducerBatchTuner} then grows linger and
+     * batch size with the observed send rate, within {@code bank.kafka.producer.adaptive.*}.
+     */
+    ADAPTIVE(1, 16 * 1024, "lz4");
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+
+    KafkaProducerProfile(int lingerMs, int batchSize, String compressionType) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+    }
+
+    public int lingerMs() {
+        return lingerMs;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public String compressionType() {
+        return compressionType;
+    }
+
+    /** Puts this profile's linger, batch size and compression into producer properties. */
+    public void applyTo(Map<String, Object> configProps) {
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    }
+
+    /** Parses a profile name such as {@code low-latency}, case-insensitively. */
+    public static KafkaProducerProfile of(String name) {
+        for (KafkaProducerProfile profile : values()) {
+            if (profile.name().replace('_', '-').equalsIgnoreCase(name.trim().replace('_', '-'))) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown Kafka producer profile: " + name);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bank_system.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps a {@code @Transactional(readOnly = true)} method on the primary database when read
+ * replica routing is enabled, for reads that must never see replication lag.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
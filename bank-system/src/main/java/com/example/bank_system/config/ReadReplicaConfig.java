@@ -0,0 +1,80 @@
+package com.example.bank_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits database access between the primary ({@code spring.datasource.*}) and a read replica
+ * ({@code bank.datasource.replica.*}) when {@code bank.datasource.replica.enabled=true}.
+ * {@code @Transactional(readOnly = true)} methods read from the replica; writes, reads outside a
+ * transaction and {@link ReadFromPrimary} methods use the primary. Each side has its own Hikari
+ * pool, tuned with {@code spring.datasource.hikari.*} and {@code bank.datasource.replica.hikari.*}.
+ *
+ * <p>Schema changes ({@code ddl-auto}) run against the primary only and reach the replica through
+ * replication.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("bank.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${bank.datasource.replica.url}") String url,
+                                              @Value("${bank.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${bank.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        // A write that reaches the replica by mistake fails instead of diverging from the primary
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /** Applies {@link ReadFromPrimary}; an infrastructure bean, so the transaction auto-proxy creator picks it up. */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readFromPrimaryAdvisor() {
+        MethodInterceptor interceptor = ReadReplicaRoutingDataSource::invokeOnPrimary;
+        return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(ReadFromPrimary.class),
+            interceptor);
+    }
+}
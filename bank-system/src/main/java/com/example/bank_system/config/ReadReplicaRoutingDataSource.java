@@ -0,0 +1,76 @@
+package com.example.bank_system.config;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else. The target is chosen when a statement first needs a connection, so the bean must be wrapped
+ * in a {@link LazyConnectionDataSourceProxy}: by then the transaction's read-only flag is set.
+ *
+ * <p>A read-only transaction still uses the primary inside a {@link ReadFromPrimary} method, or
+ * after {@link #usePrimaryForCurrentTransaction()} was called before its first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_SCOPE = new ThreadLocal<>();
+    private static final Object PRIMARY_FOR_TRANSACTION = new Object();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    static Target currentTarget() {
+        boolean replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && PRIMARY_SCOPE.get() == null
+            && !TransactionSynchronizationManager.hasResource(PRIMARY_FOR_TRANSACTION);
+        return replica ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    /**
+     * Sends the rest of the current transaction to the primary. Has no effect once the transaction
+     * holds a connection, or outside a transaction.
+     */
+    public static void usePrimaryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_FOR_TRANSACTION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PRIMARY_FOR_TRANSACTION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_FOR_TRANSACTION);
+            }
+        });
+    }
+
+    /** Runs a {@link ReadFromPrimary} method. */
+    static Object invokeOnPrimary(MethodInvocation invocation) throws Throwable {
+        Boolean outer = PRIMARY_SCOPE.get();
+        PRIMARY_SCOPE.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            if (outer == null) {
+                PRIMARY_SCOPE.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.bank_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests in progress when requests run on virtual threads.
+ *
+ * <p>With platform threads Tomcat's thread pool bounds concurrency; with virtual threads every
+ * accepted connection gets its own thread, and thousands of them would otherwise queue inside the
+ * Hikari pool until they time out. Requests beyond {@code bank.web.max-concurrent-requests} wait
+ * up to {@code bank.web.admission-timeout-ms} for a slot and are then rejected with 503, so
+ * overload fails fast at the edge instead of deep inside a transaction.
+ *
+ * <p>A request that goes asynchronous, such as a streamed transaction export, keeps its permit until
+ * the async request completes, because it holds a connection for the whole response.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long admissionTimeoutMs;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public RequestConcurrencyLimitFilter(@Value("${bank.web.max-concurrent-requests:100}") int maxConcurrentRequests,
+                                         @Value("${bank.web.admission-timeout-ms:2000}") long admissionTimeoutMs,
+                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("bank.web.requests.rejected")
+            .description("API requests rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+        Gauge.builder("bank.web.requests.active", permits, p -> maxConcurrentRequests - p.availablePermits())
+            .description("API requests currently holding a concurrency permit")
+            .register(meterRegistry);
+        log.info("Virtual-thread request mode: at most {} concurrent API requests", maxConcurrentRequests);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+        PermitRelease permit = new PermitRelease();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async dispatches skip this filter, so the listener is the only place left to release it
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /** Releases the permit once, when the request is done; error and timeout still end in complete. */
+    private final class PermitRelease implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async is restarted, so follow the request into the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+            "success", false,
+            "error", "Server is busy, please retry",
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+}
@@ -2,12 +2,20 @@ package com.example.bank_system.controller;
 
 import com.example.bank_system.dto.*;
 import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.AccountStatementService;
+import com.example.bank_system.service.LedgerService;
+import com.example.bank_system.service.TransactionExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +24,9 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountStatementService accountStatementService;
+    private final TransactionExportService transactionExportService;
+    private final LedgerService ledgerService;
 
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(
@@ -37,4 +48,51 @@ public class AccountController {
             AccountResponse response = accountService.getAccountByNumber(accountNumber);
             return ResponseEntity.ok(response);
     }
+
+    @PutMapping("/{accountNumber}/status")
+    public ResponseEntity<AccountResponse> updateAccountStatus(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody UpdateAccountStatusRequest request) {
+        AccountResponse response = accountService.updateAccountStatus(accountNumber, request.getStatus());
+        return ResponseEntity.ok(response);
+    }
+
+    /** The account's transactions newest first; follow {@code nextCursor} for older pages. */
+    @GetMapping("/{accountNumber}/transactions")
+    public ResponseEntity<AccountStatementResponse> getStatement(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(accountStatementService.getStatement(accountNumber, from, to, cursor, limit));
+    }
+
+    /** Streams the account's transactions oldest first as CSV or NDJSON, optionally gzip-compressed. */
+    @GetMapping("/{accountNumber}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TransactionExportService.Export export =
+            transactionExportService.prepareExport(accountNumber, from, to, format, gzip);
+        return ResponseEntity.ok()
+            .contentType(export.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(export.fileName()).build().toString())
+            .body(export.body());
+    }
+
+    /**
+     * The account's balance derived from the ledger, as of {@code asOf} or now. The current balance
+     * is reconciled against the stored one.
+     */
+    @GetMapping("/{accountNumber}/ledger-balance")
+    public ResponseEntity<LedgerBalanceResponse> getLedgerBalance(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(ledgerService.getBalance(accountNumber, asOf));
+    }
 }
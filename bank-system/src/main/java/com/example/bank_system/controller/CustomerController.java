@@ -1,6 +1,7 @@
 package com.example.bank_system.controller;
 
 import com.example.bank_system.dto.*;
+import com.example.bank_system.service.CustomerImportService;
 import com.example.bank_system.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -8,12 +9,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
     @PostMapping("/individual")
     public ResponseEntity<CustomerResponse> createIndividualCustomer(
@@ -35,4 +40,15 @@ public class CustomerController {
         CustomerResponse response = customerService.createVIPCustomer(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    /**
+     * Creates customers, and optionally an account each, from a CSV (with a header row) or NDJSON
+     * request body. Rows that fail are listed in the response; the others are imported.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<CustomerImportResponse> importCustomers(
+            @RequestParam(defaultValue = "csv") String format, InputStream body) throws IOException {
+        CustomerImportService.Format importFormat = CustomerImportService.parseFormat(format);
+        return ResponseEntity.ok(customerImportService.importCustomers(body, importFormat));
+    }
 }
@@ -1,14 +1,22 @@
 package com.example.bank_system.controller;
 
+import com.example.bank_system.dto.BatchTransferRequest;
+import com.example.bank_system.dto.BatchTransferResponse;
 import com.example.bank_system.dto.TransferRequest;
 import com.example.bank_system.dto.TransactionApiResponse;
+import com.example.bank_system.dto.TransferStatusResponse;
+import com.example.bank_system.service.AsyncTransferService;
+import com.example.bank_system.service.BatchTransferService;
 import com.example.bank_system.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
@@ -16,11 +24,36 @@ import jakarta.validation.Valid;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final BatchTransferService batchTransferService;
+
+    /** Present only when {@code bank.transfer.async.enabled=true}; transfers are then accepted with 202. */
+    @Autowired(required = false)
+    private AsyncTransferService asyncTransferService;
 
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionApiResponse> processTransfer(
-            @Valid @RequestBody TransferRequest request) {
-        TransactionApiResponse response = transactionService.processTransfer(request);
+    public ResponseEntity<?> processTransfer(
+            @Valid @RequestBody TransferRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Callback-Url", required = false) String callbackUrl) {
+        if (asyncTransferService != null) {
+            TransferStatusResponse accepted = asyncTransferService.submit(request, idempotencyKey, callbackUrl);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/transfers/" + accepted.getTransactionId()))
+                .body(accepted);
+        }
+        TransactionApiResponse response = transactionService.processTransfer(request, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/transfers/{transactionId}")
+    public ResponseEntity<TransferStatusResponse> getTransferStatus(@PathVariable String transactionId) {
+        return ResponseEntity.ok(transactionService.getTransferStatus(transactionId));
+    }
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchTransferResponse> processBatchTransfer(
+            @Valid @RequestBody BatchTransferRequest request) {
+        BatchTransferResponse response = batchTransferService.processBatch(request);
         return ResponseEntity.ok(response);
     }
 
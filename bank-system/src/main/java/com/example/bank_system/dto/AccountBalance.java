@@ -0,0 +1,9 @@
+package com.example.bank_system.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * An account's stored balance, read without loading the entity.
+ */
+public record AccountBalance(Long id, BigDecimal balance) {
+}
@@ -0,0 +1,34 @@
+package com.example.bank_system.dto;
+
+import com.example.bank_system.entity.Currency;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountStatementResponse {
+    private String accountNumber;
+    private Currency currency;
+    private List<Entry> entries;
+    /** Pass as {@code cursor} to get the next, older page; null on the last page. */
+    private String nextCursor;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Entry {
+        private String transactionId;
+        private String direction;
+        private String counterpartyAccountNumber;
+        private BigDecimal amount;
+        private String type;
+        private String status;
+        private String description;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bank_system.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of an account statement as read by the statement query, seen from the account's side.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountStatementRow {
+    private Long id;
+    private String transactionId;
+    /** DEBIT when the account sent the money, CREDIT when it received it. */
+    private String direction;
+    private String counterpartyAccountNumber;
+    private BigDecimal amount;
+    private String type;
+    private String status;
+    private String description;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.example.bank_system.dto;
+
+import lombok.Data;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+@Data
+public class BatchTransferRequest {
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = 10000, message = "A batch can contain at most 10000 transfers")
+    private List<@Valid @NotNull TransferRequest> transfers;
+}
@@ -0,0 +1,15 @@
+package com.example.bank_system.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransferResponse {
+    private String status;
+    private int transferCount;
+    private List<TransactionApiResponse> transactions;
+}
@@ -0,0 +1,11 @@
+package com.example.bank_system.dto;
+
+/**
+ * The customer fields transfer responses and events show, resolved once per customer.
+ *
+ * @param type           {@code individual}, {@code business}, {@code vip} or {@code unknown}
+ * @param personalId     the national id of individuals, {@code VIP-<id>} for VIP customers
+ * @param businessNumber the registration number of business customers
+ */
+public record CustomerDescriptor(Long id, String type, String name, String personalId, String businessNumber) {
+}
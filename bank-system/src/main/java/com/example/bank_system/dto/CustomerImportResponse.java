@@ -0,0 +1,29 @@
+package com.example.bank_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerImportResponse {
+    private long totalRows;
+    private long importedCustomers;
+    private long createdAccounts;
+    private long failedRows;
+    private long durationMs;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        /** Line of the file the row starts on; the CSV header is line 1. */
+        private long line;
+        private String email;
+        private String error;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bank_system.dto;
+
+import lombok.Data;
+
+/**
+ * One row of a customer import file: a customer of {@code customerType} INDIVIDUAL, BUSINESS or
+ * VIP with the fields of the matching create request, and optionally an account to open for it
+ * (when {@code accountType} is set). Values are kept as text and checked by the import, so a bad
+ * value is reported against its row.
+ */
+@Data
+public class CustomerImportRow {
+    private String customerType;
+    private String name;
+    private String email;
+    private String phone;
+    private String address;
+    // INDIVIDUAL
+    private String nationalId;
+    private String dateOfBirth;
+    private String occupation;
+    // BUSINESS
+    private String businessRegistrationNumber;
+    private String businessType;
+    private String industry;
+    private String taxId;
+    // VIP
+    private String vipLevel;
+    private String minimumBalance;
+    private String personalBanker;
+    private String specialServices;
+    // Account
+    private String accountType;
+    private String initialBalance;
+    private String currency;
+}
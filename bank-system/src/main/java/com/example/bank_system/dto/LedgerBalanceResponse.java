@@ -0,0 +1,27 @@
+package com.example.bank_system.dto;
+
+import com.example.bank_system.entity.Currency;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerBalanceResponse {
+    private String accountNumber;
+    private Currency currency;
+    private LocalDateTime asOf;
+    /** The balance derived from the ledger. */
+    private BigDecimal balance;
+    /** The checkpoint the balance was derived from; null when there was none. */
+    private LocalDateTime checkpointAsOf;
+    /** Ledger entries applied on top of the checkpoint (or of the current balance). */
+    private long entriesApplied;
+    /** The stored account balance, for current balances only. */
+    private BigDecimal accountBalance;
+    /** Whether the ledger agrees with the stored balance, for current balances only. */
+    private Boolean reconciled;
+}
@@ -0,0 +1,9 @@
+package com.example.bank_system.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * The net effect of an account's ledger entries over a period: credits minus debits.
+ */
+public record LedgerDelta(Long accountId, BigDecimal amount, Long entries) {
+}
@@ -0,0 +1,28 @@
+package com.example.bank_system.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One transaction as written by the export, with both account numbers resolved.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionExportRow {
+    private String transactionId;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String currency;
+    private String type;
+    private String status;
+    private String description;
+    private String referenceNumber;
+    private String failureReason;
+}
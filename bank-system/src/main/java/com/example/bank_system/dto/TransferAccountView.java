@@ -0,0 +1,26 @@
+package com.example.bank_system.dto;
+
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.TransferAccount;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * An account as the transfer path needs it, read with one query and not managed by the persistence
+ * context. The owner's details come from {@link com.example.bank_system.service.CustomerDescriptorCache}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferAccountView implements TransferAccount {
+    private Long id;
+    private String accountNumber;
+    private Currency currency;
+    private Account.AccountStatus status;
+    private BigDecimal balance;
+    private Long customerId;
+}
@@ -0,0 +1,28 @@
+package com.example.bank_system.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * State of a transfer by its transaction id: returned when an asynchronous transfer is accepted,
+ * by {@code GET /api/v1/transfers/{transactionId}} and in completion callbacks.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferStatusResponse {
+    private String transactionId;
+    private String status;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String currency;
+    private String description;
+    private String referenceNumber;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,11 @@
+package com.example.bank_system.dto;
+
+import com.example.bank_system.entity.Account;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateAccountStatusRequest {
+    @NotNull(message = "Status is required")
+    private Account.AccountStatus status;
+}
@@ -0,0 +1,37 @@
+package com.example.bank_system.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One balance change applied by a ledger shard. A transfer produces a {@code DEBIT} record on the
+ * source account's shard and a {@code CREDIT} record on the destination account's shard; both carry
+ * the full transfer. The credit also carries the source account's balance after the debit, so it
+ * alone is enough to rebuild the transaction event.
+ */
+record JournalRecord(
+    Type type,
+    int shard,
+    long sequence,
+    long transactionId,
+    String transactionReference,
+    long fromAccountId,
+    long toAccountId,
+    BigDecimal amount,
+    String currency,
+    String description,
+    String referenceNumber,
+    String idempotencyKey,
+    LocalDateTime processedAt,
+    long accountId,
+    BigDecimal balanceAfter,
+    BigDecimal counterpartyBalanceAfter) {
+
+    enum Type {
+        DEBIT, CREDIT
+    }
+
+    BigDecimal balanceBefore() {
+        return type == Type.DEBIT ? balanceAfter.add(amount) : balanceAfter.subtract(amount);
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.bank_system.engine;
+
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Money;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.EngineCheckpointRepository;
+import com.example.bank_system.service.BusinessIdGenerator;
+import com.example.bank_system.service.TransactionEventBuilder;
+import com.example.bank_system.service.TransferValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, single-writer ledger used instead of the JPA transfer path when
+ * {@code bank.transfer.engine=ledger}.
+ *
+ * <p>Account balances live in memory and are partitioned into shards by account id; each shard is
+ * owned by one thread (see {@link LedgerShard}). A transfer is debited on the source account's
+ * shard, acknowledged once the debit is in that shard's journal, and then credited on the
+ * destination account's shard. MySQL, including the outbox event for each completed transfer, is
+ * updated asynchronously by {@link LedgerWriteBehind}.
+ *
+ * <p>On startup the engine loads all accounts from MySQL, replays the journal records after the
+ * stored checkpoints, re-issues any credit whose debit was journaled but whose credit was not,
+ * writes all of it to MySQL and starts new, empty journals.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.transfer.engine", havingValue = "ledger")
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerEngine {
+
+    private static final Pattern JOURNAL_FILE = Pattern.compile("shard-(\\d+)\\.journal");
+    private static final String ACTIVE_DIRECTORY = "active";
+    private static final String RETIRED_PREFIX = "retired-";
+
+    private final AccountRepository accountRepository;
+    private final EngineCheckpointRepository checkpointRepository;
+    private final LedgerWriteBehind writeBehind;
+    private final TransactionIdAllocator idAllocator;
+    private final TransferValidator transferValidator;
+    private final TransactionEventBuilder transactionEventBuilder;
+    private final BusinessIdGenerator idGenerator;
+
+    @Value("${bank.engine.shards:4}")
+    private int shardCount = 4;
+
+    @Value("${bank.engine.journal-dir:data/journal}")
+    private String journalDir = "data/journal";
+
+    @Value("${bank.engine.fsync:true}")
+    private boolean fsync = true;
+
+    @Value("${bank.engine.max-batch:256}")
+    private int maxBatch = 256;
+
+    @Value("${bank.engine.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${bank.engine.submit-timeout-ms:5000}")
+    private long submitTimeoutMs = 5000;
+
+    private final Map<Long, Account> accountsById = new ConcurrentHashMap<>();
+    private final Map<String, Account> accountsByNumber = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private LedgerShard[] shards;
+    private Semaphore admission;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path root = Paths.get(journalDir);
+        Path directory = root.resolve(ACTIVE_DIRECTORY);
+        Files.createDirectories(directory);
+        deleteRetiredJournals(root);
+        writeBehind.setEventFactory(this::transferEvent);
+
+        accountRepository.findAll().forEach(this::register);
+        Map<Integer, Long> lastSequences = new HashMap<>();
+        checkpointRepository.findAll()
+            .forEach(checkpoint -> lastSequences.put(checkpoint.getShard(), checkpoint.getJournalSequence()));
+
+        if (recover(directory, lastSequences)) {
+            // Everything in the old journals is now in MySQL; retire them in one atomic step so a
+            // crash here can never leave a partial set of journals behind
+            Files.move(directory, root.resolve(RETIRED_PREFIX + System.currentTimeMillis()),
+                StandardCopyOption.ATOMIC_MOVE);
+            deleteRetiredJournals(root);
+            Files.createDirectories(directory);
+        }
+
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            Path path = journalPath(directory, i);
+            shards[i] = new LedgerShard(i, this, new LedgerJournal(path, fsync),
+                lastSequences.getOrDefault(i, 0L) + 1, maxBatch);
+        }
+        admission = new Semaphore(queueCapacity);
+        writeBehind.start();
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+        running = true;
+        log.info("Ledger engine started with {} shards and {} accounts, journal in {}",
+            shardCount, accountsById.size(), directory.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(submitTimeoutMs);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        writeBehind.stop();
+        log.info("Ledger engine stopped, {} transfers were still in flight", inFlight.get());
+    }
+
+    /**
+     * Debits the source account on its shard and returns once the debit is journaled; the credit
+     * follows asynchronously on the destination account's shard.
+     */
+    public Transaction transfer(TransferRequest request, String idempotencyKey) {
+        if (!running) {
+            throw new RuntimeException("Ledger engine is not running");
+        }
+        Account fromAccount = account(request.getFromAccountNumber());
+        Account toAccount = account(request.getToAccountNumber());
+        transferValidator.validateRequestCurrency(request.getCurrency(), fromAccount, toAccount);
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction transaction = new Transaction();
+        transaction.setId(idAllocator.nextId());
+        transaction.setTransactionId(idGenerator.nextTransactionId());
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setAmount(request.getAmount());
+        transaction.setType(Transaction.TransactionType.TRANSFER);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setDescription(request.getDescription());
+        transaction.setReferenceNumber(request.getReferenceNumber());
+        transaction.setIdempotencyKey(idempotencyKey);
+        transaction.setCreatedAt(now);
+        transaction.setProcessedAt(now);
+        PendingTransfer transfer = new PendingTransfer(transaction, request.getCurrency());
+
+        try {
+            if (!admission.tryAcquire(submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Ledger engine is overloaded, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transfer submission interrupted", e);
+        }
+        inFlight.incrementAndGet();
+        shards[shardIndex(fromAccount.getId())].debit(transfer);
+
+        try {
+            return transfer.result.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Transfer failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Transfer " + transaction.getTransactionId() +
+                " was not confirmed in time, check its status before retrying", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transfer submission interrupted", e);
+        }
+    }
+
+    /**
+     * Applies a status change, already stored in MySQL, to the engine's copy of the account. It runs
+     * on the account's shard thread, so every debit queued after it is validated against the new
+     * status. Accounts the engine has not loaded yet read their status from MySQL on first use.
+     */
+    public void updateStatus(String accountNumber, Account.AccountStatus status) {
+        Account account = accountsByNumber.get(accountNumber);
+        if (account == null) {
+            return;
+        }
+        if (!running) {
+            account.setStatus(status);
+            return;
+        }
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        shards[shardIndex(account.getId())].execute(() -> {
+            account.setStatus(status);
+            applied.complete(null);
+        });
+        try {
+            applied.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Status change of account " + accountNumber +
+                " was not applied to the ledger engine in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Status change interrupted", e);
+        }
+    }
+
+    /** Current in-memory balance; only exact once the owning shard is idle. */
+    public BigDecimal balance(String accountNumber) {
+        return account(accountNumber).getBalance();
+    }
+
+    /** Journal records not yet stored in MySQL. */
+    public int writeBehindBacklog() {
+        return writeBehind.backlog();
+    }
+
+    int shardIndex(long accountId) {
+        return (int) Math.floorMod(accountId, (long) shardCount);
+    }
+
+    Account account(long accountId) {
+        return accountsById.get(accountId);
+    }
+
+    void validateTransfer(Account fromAccount, Account toAccount, BigDecimal amount) {
+        transferValidator.validateTransfer(fromAccount, toAccount, amount);
+    }
+
+    void journaled(List<JournalRecord> records) {
+        writeBehind.enqueue(records);
+    }
+
+    void debited(PendingTransfer transfer) {
+        admission.release();
+        transfer.result.complete(transfer.transaction);
+        if (!transfer.credited) {
+            shards[shardIndex(transfer.toAccountId())].credit(transfer);
+        }
+    }
+
+    void settled(PendingTransfer transfer) {
+        inFlight.decrementAndGet();
+    }
+
+    void rejected(PendingTransfer transfer, RuntimeException e) {
+        admission.release();
+        inFlight.decrementAndGet();
+        transfer.result.completeExceptionally(e);
+    }
+
+    void journalFailed(PendingTransfer transfer, boolean credit, IOException e) {
+        transfer.credited = false;
+        if (credit) {
+            // The debit is already durable, so the credit must eventually be applied
+            shards[shardIndex(transfer.toAccountId())].credit(transfer);
+        } else {
+            rejected(transfer, new RuntimeException("Transfer could not be journaled", e));
+        }
+    }
+
+    private Account account(String accountNumber) {
+        Account account = accountsByNumber.get(accountNumber);
+        if (account != null) {
+            return account;
+        }
+        // Accounts opened after startup are picked up on first use; until then MySQL holds their balance
+        Account loaded = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+        return register(loaded);
+    }
+
+    private Account register(Account account) {
+        Account existing = accountsById.putIfAbsent(account.getId(), account);
+        Account registered = existing != null ? existing : account;
+        accountsByNumber.putIfAbsent(registered.getAccountNumber(), registered);
+        return registered;
+    }
+
+    /**
+     * Rebuilds balances from the journals in {@code directory} and writes them to MySQL.
+     *
+     * @return whether there were journals to recover from
+     */
+    private boolean recover(Path directory, Map<Integer, Long> lastSequences) throws IOException {
+        Map<Long, JournalRecord> debits = new LinkedHashMap<>();
+        Set<Long> credits = new HashSet<>();
+        List<JournalRecord> replay = new ArrayList<>();
+        List<Path> journals;
+        try (Stream<Path> files = Files.list(directory)) {
+            journals = files.filter(path -> JOURNAL_FILE.matcher(path.getFileName().toString()).matches())
+                .sorted()
+                .toList();
+        }
+
+        for (Path path : journals) {
+            Matcher matcher = JOURNAL_FILE.matcher(path.getFileName().toString());
+            matcher.matches();
+            int journalIndex = Integer.parseInt(matcher.group(1));
+            long checkpoint = lastSequences.getOrDefault(journalIndex, 0L);
+            for (JournalRecord record : LedgerJournal.read(path)) {
+                if (record.type() == JournalRecord.Type.DEBIT) {
+                    debits.put(record.transactionId(), record);
+                } else {
+                    credits.add(record.transactionId());
+                }
+                if (record.sequence() > checkpoint) {
+                    replay.add(record);
+                    lastSequences.merge(journalIndex, record.sequence(), Math::max);
+                }
+            }
+        }
+
+        for (JournalRecord record : replay) {
+            Account account = accountsById.get(record.accountId());
+            if (account == null) {
+                throw new IllegalStateException("Journal references unknown account " + record.accountId());
+            }
+            account.setBalance(record.balanceAfter());
+        }
+        if (!replay.isEmpty()) {
+            writeBehind.enqueue(replay);
+        }
+
+        List<JournalRecord> reissued = reissueMissingCredits(directory, debits, credits, lastSequences);
+
+        writeBehind.flushAll();
+        if (!replay.isEmpty() || !reissued.isEmpty()) {
+            log.info("Ledger engine recovered {} journal records and re-issued {} credits",
+                replay.size(), reissued.size());
+        }
+        return !journals.isEmpty();
+    }
+
+    /**
+     * A crash between a debit being journaled and its credit being journaled leaves the money in
+     * flight. The credits are applied now and journaled before anything is written to MySQL, so a
+     * second crash during recovery cannot apply them twice.
+     */
+    private List<JournalRecord> reissueMissingCredits(Path directory, Map<Long, JournalRecord> debits,
+                                                      Set<Long> credits, Map<Integer, Long> lastSequences)
+            throws IOException {
+        Map<Integer, List<JournalRecord>> byShard = new LinkedHashMap<>();
+        List<JournalRecord> reissued = new ArrayList<>();
+        for (JournalRecord debit : debits.values()) {
+            if (credits.contains(debit.transactionId())) {
+                continue;
+            }
+            Account toAccount = accountsById.get(debit.toAccountId());
+            BigDecimal balanceAfter = toAccount.getBalanceMoney()
+                .plus(Money.of(debit.amount(), toAccount.getCurrency())).toBigDecimal();
+            toAccount.setBalance(balanceAfter);
+            int shard = shardIndex(toAccount.getId());
+            long sequence = lastSequences.merge(shard, 1L, Long::sum);
+            JournalRecord credit = new JournalRecord(JournalRecord.Type.CREDIT, shard, sequence,
+                debit.transactionId(), debit.transactionReference(), debit.fromAccountId(), debit.toAccountId(),
+                debit.amount(), debit.currency(), debit.description(), debit.referenceNumber(),
+                debit.idempotencyKey(), debit.processedAt(), toAccount.getId(), balanceAfter, debit.balanceAfter());
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(credit);
+            reissued.add(credit);
+        }
+
+        for (Map.Entry<Integer, List<JournalRecord>> entry : byShard.entrySet()) {
+            try (LedgerJournal journal = new LedgerJournal(journalPath(directory, entry.getKey()), true)) {
+                journal.append(entry.getValue());
+            }
+        }
+        if (!reissued.isEmpty()) {
+            writeBehind.enqueue(reissued);
+        }
+        return reissued;
+    }
+
+    /** Builds the completed-transfer event for a credit record, which carries both balances. */
+    TransactionEvent transferEvent(JournalRecord credit) {
+        Transaction transaction = new Transaction();
+        transaction.setId(credit.transactionId());
+        transaction.setTransactionId(credit.transactionReference());
+        transaction.setFromAccount(accountsById.get(credit.fromAccountId()));
+        transaction.setToAccount(accountsById.get(credit.toAccountId()));
+        transaction.setAmount(credit.amount());
+        transaction.setType(Transaction.TransactionType.TRANSFER);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setDescription(credit.description());
+        transaction.setReferenceNumber(credit.referenceNumber());
+        transaction.setCreatedAt(credit.processedAt());
+        transaction.setProcessedAt(credit.processedAt());
+        BigDecimal fromBalanceAfter = credit.counterpartyBalanceAfter();
+        return transactionEventBuilder.buildSuccessfulTransferEvent(transaction,
+            fromBalanceAfter.add(credit.amount()), fromBalanceAfter,
+            credit.balanceBefore(), credit.balanceAfter(), credit.currency());
+    }
+
+    private static void deleteRetiredJournals(Path root) throws IOException {
+        List<Path> retired;
+        try (Stream<Path> files = Files.list(root)) {
+            retired = files.filter(path -> path.getFileName().toString().startsWith(RETIRED_PREFIX)).toList();
+        }
+        for (Path directory : retired) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static Path journalPath(Path directory, int shard) {
+        return directory.resolve("shard-" + shard + ".journal");
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.bank_system.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal file owned by a single shard thread.
+ *
+ * <p>Each record is written as {@code [int length][payload][int crc32]}. A crash can leave a torn
+ * record at the end of the file; {@link #read(Path)} stops at the first record that is incomplete
+ * or fails its checksum, which is always a record whose append was never acknowledged.
+ */
+@Slf4j
+final class LedgerJournal implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+    LedgerJournal(Path path, boolean fsync) throws IOException {
+        this.path = path;
+        this.fsync = fsync;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long position() throws IOException {
+        return channel.position();
+    }
+
+    /**
+     * Appends the records with a single write and, when fsync is enabled, forces them to disk
+     * before returning.
+     */
+    void append(List<JournalRecord> records) throws IOException {
+        buffer.reset();
+        DataOutputStream out = new DataOutputStream(buffer);
+        CRC32 crc = new CRC32();
+        for (JournalRecord record : records) {
+            byte[] payload = encode(record);
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt((int) crc.getValue());
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /** Drops everything written after {@code position}, used to undo a failed append. */
+    void truncateTo(long position) throws IOException {
+        channel.truncate(position);
+        channel.position(position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static List<JournalRecord> read(Path path) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+        while (bytes.remaining() >= Integer.BYTES) {
+            int start = bytes.position();
+            int length = bytes.getInt();
+            if (length <= 0 || bytes.remaining() < length + Integer.BYTES) {
+                log.warn("Ignoring torn record at offset {} of journal {}", start, path);
+                break;
+            }
+            byte[] payload = new byte[length];
+            bytes.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != bytes.getInt()) {
+                log.warn("Ignoring corrupt record at offset {} of journal {}", start, path);
+                break;
+            }
+            records.add(decode(payload));
+        }
+        return records;
+    }
+
+    private static byte[] encode(JournalRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(record.type().ordinal());
+        out.writeInt(record.shard());
+        out.writeLong(record.sequence());
+        out.writeLong(record.transactionId());
+        out.writeUTF(record.transactionReference());
+        out.writeLong(record.fromAccountId());
+        out.writeLong(record.toAccountId());
+        out.writeUTF(record.amount().toPlainString());
+        out.writeUTF(record.currency());
+        writeNullable(out, record.description());
+        writeNullable(out, record.referenceNumber());
+        writeNullable(out, record.idempotencyKey());
+        out.writeUTF(record.processedAt().toString());
+        out.writeLong(record.accountId());
+        out.writeUTF(record.balanceAfter().toPlainString());
+        writeNullable(out, record.counterpartyBalanceAfter() == null ? null
+            : record.counterpartyBalanceAfter().toPlainString());
+        return bytes.toByteArray();
+    }
+
+    private static JournalRecord decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return new JournalRecord(
+            JournalRecord.Type.values()[in.readByte()],
+            in.readInt(),
+            in.readLong(),
+            in.readLong(),
+            in.readUTF(),
+            in.readLong(),
+            in.readLong(),
+            new BigDecimal(in.readUTF()),
+            in.readUTF(),
+            readNullable(in),
+            readNullable(in),
+            readNullable(in),
+            LocalDateTime.parse(in.readUTF()),
+            in.readLong(),
+            new BigDecimal(in.readUTF()),
+            toDecimal(readNullable(in)));
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static BigDecimal toDecimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.bank_system.engine;
+
+import com.example.bank_system.entity.Account;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the balances of the accounts with {@code id % shards == index}. Only this shard's thread
+ * reads or writes those balances, so transfers are applied without locks.
+ *
+ * <p>The thread drains its queue in batches: it applies every command in memory, appends the
+ * resulting records to the journal with one write (and one fsync), and only then acknowledges the
+ * debits, forwards credits to other shards and hands the records to the write-behind. If the
+ * journal write fails the in-memory changes of the batch are undone.
+ */
+@Slf4j
+final class LedgerShard {
+
+    private enum Kind { DEBIT, CREDIT, TASK }
+
+    private record Command(Kind kind, PendingTransfer transfer, Runnable task) {
+    }
+
+    private final int index;
+    private final LedgerEngine engine;
+    private final LedgerJournal journal;
+    private final int maxBatch;
+    private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long nextSequence;
+
+    LedgerShard(int index, LedgerEngine engine, LedgerJournal journal, long nextSequence, int maxBatch) {
+        this.index = index;
+        this.engine = engine;
+        this.journal = journal;
+        this.nextSequence = nextSequence;
+        this.maxBatch = maxBatch;
+        this.thread = new Thread(this::run, "ledger-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void debit(PendingTransfer transfer) {
+        queue.add(new Command(Kind.DEBIT, transfer, null));
+    }
+
+    void credit(PendingTransfer transfer) {
+        queue.add(new Command(Kind.CREDIT, transfer, null));
+    }
+
+    /** Runs the task on this shard's thread, after the commands queued before it. */
+    void execute(Runnable task) {
+        queue.add(new Command(Kind.TASK, null, task));
+    }
+
+    /** Stops after the queue is empty; callers make sure no more commands can arrive. */
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal {}", journal.path(), e);
+        }
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Command first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ledger shard {} failed to process a batch", index, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Command> batch) {
+        List<JournalRecord> records = new ArrayList<>(batch.size() * 2);
+        List<Command> applied = new ArrayList<>(batch.size());
+        long firstSequence = nextSequence;
+
+        for (Command command : batch) {
+            if (command.kind() == Kind.TASK) {
+                command.task().run();
+                continue;
+            }
+            PendingTransfer transfer = command.transfer();
+            if (command.kind() == Kind.CREDIT) {
+                records.add(applyCredit(transfer));
+                applied.add(command);
+                continue;
+            }
+            Account fromAccount = transfer.transaction.getFromAccount();
+            Account toAccount = transfer.transaction.getToAccount();
+            try {
+                engine.validateTransfer(fromAccount, toAccount, transfer.transaction.getAmount());
+            } catch (RuntimeException e) {
+                engine.rejected(transfer, e);
+                continue;
+            }
+            BigDecimal balanceAfter = fromAccount.getBalanceMoney().minus(transfer.amount).toBigDecimal();
+            fromAccount.setBalance(balanceAfter);
+            transfer.fromBalanceAfter = balanceAfter;
+            records.add(transfer.debitRecord(index, nextSequence++));
+            if (engine.shardIndex(toAccount.getId()) == index) {
+                records.add(applyCredit(transfer));
+            }
+            applied.add(command);
+        }
+
+        if (records.isEmpty()) {
+            return;
+        }
+
+        long position = -1;
+        try {
+            position = journal.position();
+            journal.append(records);
+        } catch (IOException e) {
+            log.error("Ledger shard {} could not write journal {}, undoing {} records", index, journal.path(),
+                records.size(), e);
+            undo(records, position);
+            nextSequence = firstSequence;
+            for (Command command : applied) {
+                engine.journalFailed(command.transfer(), command.kind() == Kind.CREDIT, e);
+            }
+            return;
+        }
+
+        engine.journaled(records);
+        for (Command command : applied) {
+            PendingTransfer transfer = command.transfer();
+            // Read before the debit is acknowledged: a forwarded credit may flip it on another shard
+            boolean creditedHere = transfer.credited;
+            if (command.kind() == Kind.DEBIT) {
+                engine.debited(transfer);
+            }
+            if (creditedHere) {
+                engine.settled(transfer);
+            }
+        }
+    }
+
+    private JournalRecord applyCredit(PendingTransfer transfer) {
+        Account toAccount = transfer.transaction.getToAccount();
+        BigDecimal balanceAfter = toAccount.getBalanceMoney().plus(transfer.amount).toBigDecimal();
+        toAccount.setBalance(balanceAfter);
+        transfer.toBalanceAfter = balanceAfter;
+        transfer.credited = true;
+        return transfer.creditRecord(index, nextSequence++);
+    }
+
+    private void undo(List<JournalRecord> records, long position) {
+        for (int i = records.size() - 1; i >= 0; i--) {
+            JournalRecord record = records.get(i);
+            engine.account(record.accountId()).setBalance(record.balanceBefore());
+        }
+        if (position >= 0) {
+            try {
+                journal.truncateTo(position);
+            } catch (IOException e) {
+                log.error("Ledger shard {} could not truncate journal {} after a failed write", index, journal.path(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.bank_system.engine;
+
+import com.example.bank_system.entity.EngineCheckpoint;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.EngineCheckpointRepository;
+import com.example.bank_system.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Copies journaled ledger changes into MySQL in the background.
+ *
+ * <p>Each flush is one database transaction holding a JDBC batch of transaction inserts, a JDBC
+ * batch of ledger entries (one per journal record), a JDBC batch of balance updates (only the
+ * latest balance of each account in the batch), an outbox event for every credit (a credit
+ * completes a transfer) and the new per-shard checkpoints. Because the checkpoint commits together
+ * with the data, recovery replays exactly the journal records after it and each event is written
+ * once. A failed flush is retried with the same records.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.transfer.engine", havingValue = "ledger")
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerWriteBehind {
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, amount, type, status, " +
+        "description, reference_number, idempotency_key, created_at, processed_at) " +
+        "VALUES (?, ?, ?, ?, ?, 'TRANSFER', 'COMPLETED', ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LEDGER_ENTRY_SQL =
+        "INSERT INTO ledger_entries (transaction_id, direction, account_id, amount, recorded_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE_SQL =
+        "UPDATE accounts SET balance = ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EngineCheckpointRepository checkpointRepository;
+    private final OutboxService outboxService;
+
+    @Value("${bank.engine.write-behind.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${bank.engine.write-behind.interval-ms:50}")
+    private long intervalMs = 50;
+
+    private final BlockingQueue<JournalRecord> queue = new LinkedBlockingQueue<>();
+    private final List<JournalRecord> failedBatch = new ArrayList<>();
+    private volatile boolean running;
+    private Thread worker;
+    private Function<JournalRecord, TransactionEvent> eventFactory;
+
+    void enqueue(Collection<JournalRecord> records) {
+        queue.addAll(records);
+    }
+
+    /** Journal records not yet stored in MySQL. */
+    public int backlog() {
+        return queue.size() + failedBatch.size();
+    }
+
+    /** Sets how credit records are turned into outbox events; must be called before anything is flushed. */
+    void setEventFactory(Function<JournalRecord, TransactionEvent> eventFactory) {
+        this.eventFactory = eventFactory;
+    }
+
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "ledger-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Stops the background thread and writes everything still queued. */
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join();
+        }
+        flushAll();
+    }
+
+    /** Synchronously writes everything queued so far; throws if the database rejects a batch. */
+    public void flushAll() {
+        while (backlog() > 0) {
+            flushBatch();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (backlog() == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(intervalMs));
+                continue;
+            }
+            try {
+                flushBatch();
+            } catch (RuntimeException e) {
+                log.error("Ledger write-behind flush failed, {} records pending; retrying", backlog(), e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(intervalMs * 10));
+            }
+        }
+    }
+
+    private synchronized void flushBatch() {
+        if (failedBatch.isEmpty()) {
+            queue.drainTo(failedBatch, batchSize);
+        }
+        if (failedBatch.isEmpty()) {
+            return;
+        }
+        write(failedBatch);
+        log.debug("Ledger write-behind stored {} journal records", failedBatch.size());
+        failedBatch.clear();
+    }
+
+    private void write(List<JournalRecord> records) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> ledgerEntries = new ArrayList<>(records.size());
+        Map<Long, BigDecimal> balances = new LinkedHashMap<>();
+        Map<Integer, Long> checkpoints = new LinkedHashMap<>();
+        List<TransactionEvent> events = new ArrayList<>();
+        for (JournalRecord record : records) {
+            if (record.type() == JournalRecord.Type.DEBIT) {
+                Timestamp processedAt = Timestamp.valueOf(record.processedAt());
+                inserts.add(new Object[] {
+                    record.transactionId(), record.transactionReference(), record.fromAccountId(),
+                    record.toAccountId(), record.amount(), record.description(), record.referenceNumber(),
+                    record.idempotencyKey(), processedAt, processedAt});
+            } else {
+                events.add(eventFactory.apply(record));
+            }
+            // Recorded now rather than at processedAt, in the same transaction as the balance it explains
+            ledgerEntries.add(new Object[] {
+                record.transactionId(), record.type().name(), record.accountId(), record.amount(), now});
+            balances.put(record.accountId(), record.balanceAfter());
+            checkpoints.merge(record.shard(), record.sequence(), Math::max);
+        }
+
+        List<Object[]> updates = new ArrayList<>(balances.size());
+        balances.forEach((accountId, balance) -> updates.add(new Object[] {balance, now, accountId}));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, inserts);
+            }
+            jdbcTemplate.batchUpdate(INSERT_LEDGER_ENTRY_SQL, ledgerEntries);
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, updates);
+            if (!events.isEmpty()) {
+                outboxService.enqueueAll(events);
+            }
+            List<EngineCheckpoint> rows = new ArrayList<>(checkpoints.size());
+            checkpoints.forEach((shard, sequence) -> rows.add(new EngineCheckpoint(shard, sequence, null)));
+            checkpointRepository.saveAll(rows);
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.bank_system.engine;
+
+import com.example.bank_system.entity.Money;
+import com.example.bank_system.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A transfer travelling through the engine: debited on the source account's shard, then credited
+ * on the destination account's shard. Fields are written by one shard thread and handed to the
+ * next through its queue.
+ */
+final class PendingTransfer {
+
+    final Transaction transaction;
+    final String currency;
+    /** The transaction amount in the source account's currency; throws early if it has too many decimals. */
+    final Money amount;
+    final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+    BigDecimal fromBalanceAfter;
+    BigDecimal toBalanceAfter;
+    boolean credited;
+
+    PendingTransfer(Transaction transaction, String currency) {
+        this.transaction = transaction;
+        this.currency = currency;
+        this.amount = Money.of(transaction.getAmount(), transaction.getFromAccount().getCurrency());
+    }
+
+    long fromAccountId() {
+        return transaction.getFromAccount().getId();
+    }
+
+    long toAccountId() {
+        return transaction.getToAccount().getId();
+    }
+
+    JournalRecord debitRecord(int shard, long sequence) {
+        return record(JournalRecord.Type.DEBIT, shard, sequence, fromAccountId(), fromBalanceAfter, null);
+    }
+
+    JournalRecord creditRecord(int shard, long sequence) {
+        return record(JournalRecord.Type.CREDIT, shard, sequence, toAccountId(), toBalanceAfter, fromBalanceAfter);
+    }
+
+    private JournalRecord record(JournalRecord.Type type, int shard, long sequence, long accountId,
+                                 BigDecimal balanceAfter, BigDecimal counterpartyBalanceAfter) {
+        return new JournalRecord(type, shard, sequence, transaction.getId(), transaction.getTransactionId(),
+            fromAccountId(), toAccountId(), transaction.getAmount(), currency, transaction.getDescription(),
+            transaction.getReferenceNumber(), transaction.getIdempotencyKey(), transaction.getProcessedAt(), accountId, balanceAfter,
+            counterpartyBalanceAfter);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bank_system.engine;
+
+import com.example.bank_system.entity.Transaction;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out transaction ids from the same pooled sequence Hibernate uses for {@link Transaction},
+ * so rows written by the ledger engine and by the JPA path never collide. Only one call in
+ * {@code allocationSize} reaches the database.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.transfer.engine", havingValue = "ledger")
+public class TransactionIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+
+    public TransactionIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(Transaction.class)
+            .getGenerator();
+    }
+
+    public long nextId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+        }
+    }
+}
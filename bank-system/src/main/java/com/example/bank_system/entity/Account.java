@@ -17,10 +17,11 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Account {
+public class Account implements TransferAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -41,7 +42,12 @@ public class Account {
     @Column(nullable = false)
     private AccountStatus status = AccountStatus.ACTIVE;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    // Lazy: the transfer paths only need the id, and take the rest from CustomerDescriptorCache
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
@@ -59,6 +65,10 @@ public class Account {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public void setBalanceMoney(Money balance) {
+        this.balance = balance.toBigDecimal();
+    }
+
     public enum AccountType {
         CHECKING, SAVINGS, BUSINESS, VIP
     }
@@ -0,0 +1,41 @@
+package com.example.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account's balance including every {@link LedgerEntry} recorded up to {@code asOf}. Written by
+ * the checkpoint job for accounts with new entries and never updated, so older checkpoints keep
+ * serving balance-as-of queries for their period.
+ */
+@Entity
+@Table(name = "account_balance_checkpoints", uniqueConstraints = @UniqueConstraint(
+    name = "uk_balance_checkpoints_account_as_of", columnNames = {"account_id", "as_of"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_checkpoint_seq")
+    @SequenceGenerator(name = "balance_checkpoint_seq", sequenceName = "account_balance_checkpoints_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    // Entries folded in since the account's previous checkpoint
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+}
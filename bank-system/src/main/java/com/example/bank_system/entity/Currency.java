@@ -1,20 +1,27 @@
 package com.example.bank_system.entity;
 
 public enum Currency {
-    USD("US Dollar"),
-    ILS("Israeli Shekel"),
-    EUR("Euro"),
-    GBP("British Pound"),
-    JPY("Japanese Yen"),
-    CAD("Canadian Dollar");
+    USD("US Dollar", 2),
+    ILS("Israeli Shekel", 2),
+    EUR("Euro", 2),
+    GBP("British Pound", 2),
+    JPY("Japanese Yen", 0),
+    CAD("Canadian Dollar", 2);
 
     private final String displayName;
+    private final int minorUnits;
 
-    Currency(String displayName) {
+    Currency(String displayName, int minorUnits) {
         this.displayName = displayName;
+        this.minorUnits = minorUnits;
     }
 
     public String getDisplayName() {
         return displayName;
     }
+
+    /** Decimal places of the currency's minor unit (ISO 4217): 2 for cents, 0 for JPY. */
+    public int getMinorUnits() {
+        return minorUnits;
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.bank_system.entity;
 
+import com.example.bank_system.service.CustomerDescriptorInvalidationListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,13 +16,15 @@ import java.util.List;
 @Table(name = "customers")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "customer_type", discriminatorType = DiscriminatorType.STRING)
+@EntityListeners(CustomerDescriptorInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public abstract class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
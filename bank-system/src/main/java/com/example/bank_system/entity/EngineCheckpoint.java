@@ -0,0 +1,30 @@
+package com.example.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last ledger engine journal sequence, per shard journal, whose effects are stored in MySQL.
+ */
+@Entity
+@Table(name = "engine_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngineCheckpoint {
+
+    @Id
+    private Integer shard;
+
+    @Column(name = "journal_sequence", nullable = false)
+    private Long journalSequence;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.example.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row recording up to when ledger entries have been folded into balance checkpoints. The
+ * checkpoint job locks it for the length of a run, so only one instance checkpoints at a time.
+ */
+@Entity
+@Table(name = "ledger_checkpoint_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerCheckpointWatermark {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "checkpointed_through", nullable = false)
+    private LocalDateTime checkpointedThrough;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.example.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a completed transfer: a {@code DEBIT} on the source account or a {@code CREDIT} on
+ * the destination account. Entries are only ever inserted, in the same database transaction as the
+ * balance change they record; an account's balance at any time is its nearest
+ * {@link AccountBalanceCheckpoint} plus or minus the entries recorded in between.
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_entries_account_recorded_at", columnList = "account_id, recorded_at"),
+    @Index(name = "idx_ledger_entries_recorded_at", columnList = "recorded_at")})
+@IdClass(LedgerEntry.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+
+    // The transactions row id; with the direction it makes a transfer impossible to post twice
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 6)
+    private Direction direction;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // When the entry was written, not when the transfer was requested, so entries older than the
+    // checkpoint settle window are known to be committed
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public enum Direction {
+        DEBIT, CREDIT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long transactionId;
+        private Direction direction;
+    }
+}
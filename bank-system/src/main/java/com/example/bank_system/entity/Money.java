@@ -0,0 +1,91 @@
+package com.example.bank_system.entity;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * An amount of money as a whole number of minor units (cents, or yen for JPY) of its currency.
+ *
+ * <p>Arithmetic is exact, allocation-free apart from the result, and throws
+ * {@link ArithmeticException} on overflow instead of wrapping. Amounts with more decimal places than
+ * the currency allows are rejected rather than rounded. The database keeps DECIMAL columns; convert
+ * with {@link #of(BigDecimal, Currency)} and {@link #toBigDecimal()} at that boundary.
+ */
+public record Money(long amountMinor, Currency currency) implements Comparable<Money> {
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money ofMinor(long amountMinor, Currency currency) {
+        return new Money(amountMinor, currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * Converts a decimal amount, which may carry trailing zeros beyond the currency's decimal places
+     * (JPY balances are stored as {@code 100.00}) but no significant digits there.
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        int minorUnits = currency.getMinorUnits();
+        if (amount.scale() > minorUnits && amount.stripTrailingZeros().scale() > minorUnits) {
+            throw new RuntimeException(String.format("Amount %s has more than %d decimal places, the most %s allows",
+                amount.toPlainString(), minorUnits, currency.name()));
+        }
+        try {
+            return new Money(amount.movePointRight(minorUnits).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Amount " + amount.toPlainString() + " " + currency.name() + " is out of range");
+        }
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        try {
+            return new Money(Math.addExact(amountMinor, other.amountMinor), currency);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Money overflow: " + this + " + " + other);
+        }
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        try {
+            return new Money(Math.subtractExact(amountMinor, other.amountMinor), currency);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Money overflow: " + this + " - " + other);
+        }
+    }
+
+    public boolean isNegative() {
+        return amountMinor < 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(amountMinor, other.amountMinor);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(amountMinor, currency.getMinorUnits());
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.name();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (currency != other.currency) {
+            throw new RuntimeException("Currency mismatch: " + currency.name() + " and " + other.currency.name());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event written in the same database transaction as the change it describes, and published to
+ * Kafka afterwards by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_status_id", columnList = "status, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // One event per transaction, so the same block size as transactions_seq
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_events_seq", allocationSize = 1000)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public enum OutboxStatus {
+        PENDING, PUBLISHED
+    }
+}
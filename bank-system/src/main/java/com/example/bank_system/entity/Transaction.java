@@ -1,5 +1,7 @@
 package com.example.bank_system.entity;
 
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.dto.TransactionExportRow;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,14 +12,49 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", uniqueConstraints = @UniqueConstraint(
+    name = "uk_transactions_from_account_idempotency_key", columnNames = {"from_account_id", "idempotency_key"}),
+    // Account statements read each side newest first with a backward range scan, so no sort is needed
+    indexes = {
+        @Index(name = "idx_transactions_from_account_created_at", columnList = "from_account_id, created_at, id"),
+        @Index(name = "idx_transactions_to_account_created_at", columnList = "to_account_id, created_at, id")
+    })
+@SqlResultSetMapping(name = "AccountStatementRow", classes = @ConstructorResult(
+    targetClass = AccountStatementRow.class, columns = {
+        @ColumnResult(name = "id", type = Long.class),
+        @ColumnResult(name = "transaction_id", type = String.class),
+        @ColumnResult(name = "direction", type = String.class),
+        @ColumnResult(name = "counterparty_account_number", type = String.class),
+        @ColumnResult(name = "amount", type = BigDecimal.class),
+        @ColumnResult(name = "type", type = String.class),
+        @ColumnResult(name = "status", type = String.class),
+        @ColumnResult(name = "description", type = String.class),
+        @ColumnResult(name = "created_at", type = LocalDateTime.class)
+    }))
+@SqlResultSetMapping(name = "TransactionExportRow", classes = @ConstructorResult(
+    targetClass = TransactionExportRow.class, columns = {
+        @ColumnResult(name = "transaction_id", type = String.class),
+        @ColumnResult(name = "created_at", type = LocalDateTime.class),
+        @ColumnResult(name = "processed_at", type = LocalDateTime.class),
+        @ColumnResult(name = "from_account_number", type = String.class),
+        @ColumnResult(name = "to_account_number", type = String.class),
+        @ColumnResult(name = "amount", type = BigDecimal.class),
+        @ColumnResult(name = "currency", type = String.class),
+        @ColumnResult(name = "type", type = String.class),
+        @ColumnResult(name = "status", type = String.class),
+        @ColumnResult(name = "description", type = String.class),
+        @ColumnResult(name = "reference_number", type = String.class),
+        @ColumnResult(name = "failure_reason", type = String.class)
+    }))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    // Blocks of 1000 so a 1,000-row batch transfer needs one id fetch rather than twenty
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 1000)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -48,6 +85,14 @@ public class Transaction {
     @Column(name = "reference_number")
     private String referenceNumber;
 
+    /** Client-supplied key that makes retries of the same transfer return the first result. */
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    /** Why a FAILED transfer did not complete. */
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
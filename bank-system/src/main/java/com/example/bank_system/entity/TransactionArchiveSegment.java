@@ -0,0 +1,60 @@
+package com.example.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One month of transactions moved out of the {@code transactions} table into an immutable segment
+ * file. The archive job locks the row while it works on the month, so only one instance does.
+ */
+@Entity
+@Table(name = "transaction_archive_segments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionArchiveSegment {
+
+    /** First day of the month. */
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Status status;
+
+    /** Segment file name inside the archive directory; null for a month without transactions. */
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "transaction_count")
+    private Long transactionCount;
+
+    @Column(name = "account_count")
+    private Integer accountCount;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(length = 64)
+    private String sha256;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        /** Claimed; no complete segment file yet. */
+        WRITING,
+        /** The segment file is complete; the month's rows may still be in the table. */
+        WRITTEN,
+        /** The rows are gone from the table; reads of the month use the segment file. */
+        ARCHIVED
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.bank_system.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * The account state the transfer rules look at, shared by the {@link Account} entity and the
+ * read-only {@link com.example.bank_system.dto.TransferAccountView} projection.
+ */
+public interface TransferAccount {
+
+    String getAccountNumber();
+
+    Currency getCurrency();
+
+    Account.AccountStatus getStatus();
+
+    BigDecimal getBalance();
+
+    /** The balance as {@link Money} in the account's currency; the column stays DECIMAL. */
+    default Money getBalanceMoney() {
+        return Money.of(getBalance(), getCurrency());
+    }
+}
@@ -20,6 +20,10 @@ public class TransactionEvent {
     private AccountDetails fromAccount;
     private AccountDetails toAccount;
     private BigDecimal amount;
+    /** {@code amount} as a whole number of the currency's minor units, e.g. cents. */
+    private Long amountMinor;
+    /** Decimal places of the currency's minor unit: 2, or 0 for JPY. */
+    private Integer minorUnits;
     private String currency;
     private String description;
     private Metadata metadata;
@@ -0,0 +1,101 @@
+package com.example.bank_system.event;
+
+import com.example.event_schema.EventEncoding;
+import com.example.event_schema.TransactionEventCodec;
+import com.example.event_schema.TransactionEventRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Kafka value serializer for the producer. With {@value #ENCODING_CONFIG} set to {@code binary},
+ * {@link TransactionEvent}s are written with {@link TransactionEventCodec} and marked with the
+ * {@link EventEncoding#HEADER} header; everything else, and any event that cannot be expressed in
+ * minor units, is written as JSON by Spring's {@link JsonSerializer}, exactly as before.
+ *
+ * <p>Timestamps are written as UTC, matching the {@code 'Z'} the JSON format appends.
+ */
+public class TransactionEventSerializer implements Serializer<Object> {
+
+    /** Producer property naming the {@link EventEncoding}; defaults to JSON. */
+    public static final String ENCODING_CONFIG = "bank.event.encoding";
+
+    private final JsonSerializer<Object> json = new JsonSerializer<>();
+    private EventEncoding encoding = EventEncoding.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+        Object configured = configs.get(ENCODING_CONFIG);
+        if (configured != null) {
+            encoding = EventEncoding.of(configured.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (encoding == EventEncoding.BINARY && data instanceof TransactionEvent event) {
+            TransactionEventRecord record = toRecord(event);
+            if (record != null) {
+                headers.add(EventEncoding.HEADER, EventEncoding.BINARY.headerValue());
+                return TransactionEventCodec.encode(record);
+            }
+        }
+        return json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+
+    /** The event as a wire record, or null if it predates minor units or has finer amounts than its currency. */
+    static TransactionEventRecord toRecord(TransactionEvent event) {
+        if (event.getAmountMinor() == null || event.getMinorUnits() == null) {
+            return null;
+        }
+        int minorUnits = event.getMinorUnits();
+        try {
+            TransactionEvent.Metadata metadata = event.getMetadata();
+            return new TransactionEventRecord(event.getEventType(), epochMicros(event.getTimestamp()),
+                event.getTransactionId(), party(event.getFromAccount(), minorUnits),
+                party(event.getToAccount(), minorUnits), event.getAmountMinor(), minorUnits, event.getCurrency(),
+                event.getDescription(), metadata != null ? metadata.getProcessedBy() : null,
+                metadata != null ? metadata.getSource() : null);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static TransactionEventRecord.Party party(TransactionEvent.AccountDetails account, int minorUnits) {
+        if (account == null) {
+            return null;
+        }
+        TransactionEvent.CustomerDetails customer = account.getCustomer();
+        return new TransactionEventRecord.Party(account.getId(), minor(account.getBalanceBefore(), minorUnits),
+            minor(account.getBalanceAfter(), minorUnits), customer != null ? customer.getId() : null,
+            customer != null ? customer.getName() : null, customer != null ? customer.getType() : null,
+            customer != null ? customer.getPersonalId() : null, customer != null ? customer.getBusinessNumber() : null);
+    }
+
+    private static Long minor(BigDecimal amount, int minorUnits) {
+        return amount != null ? amount.movePointRight(minorUnits).longValueExact() : null;
+    }
+
+    private static Long epochMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bank_system.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -13,6 +14,16 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleTransferQueueFull(TransferQueueFullException ex) {
+        Map<String, Object> error = Map.of(
+            "success", false,
+            "error", ex.getMessage(),
+            "timestamp", System.currentTimeMillis()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
         Map<String, Object> error = Map.of(
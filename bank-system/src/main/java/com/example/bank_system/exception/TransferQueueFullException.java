@@ -0,0 +1,11 @@
+package com.example.bank_system.exception;
+
+/**
+ * Thrown when the asynchronous transfer queue is full; answered with 429 so clients back off and retry.
+ */
+public class TransferQueueFullException extends RuntimeException {
+
+    public TransferQueueFullException(String message) {
+        super(message);
+    }
+}
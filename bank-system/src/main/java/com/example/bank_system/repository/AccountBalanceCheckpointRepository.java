@@ -0,0 +1,29 @@
+package com.example.bank_system.repository;
+
+import com.example.bank_system.entity.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, Long> {
+
+    /** The latest checkpoint at or before {@code asOf}. */
+    Optional<AccountBalanceCheckpoint> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId,
+                                                                                               LocalDateTime asOf);
+
+    /** The earliest checkpoint after {@code asOf}. */
+    Optional<AccountBalanceCheckpoint> findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(Long accountId,
+                                                                                            LocalDateTime asOf);
+
+    /** The latest checkpoint of each of the given accounts that has one. */
+    @Query("SELECT c FROM AccountBalanceCheckpoint c WHERE c.accountId IN :accountIds AND c.asOf = " +
+           "(SELECT MAX(l.asOf) FROM AccountBalanceCheckpoint l WHERE l.accountId = c.accountId)")
+    List<AccountBalanceCheckpoint> findLatestByAccountIdIn(@Param("accountIds") Collection<Long> accountIds);
+}
@@ -1,10 +1,19 @@
 package com.example.bank_system.repository;
 
+import com.example.bank_system.dto.AccountBalance;
+import com.example.bank_system.dto.TransferAccountView;
 import com.example.bank_system.entity.Account;
 import com.example.bank_system.entity.Customer;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +22,51 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
     List<Account> findByCustomer(Customer customer);
     List<Account> findByCustomerId(Long customerId);
-    boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Reads the given accounts in a single statement, without loading entities.
+     */
+    @Query("SELECT new com.example.bank_system.dto.TransferAccountView(a.id, a.accountNumber, a.currency, a.status, " +
+           "a.balance, a.customer.id) FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<TransferAccountView> findTransferViewsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<Long> findIdsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * Loads and locks (SELECT ... FOR UPDATE) the given accounts in ascending id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :accountIds ORDER BY a.id")
+    List<Account> findAllByIdInForUpdate(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :accountId")
+    BigDecimal findBalanceById(@Param("accountId") Long accountId);
+
+    @Query("SELECT new com.example.bank_system.dto.AccountBalance(a.id, a.balance) FROM Account a WHERE a.id IN :accountIds")
+    List<AccountBalance> findBalancesByIdIn(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query("SELECT a.status FROM Account a WHERE a.id = :accountId")
+    Account.AccountStatus findStatusById(@Param("accountId") Long accountId);
+
+    /**
+     * Debits an ACTIVE account that covers the amount; the status condition keeps the database
+     * authoritative when the caller validated against cached metadata.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.version = a.version + 1, " +
+           "a.updatedAt = CURRENT_TIMESTAMP WHERE a.id = :accountId AND a.balance >= :amount " +
+           "AND a.status = com.example.bank_system.entity.Account.AccountStatus.ACTIVE")
+    int debitIfSufficient(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1, " +
+           "a.updatedAt = CURRENT_TIMESTAMP WHERE a.id = :accountId " +
+           "AND a.status = com.example.bank_system.entity.Account.AccountStatus.ACTIVE")
+    int creditIfActive(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.status = :status, a.version = a.version + 1, a.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE a.accountNumber = :accountNumber")
+    int updateStatus(@Param("accountNumber") String accountNumber, @Param("status") Account.AccountStatus status);
 }
@@ -2,12 +2,20 @@ package com.example.bank_system.repository;
 
 import com.example.bank_system.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /** Which of the given emails already belong to a customer; one query for a whole import batch. */
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,9 @@
+package com.example.bank_system.repository;
+
+import com.example.bank_system.entity.EngineCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EngineCheckpointRepository extends JpaRepository<EngineCheckpoint, Integer> {
+}
@@ -0,0 +1,20 @@
+package com.example.bank_system.repository;
+
+import com.example.bank_system.entity.LedgerCheckpointWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LedgerCheckpointWatermarkRepository extends JpaRepository<LedgerCheckpointWatermark, Integer> {
+
+    /**
+     * Locks the watermark row, or returns empty without waiting when another instance holds it
+     * (or the row does not exist yet).
+     */
+    @Query(value = "SELECT * FROM ledger_checkpoint_watermark WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<LedgerCheckpointWatermark> lockById(@Param("id") int id);
+}
@@ -0,0 +1,36 @@
+package com.example.bank_system.repository;
+
+import com.example.bank_system.dto.LedgerDelta;
+import com.example.bank_system.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, LedgerEntry.Key> {
+
+    String SIGNED_AMOUNT = "SUM(CASE WHEN e.direction = com.example.bank_system.entity.LedgerEntry.Direction.CREDIT " +
+                           "THEN e.amount ELSE -e.amount END)";
+
+    /**
+     * Net change per account over entries recorded in {@code (after, through]}, read with a range
+     * scan on {@code recorded_at}. Accounts without entries in the period are absent.
+     */
+    @Query("SELECT new com.example.bank_system.dto.LedgerDelta(e.accountId, " + SIGNED_AMOUNT + ", COUNT(e)) " +
+           "FROM LedgerEntry e WHERE e.recordedAt > :after AND e.recordedAt <= :through GROUP BY e.accountId")
+    List<LedgerDelta> findDeltasRecordedBetween(@Param("after") LocalDateTime after,
+                                                @Param("through") LocalDateTime through);
+
+    /** Like {@link #findDeltasRecordedBetween}, for one account: empty when it has no entries in the period. */
+    @Query("SELECT new com.example.bank_system.dto.LedgerDelta(e.accountId, " + SIGNED_AMOUNT + ", COUNT(e)) " +
+           "FROM LedgerEntry e WHERE e.accountId = :accountId AND e.recordedAt > :after " +
+           "AND e.recordedAt <= :through GROUP BY e.accountId")
+    Optional<LedgerDelta> findDeltaRecordedBetween(@Param("accountId") Long accountId,
+                                                   @Param("after") LocalDateTime after,
+                                                   @Param("through") LocalDateTime through);
+}
@@ -0,0 +1,40 @@
+package com.example.bank_system.repository;
+
+import com.example.bank_system.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest pending events. Rows locked by another relay instance are skipped rather
+     * than waited for, so several instances can drain the table side by side.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' ORDER BY id LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextPending(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("status") OutboxEvent.OutboxStatus status,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("status") OutboxEvent.OutboxStatus status,
+                              @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboxEvent.OutboxStatus status);
+
+    long countByStatus(OutboxEvent.OutboxStatus status);
+}
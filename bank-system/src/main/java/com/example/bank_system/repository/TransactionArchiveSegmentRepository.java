@@ -0,0 +1,27 @@
+package com.example.bank_system.repository;
+
+import com.example.bank_system.entity.TransactionArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionArchiveSegmentRepository extends JpaRepository<TransactionArchiveSegment, LocalDate> {
+
+    /**
+     * Locks the month's row, or returns empty without waiting when another instance holds it (or
+     * the row does not exist yet).
+     */
+    @Query(value = "SELECT * FROM transaction_archive_segments WHERE month_start = :monthStart FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<TransactionArchiveSegment> lockByMonthStart(@Param("monthStart") LocalDate monthStart);
+
+    List<TransactionArchiveSegment> findByStatusOrderByMonthStartAsc(TransactionArchiveSegment.Status status);
+
+    Optional<TransactionArchiveSegment> findFirstByStatusOrderByMonthStartDesc(TransactionArchiveSegment.Status status);
+}
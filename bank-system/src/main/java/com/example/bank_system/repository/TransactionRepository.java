@@ -1,25 +1,103 @@
 package com.example.bank_system.repository;
 
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.dto.TransactionExportRow;
 import com.example.bank_system.entity.Transaction;
-import com.example.bank_system.entity.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    /** Rows the JDBC driver fetches per round trip when streaming an export. */
+    int EXPORT_FETCH_SIZE = 1000;
+
     Optional<Transaction> findByTransactionId(String transactionId);
 
-    List<Transaction> findByFromAccountOrToAccountOrderByCreatedAtDesc(Account fromAccount, Account toAccount);
+    @Query("SELECT t FROM Transaction t " +
+           "JOIN FETCH t.fromAccount JOIN FETCH t.toAccount " +
+           "WHERE t.transactionId = :transactionId")
+    Optional<Transaction> findWithAccountsByTransactionId(@Param("transactionId") String transactionId);
+
+    /** Loads and locks (SELECT ... FOR UPDATE) the transaction row only, not its accounts. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT t FROM Transaction t " +
+           "JOIN FETCH t.fromAccount JOIN FETCH t.toAccount " +
+           "WHERE t.status = :status ORDER BY t.id")
+    List<Transaction> findWithAccountsByStatus(@Param("status") Transaction.TransactionStatus status);
+
+    @Query("SELECT t FROM Transaction t " +
+           "JOIN FETCH t.fromAccount f JOIN FETCH f.customer " +
+           "JOIN FETCH t.toAccount a JOIN FETCH a.customer " +
+           "WHERE f.accountNumber = :fromAccountNumber AND t.idempotencyKey = :idempotencyKey")
+    Optional<Transaction> findByFromAccountNumberAndIdempotencyKey(@Param("fromAccountNumber") String fromAccountNumber,
+                                                                  @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * One page of the account's transactions, newest first: those created at or after {@code since}
+     * and strictly before the ({@code cursorCreatedAt}, {@code cursorId}) position. Each half of the
+     * UNION ALL is a range scan of the (from_account_id | to_account_id, created_at, id) index that
+     * stops after {@code limit} rows, so a page costs the same at any depth. Transfers from an account
+     * to itself are rejected, so no row appears in both halves.
+     */
+    @NativeQuery(sqlResultSetMapping = "AccountStatementRow", value =
+           "SELECT s.id, s.transaction_id, s.direction, c.account_number AS counterparty_account_number, " +
+           "s.amount, s.type, s.status, s.description, s.created_at " +
+           "FROM ((SELECT t.id, t.transaction_id, 'DEBIT' AS direction, t.to_account_id AS counterparty_id, " +
+           "t.amount, t.type, t.status, t.description, t.created_at FROM transactions t " +
+           "WHERE t.from_account_id = :accountId AND t.created_at >= :since AND t.created_at <= :cursorCreatedAt " +
+           "AND (t.created_at < :cursorCreatedAt OR t.id < :cursorId) " +
+           "ORDER BY t.from_account_id DESC, t.created_at DESC, t.id DESC LIMIT :limit) " +
+           "UNION ALL " +
+           "(SELECT t.id, t.transaction_id, 'CREDIT' AS direction, t.from_account_id AS counterparty_id, " +
+           "t.amount, t.type, t.status, t.description, t.created_at FROM transactions t " +
+           "WHERE t.to_account_id = :accountId AND t.created_at >= :since AND t.created_at <= :cursorCreatedAt " +
+           "AND (t.created_at < :cursorCreatedAt OR t.id < :cursorId) " +
+           "ORDER BY t.to_account_id DESC, t.created_at DESC, t.id DESC LIMIT :limit)) s " +
+           "JOIN accounts c ON c.id = s.counterparty_id " +
+           "ORDER BY s.created_at DESC, s.id DESC LIMIT :limit")
+    List<AccountStatementRow> findStatementPage(@Param("accountId") Long accountId,
+                                                @Param("since") LocalDateTime since,
+                                                @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                @Param("cursorId") long cursorId,
+                                                @Param("limit") int limit);
 
-    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
-           "AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
-    List<Transaction> findTransactionsByAccountAndDateRange(@Param("accountId") Long accountId,
-                                                           @Param("startDate") LocalDateTime startDate,
-                                                           @Param("endDate") LocalDateTime endDate);
+    /**
+     * Every transaction of the account created between {@code from} and {@code to}, oldest first,
+     * fetched {@value #EXPORT_FETCH_SIZE} rows at a time. Rows are DTOs, not entities, so nothing
+     * accumulates in the persistence context; the caller must close the stream inside a transaction.
+     */
+    @NativeQuery(sqlResultSetMapping = "TransactionExportRow", value =
+           "SELECT s.transaction_id, s.created_at, s.processed_at, f.account_number AS from_account_number, " +
+           "a.account_number AS to_account_number, s.amount, f.currency, s.type, s.status, s.description, " +
+           "s.reference_number, s.failure_reason " +
+           "FROM (SELECT t.id, t.transaction_id, t.from_account_id, t.to_account_id, t.amount, t.type, t.status, " +
+           "t.description, t.reference_number, t.failure_reason, t.created_at, t.processed_at FROM transactions t " +
+           "WHERE t.from_account_id = :accountId AND t.created_at >= :from AND t.created_at <= :to " +
+           "UNION ALL " +
+           "SELECT t.id, t.transaction_id, t.from_account_id, t.to_account_id, t.amount, t.type, t.status, " +
+           "t.description, t.reference_number, t.failure_reason, t.created_at, t.processed_at FROM transactions t " +
+           "WHERE t.to_account_id = :accountId AND t.created_at >= :from AND t.created_at <= :to) s " +
+           "JOIN accounts f ON f.id = s.from_account_id JOIN accounts a ON a.id = s.to_account_id " +
+           "ORDER BY s.created_at, s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<TransactionExportRow> streamForExport(@Param("accountId") Long accountId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
 }
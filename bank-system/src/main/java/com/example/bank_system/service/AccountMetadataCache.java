@@ -0,0 +1,73 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransferAccountView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Near cache of the account fields transfer validation reads — id, currency, status and owner id —
+ * keyed by account number. Balances are never cached: the entries hold a copy of the
+ * {@link TransferAccountView} with a null balance.
+ *
+ * <p>Holds up to {@code bank.account.metadata-cache.size} entries for
+ * {@code bank.account.metadata-cache.ttl-ms} each (see {@link NearCache}). A status change on this
+ * node invalidates the entry when it commits; other nodes see it when their entry expires. That is
+ * safe because the paths that use the cache either re-check under lock ({@link AsyncTransferService}'s
+ * workers) or only move money with UPDATE statements that require the account to be ACTIVE
+ * (ATOMIC_UPDATE). Metrics are tagged {@code cache=account-metadata}.
+ */
+@Component
+public class AccountMetadataCache {
+
+    private final NearCache<String, TransferAccountView> cache;
+
+    @Autowired
+    public AccountMetadataCache(MeterRegistry meterRegistry,
+                                @Value("${bank.account.metadata-cache.size:10000}") int maxSize,
+                                @Value("${bank.account.metadata-cache.ttl-ms:30000}") long ttlMs) {
+        this(meterRegistry, maxSize, ttlMs, System::nanoTime);
+    }
+
+    AccountMetadataCache(MeterRegistry meterRegistry, int maxSize, long ttlMs, LongSupplier nanoClock) {
+        this.cache = new NearCache<>("account-metadata", maxSize, ttlMs, meterRegistry, nanoClock);
+    }
+
+    /** The cached metadata of the account, or null if it is not cached or has expired. */
+    public TransferAccountView get(String accountNumber) {
+        return cache.get(accountNumber);
+    }
+
+    /** Changes with every invalidation; pass the value read before loading to {@link #put}. */
+    public long stamp() {
+        return cache.stamp();
+    }
+
+    /**
+     * Caches the account's metadata, unless an invalidation happened since {@code stamp} was taken.
+     *
+     * @return the metadata as cached, without the balance
+     */
+    public TransferAccountView put(TransferAccountView account, long stamp) {
+        TransferAccountView metadata = new TransferAccountView(account.getId(), account.getAccountNumber(),
+            account.getCurrency(), account.getStatus(), null, account.getCustomerId());
+        cache.put(account.getAccountNumber(), metadata, stamp);
+        return metadata;
+    }
+
+    public void invalidate(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+    /** Invalidates the entry once the current transaction commits. */
+    public void invalidateAfterCommit(String accountNumber) {
+        cache.invalidateAfterCommit(accountNumber);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
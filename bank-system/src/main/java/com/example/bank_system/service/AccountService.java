@@ -1,14 +1,21 @@
 package com.example.bank_system.service;
 
 import com.example.bank_system.dto.*;
+import com.example.bank_system.engine.LedgerEngine;
 import com.example.bank_system.entity.*;
 import com.example.bank_system.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,24 +26,36 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final CustomerService customerService;
+    private final BusinessIdGenerator idGenerator;
+    private final AccountMetadataCache metadataCache;
+    private final ReplicaStalenessGuard stalenessGuard;
+
+    /** Present only when {@code bank.transfer.engine=ledger}, which validates transfers against its own copies of the accounts. */
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
 
     public AccountResponse createAccount(CreateAccountRequest request) {
         log.info("Creating account for customer ID: {}, type: {}, currency: {}, initial balance: {}",
                 request.getCustomerId(), request.getAccountType(), request.getCurrency(), request.getInitialBalance());
 
+        // Whole minor units of the currency and within Money's range, like every amount moved later
+        BigDecimal initialBalance = request.getInitialBalance() != null ? request.getInitialBalance() : BigDecimal.ZERO;
+        Money.of(initialBalance, request.getCurrency());
+
         Customer customer = customerService.findCustomerById(request.getCustomerId());
 
-        String accountNumber = generateAccountNumber();
+        String accountNumber = idGenerator.nextAccountNumber();
 
         Account account = new Account();
         account.setAccountNumber(accountNumber);
         account.setAccountType(request.getAccountType());
-        account.setBalance(request.getInitialBalance());
+        account.setBalance(initialBalance);
         account.setCurrency(request.getCurrency());
         account.setCustomer(customer);
         account.setStatus(Account.AccountStatus.ACTIVE);
 
         account = accountRepository.save(account);
+        stalenessGuard.recordWrite(account);
 
         log.info("Account created successfully - Account Number: {}, Customer: {}, Currency: {}",
                 account.getAccountNumber(), customer.getName(), account.getCurrency());
@@ -54,32 +73,169 @@ public class AccountService {
             });
     }
 
+    @Transactional(readOnly = true)
     public AccountResponse getAccountByNumber(String accountNumber) {
         log.info("Getting account response for account number: {}", accountNumber);
+        stalenessGuard.routeAccountRead(accountNumber);
         Account account = findAccountByNumber(accountNumber);
         return mapToAccountResponse(account);
     }
 
+    @Transactional(readOnly = true)
     public List<AccountResponse> getAccountsByCustomerId(Long customerId) {
         log.info("Retrieving accounts for customer ID: {}", customerId);
+        stalenessGuard.routeCustomerRead(customerId);
         List<Account> accounts = accountRepository.findByCustomerId(customerId);
         return accounts.stream()
             .map(this::mapToAccountResponse)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Changes the account's status with a single UPDATE, so it does not conflict with concurrent
+     * transfers, and drops the account from the metadata cache once the change commits. With the
+     * ledger engine, the engine's copy of the account gets the new status at the same point.
+     */
+    public AccountResponse updateAccountStatus(String accountNumber, Account.AccountStatus status) {
+        log.info("Changing status of account {} to {}", accountNumber, status);
+
+        if (accountRepository.updateStatus(accountNumber, status) == 0) {
+            log.warn("Account not found: {}", accountNumber);
+            throw new RuntimeException("Account not found: " + accountNumber);
+        }
+        metadataCache.invalidateAfterCommit(accountNumber);
+        if (ledgerEngine != null) {
+            afterCommit(() -> ledgerEngine.updateStatus(accountNumber, status));
+        }
+        Account account = findAccountByNumber(accountNumber);
+        stalenessGuard.recordWrite(account);
+        return mapToAccountResponse(account);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     public Account saveAccount(Account account) {
         log.info("Saving account: {}", account.getAccountNumber());
+        stalenessGuard.recordWrite(account);
         return accountRepository.save(account);
     }
 
-    private String generateAccountNumber() {
-        String accountNumber;
-        do {
-            accountNumber = "ACC" + System.currentTimeMillis() +
-                          String.format("%03d", (int)(Math.random() * 1000));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
-        return accountNumber;
+    /**
+     * Loads both transfer accounts with SELECT ... FOR UPDATE, lowest account id first.
+     * Acquiring the row locks in a fixed order keeps concurrent transfers deadlock-free, and
+     * locking before the entities are loaded guarantees the balances read are current.
+     *
+     * @return the source and destination account, in that order
+     */
+    public List<Account> findAccountsForUpdate(String fromAccountNumber, String toAccountNumber) {
+        log.info("Locking accounts {} and {} for transfer", fromAccountNumber, toAccountNumber);
+
+        List<Long> accountIds = accountRepository.findIdsByAccountNumberIn(List.of(fromAccountNumber, toAccountNumber));
+        Map<String, Account> lockedAccounts = accountRepository.findAllByIdInForUpdate(accountIds).stream()
+            .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        return List.of(requireFound(lockedAccounts, fromAccountNumber), requireFound(lockedAccounts, toAccountNumber));
+    }
+
+    /**
+     * Reads both transfer accounts and their owners with one query into read-only views, for checks
+     * that need neither row locks nor managed entities.
+     *
+     * @return the source and destination account, in that order
+     */
+    public List<TransferAccountView> findTransferAccounts(String fromAccountNumber, String toAccountNumber) {
+        Map<String, TransferAccountView> accounts = accountRepository
+            .findTransferViewsByAccountNumberIn(List.of(fromAccountNumber, toAccountNumber)).stream()
+            .collect(Collectors.toMap(TransferAccountView::getAccountNumber, Function.identity()));
+
+        return List.of(requireFound(accounts, fromAccountNumber), requireFound(accounts, toAccountNumber));
+    }
+
+    /**
+     * Like {@link #findTransferAccounts}, but served from {@link AccountMetadataCache} when both
+     * accounts are cached. The views have no balance.
+     *
+     * @return the source and destination account, in that order
+     */
+    public List<TransferAccountView> findTransferMetadata(String fromAccountNumber, String toAccountNumber) {
+        TransferAccountView fromAccount = metadataCache.get(fromAccountNumber);
+        TransferAccountView toAccount = metadataCache.get(toAccountNumber);
+        if (fromAccount != null && toAccount != null) {
+            return List.of(fromAccount, toAccount);
+        }
+
+        long stamp = metadataCache.stamp();
+        List<TransferAccountView> loaded = findTransferAccounts(fromAccountNumber, toAccountNumber);
+        return List.of(metadataCache.put(loaded.get(0), stamp), metadataCache.put(loaded.get(1), stamp));
+    }
+
+    /**
+     * An uninitialized reference to the account, enough to set a foreign key without loading the row.
+     */
+    public Account getAccountReference(Long accountId) {
+        return accountRepository.getReferenceById(accountId);
+    }
+
+    /**
+     * Moves the amount with two conditional UPDATE statements instead of read-modify-write.
+     * The rows are updated lowest account id first for the same reason as {@link #findAccountsForUpdate}.
+     */
+    public void applyAtomicTransfer(TransferAccountView fromAccount, TransferAccountView toAccount, BigDecimal amount) {
+        if (fromAccount.getId() < toAccount.getId()) {
+            debitIfSufficient(fromAccount, amount);
+            creditIfActive(toAccount, amount);
+        } else {
+            creditIfActive(toAccount, amount);
+            debitIfSufficient(fromAccount, amount);
+        }
+        stalenessGuard.recordWrite(fromAccount);
+        stalenessGuard.recordWrite(toAccount);
+    }
+
+    public BigDecimal getCurrentBalance(Long accountId) {
+        return accountRepository.findBalanceById(accountId);
+    }
+
+    private static <T> T requireFound(Map<String, T> accounts, String accountNumber) {
+        T account = accounts.get(accountNumber);
+        if (account == null) {
+            log.warn("Account not found: {}", accountNumber);
+            throw new RuntimeException("Account not found: " + accountNumber);
+        }
+        return account;
+    }
+
+    private void debitIfSufficient(TransferAccountView account, BigDecimal amount) {
+        if (accountRepository.debitIfSufficient(account.getId(), amount) > 0) {
+            return;
+        }
+        if (accountRepository.findStatusById(account.getId()) != Account.AccountStatus.ACTIVE) {
+            // The status was validated against stale cached metadata
+            log.warn("Conditional debit rejected for account {}: not active", account.getAccountNumber());
+            metadataCache.invalidate(account.getAccountNumber());
+            throw new RuntimeException("Source account is not active");
+        }
+        log.warn("Conditional debit rejected for account {}: insufficient balance", account.getAccountNumber());
+        throw new RuntimeException("Insufficient balance");
+    }
+
+    private void creditIfActive(TransferAccountView account, BigDecimal amount) {
+        if (accountRepository.creditIfActive(account.getId(), amount) == 0) {
+            log.warn("Conditional credit rejected for account {}: not active", account.getAccountNumber());
+            metadataCache.invalidate(account.getAccountNumber());
+            throw new RuntimeException("Destination account is not active");
+        }
     }
 
     private AccountResponse mapToAccountResponse(Account account) {
@@ -0,0 +1,121 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.archive.TransactionArchive;
+import com.example.bank_system.dto.AccountStatementResponse;
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Pages through an account's transactions newest first. Pages are addressed by an opaque cursor
+ * holding the (created_at, id) of the last row returned, so every page is an index range scan
+ * instead of an OFFSET that reads and discards all earlier rows. Once the table has no more rows for
+ * a page, it continues into the archived months, so a statement reaches back past the table's
+ * retention without the client noticing.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class AccountStatementService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    /** Bounds used when the client does not restrict the date range. */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ReplicaStalenessGuard stalenessGuard;
+    private final TransactionArchive transactionArchive;
+
+    /**
+     * Returns up to {@code limit} transactions of the account created between {@code from} and
+     * {@code to} (both inclusive, either may be null), continuing after {@code cursor} if given.
+     */
+    public AccountStatementResponse getStatement(String accountNumber, LocalDateTime from, LocalDateTime to,
+                                                 String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new RuntimeException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        stalenessGuard.routeAccountRead(accountNumber);
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+
+        LocalDateTime cursorCreatedAt = to != null ? to : LATEST;
+        long cursorId = Long.MAX_VALUE;
+        if (cursor != null) {
+            Position position = decodeCursor(cursor);
+            cursorCreatedAt = position.createdAt();
+            cursorId = position.id();
+        }
+
+        LocalDateTime since = from != null ? from : EARLIEST;
+        List<AccountStatementRow> rows = transactionRepository.findStatementPage(account.getId(),
+            since, cursorCreatedAt, cursorId, pageSize);
+        if (rows.size() < pageSize) {
+            // Everything older than the table's oldest row is archived
+            LocalDateTime archiveCreatedAt = cursorCreatedAt;
+            long archiveId = cursorId;
+            if (!rows.isEmpty()) {
+                AccountStatementRow last = rows.get(rows.size() - 1);
+                archiveCreatedAt = last.getCreatedAt();
+                archiveId = last.getId();
+            }
+            List<AccountStatementRow> archived = transactionArchive.findStatementRows(account.getId(), since,
+                archiveCreatedAt, archiveId, pageSize - rows.size());
+            if (!archived.isEmpty()) {
+                rows = new ArrayList<>(rows);
+                rows.addAll(archived);
+            }
+        }
+        log.debug("Statement page for account {}: {} rows", accountNumber, rows.size());
+
+        List<AccountStatementResponse.Entry> entries = rows.stream()
+            .map(row -> new AccountStatementResponse.Entry(row.getTransactionId(), row.getDirection(),
+                row.getCounterpartyAccountNumber(), row.getAmount(), row.getType(), row.getStatus(),
+                row.getDescription(), row.getCreatedAt()))
+            .toList();
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            AccountStatementRow last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(new Position(last.getCreatedAt(), last.getId()));
+        }
+        return new AccountStatementResponse(account.getAccountNumber(), account.getCurrency(), entries, nextCursor);
+    }
+
+    static String encodeCursor(Position position) {
+        String raw = position.createdAt() + "|" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /** Where a page ended: the (created_at, id) of its last row. */
+    record Position(LocalDateTime createdAt, long id) {
+    }
+}
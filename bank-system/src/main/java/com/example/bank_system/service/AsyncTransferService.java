@@ -0,0 +1,337 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransferAccountView;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.dto.TransferStatusResponse;
+import com.example.bank_system.engine.LedgerEngine;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.exception.TransferQueueFullException;
+import com.example.bank_system.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts transfers for later execution when {@code bank.transfer.async.enabled=true}.
+ *
+ * <p>{@link #submit} validates the request, stores the transaction as PENDING and queues it, so the
+ * caller gets a transaction id without waiting for account locks. {@code bank.transfer.async.workers}
+ * threads run the queued transfers through {@link TransactionService#processPendingTransfer}. If the
+ * request had a callback URL, the final state is then POSTed to it by a separate pool of
+ * {@code bank.transfer.async.callback-threads}, so slow callback hosts never hold up transfers;
+ * callbacks beyond {@code bank.transfer.async.callback-queue-capacity} waiting are dropped. Callback
+ * URLs are only accepted for the hosts in {@code bank.transfer.async.callback-hosts}. At most
+ * {@code bank.transfer.async.queue-capacity} transfers wait at a time; further submissions are
+ * rejected with {@link TransferQueueFullException}.
+ *
+ * <p>The PENDING rows are the durable copy of the queue: on startup any left over from a previous run
+ * are queued again (their callbacks are not repeated).
+ */
+@Service
+@ConditionalOnProperty(name = "bank.transfer.async.enabled", havingValue = "true")
+@Slf4j
+public class AsyncTransferService {
+
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final TransferValidator transferValidator;
+    private final BusinessIdGenerator idGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final RestClient callbackClient;
+    private final int callbackTimeoutMs;
+    private final Counter rejected;
+    private final Counter callbacksDropped;
+
+    /** Async submission bypasses the ledger engine, so the two cannot be combined. */
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bank.transfer.async.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${bank.transfer.async.workers:8}")
+    private int workerCount = 8;
+
+    /** Comma-separated hosts a Callback-Url may point to; empty rejects every callback URL. */
+    @Value("${bank.transfer.async.callback-hosts:}")
+    private String callbackHosts = "";
+
+    @Value("${bank.transfer.async.callback-threads:4}")
+    private int callbackThreads = 4;
+
+    @Value("${bank.transfer.async.callback-queue-capacity:1000}")
+    private int callbackQueueCapacity = 1000;
+
+    private final BlockingQueue<QueuedTransfer> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private Semaphore capacity;
+    private Set<String> allowedCallbackHosts = Set.of();
+    private ThreadPoolExecutor callbackExecutor;
+    private volatile boolean running;
+
+    public AsyncTransferService(TransactionService transactionService, TransactionRepository transactionRepository,
+                                AccountService accountService, TransferValidator transferValidator,
+                                BusinessIdGenerator idGenerator, TransactionTemplate transactionTemplate,
+                                RestClient.Builder restClientBuilder, MeterRegistry meterRegistry,
+                                @Value("${bank.transfer.async.callback-timeout-ms:5000}") int callbackTimeoutMs) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.transferValidator = transferValidator;
+        this.idGenerator = idGenerator;
+        this.transactionTemplate = transactionTemplate;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(callbackTimeoutMs);
+        requestFactory.setReadTimeout(callbackTimeoutMs);
+        this.callbackClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.callbackTimeoutMs = callbackTimeoutMs;
+
+        this.rejected = Counter.builder("bank.transfer.async.rejected")
+            .description("Transfer submissions rejected because the queue was full")
+            .register(meterRegistry);
+        this.callbacksDropped = Counter.builder("bank.transfer.async.callback.dropped")
+            .description("Transfer callbacks not sent because too many were waiting")
+            .register(meterRegistry);
+        Gauge.builder("bank.transfer.async.queued", queue, BlockingQueue::size)
+            .description("Accepted transfers waiting for a worker")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (ledgerEngine != null) {
+            throw new IllegalStateException("bank.transfer.async.enabled cannot be combined with bank.transfer.engine=ledger");
+        }
+        List<Transaction> leftOver = transactionRepository.findWithAccountsByStatus(Transaction.TransactionStatus.PENDING);
+        // Negative when more were left over than fit, so new submissions are rejected until they drain
+        capacity = new Semaphore(queueCapacity - leftOver.size());
+        for (Transaction transaction : leftOver) {
+            queue.add(new QueuedTransfer(transaction.getId(), transaction.getTransactionId(), toRequest(transaction), null));
+        }
+
+        allowedCallbackHosts = Arrays.stream(callbackHosts.split(","))
+            .map(host -> host.trim().toLowerCase(Locale.ROOT))
+            .filter(host -> !host.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+        callbackExecutor = new ThreadPoolExecutor(callbackThreads, callbackThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(callbackQueueCapacity),
+            Thread.ofPlatform().name("transfer-callback-", 0).daemon().factory());
+
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "transfer-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Async transfers enabled with {} workers and a queue of {}, {} pending transfers resumed",
+            workerCount, queueCapacity, leftOver.size());
+    }
+
+    /**
+     * Stops the workers after their current transfer; whatever is still queued stays PENDING for the
+     * next start. Callbacks already waiting get one more callback timeout to go out.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (callbackExecutor != null) {
+            callbackExecutor.shutdown();
+            callbackExecutor.awaitTermination(callbackTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Validates the transfer, stores it as PENDING and queues it. With an idempotency key that was
+     * already used from the source account, returns the state of that transfer instead.
+     */
+    public TransferStatusResponse submit(TransferRequest request, String idempotencyKey, String callbackUrl) {
+        transferValidator.validateCurrencyProvided(request.getCurrency());
+        validateCallbackUrl(callbackUrl);
+
+        String key = TransactionService.resolveIdempotencyKey(request, idempotencyKey);
+        if (key != null) {
+            TransferStatusResponse previous = findByIdempotencyKey(request, key);
+            if (previous != null) {
+                return previous;
+            }
+        }
+
+        if (!capacity.tryAcquire()) {
+            rejected.increment();
+            throw new TransferQueueFullException("Too many transfers in progress, please retry later");
+        }
+        Transaction transaction;
+        try {
+            transaction = transactionTemplate.execute(status -> createPendingTransaction(request, key));
+        } catch (DataIntegrityViolationException e) {
+            capacity.release();
+            // Another request with the same key was stored between the lookup and our insert
+            TransferStatusResponse previous = key != null ? findByIdempotencyKey(request, key) : null;
+            if (previous == null) {
+                throw e;
+            }
+            return previous;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+
+        queue.add(new QueuedTransfer(transaction.getId(), transaction.getTransactionId(), request, callbackUrl));
+        log.info("Transfer {} from {} to {} accepted for asynchronous processing",
+            transaction.getTransactionId(), request.getFromAccountNumber(), request.getToAccountNumber());
+        return transactionService.buildTransferStatusResponse(transaction, request.getFromAccountNumber(),
+            request.getToAccountNumber(), request.getCurrency());
+    }
+
+    /** Accepted transfers waiting for a worker. */
+    public int queued() {
+        return queue.size();
+    }
+
+    private Transaction createPendingTransaction(TransferRequest request, String idempotencyKey) {
+        // Cached account metadata, nothing here writes to the accounts
+        List<TransferAccountView> accounts = accountService.findTransferMetadata(
+            request.getFromAccountNumber(), request.getToAccountNumber());
+        TransferAccountView fromAccount = accounts.get(0);
+        TransferAccountView toAccount = accounts.get(1);
+        transferValidator.validateRequestCurrency(request.getCurrency(), fromAccount, toAccount);
+        // This only rejects obviously invalid transfers early; the worker checks again, balance included
+        transferValidator.validateTransferWithoutBalance(fromAccount, toAccount, request.getAmount());
+
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(idGenerator.nextTransactionId());
+        transaction.setFromAccount(accountService.getAccountReference(fromAccount.getId()));
+        transaction.setToAccount(accountService.getAccountReference(toAccount.getId()));
+        transaction.setAmount(request.getAmount());
+        transaction.setType(Transaction.TransactionType.TRANSFER);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        transaction.setDescription(request.getDescription());
+        transaction.setReferenceNumber(request.getReferenceNumber());
+        transaction.setIdempotencyKey(idempotencyKey);
+        return transactionRepository.saveAndFlush(transaction);
+    }
+
+    private TransferStatusResponse findByIdempotencyKey(TransferRequest request, String idempotencyKey) {
+        return transactionRepository.findByFromAccountNumberAndIdempotencyKey(request.getFromAccountNumber(), idempotencyKey)
+            .map(transactionService::buildTransferStatusResponse)
+            .orElse(null);
+    }
+
+    private void runWorker() {
+        while (running) {
+            QueuedTransfer next;
+            try {
+                next = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (next == null) {
+                continue;
+            }
+            capacity.release();
+            try {
+                transactionService.processPendingTransfer(next.id(), next.request());
+            } catch (RuntimeException e) {
+                log.error("Transfer {} could not be processed and stays PENDING until the next start",
+                    next.transactionId(), e);
+                continue;
+            }
+            if (next.callbackUrl() != null) {
+                scheduleCallback(next);
+            }
+        }
+    }
+
+    private void scheduleCallback(QueuedTransfer transfer) {
+        try {
+            callbackExecutor.execute(() -> notifyCallback(transfer));
+        } catch (RejectedExecutionException e) {
+            callbacksDropped.increment();
+            log.warn("Callback to {} for transfer {} dropped, {} callbacks are already waiting",
+                transfer.callbackUrl(), transfer.transactionId(), callbackQueueCapacity);
+        }
+    }
+
+    private void notifyCallback(QueuedTransfer transfer) {
+        try {
+            TransferStatusResponse status = transactionService.getTransferStatus(transfer.transactionId());
+            callbackClient.post()
+                .uri(transfer.callbackUrl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(status)
+                .retrieve()
+                .toBodilessEntity();
+        } catch (RuntimeException e) {
+            // Best effort: the client can still poll the status endpoint
+            log.warn("Callback to {} for transfer {} failed: {}", transfer.callbackUrl(), transfer.transactionId(),
+                e.getMessage());
+        }
+    }
+
+    private void validateCallbackUrl(String callbackUrl) {
+        if (callbackUrl == null) {
+            return;
+        }
+        URI uri;
+        try {
+            uri = URI.create(callbackUrl);
+        } catch (IllegalArgumentException e) {
+            uri = null;
+        }
+        if (uri == null || !("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null) {
+            throw new RuntimeException("Callback URL must be an absolute http or https URL");
+        }
+        // Callbacks are sent from inside the network, so only to hosts the operator lists
+        if (!allowedCallbackHosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) {
+            throw new RuntimeException("Callback host is not allowed: " + uri.getHost());
+        }
+    }
+
+    private static TransferRequest toRequest(Transaction transaction) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(transaction.getFromAccount().getAccountNumber());
+        request.setToAccountNumber(transaction.getToAccount().getAccountNumber());
+        request.setAmount(transaction.getAmount());
+        request.setCurrency(transaction.getFromAccount().getCurrency().name());
+        request.setDescription(transaction.getDescription());
+        request.setReferenceNumber(transaction.getReferenceNumber());
+        return request;
+    }
+
+    private record QueuedTransfer(Long id, String transactionId, TransferRequest request, String callbackUrl) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.AccountBalance;
+import com.example.bank_system.dto.LedgerDelta;
+import com.example.bank_system.entity.AccountBalanceCheckpoint;
+import com.example.bank_system.entity.LedgerCheckpointWatermark;
+import com.example.bank_system.repository.AccountBalanceCheckpointRepository;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.LedgerCheckpointWatermarkRepository;
+import com.example.bank_system.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Folds new ledger entries into per-account balance checkpoints in the background.
+ *
+ * <p>Each run takes the entries recorded since the previous run's cutoff, up to
+ * {@code bank.ledger.checkpoint.settle-ms} ago, sums them per account with one range scan and writes
+ * a checkpoint for every account that has any: its previous checkpoint plus the sum. Entries are
+ * recorded at insert time, so anything older than the settle window belongs to a committed
+ * transaction and none is skipped. An account's first checkpoint is its stored balance less the
+ * entries recorded after the cutoff, read in the same transaction.
+ *
+ * <p>Runs only read and insert, and never touch the rows transfers lock. The watermark row is
+ * locked with {@code SKIP LOCKED}, so when several instances run the job one does the work.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCheckpointJob {
+
+    /** Upper bound for the number of values bound into a single IN clause. */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final LedgerCheckpointWatermarkRepository watermarkRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bank.ledger.checkpoint.settle-ms:60000}")
+    private long settleMs = 60000;
+
+    @Scheduled(fixedDelayString = "${bank.ledger.checkpoint.interval-ms:300000}",
+               initialDelayString = "${bank.ledger.checkpoint.interval-ms:300000}")
+    public void checkpoint() {
+        try {
+            transactionTemplate.execute(status -> checkpointOnce(LocalDateTime.now().minus(Duration.ofMillis(settleMs))));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the watermark row first
+            log.debug("Balance checkpoint run skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Checkpoints every account with entries recorded after the watermark and up to {@code cutoff},
+     * inside the caller's transaction.
+     *
+     * @return the number of checkpoints written, or -1 if another instance holds the watermark
+     */
+    int checkpointOnce(LocalDateTime cutoff) {
+        Optional<LedgerCheckpointWatermark> locked = watermarkRepository.lockById(LedgerCheckpointWatermark.ID);
+        if (locked.isEmpty()) {
+            if (watermarkRepository.existsById(LedgerCheckpointWatermark.ID)) {
+                log.debug("Balance checkpoint run skipped, another instance holds the watermark");
+                return -1;
+            }
+            locked = Optional.of(watermarkRepository.saveAndFlush(
+                new LedgerCheckpointWatermark(LedgerCheckpointWatermark.ID, EARLIEST, null)));
+        }
+        LedgerCheckpointWatermark watermark = locked.get();
+        LocalDateTime after = watermark.getCheckpointedThrough();
+        if (!cutoff.isAfter(after)) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        List<LedgerDelta> deltas = ledgerEntryRepository.findDeltasRecordedBetween(after, cutoff);
+        Map<Long, BigDecimal> recordedSince = new HashMap<>();
+        if (!deltas.isEmpty()) {
+            // Only needed for first checkpoints, and small: the entries of the settle window
+            for (LedgerDelta delta : ledgerEntryRepository.findDeltasRecordedBetween(cutoff, LedgerService.LATEST)) {
+                recordedSince.put(delta.accountId(), delta.amount());
+            }
+        }
+        List<AccountBalanceCheckpoint> checkpoints = new ArrayList<>(deltas.size());
+        for (int from = 0; from < deltas.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            checkpoints.addAll(nextCheckpoints(deltas.subList(from, Math.min(deltas.size(), from + IN_CLAUSE_CHUNK_SIZE)),
+                cutoff, recordedSince));
+        }
+        checkpointRepository.saveAll(checkpoints);
+
+        watermark.setCheckpointedThrough(cutoff);
+        watermarkRepository.save(watermark);
+        log.info("Checkpointed {} account balances through {} in {} ms ({} entries)", checkpoints.size(), cutoff,
+            (System.nanoTime() - started) / 1_000_000, deltas.stream().mapToLong(LedgerDelta::entries).sum());
+        return checkpoints.size();
+    }
+
+    private List<AccountBalanceCheckpoint> nextCheckpoints(List<LedgerDelta> deltas, LocalDateTime cutoff,
+                                                           Map<Long, BigDecimal> recordedSince) {
+        List<Long> accountIds = deltas.stream().map(LedgerDelta::accountId).toList();
+        Map<Long, BigDecimal> previous = new HashMap<>();
+        for (AccountBalanceCheckpoint checkpoint : checkpointRepository.findLatestByAccountIdIn(accountIds)) {
+            previous.put(checkpoint.getAccountId(), checkpoint.getBalance());
+        }
+
+        // Balance at the cutoff of accounts checkpointed for the first time: the stored balance less
+        // whatever has been recorded since the cutoff
+        Map<Long, BigDecimal> firstBalances = new HashMap<>();
+        List<Long> firstTime = accountIds.stream().filter(id -> !previous.containsKey(id)).toList();
+        if (!firstTime.isEmpty()) {
+            for (AccountBalance account : accountRepository.findBalancesByIdIn(firstTime)) {
+                firstBalances.put(account.id(),
+                    account.balance().subtract(recordedSince.getOrDefault(account.id(), BigDecimal.ZERO)));
+            }
+        }
+
+        List<AccountBalanceCheckpoint> checkpoints = new ArrayList<>(deltas.size());
+        for (LedgerDelta delta : deltas) {
+            BigDecimal balance = previous.containsKey(delta.accountId())
+                ? previous.get(delta.accountId()).add(delta.amount())
+                : firstBalances.get(delta.accountId());
+            if (balance != null) {
+                checkpoints.add(new AccountBalanceCheckpoint(null, delta.accountId(), cutoff, balance, delta.entries()));
+            }
+        }
+        return checkpoints;
+    }
+}
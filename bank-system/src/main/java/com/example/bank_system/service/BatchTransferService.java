@@ -0,0 +1,185 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.BatchTransferRequest;
+import com.example.bank_system.dto.BatchTransferResponse;
+import com.example.bank_system.dto.TransactionApiResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.engine.LedgerEngine;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Money;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executes many transfers as one all-or-nothing database transaction.
+ *
+ * <p>Every account the batch touches is resolved with one IN query and locked once, in ascending
+ * id order (the same order the single-transfer path uses), so a batch never deadlocks with other
+ * transfers. Transfers are then applied in memory in request order and flushed once: with pooled
+ * sequence ids and {@code hibernate.jdbc.batch_size} set, Hibernate writes the transaction rows and
+ * the touched accounts (and the transfers' ledger entries) as JDBC batches instead of one round trip
+ * per row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchTransferService {
+
+    /** Upper bound for the number of values bound into a single IN clause. */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    /** JDBC batch size for the batch flush; larger than the application-wide default of 50. */
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferValidator transferValidator;
+    private final TransactionEventBuilder transactionEventBuilder;
+    private final OutboxService outboxService;
+    private final TransactionService transactionService;
+    private final BusinessIdGenerator idGenerator;
+    private final LedgerService ledgerService;
+    private final ReplicaStalenessGuard stalenessGuard;
+    private final EntityManager entityManager;
+
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Transactional
+    public BatchTransferResponse processBatch(BatchTransferRequest request) {
+        if (ledgerEngine != null) {
+            throw new RuntimeException("Batch transfers are not available while the ledger engine owns account balances");
+        }
+        List<TransferRequest> transfers = request.getTransfers();
+        log.info("Processing batch of {} transfers", transfers.size());
+
+        Map<String, Account> accounts = lockAccounts(transfers);
+        LocalDateTime processedAt = LocalDateTime.now();
+
+        List<Transaction> transactions = new ArrayList<>(transfers.size());
+        List<BigDecimal[]> balances = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            try {
+                Account fromAccount = requireAccount(accounts, transfer.getFromAccountNumber());
+                Account toAccount = requireAccount(accounts, transfer.getToAccountNumber());
+
+                transferValidator.validateCurrencyProvided(transfer.getCurrency());
+                transferValidator.validateRequestCurrency(transfer.getCurrency(), fromAccount, toAccount);
+                transferValidator.validateTransfer(fromAccount, toAccount, transfer.getAmount());
+
+                BigDecimal fromBalanceBefore = fromAccount.getBalance();
+                BigDecimal toBalanceBefore = toAccount.getBalance();
+                Money amount = Money.of(transfer.getAmount(), fromAccount.getCurrency());
+                fromAccount.setBalanceMoney(fromAccount.getBalanceMoney().minus(amount));
+                toAccount.setBalanceMoney(toAccount.getBalanceMoney().plus(amount));
+
+                transactions.add(buildTransaction(fromAccount, toAccount, transfer, processedAt));
+                balances.add(new BigDecimal[] {
+                    fromBalanceBefore, fromAccount.getBalance(), toBalanceBefore, toAccount.getBalance()});
+            } catch (RuntimeException e) {
+                log.warn("Batch rejected at transfer #{} ({} -> {}): {}", i,
+                    transfer.getFromAccountNumber(), transfer.getToAccountNumber(), e.getMessage());
+                throw new RuntimeException("Batch transfer rejected at item " + i + ": " + e.getMessage(), e);
+            }
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(FLUSH_BATCH_SIZE);
+        transactionRepository.saveAll(transactions);
+        ledgerService.recordTransfers(transactions);
+        transactionRepository.flush();
+        accounts.values().forEach(stalenessGuard::recordWrite);
+
+        List<TransactionEvent> events = new ArrayList<>(transactions.size());
+        List<TransactionApiResponse> responses = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            String currency = transfers.get(i).getCurrency();
+            BigDecimal[] balance = balances.get(i);
+            events.add(transactionEventBuilder.buildSuccessfulTransferEvent(
+                transaction, balance[0], balance[1], balance[2], balance[3], currency));
+            responses.add(transactionService.buildTransactionApiResponse(transaction, currency));
+        }
+        outboxService.enqueueAll(events);
+
+        log.info("Batch of {} transfers completed across {} accounts", transactions.size(), accounts.size());
+        return new BatchTransferResponse(Transaction.TransactionStatus.COMPLETED.name(), transactions.size(), responses);
+    }
+
+    /**
+     * Resolves every account number in the batch to its id, then loads and locks the rows in
+     * ascending id order.
+     */
+    private Map<String, Account> lockAccounts(List<TransferRequest> transfers) {
+        Set<String> accountNumbers = new LinkedHashSet<>();
+        for (TransferRequest transfer : transfers) {
+            accountNumbers.add(transfer.getFromAccountNumber());
+            accountNumbers.add(transfer.getToAccountNumber());
+        }
+
+        List<Long> accountIds = new ArrayList<>(accountNumbers.size());
+        for (List<String> chunk : chunk(new ArrayList<>(accountNumbers))) {
+            accountIds.addAll(accountRepository.findIdsByAccountNumberIn(chunk));
+        }
+        accountIds.sort(null);
+
+        Map<String, Account> accounts = new HashMap<>();
+        for (List<Long> chunk : chunk(accountIds)) {
+            for (Account account : accountRepository.findAllByIdInForUpdate(chunk)) {
+                accounts.put(account.getAccountNumber(), account);
+            }
+        }
+        log.debug("Locked {} accounts for batch", accounts.size());
+        return accounts;
+    }
+
+    private Transaction buildTransaction(Account fromAccount, Account toAccount, TransferRequest transfer,
+                                         LocalDateTime processedAt) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(idGenerator.nextTransactionId());
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setAmount(transfer.getAmount());
+        transaction.setType(Transaction.TransactionType.TRANSFER);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setDescription(transfer.getDescription());
+        transaction.setReferenceNumber(transfer.getReferenceNumber());
+        transaction.setCreatedAt(processedAt);
+        transaction.setProcessedAt(processedAt);
+        return transaction;
+    }
+
+    private Account requireAccount(Map<String, Account> accounts, String accountNumber) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            throw new RuntimeException("Account not found: " + accountNumber);
+        }
+        return account;
+    }
+
+    private static <T> List<List<T>> chunk(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + IN_CLAUSE_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
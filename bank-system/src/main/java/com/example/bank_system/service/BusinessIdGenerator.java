@@ -0,0 +1,68 @@
+package com.example.bank_system.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates transaction ids and account numbers in memory, in their existing formats:
+ * <ul>
+ *   <li>{@code TXN} + 13-digit epoch millis + 8 upper-case hex digits holding
+ *       {@code nodeId << 24 | sequence} (1M ids per millisecond per node)</li>
+ *   <li>{@code ACC} + 13-digit epoch millis + 3 decimal digits holding
+ *       {@code nodeId * 10 + sequence} (10 numbers per millisecond per node)</li>
+ * </ul>
+ * Both are unique across instances as long as each instance has its own
+ * {@code bank.id.node-id} (0-99). See {@link SnowflakeIdGenerator}.
+ */
+@Component
+public class BusinessIdGenerator {
+
+    static final int MAX_NODE_ID = 99;
+    private static final int NODE_SHIFT = 24;
+    private static final int TRANSACTION_SEQUENCE_BITS = 20;
+    private static final int ACCOUNT_SEQUENCES = 10;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final int nodeId;
+    private final SnowflakeIdGenerator transactionIds;
+    private final SnowflakeIdGenerator accountNumbers;
+
+    @Autowired
+    public BusinessIdGenerator(@Value("${bank.id.node-id:0}") int nodeId) {
+        this(nodeId, new SnowflakeIdGenerator(1L << TRANSACTION_SEQUENCE_BITS),
+            new SnowflakeIdGenerator(ACCOUNT_SEQUENCES));
+    }
+
+    BusinessIdGenerator(int nodeId, SnowflakeIdGenerator transactionIds, SnowflakeIdGenerator accountNumbers) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("bank.id.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.transactionIds = transactionIds;
+        this.accountNumbers = accountNumbers;
+    }
+
+    public String nextTransactionId() {
+        long value = transactionIds.next();
+        long suffix = ((long) nodeId << NODE_SHIFT) | transactionIds.sequence(value);
+        StringBuilder id = new StringBuilder(24).append("TXN").append(transactionIds.millis(value));
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            id.append(HEX[(int) (suffix >>> shift) & 0xF]);
+        }
+        return id.toString();
+    }
+
+    public String nextAccountNumber() {
+        long value = accountNumbers.next();
+        long suffix = nodeId * ACCOUNT_SEQUENCES + accountNumbers.sequence(value);
+        StringBuilder number = new StringBuilder(19).append("ACC").append(accountNumbers.millis(value));
+        if (suffix < 100) {
+            number.append('0');
+        }
+        if (suffix < 10) {
+            number.append('0');
+        }
+        return number.append(suffix).toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bank_system.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: fields separated by commas, optionally quoted, with
+ * quotes doubled inside quoted fields, which may span lines. The counterpart of the quoting in
+ * {@link TransactionExportService#csvField}.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -1;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** The next record's fields, or null at the end of the input. Blank lines are skipped. */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c < 0) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c < 0) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /** Line the last record returned by {@link #next()} starts on. */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -1) {
+            c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.CustomerDescriptor;
+import com.example.bank_system.entity.BusinessCustomer;
+import com.example.bank_system.entity.Customer;
+import com.example.bank_system.entity.IndividualCustomer;
+import com.example.bank_system.entity.VIPCustomer;
+import com.example.bank_system.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Near cache of {@link CustomerDescriptor}s by customer id, so building transfer responses and
+ * events needs neither the customer entity nor a type check per transfer; a miss reads the customer
+ * by id. Holds up to {@code bank.customer.descriptor-cache.size} entries for
+ * {@code bank.customer.descriptor-cache.ttl-ms} each (see {@link NearCache}). Updates to a customer
+ * invalidate its entry on commit ({@link CustomerDescriptorInvalidationListener}). Metrics are
+ * tagged {@code cache=customer-descriptor}.
+ */
+@Component
+@Slf4j
+public class CustomerDescriptorCache {
+
+    private final CustomerRepository customerRepository;
+    private final NearCache<Long, CustomerDescriptor> cache;
+
+    @Autowired
+    public CustomerDescriptorCache(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                                   @Value("${bank.customer.descriptor-cache.size:10000}") int maxSize,
+                                   @Value("${bank.customer.descriptor-cache.ttl-ms:300000}") long ttlMs) {
+        this(customerRepository, meterRegistry, maxSize, ttlMs, System::nanoTime);
+    }
+
+    CustomerDescriptorCache(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                            int maxSize, long ttlMs, LongSupplier nanoClock) {
+        this.customerRepository = customerRepository;
+        this.cache = new NearCache<>("customer-descriptor", maxSize, ttlMs, meterRegistry, nanoClock);
+    }
+
+    public CustomerDescriptor get(Long customerId) {
+        CustomerDescriptor descriptor = cache.get(customerId);
+        if (descriptor != null) {
+            return descriptor;
+        }
+
+        long stamp = cache.stamp();
+        descriptor = describe(customerRepository.findById(customerId)
+            .orElseThrow(() -> new RuntimeException("Customer not found: " + customerId)));
+        cache.put(customerId, descriptor, stamp);
+        return descriptor;
+    }
+
+    /** Invalidates the customer's entry once the current transaction commits. */
+    public void invalidateAfterCommit(Long customerId) {
+        cache.invalidateAfterCommit(customerId);
+    }
+
+    static CustomerDescriptor describe(Customer customer) {
+        Customer realCustomer = (Customer) Hibernate.unproxy(customer);
+        if (realCustomer instanceof IndividualCustomer individual) {
+            return new CustomerDescriptor(customer.getId(), "individual", customer.getName(),
+                individual.getNationalId(), null);
+        } else if (realCustomer instanceof BusinessCustomer business) {
+            return new CustomerDescriptor(customer.getId(), "business", customer.getName(),
+                null, business.getBusinessRegistrationNumber());
+        } else if (realCustomer instanceof VIPCustomer) {
+            return new CustomerDescriptor(customer.getId(), "vip", customer.getName(), "VIP-" + customer.getId(), null);
+        }
+
+        log.warn("Unknown customer type for customer ID: {}, class: {}", customer.getId(), realCustomer.getClass().getName());
+        return new CustomerDescriptor(customer.getId(), "unknown", customer.getName(), null, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.entity.Customer;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener on {@link Customer} that drops the customer's {@link CustomerDescriptorCache} entry
+ * when an update or delete commits. Hibernate creates it through Spring's bean container; the cache
+ * is looked up on first use because it depends on the repositories Hibernate is still building.
+ */
+public class CustomerDescriptorInvalidationListener {
+
+    private final ObjectProvider<CustomerDescriptorCache> descriptorCache;
+
+    public CustomerDescriptorInvalidationListener(ObjectProvider<CustomerDescriptorCache> descriptorCache) {
+        this.descriptorCache = descriptorCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void customerChanged(Customer customer) {
+        descriptorCache.getObject().invalidateAfterCommit(customer.getId());
+    }
+}
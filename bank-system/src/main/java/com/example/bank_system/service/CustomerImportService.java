@@ -0,0 +1,377 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.CreateBusinessCustomerRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CreateVIPCustomerRequest;
+import com.example.bank_system.dto.CustomerImportResponse;
+import com.example.bank_system.dto.CustomerImportRow;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.BusinessCustomer;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.Customer;
+import com.example.bank_system.entity.IndividualCustomer;
+import com.example.bank_system.entity.Money;
+import com.example.bank_system.entity.VIPCustomer;
+import com.example.bank_system.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates customers, and optionally one account each, from a CSV or NDJSON file read as a stream.
+ *
+ * <p>Rows are handled in batches of {@code bank.customer.import.batch-size}: each row is checked
+ * with the same constraints as the single-customer endpoints, the batch's emails are checked
+ * against each other and against the database with one IN query, and the valid rows are inserted
+ * in one transaction with JDBC batching. An email repeated in a later batch is caught by that query,
+ * so memory stays bounded by the batch size however large the file is. A row that fails is reported with its
+ * line number and does not stop the import. If a batch's insert fails, because another request
+ * created one of its emails in the meantime, its rows are retried one by one so only the conflicting
+ * rows are reported.
+ */
+@Service
+@Slf4j
+public class CustomerImportService {
+
+    /** JDBC batch size for an import batch's flush; larger than the application-wide default of 50. */
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final CustomerRepository customerRepository;
+    private final BusinessIdGenerator idGenerator;
+    private final ReplicaStalenessGuard stalenessGuard;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+
+    @Value("${bank.customer.import.batch-size:1000}")
+    private int batchSize = 1000;
+
+    public CustomerImportService(CustomerRepository customerRepository, BusinessIdGenerator idGenerator,
+                                 ReplicaStalenessGuard stalenessGuard, Validator validator,
+                                 TransactionTemplate transactionTemplate, EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        this.customerRepository = customerRepository;
+        this.idGenerator = idGenerator;
+        this.stalenessGuard = stalenessGuard;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(CustomerImportRow.class);
+    }
+
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported import format: " + format);
+        }
+    }
+
+    public CustomerImportResponse importCustomers(InputStream in, Format format) throws IOException {
+        long started = System.nanoTime();
+        Import state = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        if (format == Format.CSV) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new RuntimeException("Import file is empty");
+            }
+            for (List<String> fields; (fields = csv.next()) != null; ) {
+                state.totalRows++;
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    if (!fields.get(i).isBlank()) {
+                        values.put(header.get(i).trim(), fields.get(i));
+                    }
+                }
+                CustomerImportRow row;
+                try {
+                    row = objectMapper.convertValue(values, CustomerImportRow.class);
+                } catch (IllegalArgumentException e) {
+                    state.fail(csv.recordLine(), values.get("email"), "Unreadable row: " + e.getMessage());
+                    continue;
+                }
+                addToBatch(batch, new PendingRow(csv.recordLine(), row), state);
+            }
+        } else {
+            long line = 0;
+            for (String text; (text = reader.readLine()) != null; ) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                state.totalRows++;
+                try {
+                    addToBatch(batch, new PendingRow(line, rowReader.readValue(text)), state);
+                } catch (JsonProcessingException e) {
+                    state.fail(line, null, "Unreadable row: " + e.getOriginalMessage());
+                }
+            }
+        }
+        importBatch(batch, state);
+        state.errors.sort(Comparator.comparingLong(CustomerImportResponse.RowError::getLine));
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Imported {} customers and {} accounts from {} rows ({} failed) in {} ms", state.importedCustomers,
+            state.createdAccounts, state.totalRows, state.errors.size(), durationMs);
+        return new CustomerImportResponse(state.totalRows, state.importedCustomers, state.createdAccounts,
+            state.errors.size(), durationMs, state.errors);
+    }
+
+    private void addToBatch(List<PendingRow> batch, PendingRow row, Import state) {
+        batch.add(row);
+        if (batch.size() == batchSize) {
+            importBatch(batch, state);
+            batch.clear();
+        }
+    }
+
+    private void importBatch(List<PendingRow> batch, Import state) {
+        List<PendingRow> valid = new ArrayList<>(batch.size());
+        Set<String> batchEmails = new HashSet<>();
+        for (PendingRow row : batch) {
+            String error = prepare(row);
+            if (error == null && !batchEmails.add(emailKey(row.customer.getEmail()))) {
+                error = "Duplicate email in import file";
+            }
+            if (error != null) {
+                state.fail(row.line, row.row.getEmail(), error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = customerRepository.findExistingEmails(
+                valid.stream().map(row -> row.customer.getEmail()).toList())
+            .stream().map(CustomerImportService::emailKey).collect(Collectors.toSet());
+        List<PendingRow> inserts = new ArrayList<>(valid.size());
+        for (PendingRow row : valid) {
+            if (existing.contains(emailKey(row.customer.getEmail()))) {
+                state.fail(row.line, row.customer.getEmail(), "Customer with email already exists");
+            } else {
+                inserts.add(row);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(inserts));
+            inserts.forEach(state::imported);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Import batch rejected ({}), retrying its {} rows one by one", e.getMessage(), inserts.size());
+            for (PendingRow row : inserts) {
+                row.resetIds();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    state.imported(row);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    state.fail(row.line, row.customer.getEmail(), "Customer with email already exists");
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(FLUSH_BATCH_SIZE);
+        for (PendingRow row : rows) {
+            entityManager.persist(row.customer);
+        }
+        for (PendingRow row : rows) {
+            if (row.account != null) {
+                row.account.setAccountNumber(idGenerator.nextAccountNumber());
+                entityManager.persist(row.account);
+                stalenessGuard.recordWrite(row.account);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /** Builds the row's entities; returns why the row is invalid, or null. */
+    private String prepare(PendingRow pending) {
+        CustomerImportRow row = pending.row;
+        String type = row.getCustomerType() != null ? row.getCustomerType().trim().toUpperCase(Locale.ROOT) : "";
+        Object request;
+        switch (type) {
+            case "INDIVIDUAL" -> {
+                CreateIndividualCustomerRequest individual = new CreateIndividualCustomerRequest();
+                individual.setNationalId(row.getNationalId());
+                individual.setDateOfBirth(row.getDateOfBirth());
+                individual.setOccupation(row.getOccupation());
+                copyCommonFields(row, individual::setName, individual::setEmail, individual::setPhone, individual::setAddress);
+                request = individual;
+                pending.customer = new IndividualCustomer(row.getName(), row.getEmail(), row.getPhone(),
+                    row.getAddress(), row.getNationalId(), row.getDateOfBirth(), row.getOccupation());
+            }
+            case "BUSINESS" -> {
+                CreateBusinessCustomerRequest business = new CreateBusinessCustomerRequest();
+                business.setBusinessRegistrationNumber(row.getBusinessRegistrationNumber());
+                business.setBusinessType(row.getBusinessType());
+                business.setIndustry(row.getIndustry());
+                business.setTaxId(row.getTaxId());
+                copyCommonFields(row, business::setName, business::setEmail, business::setPhone, business::setAddress);
+                request = business;
+                pending.customer = new BusinessCustomer(row.getName(), row.getEmail(), row.getPhone(),
+                    row.getAddress(), row.getBusinessRegistrationNumber(), row.getBusinessType(), row.getIndustry(),
+                    row.getTaxId());
+            }
+            case "VIP" -> {
+                BigDecimal minimumBalance;
+                try {
+                    minimumBalance = row.getMinimumBalance() != null ? new BigDecimal(row.getMinimumBalance().trim()) : null;
+                } catch (NumberFormatException e) {
+                    return "Invalid minimumBalance: " + row.getMinimumBalance();
+                }
+                CreateVIPCustomerRequest vip = new CreateVIPCustomerRequest();
+                vip.setVipLevel(row.getVipLevel());
+                vip.setMinimumBalance(minimumBalance);
+                vip.setPersonalBanker(row.getPersonalBanker());
+                vip.setSpecialServices(row.getSpecialServices());
+                copyCommonFields(row, vip::setName, vip::setEmail, vip::setPhone, vip::setAddress);
+                request = vip;
+                pending.customer = new VIPCustomer(row.getName(), row.getEmail(), row.getPhone(), row.getAddress(),
+                    row.getVipLevel(), minimumBalance, row.getPersonalBanker(), row.getSpecialServices());
+            }
+            default -> {
+                return "customerType must be INDIVIDUAL, BUSINESS or VIP";
+            }
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        return prepareAccount(pending);
+    }
+
+    /** Same rules and defaults as {@link com.example.bank_system.dto.CreateAccountRequest}. */
+    private String prepareAccount(PendingRow pending) {
+        CustomerImportRow row = pending.row;
+        if (row.getAccountType() == null) {
+            return row.getInitialBalance() != null || row.getCurrency() != null
+                ? "accountType is required to open an account" : null;
+        }
+        Account account = new Account();
+        try {
+            account.setAccountType(Account.AccountType.valueOf(row.getAccountType().trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return "Invalid accountType: " + row.getAccountType();
+        }
+        if (row.getCurrency() != null) {
+            try {
+                account.setCurrency(Currency.valueOf(row.getCurrency().trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return "Invalid currency: " + row.getCurrency();
+            }
+        }
+        if (row.getInitialBalance() != null) {
+            try {
+                account.setBalance(new BigDecimal(row.getInitialBalance().trim()));
+            } catch (NumberFormatException e) {
+                return "Invalid initialBalance: " + row.getInitialBalance();
+            }
+            if (account.getBalance().signum() < 0) {
+                return "Initial balance cannot be negative";
+            }
+            try {
+                Money.of(account.getBalance(), account.getCurrency());
+            } catch (RuntimeException e) {
+                return e.getMessage();
+            }
+        }
+        account.setStatus(Account.AccountStatus.ACTIVE);
+        account.setCustomer(pending.customer);
+        pending.account = account;
+        return null;
+    }
+
+    private static void copyCommonFields(CustomerImportRow row, Consumer<String> name,
+                                         Consumer<String> email,
+                                         Consumer<String> phone,
+                                         Consumer<String> address) {
+        name.accept(row.getName());
+        email.accept(row.getEmail());
+        phone.accept(row.getPhone());
+        address.accept(row.getAddress());
+    }
+
+    /** Emails compare case-insensitively, as under MySQL's default collation. */
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PendingRow {
+        private final long line;
+        private final CustomerImportRow row;
+        private Customer customer;
+        private Account account;
+
+        private PendingRow(long line, CustomerImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+
+        /** Forgets ids assigned by a rolled-back insert. */
+        private void resetIds() {
+            customer.setId(null);
+            if (account != null) {
+                account.setId(null);
+                account.setVersion(0L);
+            }
+        }
+    }
+
+    private static final class Import {
+        private long totalRows;
+        private long importedCustomers;
+        private long createdAccounts;
+        private final List<CustomerImportResponse.RowError> errors = new ArrayList<>();
+
+        private void fail(long line, String email, String error) {
+            errors.add(new CustomerImportResponse.RowError(line, email, error));
+        }
+
+        private void imported(PendingRow row) {
+            importedCustomers++;
+            if (row.account != null) {
+                createdAccounts++;
+            }
+        }
+    }
+}
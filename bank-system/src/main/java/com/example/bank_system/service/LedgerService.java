@@ -0,0 +1,116 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.LedgerBalanceResponse;
+import com.example.bank_system.dto.LedgerDelta;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.AccountBalanceCheckpoint;
+import com.example.bank_system.entity.LedgerEntry;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.repository.AccountBalanceCheckpointRepository;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.LedgerEntryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records the double-entry ledger of every transfer and derives balances from it.
+ *
+ * <p>A balance as of some time starts from the account's nearest {@link AccountBalanceCheckpoint}
+ * and applies only the entries recorded between the checkpoint and that time, so its cost does not
+ * grow with the account's history. An account without checkpoints yet is worked back from its
+ * stored balance instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerService {
+
+    /** Upper bound for "every entry after" queries. */
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+    private final ReplicaStalenessGuard stalenessGuard;
+    private final EntityManager entityManager;
+
+    /**
+     * Adds the debit and credit entries of completed transfers to the caller's transaction. They are
+     * inserted with its next flush, batched with the transaction rows.
+     */
+    public void recordTransfers(Collection<Transaction> transactions) {
+        LocalDateTime recordedAt = LocalDateTime.now();
+        for (Transaction transaction : transactions) {
+            entityManager.persist(new LedgerEntry(transaction.getId(), LedgerEntry.Direction.DEBIT,
+                transaction.getFromAccount().getId(), transaction.getAmount(), recordedAt));
+            entityManager.persist(new LedgerEntry(transaction.getId(), LedgerEntry.Direction.CREDIT,
+                transaction.getToAccount().getId(), transaction.getAmount(), recordedAt));
+        }
+    }
+
+    public void recordTransfer(Transaction transaction) {
+        recordTransfers(List.of(transaction));
+    }
+
+    /**
+     * The account's balance according to the ledger as of {@code asOf}, or now when it is null. The
+     * current balance is also compared with the stored one; both are read in the same transaction.
+     */
+    @Transactional(readOnly = true)
+    public LedgerBalanceResponse getBalance(String accountNumber, LocalDateTime asOf) {
+        stalenessGuard.routeAccountRead(accountNumber);
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+        // The current balance includes every entry, whatever the clocks of the nodes that wrote them
+        LocalDateTime at = asOf != null ? asOf : LATEST;
+
+        LedgerBalanceResponse response = new LedgerBalanceResponse();
+        response.setAccountNumber(accountNumber);
+        response.setCurrency(account.getCurrency());
+        response.setAsOf(asOf != null ? asOf : LocalDateTime.now());
+
+        Optional<AccountBalanceCheckpoint> before =
+            checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(account.getId(), at);
+        if (before.isPresent()) {
+            // Forward from the latest checkpoint at or before the time
+            LedgerDelta delta = delta(account.getId(), before.get().getAsOf(), at);
+            response.setBalance(before.get().getBalance().add(delta.amount()));
+            response.setCheckpointAsOf(before.get().getAsOf());
+            response.setEntriesApplied(delta.entries());
+        } else {
+            // Back from the earliest checkpoint after the time, or from the stored balance
+            Optional<AccountBalanceCheckpoint> after =
+                checkpointRepository.findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(account.getId(), at);
+            LocalDateTime through = after.map(AccountBalanceCheckpoint::getAsOf).orElse(LATEST);
+            LedgerDelta delta = delta(account.getId(), at, through);
+            BigDecimal reference = after.map(AccountBalanceCheckpoint::getBalance).orElse(account.getBalance());
+            response.setBalance(reference.subtract(delta.amount()));
+            response.setCheckpointAsOf(after.map(AccountBalanceCheckpoint::getAsOf).orElse(null));
+            response.setEntriesApplied(delta.entries());
+        }
+
+        if (asOf == null) {
+            response.setAccountBalance(account.getBalance());
+            response.setReconciled(response.getBalance().compareTo(account.getBalance()) == 0);
+            if (!response.getReconciled()) {
+                log.warn("Ledger balance {} of account {} does not match its stored balance {}",
+                    response.getBalance(), accountNumber, account.getBalance());
+            }
+        }
+        return response;
+    }
+
+    private LedgerDelta delta(Long accountId, LocalDateTime after, LocalDateTime through) {
+        return ledgerEntryRepository.findDeltaRecordedBetween(accountId, after, through)
+            .orElse(new LedgerDelta(accountId, BigDecimal.ZERO, 0L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bank_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded per-node cache of slow-changing values read on every transfer. Entries are evicted least
+ * recently used first beyond {@code maxSize} and expire {@code ttlMs} after they were loaded, which
+ * bounds how long a change made on another node goes unseen.
+ *
+ * <p>Hits and misses are counted in {@code cache.gets}, evictions in {@code cache.evictions} and the
+ * entries held in {@code cache.size}, all tagged with the cache's name.
+ */
+class NearCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long invalidations;
+
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    NearCache(String name, int maxSize, long ttlMs, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.nanoClock = nanoClock;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit")
+            .description("Lookups served from the near cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss")
+            .description("Lookups that had to query the database")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name)
+            .description("Entries evicted because the cache was full")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, NearCache::size).tag("cache", name)
+            .description("Entries currently held")
+            .register(meterRegistry);
+    }
+
+    /** The cached value, or null if it is not cached or has expired. */
+    V get(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses.increment();
+            return null;
+        }
+    }
+
+    /** Changes with every invalidation; pass the value read before loading to {@link #put}. */
+    long stamp() {
+        synchronized (entries) {
+            return invalidations;
+        }
+    }
+
+    /**
+     * Caches the value, unless an invalidation happened since {@code stamp} was taken, since the
+     * loaded value may then predate it.
+     */
+    void put(K key, V value, long stamp) {
+        synchronized (entries) {
+            if (stamp == invalidations) {
+                entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+            }
+        }
+    }
+
+    void invalidate(K key) {
+        synchronized (entries) {
+            invalidations++;
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Invalidates the entry once the current transaction commits, so no lookup in between can cache
+     * the old value again; immediately if there is no transaction.
+     */
+    void invalidateAfterCommit(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(key);
+            }
+        });
+    }
+
+    /** Number of entries currently held, including expired ones not yet looked up again. */
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.entity.OutboxEvent;
+import com.example.bank_system.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox events to Kafka.
+ *
+ * <p>Each round locks up to {@code bank.outbox.relay.batch-size} pending rows, sends them all
+ * without waiting in between, waits for the acknowledgements, and marks the acknowledged rows
+ * published with one UPDATE. Rows whose send failed stay pending and are retried next round, so
+ * delivery is at least once. Rounds repeat while full batches come back, then the relay sleeps
+ * for {@code bank.outbox.relay.poll-interval-ms}.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final TransactionProducer transactionProducer;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Present only with {@code bank.kafka.producer.profile=adaptive}; its changes are applied between batches. */
+    @Autowired(required = false)
+    private ProducerBatchTuner producerBatchTuner;
+
+    @Value("${bank.outbox.relay.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${bank.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs = 10000;
+
+    @Value("${bank.outbox.retention-hours:24}")
+    private long retentionHours = 24;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxService outboxService,
+                       TransactionProducer transactionProducer, TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.transactionProducer = transactionProducer;
+        this.transactionTemplate = transactionTemplate;
+
+        Gauge.builder("bank.outbox.lag", this, OutboxRelay::lagSeconds)
+            .description("Age of the oldest unpublished outbox event")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("bank.outbox.pending", outboxEventRepository,
+                repository -> repository.countByStatus(OutboxEvent.OutboxStatus.PENDING))
+            .description("Outbox events waiting to be published")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${bank.outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+        } while (published == batchSize);
+    }
+
+    /** Removes published rows once they are older than {@code bank.outbox.retention-hours}. */
+    @Scheduled(fixedDelayString = "${bank.outbox.cleanup-interval-ms:3600000}")
+    public void deletePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status ->
+            outboxEventRepository.deletePublishedBefore(OutboxEvent.OutboxStatus.PUBLISHED, cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} published outbox events older than {}", deleted, cutoff);
+        }
+    }
+
+    /**
+     * Publishes one batch inside the caller's transaction.
+     *
+     * @return the number of events published
+     */
+    int relayBatch() {
+        if (producerBatchTuner != null) {
+            // Resets the producer, which must not happen while this relay's sends are outstanding
+            producerBatchTuner.applyPendingChange();
+        }
+        List<OutboxEvent> batch = outboxEventRepository.lockNextPending(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            sends.add(send(outboxEvent));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Some sends failed or are still outstanding; only the acknowledged ones are marked below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Long> publishedIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<SendResult<String, Object>> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                publishedIds.add(batch.get(i).getId());
+            }
+        }
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markPublished(publishedIds, OutboxEvent.OutboxStatus.PUBLISHED, LocalDateTime.now());
+        }
+        if (publishedIds.size() < batch.size()) {
+            log.warn("Published {} of {} outbox events; the rest will be retried", publishedIds.size(), batch.size());
+        } else {
+            log.debug("Published {} outbox events", publishedIds.size());
+        }
+        return publishedIds.size();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent outboxEvent) {
+        try {
+            return transactionProducer.sendTransactionEventPipelined(outboxEvent.getTopic(),
+                outboxEvent.getMessageKey(), outboxService.readEvent(outboxEvent));
+        } catch (RuntimeException e) {
+            log.error("Failed to send outbox event {}: {}", outboxEvent.getId(), e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt(OutboxEvent.OutboxStatus.PENDING);
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.entity.OutboxEvent;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records transaction events in the outbox table as part of the caller's database transaction,
+ * so an event exists if and only if the change it describes was committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TransactionEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+        log.debug("Transaction event [{}] written to outbox", event.getTransactionId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(Collection<TransactionEvent> events) {
+        List<OutboxEvent> rows = new ArrayList<>(events.size());
+        for (TransactionEvent event : events) {
+            rows.add(toOutboxEvent(event));
+        }
+        outboxEventRepository.saveAll(rows);
+    }
+
+    public TransactionEvent readEvent(OutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), TransactionEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable outbox event " + outboxEvent.getId(), e);
+        }
+    }
+
+    private OutboxEvent toOutboxEvent(TransactionEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(TransactionProducer.TRANSACTION_TOPIC);
+        outboxEvent.setMessageKey(String.valueOf(event.getTransactionId()));
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize transaction event " + event.getTransactionId(), e);
+        }
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.config.KafkaProducerProfile;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tunes the producer's linger and batch size to the send rate when
+ * {@code bank.kafka.producer.profile=adaptive}.
+ *
+ * <p>Every {@code bank.kafka.producer.adaptive.interval-ms} it reads the send rate and mean
+ * latency since the previous run from {@code bank.kafka.send}. Settings move in steps, each
+ * doubling linger and batch size from the {@link KafkaProducerProfile#ADAPTIVE} starting point up
+ * to {@code max-linger-ms} and {@code max-batch-size}; the rate wants one step more for each
+ * doubling above {@code step-rate} sends per second. The tuner moves one step per run: up only if
+ * the extra linger keeps the mean latency within {@code latency-budget-ms}, down when the rate
+ * drops or the latency exceeds the budget.
+ *
+ * <p>A Kafka producer cannot be reconfigured, so a change resets the producer factory: the current
+ * producer is flushed and closed and the next send creates one with the new settings. The tuner only
+ * decides on a change; {@link OutboxRelay}, the producer's only sender, applies it with
+ * {@link #applyPendingChange()} before locking its next batch, so the reset never overlaps the
+ * relay's own sends, whichever threads the scheduler runs the two on. A send left over from a batch
+ * that timed out can still fail on close; its row stays pending and is retried.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.kafka.producer.profile", havingValue = "adaptive")
+@Slf4j
+public class ProducerBatchTuner {
+
+    private final ProducerFactory<String, Object> producerFactory;
+    private final MeterRegistry meterRegistry;
+    private final int maxLingerMs;
+    private final int maxBatchSize;
+    private final long latencyBudgetMs;
+    private final double stepRate;
+    private final int maxLevel;
+
+    private int level;
+    private int pendingLevel = -1;
+    private long lastSample = System.nanoTime();
+    private long lastCount;
+    private double lastTotalMs;
+
+    public ProducerBatchTuner(ProducerFactory<String, Object> producerFactory, MeterRegistry meterRegistry,
+                              @Value("${bank.kafka.producer.adaptive.max-linger-ms:20}") int maxLingerMs,
+                              @Value("${bank.kafka.producer.adaptive.max-batch-size:262144}") int maxBatchSize,
+                              @Value("${bank.kafka.producer.adaptive.latency-budget-ms:50}") long latencyBudgetMs,
+                              @Value("${bank.kafka.producer.adaptive.step-rate:500}") double stepRate) {
+        if (maxLingerMs < KafkaProducerProfile.ADAPTIVE.lingerMs()
+            || maxBatchSize < KafkaProducerProfile.ADAPTIVE.batchSize()) {
+            throw new IllegalArgumentException("Adaptive producer limits must be at least linger "
+                + KafkaProducerProfile.ADAPTIVE.lingerMs() + " ms and batch size "
+                + KafkaProducerProfile.ADAPTIVE.batchSize() + " bytes");
+        }
+        this.producerFactory = producerFactory;
+        this.meterRegistry = meterRegistry;
+        this.maxLingerMs = maxLingerMs;
+        this.maxBatchSize = maxBatchSize;
+        this.latencyBudgetMs = latencyBudgetMs;
+        this.stepRate = stepRate;
+
+        int steps = 0;
+        while (steps < 16 && (lingerMs(steps) < maxLingerMs || batchSize(steps) < maxBatchSize)) {
+            steps++;
+        }
+        this.maxLevel = steps;
+
+        Gauge.builder("bank.kafka.producer.linger", this, tuner -> tuner.lingerMs(tuner.level))
+            .description("Producer linger chosen by the adaptive profile")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("bank.kafka.producer.batch.size", this, tuner -> tuner.batchSize(tuner.level))
+            .description("Producer batch size chosen by the adaptive profile")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${bank.kafka.producer.adaptive.interval-ms:5000}")
+    public synchronized void adjust() {
+        long count = 0;
+        double totalMs = 0;
+        for (Timer timer : meterRegistry.find(TransferMetrics.KAFKA_SEND).timers()) {
+            count += timer.count();
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        long now = System.nanoTime();
+        long sends = count - lastCount;
+        double rate = sends * 1e9 / Math.max(1, now - lastSample);
+        double meanLatencyMs = sends > 0 ? (totalMs - lastTotalMs) / sends : 0;
+        lastSample = now;
+        lastCount = count;
+        lastTotalMs = totalMs;
+        adjust(rate, meanLatencyMs);
+    }
+
+    /**
+     * Decides on one step towards the settings for this send rate and latency, if any; it replaces a
+     * step not applied yet, as both were measured with the current settings.
+     */
+    synchronized void adjust(double rate, double meanLatencyMs) {
+        int next = nextLevel(rate, meanLatencyMs);
+        if (next == level) {
+            pendingLevel = -1;
+            return;
+        }
+        log.info("Kafka producer at {} sends/s, {} ms mean latency: linger {} -> {} ms, batch size {} -> {} bytes "
+                + "from the next relay batch", Math.round(rate), Math.round(meanLatencyMs), lingerMs(level),
+            lingerMs(next), batchSize(level), batchSize(next));
+        pendingLevel = next;
+    }
+
+    /** Applies the change {@link #adjust()} decided on, if any; called by the sender between two batches. */
+    public synchronized void applyPendingChange() {
+        if (pendingLevel < 0) {
+            return;
+        }
+        level = pendingLevel;
+        pendingLevel = -1;
+        producerFactory.updateConfigs(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, lingerMs(level),
+            ProducerConfig.BATCH_SIZE_CONFIG, batchSize(level)));
+        producerFactory.reset();
+    }
+
+    public synchronized int currentLingerMs() {
+        return lingerMs(level);
+    }
+
+    public synchronized int currentBatchSize() {
+        return batchSize(level);
+    }
+
+    private int nextLevel(double rate, double meanLatencyMs) {
+        if (meanLatencyMs > latencyBudgetMs) {
+            return Math.max(0, level - 1);
+        }
+        int wanted = rate < stepRate ? 0
+            : Math.min(maxLevel, 1 + (int) Math.floor(Math.log(rate / stepRate) / Math.log(2)));
+        if (wanted < level) {
+            return level - 1;
+        }
+        if (wanted > level && meanLatencyMs + lingerMs(level + 1) - lingerMs(level) <= latencyBudgetMs) {
+            return level + 1;
+        }
+        return level;
+    }
+
+    private int lingerMs(int level) {
+        return (int) Math.min(maxLingerMs, (long) KafkaProducerProfile.ADAPTIVE.lingerMs() << level);
+    }
+
+    private int batchSize(int level) {
+        return (int) Math.min(maxBatchSize, (long) KafkaProducerProfile.ADAPTIVE.batchSize() << level);
+    }
+}
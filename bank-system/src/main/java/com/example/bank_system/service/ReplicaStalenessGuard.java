@@ -0,0 +1,133 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.config.ReadReplicaRoutingDataSource;
+import com.example.bank_system.dto.TransferAccountView;
+import com.example.bank_system.entity.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-your-own-writes on top of replica routing: for {@code bank.datasource.replica.max-lag-ms}
+ * after a transfer, account creation or status change commits on this node, read-only transactions
+ * that look up the accounts involved, or their owners' account lists, read from the primary.
+ *
+ * <p>The marks are per node. A client that reads through another node right after writing may see
+ * the replica's state until it catches up; reads that must never be stale use
+ * {@link com.example.bank_system.config.ReadFromPrimary}. Without replica routing this does nothing.
+ */
+@Component
+public class ReplicaStalenessGuard {
+
+    private final boolean enabled;
+    private final long maxLagNanos;
+    private final LongSupplier nanoClock;
+    // Key -> nanoClock value until which reads of it go to the primary
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    @Autowired
+    public ReplicaStalenessGuard(@Value("${bank.datasource.replica.enabled:false}") boolean enabled,
+                                 @Value("${bank.datasource.replica.max-lag-ms:2000}") long maxLagMs) {
+        this(enabled, maxLagMs, System::nanoTime);
+    }
+
+    ReplicaStalenessGuard(boolean enabled, long maxLagMs, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMs);
+        this.nanoClock = nanoClock;
+        this.nextSweep.set(nanoClock.getAsLong());
+    }
+
+    /** Marks the account, and its owner's account list, as written once the current transaction commits. */
+    public void recordWrite(Account account) {
+        recordWrite(account.getAccountNumber(), account.getCustomer() != null ? account.getCustomer().getId() : null);
+    }
+
+    public void recordWrite(TransferAccountView account) {
+        recordWrite(account.getAccountNumber(), account.getCustomerId());
+    }
+
+    /** Sends the current read-only transaction to the primary if the account was written recently. */
+    public void routeAccountRead(String accountNumber) {
+        routeRead(accountKey(accountNumber));
+    }
+
+    /** Sends the current read-only transaction to the primary if one of the customer's accounts was written recently. */
+    public void routeCustomerRead(Long customerId) {
+        routeRead(customerKey(customerId));
+    }
+
+    boolean isRecentlyWritten(String key) {
+        Long until = primaryUntil.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - until < 0) {
+            return true;
+        }
+        primaryUntil.remove(key, until);
+        return false;
+    }
+
+    int size() {
+        return primaryUntil.size();
+    }
+
+    static String accountKey(String accountNumber) {
+        return "account:" + accountNumber;
+    }
+
+    static String customerKey(Long customerId) {
+        return "customer:" + customerId;
+    }
+
+    private void recordWrite(String accountNumber, Long customerId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mark(accountNumber, customerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mark(accountNumber, customerId);
+            }
+        });
+    }
+
+    private void mark(String accountNumber, Long customerId) {
+        long now = nanoClock.getAsLong();
+        long until = now + maxLagNanos;
+        primaryUntil.put(accountKey(accountNumber), until);
+        if (customerId != null) {
+            primaryUntil.put(customerKey(customerId), until);
+        }
+        sweepExpired(now);
+    }
+
+    /** Drops expired marks at most once per lag window, so keys that are never read again do not pile up. */
+    private void sweepExpired(long now) {
+        long sweepAt = nextSweep.get();
+        if (now - sweepAt < 0 || !nextSweep.compareAndSet(sweepAt, now + maxLagNanos)) {
+            return;
+        }
+        primaryUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    private void routeRead(String key) {
+        if (enabled && isRecentlyWritten(key)) {
+            ReadReplicaRoutingDataSource.usePrimaryForCurrentTransaction();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bank_system.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style generator of (millisecond, sequence) pairs for one node.
+ *
+ * <p>The state is a single {@code long}, {@code millis * sequencesPerMilli + sequence}, advanced
+ * with a CAS to {@code max(previous + 1, now * sequencesPerMilli)}. Values are therefore strictly
+ * increasing without locks: when a millisecond's sequences run out, or the clock steps backwards,
+ * the generator borrows the next millisecond instead of waiting. Combined with a node id that is
+ * unique per instance, the pairs are unique across the cluster without a database probe.
+ */
+public class SnowflakeIdGenerator {
+
+    /** 2100-01-01T00:00:00Z; the packed state must not overflow before then. */
+    private static final long MAX_MILLIS = 4_102_444_800_000L;
+
+    private final long sequencesPerMilli;
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(long sequencesPerMilli) {
+        this(sequencesPerMilli, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long sequencesPerMilli, LongSupplier clock) {
+        if (sequencesPerMilli <= 0 || sequencesPerMilli > Long.MAX_VALUE / MAX_MILLIS) {
+            throw new IllegalArgumentException("sequencesPerMilli must be between 1 and " + Long.MAX_VALUE / MAX_MILLIS);
+        }
+        this.sequencesPerMilli = sequencesPerMilli;
+        this.clock = clock;
+    }
+
+    /** Next value of {@code millis * sequencesPerMilli + sequence}; split it with {@link #millis} and {@link #sequence}. */
+    public long next() {
+        long now = clock.getAsLong() * sequencesPerMilli;
+        return last.accumulateAndGet(now, (previous, current) -> Math.max(previous + 1, current));
+    }
+
+    public long millis(long value) {
+        return value / sequencesPerMilli;
+    }
+
+    public long sequence(long value) {
+        return value % sequencesPerMilli;
+    }
+}
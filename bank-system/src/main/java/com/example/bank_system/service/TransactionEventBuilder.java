@@ -1,12 +1,12 @@
 package com.example.bank_system.service;
 
+import com.example.bank_system.dto.CustomerDescriptor;
+import com.example.bank_system.dto.TransferAccountView;
 import com.example.bank_system.entity.Transaction;
-import com.example.bank_system.entity.Account;
-import com.example.bank_system.entity.Customer;
-import com.example.bank_system.entity.IndividualCustomer;
-import com.example.bank_system.entity.BusinessCustomer;
-import com.example.bank_system.entity.VIPCustomer;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.Money;
 import com.example.bank_system.event.TransactionEvent;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -14,9 +14,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class TransactionEventBuilder {
 
+    private final CustomerDescriptorCache customerDescriptorCache;
+
     /**
      * Builds a complete TransactionEvent from a Transaction entity with balance information
      */
@@ -26,36 +29,11 @@ public class TransactionEventBuilder {
                                                  String currency) {
         log.debug("Building transaction event for transaction ID: {}", transaction.getTransactionId());
 
-        TransactionEvent event = new TransactionEvent();
-        event.setEventType(eventType);
-        event.setTimestamp(transaction.getProcessedAt() != null ? transaction.getProcessedAt() : transaction.getCreatedAt());
-        event.setTransactionId(transaction.getId());
-        event.setAmount(transaction.getAmount());
-        event.setCurrency(currency);
-        event.setDescription(transaction.getDescription());
-
-        // Build from account details
-        TransactionEvent.AccountDetails fromAccount = new TransactionEvent.AccountDetails();
-        fromAccount.setId(transaction.getFromAccount().getId());
-        fromAccount.setBalanceBefore(fromBalanceBefore);
-        fromAccount.setBalanceAfter(fromBalanceAfter);
-        fromAccount.setCustomer(buildCustomerDetails(transaction.getFromAccount().getCustomer()));
-        event.setFromAccount(fromAccount);
-
-        // Build to account details
-        TransactionEvent.AccountDetails toAccount = new TransactionEvent.AccountDetails();
-        toAccount.setId(transaction.getToAccount().getId());
-        toAccount.setBalanceBefore(toBalanceBefore);
-        toAccount.setBalanceAfter(toBalanceAfter);
-        toAccount.setCustomer(buildCustomerDetails(transaction.getToAccount().getCustomer()));
-        event.setToAccount(toAccount);
-
-        // Build metadata
-        TransactionEvent.Metadata metadata = new TransactionEvent.Metadata();
-        metadata.setProcessedBy("bank-core-service");
-        metadata.setSource("api/v1/transfer");
-        event.setMetadata(metadata);
-
+        TransactionEvent event = newEvent(transaction, eventType, transaction.getFromAccount().getCurrency(), currency);
+        event.setFromAccount(buildAccountDetails(transaction.getFromAccount().getId(), fromBalanceBefore, fromBalanceAfter,
+            buildCustomerDetails(transaction.getFromAccount().getCustomer().getId())));
+        event.setToAccount(buildAccountDetails(transaction.getToAccount().getId(), toBalanceBefore, toBalanceAfter,
+            buildCustomerDetails(transaction.getToAccount().getCustomer().getId())));
         return event;
     }
 
@@ -71,6 +49,23 @@ public class TransactionEventBuilder {
                                    toBalanceBefore, toBalanceAfter, currency);
     }
 
+    /**
+     * Builds a TransactionEvent for successful transfer whose accounts were read as projections, so
+     * the event is built without loading the account and customer entities
+     */
+    public TransactionEvent buildSuccessfulTransferEvent(Transaction transaction,
+                                                        TransferAccountView fromAccount, TransferAccountView toAccount,
+                                                        BigDecimal fromBalanceBefore, BigDecimal fromBalanceAfter,
+                                                        BigDecimal toBalanceBefore, BigDecimal toBalanceAfter,
+                                                        String currency) {
+        TransactionEvent event = newEvent(transaction, "transaction", fromAccount.getCurrency(), currency);
+        event.setFromAccount(buildAccountDetails(fromAccount.getId(), fromBalanceBefore, fromBalanceAfter,
+            buildCustomerDetails(fromAccount.getCustomerId())));
+        event.setToAccount(buildAccountDetails(toAccount.getId(), toBalanceBefore, toBalanceAfter,
+            buildCustomerDetails(toAccount.getCustomerId())));
+        return event;
+    }
+
     /**
      * Builds a TransactionEvent for failed transfer
      */
@@ -94,28 +89,47 @@ public class TransactionEventBuilder {
                                    toBalance, toBalance, currency);
     }
 
+    private TransactionEvent newEvent(Transaction transaction, String eventType, Currency accountCurrency, String currency) {
+        TransactionEvent event = new TransactionEvent();
+        event.setEventType(eventType);
+        event.setTimestamp(transaction.getProcessedAt() != null ? transaction.getProcessedAt() : transaction.getCreatedAt());
+        event.setTransactionId(transaction.getId());
+        event.setAmount(transaction.getAmount());
+        Money amount = Money.of(transaction.getAmount(), accountCurrency);
+        event.setAmountMinor(amount.amountMinor());
+        event.setMinorUnits(amount.currency().getMinorUnits());
+        event.setCurrency(currency);
+        event.setDescription(transaction.getDescription());
+
+        TransactionEvent.Metadata metadata = new TransactionEvent.Metadata();
+        metadata.setProcessedBy("bank-core-service");
+        metadata.setSource("api/v1/transfer");
+        event.setMetadata(metadata);
+        return event;
+    }
+
+    private TransactionEvent.AccountDetails buildAccountDetails(Long accountId, BigDecimal balanceBefore,
+                                                                BigDecimal balanceAfter,
+                                                                TransactionEvent.CustomerDetails customer) {
+        TransactionEvent.AccountDetails accountDetails = new TransactionEvent.AccountDetails();
+        accountDetails.setId(accountId);
+        accountDetails.setBalanceBefore(balanceBefore);
+        accountDetails.setBalanceAfter(balanceAfter);
+        accountDetails.setCustomer(customer);
+        return accountDetails;
+    }
+
     /**
-     * Builds customer details based on customer type
+     * Builds customer details from the cached descriptor, without touching the customer entity
      */
-    private TransactionEvent.CustomerDetails buildCustomerDetails(Customer customer) {
+    private TransactionEvent.CustomerDetails buildCustomerDetails(Long customerId) {
+        CustomerDescriptor descriptor = customerDescriptorCache.get(customerId);
         TransactionEvent.CustomerDetails customerDetails = new TransactionEvent.CustomerDetails();
-        customerDetails.setId(customer.getId());
-        customerDetails.setName(customer.getName());
-
-        // Set type and specific identifiers based on customer type
-        if (customer instanceof IndividualCustomer) {
-            IndividualCustomer individual = (IndividualCustomer) customer;
-            customerDetails.setType("individual");
-            customerDetails.setPersonalId(individual.getNationalId());
-        } else if (customer instanceof BusinessCustomer) {
-            BusinessCustomer business = (BusinessCustomer) customer;
-            customerDetails.setType("business");
-            customerDetails.setBusinessNumber(business.getBusinessRegistrationNumber());
-        } else if (customer instanceof VIPCustomer) {
-            customerDetails.setType("vip");
-            customerDetails.setPersonalId("VIP-" + customer.getId());
-        }
-
+        customerDetails.setId(descriptor.id());
+        customerDetails.setName(descriptor.name());
+        customerDetails.setType(descriptor.type());
+        customerDetails.setPersonalId(descriptor.personalId());
+        customerDetails.setBusinessNumber(descriptor.businessNumber());
         return customerDetails;
     }
 }
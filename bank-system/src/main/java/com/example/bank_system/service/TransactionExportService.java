@@ -0,0 +1,214 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.archive.ArchivedTransaction;
+import com.example.bank_system.archive.TransactionArchive;
+import com.example.bank_system.dto.TransactionExportRow;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.TransactionArchiveSegment;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams an account's transaction history as CSV or NDJSON, optionally gzip-compressed. Rows go
+ * from a forward-only result set straight to the response and are flushed every
+ * {@value #FLUSH_EVERY_ROWS} rows, so heap use does not grow with the number of rows exported.
+ * Archived months in the range are written first, one month of the account at a time.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    static final int FLUSH_EVERY_ROWS = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Bounds used when the client does not restrict the date range. */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    static final String CSV_HEADER = "transactionId,createdAt,processedAt,fromAccountNumber,toAccountNumber,"
+        + "amount,currency,type,status,description,referenceNumber,failureReason";
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON(MediaType.APPLICATION_NDJSON);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    /** An export ready to stream: what to call it, its content type and the body writer. */
+    public record Export(String fileName, MediaType mediaType, StreamingResponseBody body) {
+    }
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionExportService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                    TransactionArchive transactionArchive, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionArchive = transactionArchive;
+        this.jsonWriter = objectMapper.writerFor(TransactionExportRow.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks the account and format before anything is written, so those errors are still answered
+     * with 400, and returns the export to stream.
+     */
+    public Export prepareExport(String accountNumber, LocalDateTime from, LocalDateTime to, String format,
+                                boolean gzip) {
+        Format exportFormat;
+        try {
+            exportFormat = Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+
+        String fileName = "transactions-" + accountNumber + "." + exportFormat.name().toLowerCase(Locale.ROOT)
+            + (gzip ? ".gz" : "");
+        MediaType mediaType = gzip ? new MediaType("application", "gzip") : exportFormat.mediaType;
+        Long accountId = account.getId();
+        StreamingResponseBody body = out -> writeExport(accountId, from != null ? from : EARLIEST,
+            to != null ? to : LATEST, exportFormat, gzip, out);
+        return new Export(fileName, mediaType, body);
+    }
+
+    /**
+     * Writes the account's transactions created between {@code from} and {@code to}, oldest first,
+     * to {@code out}, which is left open.
+     *
+     * @return the number of rows written
+     */
+    public long writeExport(Long accountId, LocalDateTime from, LocalDateTime to, Format format, boolean gzip,
+                            OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : out,
+            StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long archived = 0;
+        for (TransactionArchiveSegment segment : transactionArchive.segments(from, to)) {
+            for (ArchivedTransaction transaction : transactionArchive.read(segment, accountId)) {
+                if (transaction.createdAt().isBefore(from) || transaction.createdAt().isAfter(to)) {
+                    continue;
+                }
+                writeRow(writer, format, transaction.toExportRow());
+                if (++archived % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        long rows;
+        try {
+            rows = archived + readOnlyTransaction.execute(status -> {
+                try (Stream<TransactionExportRow> stream = transactionRepository.streamForExport(accountId, from, to)) {
+                    long written = 0;
+                    for (Iterator<TransactionExportRow> it = stream.iterator(); it.hasNext(); ) {
+                        writeRow(writer, format, it.next());
+                        if (++written % FLUSH_EVERY_ROWS == 0) {
+                            writer.flush();
+                        }
+                    }
+                    return written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+        log.info("Exported {} transactions of account {} as {} in {} ms", rows, accountId, format,
+            (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private void writeRow(Writer writer, Format format, TransactionExportRow row) throws IOException {
+        if (format == Format.NDJSON) {
+            writer.write(jsonWriter.writeValueAsString(row));
+            writer.write('\n');
+            return;
+        }
+        writer.write(csvField(row.getTransactionId()));
+        writer.write(',');
+        writer.write(csvField(row.getCreatedAt()));
+        writer.write(',');
+        writer.write(csvField(row.getProcessedAt()));
+        writer.write(',');
+        writer.write(csvField(row.getFromAccountNumber()));
+        writer.write(',');
+        writer.write(csvField(row.getToAccountNumber()));
+        writer.write(',');
+        writer.write(row.getAmount() != null ? row.getAmount().toPlainString() : "");
+        writer.write(',');
+        writer.write(csvField(row.getCurrency()));
+        writer.write(',');
+        writer.write(csvField(row.getType()));
+        writer.write(',');
+        writer.write(csvField(row.getStatus()));
+        writer.write(',');
+        writer.write(csvField(row.getDescription()));
+        writer.write(',');
+        writer.write(csvField(row.getReferenceNumber()));
+        writer.write(',');
+        writer.write(csvField(row.getFailureReason()));
+        writer.write('\n');
+    }
+
+    /** RFC 4180: fields containing a comma, quote or line break are quoted, with quotes doubled. */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+        }
+        return text;
+    }
+}
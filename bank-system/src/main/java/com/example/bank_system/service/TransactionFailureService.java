@@ -1,5 +1,6 @@
 package com.example.bank_system.service;
 
+import com.example.bank_system.entity.Account;
 import com.example.bank_system.entity.Transaction;
 import com.example.bank_system.event.TransactionEvent;
 import com.example.bank_system.repository.TransactionRepository;
@@ -18,34 +19,103 @@ import java.time.LocalDateTime;
 public class TransactionFailureService {
 
     private final TransactionRepository transactionRepository;
-    private final TransactionProducer transactionProducer;
+    private final OutboxService outboxService;
     private final TransactionEventBuilder transactionEventBuilder;
+    private final TransferMetrics transferMetrics;
+
+    private static final int MAX_FAILURE_REASON_LENGTH = 500;
 
     /**
      * Handle transfer failure in a separate transaction to ensure the failure record is persisted
-     * even when the main transaction is rolled back.
+     * even when the main transaction is rolled back. Timed by {@code bank.transfer.failure} (type transfer),
+     * excluding the commit.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleTransferFailure(Transaction transaction, BigDecimal fromBalanceBefore,
                                     BigDecimal toBalanceBefore, String currency, Exception originalException) {
+        long start = transferMetrics.now();
+        boolean recorded = false;
         try {
-            // Mark transaction as failed
-            transaction.setStatus(Transaction.TransactionStatus.FAILED);
-            transaction.setProcessedAt(LocalDateTime.now());
-
             // Save failed transaction in a separate transaction
-            Transaction failedTransaction = transactionRepository.save(transaction);
+            Transaction failedTransaction = transactionRepository.save(failedCopy(transaction, originalException));
 
-            // Send failed transaction event
+            // Record the failed transaction event in the outbox, committed with the failure record
             TransactionEvent failedEvent = transactionEventBuilder.buildFailedTransferEvent(
                 failedTransaction, fromBalanceBefore, toBalanceBefore, currency);
-            transactionProducer.sendTransactionEvent(failedEvent);
+            outboxService.enqueue(failedEvent);
 
             log.info("Failed transaction recorded with ID: {}", failedTransaction.getTransactionId());
+            recorded = true;
         } catch (Exception e) {
             log.error("Failed to record transaction failure for transaction ID: {}",
                      transaction.getTransactionId(), e);
             // Don't throw here - we want the original exception to be thrown by the caller
+        } finally {
+            transferMetrics.recordFailure("transfer", currency, recorded, start);
+        }
+    }
+
+    /**
+     * Marks a transfer accepted by {@link AsyncTransferService} as FAILED, in its own transaction,
+     * unless a worker has already moved it out of PENDING. Timed by {@code bank.transfer.failure}
+     * (type pending).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handlePendingTransferFailure(Long id, String reason) {
+        long start = transferMetrics.now();
+        String currency = null;
+        boolean recorded = false;
+        try {
+            Transaction transaction = transactionRepository.findByIdForUpdate(id)
+                .filter(pending -> pending.getStatus() == Transaction.TransactionStatus.PENDING)
+                .orElse(null);
+            if (transaction != null) {
+                transaction.setStatus(Transaction.TransactionStatus.FAILED);
+                transaction.setIdempotencyKey(null);
+                transaction.setFailureReason(failureReason(reason));
+                transaction.setProcessedAt(LocalDateTime.now());
+
+                // Nothing was debited, so the balances before are the current ones
+                Account fromAccount = transaction.getFromAccount();
+                currency = fromAccount.getCurrency().name();
+                TransactionEvent failedEvent = transactionEventBuilder.buildFailedTransferEvent(
+                    transaction, fromAccount.getBalance(), transaction.getToAccount().getBalance(), currency);
+                outboxService.enqueue(failedEvent);
+
+                log.info("Pending transfer {} failed: {}", transaction.getTransactionId(), reason);
+            }
+            recorded = true;
+        } catch (Exception e) {
+            log.error("Failed to record failure of pending transaction {}", id, e);
+        } finally {
+            transferMetrics.recordFailure("pending", currency, recorded, start);
+        }
+    }
+
+    /**
+     * A new FAILED transaction with the attempt's details. The attempt's own row was rolled back, but
+     * its id was already taken from the sequence, so saving that instance would merge a row that does
+     * not exist. A failed attempt does not use up the idempotency key, so the copy has none.
+     */
+    private static Transaction failedCopy(Transaction attempt, Exception originalException) {
+        Transaction failed = new Transaction();
+        failed.setTransactionId(attempt.getTransactionId());
+        failed.setFromAccount(attempt.getFromAccount());
+        failed.setToAccount(attempt.getToAccount());
+        failed.setAmount(attempt.getAmount());
+        failed.setType(attempt.getType());
+        failed.setStatus(Transaction.TransactionStatus.FAILED);
+        failed.setDescription(attempt.getDescription());
+        failed.setReferenceNumber(attempt.getReferenceNumber());
+        failed.setFailureReason(failureReason(originalException.getMessage()));
+        failed.setProcessedAt(LocalDateTime.now());
+        return failed;
+    }
+
+    private static String failureReason(String message) {
+        if (message == null) {
+            return null;
         }
+        return message.length() > MAX_FAILURE_REASON_LENGTH ? message.substring(0, MAX_FAILURE_REASON_LENGTH) : message;
     }
 }
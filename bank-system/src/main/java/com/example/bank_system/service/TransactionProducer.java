@@ -15,8 +15,9 @@ import java.util.concurrent.CompletableFuture;
 public class TransactionProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransferMetrics transferMetrics;
 
-    private static final String TRANSACTION_TOPIC = "transaction";
+    static final String TRANSACTION_TOPIC = "transaction";
 
     /**
      * Sends a transaction event to the 'transaction' topic asynchronously
@@ -26,7 +27,7 @@ public class TransactionProducer {
             log.debug("Sending transaction event to Kafka topic 'transaction': {}", event.getTransactionId());
 
             CompletableFuture<SendResult<String, Object>> future =
-                kafkaTemplate.send(TRANSACTION_TOPIC, String.valueOf(event.getTransactionId()), event);
+                send(TRANSACTION_TOPIC, String.valueOf(event.getTransactionId()), event);
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -45,6 +46,15 @@ public class TransactionProducer {
         }
     }
 
+    /**
+     * Sends an event without waiting for the broker, so callers can pipeline many sends and
+     * collect the acknowledgements afterwards
+     */
+    public CompletableFuture<SendResult<String, Object>> sendTransactionEventPipelined(String topic, String key,
+                                                                                      TransactionEvent event) {
+        return send(topic, key, event);
+    }
+
     /**
      * Sends a transaction event synchronously to the 'transaction' topic
      */
@@ -52,9 +62,8 @@ public class TransactionProducer {
         try {
             log.debug("Sending transaction event synchronously to Kafka topic 'transaction': {}", event.getTransactionId());
 
-            SendResult<String, Object> result = kafkaTemplate
-                .send(TRANSACTION_TOPIC, String.valueOf(event.getTransactionId()), event)
-                .get();
+            SendResult<String, Object> result =
+                send(TRANSACTION_TOPIC, String.valueOf(event.getTransactionId()), event).get();
 
             log.info("Successfully sent transaction event [{}] synchronously with offset=[{}]",
                 event.getTransactionId(), result.getRecordMetadata().offset());
@@ -65,4 +74,9 @@ public class TransactionProducer {
             throw new RuntimeException("Failed to send transaction event to Kafka", e);
         }
     }
+
+    /** Every send goes through here, so {@code bank.kafka.send} times each one until it is acknowledged. */
+    private CompletableFuture<SendResult<String, Object>> send(String topic, String key, TransactionEvent event) {
+        return transferMetrics.timeKafkaSend(topic, event.getCurrency(), () -> kafkaTemplate.send(topic, key, event));
+    }
 }
@@ -1,19 +1,31 @@
 package com.example.bank_system.service;
 
+import com.example.bank_system.config.ReadFromPrimary;
+import com.example.bank_system.dto.CustomerDescriptor;
 import com.example.bank_system.dto.TransferRequest;
-import com.example.bank_system.dto.TransactionEventResponse;
+import com.example.bank_system.engine.LedgerEngine;
 import com.example.bank_system.dto.TransactionApiResponse;
+import com.example.bank_system.dto.TransferAccountView;
+import com.example.bank_system.dto.TransferStatusResponse;
 import com.example.bank_system.entity.*;
 import com.example.bank_system.event.TransactionEvent;
 import com.example.bank_system.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
@@ -22,68 +34,206 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
-    private final TransactionProducer transactionProducer;
+    private final OutboxService outboxService;
     private final TransactionEventBuilder transactionEventBuilder;
     private final TransactionFailureService transactionFailureService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferValidator transferValidator;
+    private final TransferIdempotencyCache idempotencyCache;
+    private final BusinessIdGenerator idGenerator;
+    private final CustomerDescriptorCache customerDescriptorCache;
+    private final LedgerService ledgerService;
+    private final TransferMetrics transferMetrics;
+
+    /** Present only when {@code bank.transfer.engine=ledger}; transfers then bypass the JPA path. */
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bank.transfer.concurrency-strategy:PESSIMISTIC}")
+    private TransferConcurrencyStrategy concurrencyStrategy = TransferConcurrencyStrategy.PESSIMISTIC;
+
+    @Value("${bank.transfer.retry.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${bank.transfer.retry.backoff-ms:10}")
+    private long retryBackoffMs = 10;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
-    @Transactional
     public TransactionApiResponse processTransfer(TransferRequest request) {
+        return processTransfer(request, null);
+    }
+
+    /**
+     * Runs the transfer in its own database transaction. Transfers that lose a race
+     * (optimistic version conflict, deadlock victim, lock timeout) are rolled back and
+     * retried with a fresh transaction, up to {@code bank.transfer.retry.max-attempts} times.
+     *
+     * <p>The transfer is idempotent per source account when it has a key: {@code idempotencyKey}
+     * (the {@code Idempotency-Key} header) or, failing that, the request's reference number.
+     * Repeating a completed transfer returns its original result without moving money again.
+     */
+    public TransactionApiResponse processTransfer(TransferRequest request, String idempotencyKey) {
         log.info("Processing transfer from {} to {} amount: {} {}",
                 request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount(), request.getCurrency());
 
         // Validate currency is provided
-        if (request.getCurrency() == null || request.getCurrency().trim().isEmpty()) {
-            throw new RuntimeException("Currency is required and cannot be null or empty");
+        transferValidator.validateCurrencyProvided(request.getCurrency());
+
+        String key = resolveIdempotencyKey(request, idempotencyKey);
+        return transferMetrics.timeTransfer(request.getCurrency(), () -> {
+            if (key == null) {
+                return executeWithRetry(request, null);
+            }
+            return idempotencyCache.computeOnce(request.getFromAccountNumber() + ":" + key,
+                () -> executeOnce(request, key));
+        });
+    }
+
+    private TransactionApiResponse executeOnce(TransferRequest request, String idempotencyKey) {
+        Optional<TransactionApiResponse> previous = findCompletedTransfer(request.getFromAccountNumber(), idempotencyKey);
+        if (previous.isPresent()) {
+            log.info("Transfer with idempotency key {} from {} already completed, returning the stored result",
+                    idempotencyKey, request.getFromAccountNumber());
+            return previous.get();
+        }
+        try {
+            return executeWithRetry(request, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed a transfer with the same key between the lookup and our insert
+            return findCompletedTransfer(request.getFromAccountNumber(), idempotencyKey).orElseThrow(() -> e);
         }
+    }
 
-        // Find accounts
-        Account fromAccount = accountService.findAccountByNumber(request.getFromAccountNumber());
-        Account toAccount = accountService.findAccountByNumber(request.getToAccountNumber());
+    private Optional<TransactionApiResponse> findCompletedTransfer(String fromAccountNumber, String idempotencyKey) {
+        return transactionRepository.findByFromAccountNumberAndIdempotencyKey(fromAccountNumber, idempotencyKey)
+            .map(transaction -> buildTransactionApiResponse(transaction,
+                transaction.getFromAccount().getCurrency().name()));
+    }
 
-        // Validate request currency matches account currencies
-        validateRequestCurrency(request.getCurrency(), fromAccount, toAccount);
+    /**
+     * Runs a transfer that {@link AsyncTransferService} stored as PENDING, with the same locking and
+     * retries as {@link #processTransfer}. The PENDING row is locked first, so a transfer that another
+     * worker already completed is skipped. A transfer that cannot complete is marked FAILED.
+     */
+    public void processPendingTransfer(Long id, TransferRequest request) {
+        try {
+            retryOnConflict(request, status -> executeTransfer(request, null, id));
+        } catch (RuntimeException e) {
+            log.warn("Pending transfer {} from {} to {} failed: {}",
+                    id, request.getFromAccountNumber(), request.getToAccountNumber(), e.getMessage());
+            transactionFailureService.handlePendingTransferFailure(id, e.getMessage());
+        }
+    }
 
-        // Store balances before transfer
-        BigDecimal fromBalanceBefore = fromAccount.getBalance();
-        BigDecimal toBalanceBefore = toAccount.getBalance();
+    /**
+     * Read from the primary even with replica routing: clients poll this right after an asynchronous
+     * submission, possibly through another node.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public TransferStatusResponse getTransferStatus(String transactionId) {
+        Transaction transaction = transactionRepository.findWithAccountsByTransactionId(transactionId)
+            .orElseThrow(() -> new RuntimeException("Transaction not found: " + transactionId));
+        return buildTransferStatusResponse(transaction);
+    }
 
-        // Validate transfer
-        validateTransfer(fromAccount, toAccount, request.getAmount());
+    static String resolveIdempotencyKey(TransferRequest request, String idempotencyKey) {
+        String key = idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : request.getReferenceNumber();
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        if (key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return key;
+    }
 
-        // Create transaction record
-        Transaction transaction = createTransaction(fromAccount, toAccount, request);
+    private TransactionApiResponse executeWithRetry(TransferRequest request, String idempotencyKey) {
+        if (ledgerEngine != null) {
+            Transaction transaction = ledgerEngine.transfer(request, idempotencyKey);
+            log.info("Transfer completed successfully. Transaction ID: {}", transaction.getTransactionId());
+            return buildTransactionApiResponse(transaction, request.getCurrency());
+        }
+        return retryOnConflict(request, status -> executeTransfer(request, idempotencyKey, null));
+    }
 
-        // Update balances
-        fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+    private <T> T retryOnConflict(TransferRequest request, TransactionCallback<T> transfer) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(transfer);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Transfer from {} to {} failed after {} attempts due to concurrent updates",
+                            request.getFromAccountNumber(), request.getToAccountNumber(), attempt, e);
+                    throw new RuntimeException("Transfer failed due to concurrent updates, please retry", e);
+                }
+                log.warn("Concurrent update detected on attempt {} of transfer from {} to {} ({}), retrying",
+                        attempt, request.getFromAccountNumber(), request.getToAccountNumber(), concurrencyStrategy);
+                transferMetrics.countRetry(request.getCurrency());
+                backOff(attempt);
+            }
+        }
+    }
 
-        // Mark transaction as completed
-        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-        transaction.setProcessedAt(LocalDateTime.now());
+    /**
+     * Moves the money inside the caller's transaction. With a {@code pendingId} the PENDING transaction
+     * stored by {@link AsyncTransferService} is completed instead of a new one being inserted; returns
+     * null if it is no longer PENDING.
+     */
+    private TransactionApiResponse executeTransfer(TransferRequest request, String idempotencyKey, Long pendingId) {
+        Transaction pending = null;
+        if (pendingId != null) {
+            pending = transactionRepository.findByIdForUpdate(pendingId).orElse(null);
+            if (pending == null || pending.getStatus() != Transaction.TransactionStatus.PENDING) {
+                log.info("Pending transfer {} was already processed, skipping", pendingId);
+                return null;
+            }
+        }
+        if (concurrencyStrategy == TransferConcurrencyStrategy.ATOMIC_UPDATE) {
+            return executeAtomicTransfer(request, idempotencyKey, pending);
+        }
 
-        try {
-            // Save the transaction and updated account balances
-            transaction = transactionRepository.save(transaction);
-            accountService.saveAccount(fromAccount);
-            accountService.saveAccount(toAccount);
-        } catch (Exception e) {
-            log.error("Transfer failed during save operations. Transaction ID: {}", transaction.getTransactionId(), e);
+        String currency = request.getCurrency();
 
-            // Handle failure in a separate transaction to ensure failure record is saved
-            transactionFailureService.handleTransferFailure(transaction, fromBalanceBefore, toBalanceBefore, request.getCurrency(), e);
+        // Find accounts
+        List<Account> accounts = transferMetrics.time(TransferMetrics.Phase.LOOKUP, currency, () ->
+            concurrencyStrategy == TransferConcurrencyStrategy.PESSIMISTIC
+                ? accountService.findAccountsForUpdate(request.getFromAccountNumber(), request.getToAccountNumber())
+                : List.of(accountService.findAccountByNumber(request.getFromAccountNumber()),
+                    accountService.findAccountByNumber(request.getToAccountNumber())));
+        Account fromAccount = accounts.get(0);
+        Account toAccount = accounts.get(1);
+
+        // Validate request currency matches account currencies, then the transfer itself
+        transferMetrics.time(TransferMetrics.Phase.VALIDATION, currency, () -> {
+            transferValidator.validateRequestCurrency(currency, fromAccount, toAccount);
+            transferValidator.validateTransfer(fromAccount, toAccount, request.getAmount());
+        });
 
-            // Re-throw to trigger rollback of the main transaction
-            throw new RuntimeException("Transfer failed: " + e.getMessage(), e);
-        }
+        // Store balances before transfer
+        BigDecimal fromBalanceBefore = fromAccount.getBalance();
+        BigDecimal toBalanceBefore = toAccount.getBalance();
+
+        // Update balances before inserting the transaction row, so the row locks on the
+        // accounts are taken before the foreign key checks of the insert
+        Money amount = Money.of(request.getAmount(), fromAccount.getCurrency());
+        fromAccount.setBalanceMoney(fromAccount.getBalanceMoney().minus(amount));
+        toAccount.setBalanceMoney(toAccount.getBalanceMoney().plus(amount));
+
+        Transaction transaction = saveTransfer(
+            prepareTransaction(pending, fromAccount, toAccount, request, idempotencyKey), pending != null,
+            idempotencyKey, request, fromBalanceBefore, toBalanceBefore, fromAccount, toAccount);
 
         // Get balances after transfer
         BigDecimal fromBalanceAfter = fromAccount.getBalance();
         BigDecimal toBalanceAfter = toAccount.getBalance();
 
-        // Send successful transaction event with complete details
-        TransactionEvent successEvent = transactionEventBuilder.buildSuccessfulTransferEvent(
-            transaction, fromBalanceBefore, fromBalanceAfter, toBalanceBefore, toBalanceAfter, request.getCurrency());
-        transactionProducer.sendTransactionEvent(successEvent);
+        // Record the successful transaction event in the outbox; it is published only if this commits
+        TransactionEvent successEvent = transferMetrics.time(TransferMetrics.Phase.EVENT_BUILD, currency, () ->
+            transactionEventBuilder.buildSuccessfulTransferEvent(
+                transaction, fromBalanceBefore, fromBalanceAfter, toBalanceBefore, toBalanceAfter, currency));
+        transferMetrics.time(TransferMetrics.Phase.OUTBOX, currency, () -> outboxService.enqueue(successEvent));
 
         // Build and return simplified API response (without sensitive data)
         TransactionApiResponse response = buildTransactionApiResponse(transaction, request.getCurrency());
@@ -92,71 +242,144 @@ public class TransactionService {
         return response;
     }
 
-    private void validateRequestCurrency(String requestCurrency, Account fromAccount, Account toAccount) {
-        // Check if request currency matches source account currency
-        if (!fromAccount.getCurrency().name().equals(requestCurrency)) {
-            throw new RuntimeException(String.format(
-                "Source account currency mismatch: expected %s but request currency is %s",
-                fromAccount.getCurrency().name(), requestCurrency));
-        }
+    /**
+     * ATOMIC_UPDATE never writes through the account entities, so it validates against the accounts'
+     * cached metadata ({@link AccountMetadataCache}) and points the transaction row at them by
+     * reference. The conditional UPDATE statements check the balance and status in the database.
+     */
+    private TransactionApiResponse executeAtomicTransfer(TransferRequest request, String idempotencyKey,
+                                                         Transaction pending) {
+        String currency = request.getCurrency();
+        List<TransferAccountView> accounts = transferMetrics.time(TransferMetrics.Phase.LOOKUP, currency, () ->
+            accountService.findTransferMetadata(request.getFromAccountNumber(), request.getToAccountNumber()));
+        TransferAccountView fromAccount = accounts.get(0);
+        TransferAccountView toAccount = accounts.get(1);
+
+        transferMetrics.time(TransferMetrics.Phase.VALIDATION, currency, () -> {
+            transferValidator.validateRequestCurrency(currency, fromAccount, toAccount);
+            transferValidator.validateTransferWithoutBalance(fromAccount, toAccount, request.getAmount());
+        });
+
+        // Update balances before inserting the transaction row, as above. The rows were changed in the
+        // database only; read back the committed-to-be values (still locked by this transaction)
+        List<BigDecimal> balancesAfter = transferMetrics.time(TransferMetrics.Phase.BALANCE_SAVE, currency, () -> {
+            accountService.applyAtomicTransfer(fromAccount, toAccount, request.getAmount());
+            return List.of(accountService.getCurrentBalance(fromAccount.getId()),
+                accountService.getCurrentBalance(toAccount.getId()));
+        });
+        BigDecimal fromBalanceAfter = balancesAfter.get(0);
+        BigDecimal toBalanceAfter = balancesAfter.get(1);
+        BigDecimal fromBalanceBefore = fromBalanceAfter.add(request.getAmount());
+        BigDecimal toBalanceBefore = toBalanceAfter.subtract(request.getAmount());
+
+        Transaction transaction = saveTransfer(
+            prepareTransaction(pending, accountService.getAccountReference(fromAccount.getId()),
+                accountService.getAccountReference(toAccount.getId()), request, idempotencyKey),
+            pending != null, idempotencyKey, request, fromBalanceBefore, toBalanceBefore);
+
+        TransactionEvent successEvent = transferMetrics.time(TransferMetrics.Phase.EVENT_BUILD, currency, () ->
+            transactionEventBuilder.buildSuccessfulTransferEvent(transaction, fromAccount, toAccount,
+                fromBalanceBefore, fromBalanceAfter, toBalanceBefore, toBalanceAfter, currency));
+        transferMetrics.time(TransferMetrics.Phase.OUTBOX, currency, () -> outboxService.enqueue(successEvent));
+
+        TransactionApiResponse response = buildTransactionApiResponse(transaction, request.getCurrency(),
+            accountSummary(fromAccount), accountSummary(toAccount));
 
-        // Check if request currency matches destination account currency
-        if (!toAccount.getCurrency().name().equals(requestCurrency)) {
-            throw new RuntimeException(String.format(
-                "Destination account currency mismatch: expected %s but request currency is %s",
-                toAccount.getCurrency().name(), requestCurrency));
-        }
+        log.info("Transfer completed successfully. Transaction ID: {}", transaction.getTransactionId());
+        return response;
     }
 
-    private void validateTransfer(Account fromAccount, Account toAccount, BigDecimal amount) {
-        // Check if accounts are active
-        if (fromAccount.getStatus() != Account.AccountStatus.ACTIVE) {
-            throw new RuntimeException("Source account is not active");
-        }
-        if (toAccount.getStatus() != Account.AccountStatus.ACTIVE) {
-            throw new RuntimeException("Destination account is not active");
+    /** The completed PENDING transaction, or a new one already completed so it is written with a single insert. */
+    private Transaction prepareTransaction(Transaction pending, Account fromAccount, Account toAccount,
+                                           TransferRequest request, String idempotencyKey) {
+        if (pending != null) {
+            pending.setStatus(Transaction.TransactionStatus.COMPLETED);
+            pending.setProcessedAt(LocalDateTime.now());
+            return pending;
         }
+        Transaction transaction = createTransaction(fromAccount, toAccount, request);
+        transaction.setIdempotencyKey(idempotencyKey);
+        return transaction;
+    }
 
-        // Check currency compatibility
-        if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
-            throw new RuntimeException(String.format(
-                "Currency mismatch: Source account currency is %s but destination account currency is %s. " +
-                "Cross-currency transfers are not supported.",
-                fromAccount.getCurrency().getDisplayName(),
-                toAccount.getCurrency().getDisplayName()));
-        }
+    /**
+     * Saves the transaction, the updated account entities and the transfer's ledger entries, and
+     * flushes them as one batch so write failures surface here rather than at commit.
+     */
+    private Transaction saveTransfer(Transaction transaction, boolean pending, String idempotencyKey,
+                                     TransferRequest request, BigDecimal fromBalanceBefore, BigDecimal toBalanceBefore,
+                                     Account... changedAccounts) {
+        String currency = request.getCurrency();
+        try {
+            Transaction saved = transferMetrics.time(TransferMetrics.Phase.INSERT, currency, () ->
+                transactionRepository.save(transaction));
+            if (changedAccounts.length > 0) {
+                transferMetrics.time(TransferMetrics.Phase.BALANCE_SAVE, currency, () -> {
+                    for (Account account : changedAccounts) {
+                        accountService.saveAccount(account);
+                    }
+                });
+            }
+            transferMetrics.time(TransferMetrics.Phase.LEDGER, currency, () -> ledgerService.recordTransfer(saved));
+            transferMetrics.time(TransferMetrics.Phase.FLUSH, currency, transactionRepository::flush);
+            return saved;
+        } catch (Exception e) {
+            if (e instanceof ConcurrencyFailureException conflict) {
+                // A version conflict, deadlock or lock timeout at the flush; retryOnConflict tries again
+                throw conflict;
+            }
+            if (idempotencyKey != null && e instanceof DataIntegrityViolationException duplicate) {
+                // Most likely a duplicate idempotency key, which is not a failed transfer; the caller
+                // returns the original one if it exists
+                throw duplicate;
+            }
+            if (pending) {
+                // The PENDING row is locked by this transaction; processPendingTransfer marks it failed
+                throw new RuntimeException("Transfer failed: " + e.getMessage(), e);
+            }
+            log.error("Transfer failed during save operations. Transaction ID: {}", transaction.getTransactionId(), e);
+
+            // Handle failure in a separate transaction to ensure failure record is saved
+            transactionFailureService.handleTransferFailure(transaction, fromBalanceBefore, toBalanceBefore, request.getCurrency(), e);
 
-        // Check sufficient balance
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Insufficient balance");
+            // Re-throw to trigger rollback of the main transaction
+            throw new RuntimeException("Transfer failed: " + e.getMessage(), e);
         }
+    }
 
-        // Prevent self-transfer
-        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
-            throw new RuntimeException("Cannot transfer to the same account");
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(retryBackoffMs * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transfer retry interrupted", e);
         }
     }
 
     private Transaction createTransaction(Account fromAccount, Account toAccount, TransferRequest request) {
         Transaction transaction = new Transaction();
-        transaction.setTransactionId(generateTransactionId());
+        transaction.setTransactionId(idGenerator.nextTransactionId());
         transaction.setFromAccount(fromAccount);
         transaction.setToAccount(toAccount);
         transaction.setAmount(request.getAmount());
         transaction.setType(Transaction.TransactionType.TRANSFER);
-        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
         transaction.setDescription(request.getDescription());
         transaction.setReferenceNumber(request.getReferenceNumber());
+        transaction.setProcessedAt(LocalDateTime.now());
 
-        return transactionRepository.save(transaction);
-    }
-
-    private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return transaction;
     }
 
 
     public TransactionApiResponse buildTransactionApiResponse(Transaction transaction, String currency) {
+        return buildTransactionApiResponse(transaction, currency,
+            accountSummary(transaction.getFromAccount()), accountSummary(transaction.getToAccount()));
+    }
+
+    private TransactionApiResponse buildTransactionApiResponse(Transaction transaction, String currency,
+                                                               TransactionApiResponse.AccountSummary fromAccount,
+                                                               TransactionApiResponse.AccountSummary toAccount) {
         TransactionApiResponse response = new TransactionApiResponse();
         response.setEventType("transaction");
         response.setTimestamp(transaction.getProcessedAt() != null ? transaction.getProcessedAt() : transaction.getCreatedAt());
@@ -165,62 +388,49 @@ public class TransactionService {
         response.setCurrency(currency);
         response.setDescription(transaction.getDescription());
         response.setStatus(transaction.getStatus().name());
-
-        // Build simplified account summaries (without sensitive data like balances)
-        TransactionApiResponse.AccountSummary fromAccountSummary = new TransactionApiResponse.AccountSummary();
-        fromAccountSummary.setId(transaction.getFromAccount().getId());
-        fromAccountSummary.setCustomerName(transaction.getFromAccount().getCustomer().getName());
-        fromAccountSummary.setCustomerType(getCustomerType(transaction.getFromAccount().getCustomer()));
-        response.setFromAccount(fromAccountSummary);
-
-        TransactionApiResponse.AccountSummary toAccountSummary = new TransactionApiResponse.AccountSummary();
-        toAccountSummary.setId(transaction.getToAccount().getId());
-        toAccountSummary.setCustomerName(transaction.getToAccount().getCustomer().getName());
-        toAccountSummary.setCustomerType(getCustomerType(transaction.getToAccount().getCustomer()));
-        response.setToAccount(toAccountSummary);
-
+        response.setFromAccount(fromAccount);
+        response.setToAccount(toAccount);
         return response;
     }
 
-    private String getCustomerType(Customer customer) {
-        // Handle Hibernate proxy case
-        Customer realCustomer = customer;
-        if (customer.getClass().getName().contains("HibernateProxy")) {
-            realCustomer = (Customer) org.hibernate.Hibernate.unproxy(customer);
-        }
+    // Simplified account summaries, without sensitive data like balances
+    private TransactionApiResponse.AccountSummary accountSummary(Account account) {
+        return accountSummary(account.getId(), account.getCustomer().getId());
+    }
 
-        if (realCustomer instanceof IndividualCustomer) {
-            return "individual";
-        } else if (realCustomer instanceof BusinessCustomer) {
-            return "business";
-        } else if (realCustomer instanceof VIPCustomer) {
-            return "vip";
-        }
+    private TransactionApiResponse.AccountSummary accountSummary(TransferAccountView account) {
+        return accountSummary(account.getId(), account.getCustomerId());
+    }
 
-        log.warn("Unknown customer type for customer ID: {}, class: {}", customer.getId(), realCustomer.getClass().getName());
-        return "unknown";
-    }
-
-    private TransactionEventResponse.CustomerDetails buildCustomerDetails(Customer customer) {
-        TransactionEventResponse.CustomerDetails customerDetails = new TransactionEventResponse.CustomerDetails();
-        customerDetails.setId(customer.getId());
-        customerDetails.setName(customer.getName());
-
-        // Set type and specific identifiers based on customer type
-        if (customer instanceof IndividualCustomer) {
-            IndividualCustomer individual = (IndividualCustomer) customer;
-            customerDetails.setType("individual");
-            customerDetails.setPersonalId(individual.getNationalId());
-        } else if (customer instanceof BusinessCustomer) {
-            BusinessCustomer business = (BusinessCustomer) customer;
-            customerDetails.setType("business");
-            customerDetails.setBusinessNumber(business.getBusinessRegistrationNumber());
-        } else if (customer instanceof VIPCustomer) {
-            customerDetails.setType("vip");
-            // VIP customers might have personal ID if they extend individual
-            customerDetails.setPersonalId("VIP-" + customer.getId());
-        }
+    private TransactionApiResponse.AccountSummary accountSummary(Long accountId, Long customerId) {
+        CustomerDescriptor customer = customerDescriptorCache.get(customerId);
+        TransactionApiResponse.AccountSummary summary = new TransactionApiResponse.AccountSummary();
+        summary.setId(accountId);
+        summary.setCustomerName(customer.name());
+        summary.setCustomerType(customer.type());
+        return summary;
+    }
+
+    public TransferStatusResponse buildTransferStatusResponse(Transaction transaction) {
+        return buildTransferStatusResponse(transaction, transaction.getFromAccount().getAccountNumber(),
+            transaction.getToAccount().getAccountNumber(), transaction.getFromAccount().getCurrency().name());
+    }
 
-        return customerDetails;
+    /** For a transaction whose accounts are uninitialized references, with the details the caller already has. */
+    public TransferStatusResponse buildTransferStatusResponse(Transaction transaction, String fromAccountNumber,
+                                                              String toAccountNumber, String currency) {
+        TransferStatusResponse response = new TransferStatusResponse();
+        response.setTransactionId(transaction.getTransactionId());
+        response.setStatus(transaction.getStatus().name());
+        response.setFromAccountNumber(fromAccountNumber);
+        response.setToAccountNumber(toAccountNumber);
+        response.setAmount(transaction.getAmount());
+        response.setCurrency(currency);
+        response.setDescription(transaction.getDescription());
+        response.setReferenceNumber(transaction.getReferenceNumber());
+        response.setFailureReason(transaction.getFailureReason());
+        response.setCreatedAt(transaction.getCreatedAt());
+        response.setProcessedAt(transaction.getProcessedAt());
+        return response;
     }
 }
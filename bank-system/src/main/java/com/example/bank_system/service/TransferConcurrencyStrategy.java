@@ -0,0 +1,27 @@
+package com.example.bank_system.service;
+
+/**
+ * Concurrency control used by {@link TransactionService#processTransfer} when moving money
+ * between two accounts. Selected with {@code bank.transfer.concurrency-strategy}.
+ */
+public enum TransferConcurrencyStrategy {
+
+    /**
+     * Locks both account rows with SELECT ... FOR UPDATE, always lowest account id first,
+     * so two transfers touching the same pair of accounts can never deadlock.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Relies on the {@code @Version} column of Account; a conflicting update rolls the
+     * transfer back and it is retried up to {@code bank.transfer.retry.max-attempts} times.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Applies the debit as a single conditional statement
+     * ({@code balance = balance - ? WHERE id = ? AND balance >= ?}) and the credit as
+     * {@code balance = balance + ?}, without reading the balance into the application first.
+     */
+    ATOMIC_UPDATE
+}
@@ -0,0 +1,84 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransactionApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory record of recent idempotent transfers and their results.
+ *
+ * <p>The first request for a key runs the transfer; requests with the same key that arrive while
+ * it runs wait for its result instead of racing it, and later ones get the stored result without
+ * touching the database. A failed transfer releases its key so it can be retried. Only completed
+ * entries are evicted, least recently used first, once more than
+ * {@code bank.transfer.idempotency.cache-size} keys are held; the database lookup in
+ * {@link TransactionService} covers keys that are no longer cached.
+ */
+@Component
+public class TransferIdempotencyCache {
+
+    @Value("${bank.transfer.idempotency.cache-size:10000}")
+    private int maxSize = 10000;
+
+    @Value("${bank.transfer.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs = 30000;
+
+    private final Map<String, CompletableFuture<TransactionApiResponse>> entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<TransactionApiResponse>> eldest) {
+                return size() > maxSize && eldest.getValue().isDone();
+            }
+        };
+
+    /** Runs {@code transfer} unless a transfer with the same key has completed or is in progress. */
+    public TransactionApiResponse computeOnce(String key, Supplier<TransactionApiResponse> transfer) {
+        while (true) {
+            CompletableFuture<TransactionApiResponse> claim = new CompletableFuture<>();
+            CompletableFuture<TransactionApiResponse> existing;
+            synchronized (entries) {
+                existing = entries.putIfAbsent(key, claim);
+            }
+
+            if (existing == null) {
+                try {
+                    TransactionApiResponse response = transfer.get();
+                    claim.complete(response);
+                    return response;
+                } catch (RuntimeException e) {
+                    synchronized (entries) {
+                        entries.remove(key, claim);
+                    }
+                    claim.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            try {
+                return existing.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                // The first attempt failed and released the key; run the transfer ourselves
+            } catch (TimeoutException e) {
+                throw new RuntimeException("A transfer with the same idempotency key is still in progress, please retry", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Transfer submission interrupted", e);
+            }
+        }
+    }
+
+    /** Number of keys currently held. */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.entity.Currency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the transfer path, published with percentile histograms so p99 can be computed per
+ * phase from the Prometheus scrape ({@code /actuator/prometheus}):
+ *
+ * <ul>
+ *   <li>{@code bank.transfer}: a whole {@link TransactionService#processTransfer} call, retries included;</li>
+ *   <li>{@code bank.transfer.phase}: each {@link Phase} of an attempt, tagged {@code phase};</li>
+ *   <li>{@code bank.transfer.retries}: attempts retried after a concurrent update;</li>
+ *   <li>{@code bank.transfer.failure}: recording a failed transfer, tagged {@code type} (transfer or pending);</li>
+ *   <li>{@code bank.kafka.send}: a Kafka send until the broker acknowledges it, tagged {@code topic}.</li>
+ * </ul>
+ *
+ * <p>All are tagged {@code currency} (the request's, or {@code other} when it is not a known
+ * currency) and {@code outcome} (success or failure). The commit is not a phase of its own: it is
+ * what {@code bank.transfer} spends beyond the phases.
+ */
+@Component
+public class TransferMetrics {
+
+    /** Phases of one transfer attempt, in order. */
+    public enum Phase {
+        /** Reading (and with pessimistic locking, locking) the two accounts. */
+        LOOKUP,
+        VALIDATION,
+        /** Persisting the transaction row; with JDBC batching the INSERT itself runs in {@link #FLUSH}. */
+        INSERT,
+        /** Saving the account balances, or with ATOMIC_UPDATE the conditional UPDATEs and read-backs. */
+        BALANCE_SAVE,
+        LEDGER,
+        FLUSH,
+        EVENT_BUILD,
+        /** Writing the event to the outbox; its Kafka send is timed by {@code bank.kafka.send}. */
+        OUTBOX;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    static final String KAFKA_SEND = "bank.kafka.send";
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+
+    // Histogram buckets from 100 µs to 30 s
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(100_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T timeTransfer(String currency, Supplier<T> transfer) {
+        long start = now();
+        String outcome = FAILURE;
+        try {
+            T result = transfer.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            record(transferTimer(currency, outcome), start);
+        }
+    }
+
+    public <T> T time(Phase phase, String currency, Supplier<T> work) {
+        long start = now();
+        String outcome = FAILURE;
+        try {
+            T result = work.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            record(phaseTimer(phase, currency, outcome), start);
+        }
+    }
+
+    public void time(Phase phase, String currency, Runnable work) {
+        time(phase, currency, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public void countRetry(String currency) {
+        Counter.builder("bank.transfer.retries")
+            .description("Transfer attempts retried after a concurrent update")
+            .tag("currency", currencyTag(currency))
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /** Records how long recording a failed transfer took, from {@code start} ({@link #now()}). */
+    public void recordFailure(String type, String currency, boolean recorded, long start) {
+        record(Timer.builder("bank.transfer.failure")
+            .description("Recording failed transfers")
+            .tag("type", type)
+            .tag("currency", currencyTag(currency))
+            .tag("outcome", recorded ? SUCCESS : FAILURE)
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .publishPercentileHistogram()
+            .register(meterRegistry), start);
+    }
+
+    /**
+     * Times {@code send} until its future completes, i.e. until the broker acknowledges the record
+     * or the send fails. Returns the send's own future.
+     */
+    public <T> CompletableFuture<T> timeKafkaSend(String topic, String currency, Supplier<CompletableFuture<T>> send) {
+        long start = now();
+        CompletableFuture<T> future;
+        try {
+            future = send.get();
+        } catch (RuntimeException e) {
+            record(kafkaTimer(topic, currency, FAILURE), start);
+            throw e;
+        }
+        future.whenComplete((result, failure) ->
+            record(kafkaTimer(topic, currency, failure == null ? SUCCESS : FAILURE), start));
+        return future;
+    }
+
+    public long now() {
+        return meterRegistry.config().clock().monotonicTime();
+    }
+
+    private void record(Timer timer, long start) {
+        timer.record(now() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer phaseTimer(Phase phase, String currency, String outcome) {
+        return Timer.builder("bank.transfer.phase")
+            .description("Phases of a transfer attempt")
+            .tag("phase", phase.tag)
+            .tag("currency", currencyTag(currency))
+            .tag("outcome", outcome)
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Timer kafkaTimer(String topic, String currency, String outcome) {
+        return Timer.builder(KAFKA_SEND)
+            .description("Kafka sends until acknowledged by the broker")
+            .tag("topic", topic)
+            .tag("currency", currencyTag(currency))
+            .tag("outcome", outcome)
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Timer transferTimer(String currency, String outcome) {
+        return Timer.builder("bank.transfer")
+            .description("Transfers, retries included")
+            .tag("currency", currencyTag(currency))
+            .tag("outcome", outcome)
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /** The currency as a tag value; anything else a client sends would grow the number of series. */
+    static String currencyTag(String currency) {
+        for (Currency known : Currency.values()) {
+            if (known.name().equals(currency)) {
+                return known.name();
+            }
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Money;
+import com.example.bank_system.entity.TransferAccount;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Business rules shared by the single and batch transfer paths. They accept managed {@link Account}
+ * entities as well as the read-only projections used where nothing is written through the entity.
+ */
+@Component
+public class TransferValidator {
+
+    public void validateCurrencyProvided(String currency) {
+        if (currency == null || currency.trim().isEmpty()) {
+            throw new RuntimeException("Currency is required and cannot be null or empty");
+        }
+    }
+
+    public void validateRequestCurrency(String requestCurrency, TransferAccount fromAccount, TransferAccount toAccount) {
+        // Check if request currency matches source account currency
+        if (!fromAccount.getCurrency().name().equals(requestCurrency)) {
+            throw new RuntimeException(String.format(
+                "Source account currency mismatch: expected %s but request currency is %s",
+                fromAccount.getCurrency().name(), requestCurrency));
+        }
+
+        // Check if request currency matches destination account currency
+        if (!toAccount.getCurrency().name().equals(requestCurrency)) {
+            throw new RuntimeException(String.format(
+                "Destination account currency mismatch: expected %s but request currency is %s",
+                toAccount.getCurrency().name(), requestCurrency));
+        }
+    }
+
+    public void validateTransfer(TransferAccount fromAccount, TransferAccount toAccount, BigDecimal amount) {
+        validateAccounts(fromAccount, toAccount);
+
+        // Check the amount fits the currency's decimal places and the balance covers it
+        if (fromAccount.getBalanceMoney().isLessThan(Money.of(amount, fromAccount.getCurrency()))) {
+            throw new RuntimeException("Insufficient balance");
+        }
+
+        validateNotSameAccount(fromAccount, toAccount);
+    }
+
+    /**
+     * The checks of {@link #validateTransfer} except the balance, for accounts read from the metadata
+     * cache; the caller must check the balance in the database.
+     */
+    public void validateTransferWithoutBalance(TransferAccount fromAccount, TransferAccount toAccount, BigDecimal amount) {
+        validateAccounts(fromAccount, toAccount);
+
+        // Check the amount fits the currency's decimal places
+        Money.of(amount, fromAccount.getCurrency());
+
+        validateNotSameAccount(fromAccount, toAccount);
+    }
+
+    private void validateAccounts(TransferAccount fromAccount, TransferAccount toAccount) {
+        // Check if accounts are active
+        if (fromAccount.getStatus() != Account.AccountStatus.ACTIVE) {
+            throw new RuntimeException("Source account is not active");
+        }
+        if (toAccount.getStatus() != Account.AccountStatus.ACTIVE) {
+            throw new RuntimeException("Destination account is not active");
+        }
+
+        // Check currency compatibility
+        if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
+            throw new RuntimeException(String.format(
+                "Currency mismatch: Source account currency is %s but destination account currency is %s. " +
+                "Cross-currency transfers are not supported.",
+                fromAccount.getCurrency().getDisplayName(),
+                toAccount.getCurrency().getDisplayName()));
+        }
+    }
+
+    private void validateNotSameAccount(TransferAccount fromAccount, TransferAccount toAccount) {
+        // Prevent self-transfer
+        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+            throw new RuntimeException("Cannot transfer to the same account");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bank_system.synthetic;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes ids from the pooled sequences Hibernate uses for each entity, so rows inserted with plain
+ * JDBC never collide with rows the application inserts later. Only one id in
+ * {@code allocationSize} reaches the database. See {@code TransactionIdAllocator}.
+ */
+@Component
+class SequenceIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    SequenceIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    long[] allocate(Class<?> entity, int count) {
+        IdentifierGenerator generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(entity)
+            .getGenerator();
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        }
+        return ids;
+    }
+}
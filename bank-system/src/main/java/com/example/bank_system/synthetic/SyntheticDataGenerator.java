@@ -0,0 +1,416 @@
+package com.example.bank_system.synthetic;
+
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.Customer;
+import com.example.bank_system.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a synthetic data set for capacity planning: customers (individual, business and VIP mix),
+ * their accounts across every {@link Currency}, and a transaction history in which a few hot
+ * merchant accounts receive a large share of the payments and earlier accounts are busier than
+ * later ones.
+ *
+ * <p>Everything is derived from {@link SyntheticDataSpec#seed()}. A compact plan (customer types,
+ * account owners, types and currencies) is drawn in one pass; rows are then built in chunks of
+ * {@code bank.synthetic.batch-size}, each from its own random stream, and inserted with JDBC batches
+ * by {@code bank.synthetic.threads} workers, one transaction per chunk, so the rows do not depend on
+ * how chunks are scheduled. Ids come from the entities' sequences and are allocated in chunk order.
+ *
+ * <p>Account balances are drawn independently of the history, and no ledger entries are written.
+ */
+@Component
+@Slf4j
+public class SyntheticDataGenerator {
+
+    static final String EMAIL_DOMAIN = "@synthetic.example";
+
+    /** Account currencies with their weights in per mille, most common first. */
+    private static final Currency[] CURRENCIES = {
+        Currency.USD, Currency.EUR, Currency.ILS, Currency.GBP, Currency.JPY, Currency.CAD
+    };
+    private static final int[] CURRENCY_WEIGHTS = {400, 200, 150, 100, 80, 70};
+
+    private static final byte INDIVIDUAL = 0;
+    private static final byte BUSINESS = 1;
+    private static final byte VIP = 2;
+    private static final String[] CUSTOMER_TYPES = {"INDIVIDUAL", "BUSINESS", "VIP"};
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Noa", "David", "Sarah", "Michael", "Yael", "Daniel", "Emma", "Omer",
+        "Olivia", "Lucas", "Maya", "Liam", "Sophie", "Ethan", "Tamar", "Hiro", "Chloe", "Ari"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Cohen", "Levi", "Johnson", "Brown", "Garcia", "Mizrahi", "Miller", "Tanaka", "Wilson",
+        "Martin", "Friedman", "Taylor", "Moreau", "Schmidt", "Peretz", "Clark", "Dubois", "Sato", "Evans"
+    };
+    private static final String[] STREETS = {
+        "Main St", "Herzl St", "Oak Ave", "King George St", "High St", "Market St", "Park Rd", "Harbor Blvd"
+    };
+    private static final String[] CITIES = {
+        "New York", "Tel Aviv", "London", "Paris", "Berlin", "Tokyo", "Toronto", "Haifa"
+    };
+    private static final String[] OCCUPATIONS = {
+        "Engineer", "Teacher", "Nurse", "Designer", "Accountant", "Student", "Lawyer", "Chef", "Retired"
+    };
+    private static final String[] INDUSTRIES = {
+        "Retail", "Software Development", "Food Services", "Logistics", "Healthcare", "Construction", "Media"
+    };
+    private static final String[] BUSINESS_TYPES = {"LLC", "Corporation", "Partnership", "Sole Proprietorship"};
+    private static final String[] VIP_LEVELS = {"GOLD", "PLATINUM", "DIAMOND"};
+
+    /** Percentage of transactions that fail. */
+    private static final int FAILED_PERCENT = 2;
+
+    private static final String CUSTOMER_SQL =
+        "INSERT INTO customers (id, customer_type, name, email, phone, address, national_id, date_of_birth, " +
+        "occupation, business_registration_number, business_type, industry, tax_id, vip_level, minimum_balance, " +
+        "personal_banker, special_services, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ACCOUNT_SQL =
+        "INSERT INTO accounts (id, account_number, account_type, balance, currency, status, version, customer_id, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, 'ACTIVE', 0, ?, ?, ?)";
+
+    private static final String TRANSACTION_SQL =
+        "INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, amount, type, status, " +
+        "description, reference_number, failure_reason, created_at, processed_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenceIdAllocator idAllocator;
+
+    @Value("${bank.synthetic.batch-size:5000}")
+    private int batchSize = 5000;
+
+    @Value("${bank.synthetic.threads:4}")
+    private int threads = 4;
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           SequenceIdAllocator idAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.idAllocator = idAllocator;
+    }
+
+    public record Summary(int customers, int accounts, int transactions, long durationMs) {
+    }
+
+    public Summary generate(SyntheticDataSpec spec) {
+        long started = System.nanoTime();
+        Plan plan = new Plan(spec);
+        LocalDateTime historyStart = spec.historyEnd().minusDays(spec.historyDays()).atStartOfDay();
+        Timestamp openedAt = Timestamp.valueOf(historyStart);
+        String tag = Long.toHexString(spec.seed()).toUpperCase();
+        long spanSeconds = spec.historyDays() * 86_400L;
+
+        AtomicInteger workers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+            task -> new Thread(task, "synthetic-loader-" + workers.incrementAndGet()));
+        try {
+            long[] customerIds = load(executor, spec.seed(), Customer.class, spec.customers(), CUSTOMER_SQL, true,
+                (index, id, random) -> customerRow(id, index, plan.customerTypes[index], tag, openedAt, random));
+            log.info("Loaded {} synthetic customers", spec.customers());
+
+            long[] accountIds = load(executor, spec.seed(), Account.class, plan.accounts, ACCOUNT_SQL, true,
+                (index, id, random) -> accountRow(id, index, plan, customerIds[plan.accountOwners[index]], tag,
+                    openedAt, random));
+            log.info("Loaded {} synthetic accounts", plan.accounts);
+
+            load(executor, spec.seed(), Transaction.class, spec.transactions(), TRANSACTION_SQL, false,
+                (index, id, random) -> transactionRow(id, index,
+                    historyStart.plusSeconds(spanSeconds * index / spec.transactions()), plan, accountIds, tag,
+                    spec.hotMerchantShare(), random));
+            log.info("Loaded {} synthetic transactions", spec.transactions());
+        } finally {
+            executor.shutdownNow();
+        }
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        return new Summary(spec.customers(), plan.accounts, spec.transactions(), durationMs);
+    }
+
+    /** Builds the row with the given index and id. */
+    private interface RowBuilder {
+        Object[] build(int index, long id, SplittableRandom random);
+    }
+
+    /**
+     * Allocates ids and submits one table's chunks in order, with at most two chunks per worker in
+     * flight. Once all chunks are inserted, returns every row's id if {@code keepIds}, else null.
+     */
+    private long[] load(ExecutorService executor, long seed, Class<?> entity, int count, String sql, boolean keepIds,
+                        RowBuilder builder) {
+        long[] allIds = keepIds ? new long[count] : null;
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<?>> chunks = new ArrayList<>();
+        long salt = (long) entity.getSimpleName().hashCode() << 32;
+        try {
+            for (int first = 0; first < count; first += batchSize) {
+                int chunkFirst = first;
+                long[] ids = idAllocator.allocate(entity, Math.min(batchSize, count - first));
+                if (keepIds) {
+                    System.arraycopy(ids, 0, allIds, first, ids.length);
+                }
+                inFlight.acquire();
+                chunks.add(executor.submit(() -> {
+                    try {
+                        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L ^ salt ^ chunkFirst);
+                        List<Object[]> rows = new ArrayList<>(ids.length);
+                        for (int i = 0; i < ids.length; i++) {
+                            rows.add(builder.build(chunkFirst + i, ids[i], random));
+                        }
+                        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                // Stop at the first failed chunk rather than loading the rest of the table
+                for (Iterator<Future<?>> it = chunks.iterator(); it.hasNext(); ) {
+                    Future<?> chunk = it.next();
+                    if (chunk.isDone()) {
+                        chunk.get();
+                        it.remove();
+                    }
+                }
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Synthetic data load interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Synthetic data load failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return allIds;
+    }
+
+    private static Object[] customerRow(long id, int index, byte type, String tag, Timestamp createdAt,
+                                        SplittableRandom random) {
+        String first = pick(FIRST_NAMES, random);
+        String last = pick(LAST_NAMES, random);
+        String name = type == BUSINESS
+            ? last + " " + pick(INDUSTRIES, random) + " " + pick(BUSINESS_TYPES, random)
+            : first + " " + last;
+        String email = "c" + index + "." + tag.toLowerCase() + EMAIL_DOMAIN;
+        String phone = "+1" + (2_000_000_000L + random.nextLong(8_000_000_000L));
+        String address = (1 + random.nextInt(999)) + " " + pick(STREETS, random) + ", " + pick(CITIES, random);
+        Object[] row = new Object[19];
+        row[0] = id;
+        row[1] = CUSTOMER_TYPES[type];
+        row[2] = name;
+        row[3] = email;
+        row[4] = phone;
+        row[5] = address;
+        switch (type) {
+            case INDIVIDUAL -> {
+                row[6] = String.valueOf(100_000_000 + random.nextInt(900_000_000));
+                row[7] = LocalDate.of(1940, 1, 1).plusDays(random.nextInt(65 * 365)).toString();
+                row[8] = pick(OCCUPATIONS, random);
+            }
+            case BUSINESS -> {
+                row[9] = "BRN" + tag + index;
+                row[10] = pick(BUSINESS_TYPES, random);
+                row[11] = pick(INDUSTRIES, random);
+                row[12] = "TAX" + (100_000_000 + random.nextInt(900_000_000));
+            }
+            default -> {
+                row[13] = pick(VIP_LEVELS, random);
+                row[14] = BigDecimal.valueOf(10_000L + 1000L * random.nextInt(91)).setScale(2);
+                row[15] = pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random);
+                row[16] = "24/7 Support, Investment Advisory";
+            }
+        }
+        row[17] = createdAt;
+        row[18] = createdAt;
+        return row;
+    }
+
+    private static Object[] accountRow(long id, int index, Plan plan, long customerId, String tag, Timestamp createdAt,
+                                       SplittableRandom random) {
+        Account.AccountType type = Account.AccountType.values()[plan.accountTypes[index]];
+        Currency currency = CURRENCIES[plan.accountCurrencies[index]];
+        // About 5,000 in the major unit for a personal account, more for business and VIP accounts
+        long scale = switch (type) {
+            case BUSINESS -> 10;
+            case VIP -> 20;
+            default -> 1;
+        };
+        long minor = scale * logNormal(random, 500_000, 1.0);
+        return new Object[]{id, "SYN" + tag + "A" + index, type.name(), BigDecimal.valueOf(minor, currency.getMinorUnits()),
+            currency.name(), customerId, createdAt, createdAt};
+    }
+
+    private static Object[] transactionRow(long id, int index, LocalDateTime createdAt, Plan plan, long[] accountIds,
+                                           String tag, double hotMerchantShare, SplittableRandom random) {
+        // Squaring the draw makes earlier accounts pay more often than later ones
+        double draw = random.nextDouble();
+        int payer = plan.payers[(int) (plan.payers.length * draw * draw)];
+        int currency = plan.accountCurrencies[payer];
+        int[] hot = plan.hotMerchants[currency];
+        boolean payment = random.nextDouble() < hotMerchantShare && (hot.length > 1 || hot.length == 1 && hot[0] != payer);
+        int[] payees = payment ? hot : plan.accountsByCurrency[currency];
+        int payee;
+        do {
+            payee = payees[random.nextInt(payees.length)];
+        } while (payee == payer);
+
+        boolean failed = random.nextInt(100) < FAILED_PERCENT;
+        long minor = logNormal(random, payment ? 3_000 : 10_000, 1.2);
+        return new Object[]{
+            id,
+            "SYN" + tag + "T" + index,
+            accountIds[payer],
+            accountIds[payee],
+            BigDecimal.valueOf(minor, CURRENCIES[currency].getMinorUnits()),
+            payment ? Transaction.TransactionType.PAYMENT.name() : Transaction.TransactionType.TRANSFER.name(),
+            failed ? Transaction.TransactionStatus.FAILED.name() : Transaction.TransactionStatus.COMPLETED.name(),
+            payment ? "Card payment" : "Transfer",
+            payment ? "INV" + (10_000_000 + random.nextInt(90_000_000)) : null,
+            failed ? "Insufficient funds" : null,
+            Timestamp.valueOf(createdAt),
+            Timestamp.valueOf(createdAt.plusNanos((50 + random.nextInt(2000)) * 1_000_000L))
+        };
+    }
+
+    /** A log-normal amount in minor units around {@code median}, at least 1. */
+    private static long logNormal(SplittableRandom random, long median, double sigma) {
+        return Math.max(1, Math.min(10_000_000_000L, Math.round(median * Math.exp(sigma * random.nextGaussian()))));
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int pickCurrency(SplittableRandom random) {
+        int draw = random.nextInt(1000);
+        for (int i = 0; i < CURRENCY_WEIGHTS.length; i++) {
+            draw -= CURRENCY_WEIGHTS[i];
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Who owns which account, in which currency, and which accounts send and receive transactions.
+     * Drawn sequentially from the seed; a few bytes per customer and account.
+     */
+    private static final class Plan {
+
+        final byte[] customerTypes;
+        int accounts;
+        int[] accountOwners;
+        byte[] accountTypes;
+        byte[] accountCurrencies;
+        /** Account indexes per currency; a transaction's payee is drawn from the payer's currency. */
+        final int[][] accountsByCurrency = new int[CURRENCIES.length][];
+        /** The first business accounts of each currency, about {@code hotMerchants} in total. */
+        final int[][] hotMerchants = new int[CURRENCIES.length][];
+        /** Accounts with at least one other account in their currency, in account order. */
+        final int[] payers;
+
+        Plan(SyntheticDataSpec spec) {
+            SplittableRandom random = new SplittableRandom(spec.seed());
+            customerTypes = new byte[spec.customers()];
+            int capacity = spec.customers() + spec.customers() / 2;
+            accountOwners = new int[capacity];
+            accountTypes = new byte[capacity];
+            accountCurrencies = new byte[capacity];
+            for (int customer = 0; customer < spec.customers(); customer++) {
+                double draw = random.nextDouble();
+                byte type = draw < spec.businessShare() ? BUSINESS
+                    : draw < spec.businessShare() + spec.vipShare() ? VIP : INDIVIDUAL;
+                customerTypes[customer] = type;
+                int home = pickCurrency(random);
+                int count = 1 + random.nextInt(spec.maxAccounts());
+                for (int k = 0; k < count; k++) {
+                    Account.AccountType accountType = switch (type) {
+                        case BUSINESS -> Account.AccountType.BUSINESS;
+                        case VIP -> k == 0 ? Account.AccountType.VIP : Account.AccountType.SAVINGS;
+                        default -> k == 0 ? Account.AccountType.CHECKING : Account.AccountType.SAVINGS;
+                    };
+                    int currency = k == 0 || random.nextInt(10) < 7 ? home : pickCurrency(random);
+                    addAccount(customer, accountType, currency);
+                }
+            }
+
+            int[] counts = new int[CURRENCIES.length];
+            int[] hotCounts = new int[CURRENCIES.length];
+            boolean[] hot = new boolean[accounts];
+            for (int account = 0; account < accounts; account++) {
+                int currency = accountCurrencies[account];
+                counts[currency]++;
+                // Hot merchants are shared out by currency weight, at least one per currency
+                int quota = spec.hotMerchants() == 0 ? 0
+                    : Math.max(1, spec.hotMerchants() * CURRENCY_WEIGHTS[currency] / 1000);
+                if (hotCounts[currency] < quota && accountTypes[account] == Account.AccountType.BUSINESS.ordinal()) {
+                    hot[account] = true;
+                    hotCounts[currency]++;
+                }
+            }
+            for (int currency = 0; currency < CURRENCIES.length; currency++) {
+                accountsByCurrency[currency] = new int[counts[currency]];
+                hotMerchants[currency] = new int[hotCounts[currency]];
+            }
+            int[] filled = new int[CURRENCIES.length];
+            int[] hotFilled = new int[CURRENCIES.length];
+            int payerCount = 0;
+            for (int account = 0; account < accounts; account++) {
+                int currency = accountCurrencies[account];
+                accountsByCurrency[currency][filled[currency]++] = account;
+                if (hot[account]) {
+                    hotMerchants[currency][hotFilled[currency]++] = account;
+                }
+                if (counts[currency] > 1) {
+                    payerCount++;
+                }
+            }
+            payers = new int[payerCount];
+            for (int account = 0, next = 0; account < accounts; account++) {
+                if (counts[accountCurrencies[account]] > 1) {
+                    payers[next++] = account;
+                }
+            }
+            if (spec.transactions() > 0 && payerCount == 0) {
+                throw new IllegalArgumentException("Synthetic transactions need two accounts in the same currency");
+            }
+        }
+
+        private void addAccount(int customer, Account.AccountType type, int currency) {
+            if (accounts == accountOwners.length) {
+                int capacity = accounts * 2;
+                accountOwners = Arrays.copyOf(accountOwners, capacity);
+                accountTypes = Arrays.copyOf(accountTypes, capacity);
+                accountCurrencies = Arrays.copyOf(accountCurrencies, capacity);
+            }
+            accountOwners[accounts] = customer;
+            accountTypes[accounts] = (byte) type.ordinal();
+            accountCurrencies[accounts] = (byte) currency;
+            accounts++;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bank_system.synthetic;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Loads the {@code bank.synthetic.*} data set on startup with the {@code synthetic-data} profile,
+ * against whichever database {@code spring.datasource.*} points at, then exits unless
+ * {@code bank.synthetic.exit-on-completion=false}. See {@link SyntheticDataGenerator}.
+ */
+@Component
+@Profile("synthetic-data")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${bank.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${bank.synthetic.customers:100000}")
+    private int customers;
+
+    @Value("${bank.synthetic.business-share:0.12}")
+    private double businessShare;
+
+    @Value("${bank.synthetic.vip-share:0.03}")
+    private double vipShare;
+
+    @Value("${bank.synthetic.max-accounts-per-customer:3}")
+    private int maxAccounts;
+
+    @Value("${bank.synthetic.transactions:1000000}")
+    private int transactions;
+
+    @Value("${bank.synthetic.history-days:365}")
+    private int historyDays;
+
+    /** Last day of history (exclusive), e.g. 2025-01-01; defaults to today. */
+    @Value("${bank.synthetic.history-end:}")
+    private String historyEnd;
+
+    @Value("${bank.synthetic.hot-merchants:50}")
+    private int hotMerchants;
+
+    @Value("${bank.synthetic.hot-merchant-share:0.3}")
+    private double hotMerchantShare;
+
+    @Value("${bank.synthetic.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(String... args) {
+        SyntheticDataSpec spec = new SyntheticDataSpec(seed, customers, businessShare, vipShare, maxAccounts,
+            transactions, historyDays, historyEnd.isBlank() ? LocalDate.now() : LocalDate.parse(historyEnd),
+            hotMerchants, hotMerchantShare);
+        log.info("Loading synthetic data: {}", spec);
+        SyntheticDataGenerator.Summary summary = generator.generate(spec);
+        log.info("Loaded {} customers, {} accounts and {} transactions in {} ms", summary.customers(),
+            summary.accounts(), summary.transactions(), summary.durationMs());
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bank_system.synthetic;
+
+import java.time.LocalDate;
+
+/**
+ * What {@link SyntheticDataGenerator} loads. The same spec always produces the same rows.
+ *
+ * @param seed               seeds every random choice
+ * @param customers          number of customers
+ * @param businessShare      fraction of customers that are businesses
+ * @param vipShare           fraction of customers that are VIPs; the rest are individuals
+ * @param maxAccounts        accounts per customer, 1 to this many
+ * @param transactions       number of historical transactions
+ * @param historyDays        days of history, spread evenly up to {@code historyEnd}
+ * @param historyEnd         end (exclusive) of the transaction history
+ * @param hotMerchants       about this many business accounts, shared out by currency, receive
+ *                           {@code hotMerchantShare} of all transactions
+ * @param hotMerchantShare   fraction of transactions paid to a hot merchant in the payer's currency
+ */
+public record SyntheticDataSpec(long seed, int customers, double businessShare, double vipShare, int maxAccounts,
+                                int transactions, int historyDays, LocalDate historyEnd, int hotMerchants,
+                                double hotMerchantShare) {
+
+    public SyntheticDataSpec {
+        if (customers < 1 || maxAccounts < 1 || transactions < 0 || historyDays < 1 || hotMerchants < 0) {
+            throw new IllegalArgumentException("Synthetic data counts must be positive");
+        }
+        if (businessShare < 0 || vipShare < 0 || businessShare + vipShare > 1
+            || hotMerchantShare < 0 || hotMerchantShare > 1) {
+            throw new IllegalArgumentException("Synthetic data shares must be between 0 and 1");
+        }
+    }
+}
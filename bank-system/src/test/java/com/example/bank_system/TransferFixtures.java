@@ -0,0 +1,42 @@
+package com.example.bank_system;
+
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.IndividualCustomer;
+
+import java.math.BigDecimal;
+
+/** Accounts and transfer requests shared by the transfer path tests. */
+public final class TransferFixtures {
+
+    private TransferFixtures() {
+    }
+
+    /** An active USD checking account, owned by an individual customer with the same id. */
+    public static Account account(Long id, String accountNumber, String balance) {
+        IndividualCustomer customer = new IndividualCustomer();
+        customer.setId(id);
+        customer.setName("Customer " + id);
+
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountNumber(accountNumber);
+        account.setAccountType(Account.AccountType.CHECKING);
+        account.setBalance(new BigDecimal(balance));
+        account.setCurrency(Currency.USD);
+        account.setStatus(Account.AccountStatus.ACTIVE);
+        account.setCustomer(customer);
+        return account;
+    }
+
+    /** A USD transfer request. */
+    public static TransferRequest transfer(String from, String to, String amount) {
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromAccountNumber(from);
+        transfer.setToAccountNumber(to);
+        transfer.setAmount(new BigDecimal(amount));
+        transfer.setCurrency("USD");
+        return transfer;
+    }
+}
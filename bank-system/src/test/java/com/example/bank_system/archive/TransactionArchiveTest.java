@@ -0,0 +1,97 @@
+package com.example.bank_system.archive;
+
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.entity.TransactionArchiveSegment;
+import com.example.bank_system.repository.TransactionArchiveSegmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveTest {
+
+    @Mock
+    private TransactionArchiveSegmentRepository segmentRepository;
+
+    @TempDir
+    Path directory;
+
+    private TransactionArchive transactionArchive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        transactionArchive = new TransactionArchive(segmentRepository, directory.toString());
+        // Account 1 sends one transfer a day on the 1st to 3rd of January and February
+        List<TransactionArchiveSegment> segments = List.of(segment(YearMonth.of(2024, 1)), segment(YearMonth.of(2024, 2)),
+            new TransactionArchiveSegment(LocalDate.of(2024, 3, 1), TransactionArchiveSegment.Status.ARCHIVED,
+                null, 0L, 0, 0L, null, null));
+        lenient().when(segmentRepository.findByStatusOrderByMonthStartAsc(TransactionArchiveSegment.Status.ARCHIVED))
+            .thenReturn(segments);
+    }
+
+    @Test
+    void findStatementRows_ContinuesNewestFirstAcrossMonths() {
+        // When: the page before Feb 2nd
+        List<AccountStatementRow> rows = transactionArchive.findStatementRows(1L, LocalDateTime.of(2024, 1, 1, 0, 0),
+            LocalDateTime.of(2024, 2, 2, 12, 0), 202L, 3);
+
+        // Then
+        assertEquals(List.of("TXN201", "TXN103", "TXN102"), rows.stream().map(AccountStatementRow::getTransactionId).toList());
+        assertEquals("DEBIT", rows.get(0).getDirection());
+        assertEquals("ACC2", rows.get(0).getCounterpartyAccountNumber());
+    }
+
+    @Test
+    void findStatementRows_StopsAtSince() {
+        // When
+        List<AccountStatementRow> rows = transactionArchive.findStatementRows(2L, LocalDateTime.of(2024, 2, 2, 0, 0),
+            LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE, 50);
+
+        // Then: seen from the receiving account
+        assertEquals(List.of("TXN203", "TXN202"), rows.stream().map(AccountStatementRow::getTransactionId).toList());
+        assertEquals("CREDIT", rows.get(0).getDirection());
+        assertEquals("ACC1", rows.get(0).getCounterpartyAccountNumber());
+    }
+
+    @Test
+    void segments_OnlyMonthsWithFilesOverlappingTheRange() {
+        // When
+        List<TransactionArchiveSegment> segments = transactionArchive.segments(LocalDateTime.of(2024, 1, 31, 23, 0),
+            LocalDateTime.of(2024, 5, 1, 0, 0));
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)),
+            segments.stream().map(TransactionArchiveSegment::getMonthStart).toList());
+    }
+
+    private TransactionArchiveSegment segment(YearMonth month) throws IOException {
+        String fileName = TransactionArchive.fileName(month);
+        try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(directory.resolve(fileName))) {
+            for (long account = 1; account <= 2; account++) {
+                for (int day = 1; day <= 3; day++) {
+                    long id = month.getMonthValue() * 100L + day;
+                    writer.add(account, new ArchivedTransaction(id, "TXN" + id, 1L, 2L, "ACC1", "ACC2", "USD",
+                        BigDecimal.TEN, "TRANSFER", "COMPLETED", null, null, null,
+                        month.atDay(day).atTime(12, 0), null));
+                }
+            }
+            TransactionSegmentFile.Summary summary = writer.finish();
+            return new TransactionArchiveSegment(month.atDay(1), TransactionArchiveSegment.Status.ARCHIVED, fileName,
+                summary.transactionCount(), summary.accountCount(), summary.sizeBytes(), summary.sha256(), null);
+        }
+    }
+}
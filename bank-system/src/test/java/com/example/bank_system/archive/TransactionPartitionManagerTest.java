@@ -0,0 +1,59 @@
+package com.example.bank_system.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager = new TransactionPartitionManager(jdbcTemplate);
+    }
+
+    @Test
+    void ensureIdempotencyUpdateTrigger_Missing_FreesKeysClearedByAnUpdate() {
+        // Given: a table partitioned before the update trigger existed
+        when(jdbcTemplate.queryForObject(TransactionPartitionManager.TRIGGER_EXISTS_SQL, Integer.class,
+            "trg_transactions_idempotency_key_update")).thenReturn(0);
+
+        // When
+        partitionManager.ensureIdempotencyUpdateTrigger(jdbcTemplate);
+
+        // Then: clearing a failed transfer's key deletes its row, and keys already stuck are released
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).execute(ddl.capture());
+        assertTrue(ddl.getValue().contains("BEFORE UPDATE ON transactions"));
+        assertTrue(ddl.getValue().contains("DELETE FROM transaction_idempotency_keys " +
+            "      WHERE from_account_id = OLD.from_account_id AND idempotency_key = OLD.idempotency_key"));
+        verify(jdbcTemplate).update(TransactionPartitionManager.DELETE_ORPHANED_IDEMPOTENCY_KEYS_SQL);
+    }
+
+    @Test
+    void ensureIdempotencyUpdateTrigger_Present_LeavesTableAlone() {
+        // Given
+        when(jdbcTemplate.queryForObject(TransactionPartitionManager.TRIGGER_EXISTS_SQL, Integer.class,
+            "trg_transactions_idempotency_key_update")).thenReturn(1);
+
+        // When
+        partitionManager.ensureIdempotencyUpdateTrigger(jdbcTemplate);
+
+        // Then
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+}
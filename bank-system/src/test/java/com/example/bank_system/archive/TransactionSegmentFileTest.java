@@ -0,0 +1,83 @@
+package com.example.bank_system.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSegmentFileTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 5, 10, 15, 30, 123456000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ReturnsEachAccountsTransactionsOldestFirst() throws IOException {
+        // Given: a transfer 1 -> 2, a deposit into 3 and a transfer 3 -> 1
+        ArchivedTransaction transfer = transaction(10L, 1L, 2L, CREATED_AT);
+        ArchivedTransaction deposit = transaction(11L, null, 3L, CREATED_AT.plusSeconds(1));
+        ArchivedTransaction back = transaction(12L, 3L, 1L, CREATED_AT.plusSeconds(2));
+        Path file = directory.resolve("segment");
+
+        // When
+        TransactionSegmentFile.Summary summary;
+        try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(file)) {
+            writer.add(1L, transfer);
+            writer.add(1L, back);
+            writer.add(2L, transfer);
+            writer.add(3L, deposit);
+            writer.add(3L, back);
+            summary = writer.finish();
+        }
+
+        // Then: every transaction counts once, and each account finds both sides of its transfers
+        assertEquals(3, summary.transactionCount());
+        assertEquals(3, summary.accountCount());
+        assertEquals(Files.size(file), summary.sizeBytes());
+        assertEquals(summary.sha256(), TransactionSegmentFile.sha256(file));
+        assertEquals(List.of(transfer, back), TransactionSegmentFile.read(file, 1L));
+        assertEquals(List.of(transfer), TransactionSegmentFile.read(file, 2L));
+        assertEquals(List.of(deposit, back), TransactionSegmentFile.read(file, 3L));
+        assertEquals(List.of(), TransactionSegmentFile.read(file, 4L));
+    }
+
+    @Test
+    void add_OutOfAccountOrder_ThrowsException() throws IOException {
+        try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(directory.resolve("segment"))) {
+            writer.add(2L, transaction(10L, 2L, 1L, CREATED_AT));
+            assertThrows(IllegalStateException.class, () -> writer.add(1L, transaction(10L, 2L, 1L, CREATED_AT)));
+        }
+    }
+
+    @Test
+    void sha256_TruncatedFile_ThrowsException() throws IOException {
+        // Given
+        Path file = directory.resolve("segment");
+        try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(file)) {
+            writer.add(1L, transaction(10L, 1L, 2L, CREATED_AT));
+            writer.finish();
+        }
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+
+        // When & Then
+        assertThrows(IOException.class, () -> TransactionSegmentFile.sha256(file));
+    }
+
+    private static ArchivedTransaction transaction(long id, Long fromAccountId, Long toAccountId, LocalDateTime createdAt) {
+        return new ArchivedTransaction(id, "TXN" + id, fromAccountId, toAccountId,
+            fromAccountId != null ? "ACC" + fromAccountId : null, "ACC" + toAccountId, "USD", new BigDecimal("12.50"),
+            fromAccountId != null ? "TRANSFER" : "DEPOSIT", "COMPLETED", "Rent, \"March\"", null, null, createdAt,
+            createdAt.plusSeconds(1));
+    }
+}
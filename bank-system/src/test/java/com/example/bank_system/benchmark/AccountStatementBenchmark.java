@@ -0,0 +1,198 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.AccountStatementResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.repository.TransactionRepository;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.AccountStatementService;
+import com.example.bank_system.service.CustomerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Loads a large transactions table with one hot business account, then compares reading that
+ * account's history with the old {@code from_account_id = ? OR to_account_id = ?} query against
+ * walking it page by page through {@link AccountStatementService}. Prints the plan of the
+ * statement query, the latency of the first and the deepest pages, and checks the walk returns
+ * every row exactly once.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=AccountStatementBenchmark}; tune with
+ * {@code -Dbench.transactions}, {@code -Dbench.accounts} and {@code -Dbench.hot-share} (fraction of
+ * rows touching the hot account). The table lives in H2's memory, so the full 10M-row run needs a
+ * large heap: {@code -DargLine="-Xmx12g -Dbench.transactions=10000000"}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class AccountStatementBenchmark {
+
+    private static final int TRANSACTIONS = Integer.getInteger("bench.transactions", 1_000_000);
+    private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 1000);
+    private static final double HOT_SHARE = Double.parseDouble(System.getProperty("bench.hot-share", "0.05"));
+    private static final int PAGE_SIZE = 100;
+    private static final int INSERT_BATCH = 10_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private AccountStatementService accountStatementService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void keysetPagesVersusOrQuery() throws Exception {
+        List<AccountResponse> accounts = createAccounts();
+        AccountResponse hot = accounts.get(0);
+
+        long started = System.nanoTime();
+        int hotRows = insertTransactions(accounts);
+        System.out.printf("[statement] loaded transactions=%d hot-account-rows=%d in %.1fs%n",
+            TRANSACTIONS, hotRows, (System.nanoTime() - started) / 1e9);
+
+        printPlan(hot.getId());
+
+        // Old shape: one unbounded, OR-filtered query for the whole range
+        for (int i = 0; i < 3; i++) {
+            AtomicLong rows = new AtomicLong();
+            started = System.nanoTime();
+            jdbcTemplate.query("SELECT * FROM transactions t WHERE (t.from_account_id = ? OR t.to_account_id = ?) " +
+                    "AND t.created_at BETWEEN ? AND ? ORDER BY t.created_at DESC",
+                resultSet -> { rows.incrementAndGet(); },
+                hot.getId(), hot.getId(), Timestamp.valueOf(START), Timestamp.valueOf(START.plusYears(10)));
+            System.out.printf("[statement] path=or-query rows=%d time=%.1fms%n",
+                rows.get(), (System.nanoTime() - started) / 1e6);
+        }
+
+        // Old shape with OFFSET paging: the deepest page reads and discards every earlier row
+        for (int i = 0; i < 3; i++) {
+            started = System.nanoTime();
+            jdbcTemplate.queryForList("SELECT * FROM transactions t WHERE t.from_account_id = ? OR t.to_account_id = ? " +
+                "ORDER BY t.created_at DESC, t.id DESC LIMIT ? OFFSET ?", hot.getId(), hot.getId(), PAGE_SIZE,
+                Math.max(0, hotRows - PAGE_SIZE));
+            System.out.printf("[statement] path=or-offset-last-page time=%.1fms%n", (System.nanoTime() - started) / 1e6);
+        }
+
+        for (int round = 0; round < 2; round++) {
+            Set<String> seen = new HashSet<>();
+            List<Long> pageNanos = new ArrayList<>();
+            String cursor = null;
+            started = System.nanoTime();
+            do {
+                long pageStarted = System.nanoTime();
+                AccountStatementResponse page = accountStatementService.getStatement(hot.getAccountNumber(),
+                    null, null, cursor, PAGE_SIZE);
+                pageNanos.add(System.nanoTime() - pageStarted);
+                page.getEntries().forEach(entry -> seen.add(entry.getTransactionId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            double totalMillis = (System.nanoTime() - started) / 1e6;
+
+            assertEquals(hotRows, seen.size());
+            long[] sorted = pageNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("[statement] path=keyset pages=%d rows=%d total=%.1fms first-page=%.2fms " +
+                    "last-page=%.2fms p50=%.2fms p99=%.2fms%n",
+                pageNanos.size(), seen.size(), totalMillis, pageNanos.get(0) / 1e6,
+                pageNanos.get(pageNanos.size() - 1) / 1e6, sorted[sorted.length / 2] / 1e6,
+                sorted[(int) (sorted.length * 0.99)] / 1e6);
+        }
+    }
+
+    private void printPlan(Long accountId) throws NoSuchMethodException {
+        String sql = TransactionRepository.class.getMethod("findStatementPage", Long.class, LocalDateTime.class,
+                LocalDateTime.class, long.class, int.class)
+            .getAnnotation(NativeQuery.class).value()
+            .replace(":accountId", accountId.toString())
+            .replace(":since", "TIMESTAMP '1970-01-01 00:00:00'")
+            .replace(":cursorCreatedAt", "TIMESTAMP '9999-12-31 23:59:59'")
+            .replace(":cursorId", Long.toString(Long.MAX_VALUE))
+            .replace(":limit", Integer.toString(PAGE_SIZE));
+        String plan = jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, String.class);
+        System.out.println("[statement] plan:\n" + plan);
+    }
+
+    /**
+     * Inserts the transactions directly, about HOT_SHARE of them to or from the hot account, a few
+     * per second so that page boundaries fall on equal created_at values.
+     */
+    private int insertTransactions(List<AccountResponse> accounts) {
+        Random random = new Random(42);
+        int hotRows = 0;
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= TRANSACTIONS; i++) {
+            int from = random.nextInt(accounts.size());
+            int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+            if (random.nextDouble() < HOT_SHARE) {
+                if (random.nextBoolean()) {
+                    from = 0;
+                    to = 1 + random.nextInt(accounts.size() - 1);
+                } else {
+                    to = 0;
+                    from = 1 + random.nextInt(accounts.size() - 1);
+                }
+            }
+            if (from == 0 || to == 0) {
+                hotRows++;
+            }
+            batch.add(new Object[]{(long) i, "BENCH" + i, accounts.get(from).getId(), accounts.get(to).getId(),
+                BigDecimal.valueOf(random.nextInt(1, 100_000), 2), Timestamp.valueOf(START.plusSeconds(i / 4))});
+            if (batch.size() == INSERT_BATCH || i == TRANSACTIONS) {
+                jdbcTemplate.batchUpdate("INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, " +
+                    "amount, type, status, created_at) VALUES (?, ?, ?, ?, ?, 'TRANSFER', 'COMPLETED', ?)", batch);
+                batch.clear();
+            }
+        }
+        return hotRows;
+    }
+
+    private List<AccountResponse> createAccounts() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Statement Benchmark");
+        customerRequest.setEmail("statement@benchmark.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("STATEMENT");
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            accounts.add(accountService.createAccount(accountRequest));
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.BatchTransferRequest;
+import com.example.bank_system.dto.BatchTransferResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.BatchTransferService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Settles the same generated file of transfers once through {@code POST /transfer} semantics
+ * (one call per item) and once through the batch endpoint, and compares wall-clock time.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=BatchTransferBenchmark}; tune with
+ * {@code -Dbench.batch.size} and {@code -Dbench.accounts}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class BatchTransferBenchmark {
+
+    private static final int BATCH_SIZE = Integer.getInteger("bench.batch.size", 2000);
+    private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 200);
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void batchSettlementMatchesSingleTransfers() {
+        List<String> singleAccounts = createAccounts("single");
+        List<String> batchAccounts = createAccounts("batch");
+        BigDecimal totalBefore = totalBalance(batchAccounts);
+
+        long singleStarted = System.nanoTime();
+        for (TransferRequest transfer : settlementFile(singleAccounts)) {
+            transactionService.processTransfer(transfer);
+        }
+        long singleNanos = System.nanoTime() - singleStarted;
+
+        BatchTransferRequest request = new BatchTransferRequest();
+        request.setTransfers(settlementFile(batchAccounts));
+        long batchStarted = System.nanoTime();
+        BatchTransferResponse response = batchTransferService.processBatch(request);
+        long batchNanos = System.nanoTime() - batchStarted;
+
+        assertEquals(BATCH_SIZE, response.getTransferCount());
+        assertNotNull(response.getTransactions().get(BATCH_SIZE - 1).getTransactionId());
+        assertEquals(0, totalBefore.compareTo(totalBalance(batchAccounts)));
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertEquals(0, accountService.getAccountByNumber(singleAccounts.get(i)).getBalance()
+                .compareTo(accountService.getAccountByNumber(batchAccounts.get(i)).getBalance()));
+        }
+
+        System.out.printf("[batch] transfers=%d accounts=%d single=%.0fms (%.1f tx/s) batch=%.0fms (%.1f tx/s)%n",
+            BATCH_SIZE, ACCOUNTS,
+            singleNanos / 1e6, BATCH_SIZE / (singleNanos / 1e9),
+            batchNanos / 1e6, BATCH_SIZE / (batchNanos / 1e9));
+    }
+
+    /** Same seed for both runs, so both account sets end with identical balances. */
+    private List<TransferRequest> settlementFile(List<String> accountNumbers) {
+        Random random = new Random(42);
+        List<TransferRequest> transfers = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int from = random.nextInt(accountNumbers.size());
+            int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+
+            TransferRequest transfer = new TransferRequest();
+            transfer.setFromAccountNumber(accountNumbers.get(from));
+            transfer.setToAccountNumber(accountNumbers.get(to));
+            transfer.setAmount(BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+            transfer.setCurrency(Currency.USD.name());
+            transfer.setReferenceNumber("SETTLE-" + i);
+            transfers.add(transfer);
+        }
+        return transfers;
+    }
+
+    private List<String> createAccounts(String label) {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Settlement " + label);
+        customerRequest.setEmail(label + "@settlement.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("SETTLE-" + label);
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(INITIAL_BALANCE);
+            accountRequest.setCurrency(Currency.USD);
+            AccountResponse account = accountService.createAccount(accountRequest);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private BigDecimal totalBalance(List<String> accountNumbers) {
+        return accountNumbers.stream()
+            .map(number -> accountService.getAccountByNumber(number).getBalance())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerImportResponse;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerImportService;
+import com.example.bank_system.service.CustomerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Onboards customers with an account each, one create-customer and one create-account call per
+ * customer versus the bulk import from a CSV and an NDJSON file, and prints rows per second. The
+ * import files carry 1% rows that must be rejected: half reuse an earlier email, half lack a
+ * required field.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=CustomerImportBenchmark}; tune with
+ * {@code -Dbench.rows} (per import file) and {@code -Dbench.single-rows}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class CustomerImportBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 50_000);
+    private static final int SINGLE_ROWS = Integer.getInteger("bench.single-rows", 2000);
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void singleCallsVersusBulkImport() throws Exception {
+        long started = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            CreateIndividualCustomerRequest customer = new CreateIndividualCustomerRequest();
+            customer.setName("Single " + i);
+            customer.setEmail("single-" + i + "@import.test");
+            customer.setPhone("+1000000000");
+            customer.setAddress("1 Benchmark Way");
+            customer.setNationalId("S" + i);
+            customer.setDateOfBirth("1990-01-01");
+            CustomerResponse created = customerService.createIndividualCustomer(customer);
+            CreateAccountRequest account = new CreateAccountRequest();
+            account.setCustomerId(created.getId());
+            account.setAccountType(Account.AccountType.CHECKING);
+            account.setInitialBalance(new BigDecimal("100.00"));
+            account.setCurrency(Currency.USD);
+            accountService.createAccount(account);
+        }
+        report("single-calls", SINGLE_ROWS, System.nanoTime() - started);
+
+        for (CustomerImportService.Format format : CustomerImportService.Format.values()) {
+            byte[] file = importFile(format);
+            started = System.nanoTime();
+            CustomerImportResponse response = customerImportService.importCustomers(new ByteArrayInputStream(file), format);
+            report("import-" + format.name().toLowerCase(), ROWS, System.nanoTime() - started);
+
+            int rejected = ROWS / 100;
+            assertEquals(ROWS, response.getTotalRows());
+            assertEquals(rejected, response.getFailedRows());
+            assertEquals(ROWS - rejected, response.getImportedCustomers());
+            assertEquals(ROWS - rejected, response.getCreatedAccounts());
+        }
+
+        Long accounts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+        assertEquals(SINGLE_ROWS + 2L * (ROWS - ROWS / 100), accounts);
+    }
+
+    private static void report(String path, int rows, long nanos) {
+        System.out.printf("[import] path=%s rows=%d time=%.1fms rows/s=%.0f%n",
+            path, rows, nanos / 1e6, rows / (nanos / 1e9));
+    }
+
+    /** Every 100th row is invalid: a repeated email or, alternately, a missing national id. */
+    private static byte[] importFile(CustomerImportService.Format format) {
+        String prefix = format.name().toLowerCase();
+        StringBuilder file = new StringBuilder(ROWS * 160);
+        if (format == CustomerImportService.Format.CSV) {
+            file.append("customerType,name,email,phone,address,nationalId,dateOfBirth,accountType,initialBalance,currency\n");
+        }
+        for (int i = 0; i < ROWS; i++) {
+            boolean invalid = i % 100 == 99;
+            String email = prefix + "-" + (invalid && i % 200 == 199 ? i - 1 : i) + "@import.test";
+            String nationalId = invalid && i % 200 != 199 ? "" : "N" + i;
+            if (format == CustomerImportService.Format.CSV) {
+                file.append("INDIVIDUAL,Employee ").append(i).append(',').append(email)
+                    .append(",+1000000000,\"1 Corporate Plaza, Floor 2\",").append(nationalId)
+                    .append(",1990-01-01,CHECKING,100.00,USD\n");
+            } else {
+                file.append("{\"customerType\":\"INDIVIDUAL\",\"name\":\"Employee ").append(i)
+                    .append("\",\"email\":\"").append(email)
+                    .append("\",\"phone\":\"+1000000000\",\"address\":\"1 Corporate Plaza, Floor 2\",\"nationalId\":\"")
+                    .append(nationalId)
+                    .append("\",\"dateOfBirth\":\"1990-01-01\",\"accountType\":\"CHECKING\",\"initialBalance\":\"100.00\",")
+                    .append("\"currency\":\"USD\"}\n");
+            }
+        }
+        return file.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.event.TransactionEventSerializer;
+import com.example.event_schema.EventEncoding;
+import com.example.event_schema.TransactionEventCodec;
+import com.example.event_schema.TransactionEventRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH microbenchmark of a transfer event's Kafka value in the JSON and binary encodings: the
+ * producer's {@link TransactionEventSerializer} in each mode, and reading the value back, with
+ * Spring's {@link JsonDeserializer} for JSON and {@link TransactionEventCodec} for binary. Runs
+ * with the GC profiler; the encoded sizes are printed before the run.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=EventEncodingJmhBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventEncodingJmhBenchmark {
+
+    private static final String TOPIC = "transaction";
+
+    private TransactionEventSerializer jsonSerializer;
+    private TransactionEventSerializer binarySerializer;
+    private JsonDeserializer<TransactionEvent> jsonDeserializer;
+    private TransactionEvent event;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = serializer(EventEncoding.JSON);
+        binarySerializer = serializer(EventEncoding.BINARY);
+        jsonDeserializer = new JsonDeserializer<>(TransactionEvent.class, false);
+        jsonDeserializer.addTrustedPackages("*");
+        event = event();
+        json = serializeJson();
+        binary = serializeBinary();
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public TransactionEvent deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, new RecordHeaders(), json);
+    }
+
+    @Benchmark
+    public TransactionEventRecord deserializeBinary() {
+        return TransactionEventCodec.decode(binary);
+    }
+
+    private static TransactionEventSerializer serializer(EventEncoding encoding) {
+        TransactionEventSerializer serializer = new TransactionEventSerializer();
+        serializer.configure(Map.of(TransactionEventSerializer.ENCODING_CONFIG, encoding.name()), false);
+        return serializer;
+    }
+
+    private static TransactionEvent event() {
+        return new TransactionEvent("transaction", LocalDateTime.of(2025, 1, 15, 10, 30, 45, 123_000_000), 3001L,
+            new TransactionEvent.AccountDetails(2001L, new BigDecimal("15000.00"), new BigDecimal("13749.25"),
+                new TransactionEvent.CustomerDetails(1001L, "John Doe", "individual", "123456789", null)),
+            new TransactionEvent.AccountDetails(2002L, new BigDecimal("250000.00"), new BigDecimal("251250.75"),
+                new TransactionEvent.CustomerDetails(1002L, "Tech Corp Ltd", "business", null, "BRN123456")),
+            new BigDecimal("1250.75"), 125_075L, 2, "USD", "Invoice 2025-0142 payment",
+            new TransactionEvent.Metadata("bank-system", "api"));
+    }
+
+    @Test
+    void run() throws RunnerException {
+        EventEncodingJmhBenchmark sizes = new EventEncodingJmhBenchmark();
+        sizes.setUp();
+        System.out.printf("Encoded transfer event: JSON %d bytes, binary %d bytes%n",
+            sizes.json.length, sizes.binary.length);
+        new Runner(new OptionsBuilder()
+            .include(EventEncodingJmhBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.service.BusinessIdGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH microbenchmark of the in-memory id generators against the previous implementations
+ * (UUID-suffixed transaction ids, random account numbers without the database probe), single
+ * threaded and with 8 threads contending on the same generator.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=IdGeneratorJmhBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorJmhBenchmark {
+
+    private final BusinessIdGenerator generator = new BusinessIdGenerator(1);
+
+    @Benchmark
+    public String snowflakeTransactionId() {
+        return generator.nextTransactionId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeTransactionIdContended() {
+        return generator.nextTransactionId();
+    }
+
+    @Benchmark
+    public String snowflakeAccountNumber() {
+        return generator.nextAccountNumber();
+    }
+
+    @Benchmark
+    public String legacyTransactionId() {
+        return "TXN" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyTransactionIdContended() {
+        return legacyTransactionId();
+    }
+
+    @Benchmark
+    public String legacyAccountNumber() {
+        return "ACC" + System.currentTimeMillis() + String.format("%03d", (int) (Math.random() * 1000));
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(IdGeneratorJmhBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
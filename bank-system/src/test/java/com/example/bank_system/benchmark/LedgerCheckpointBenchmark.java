@@ -0,0 +1,211 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.BatchTransferRequest;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.LedgerBalanceResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.BalanceCheckpointJob;
+import com.example.bank_system.service.BatchTransferService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.LedgerService;
+import com.example.bank_system.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gives one account a long ledger history, then compares deriving its balance by summing the whole
+ * history with deriving it from a checkpoint. Real single and batch transfers run in between, so
+ * the incremental checkpoint run and the reconciliation of every account against its stored balance
+ * are exercised on the actual write paths.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=LedgerCheckpointBenchmark}; tune with
+ * {@code -Dbench.entries} (history of the hot account) and {@code -Dbench.transfers}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "bank.ledger.checkpoint.settle-ms=0")
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class LedgerCheckpointBenchmark {
+
+    private static final int ENTRIES = Integer.getInteger("bench.entries", 1_000_000);
+    private static final int TRANSFERS = Integer.getInteger("bench.transfers", 1000);
+    private static final int ACCOUNTS = 50;
+    private static final int INSERT_BATCH = 10_000;
+    // Well above the transaction ids the sequence hands out during the run
+    private static final long HISTORY_TRANSACTION_IDS = 1_000_000_000_000L;
+
+    // The transaction_id condition never matches; it only differs per round so that H2 does not
+    // answer a repeated query from its previous result
+    private static final String FULL_HISTORY_SQL = "SELECT COALESCE(SUM(CASE WHEN direction = 'CREDIT' THEN amount " +
+        "ELSE -amount END), 0) FROM ledger_entries WHERE account_id = ? AND transaction_id <> ?";
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private BalanceCheckpointJob balanceCheckpointJob;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void checkpointVersusFullHistory() {
+        List<AccountResponse> accounts = createAccounts();
+        AccountResponse hot = accounts.get(0);
+        LocalDateTime historyStart = LocalDateTime.now().minusYears(1);
+
+        long started = System.nanoTime();
+        insertHistory(hot.getId(), historyStart);
+        System.out.printf("[ledger] loaded history entries=%d in %.1fs%n", ENTRIES, (System.nanoTime() - started) / 1e9);
+
+        AtomicLong round = new AtomicLong();
+        measure("full-history-sum", 5, () -> jdbcTemplate.queryForObject(FULL_HISTORY_SQL, BigDecimal.class,
+            hot.getId(), -round.incrementAndGet()));
+
+        started = System.nanoTime();
+        balanceCheckpointJob.checkpoint();
+        System.out.printf("[ledger] path=first-checkpoint-run time=%.1fms%n", (System.nanoTime() - started) / 1e6);
+
+        List<String> accountNumbers = accounts.stream().map(AccountResponse::getAccountNumber).toList();
+        for (TransferRequest transfer : transfers(accountNumbers, TRANSFERS, 1)) {
+            transactionService.processTransfer(transfer);
+        }
+        BatchTransferRequest batch = new BatchTransferRequest();
+        batch.setTransfers(transfers(accountNumbers, TRANSFERS, 2));
+        batchTransferService.processBatch(batch);
+
+        started = System.nanoTime();
+        balanceCheckpointJob.checkpoint();
+        System.out.printf("[ledger] path=incremental-checkpoint-run new-entries=%d time=%.1fms%n",
+            TRANSFERS * 4, (System.nanoTime() - started) / 1e6);
+
+        for (TransferRequest transfer : transfers(accountNumbers, 100, 3)) {
+            transactionService.processTransfer(transfer);
+        }
+
+        LedgerBalanceResponse current = measure("checkpoint-current", 5,
+            () -> ledgerService.getBalance(hot.getAccountNumber(), null));
+        System.out.printf("[ledger] current balance=%s entries-applied=%d reconciled=%s%n",
+            current.getBalance(), current.getEntriesApplied(), current.getReconciled());
+
+        LedgerBalanceResponse past = measure("checkpoint-six-months-ago", 5,
+            () -> ledgerService.getBalance(hot.getAccountNumber(), historyStart.plusMonths(6)));
+        System.out.printf("[ledger] six months ago balance=%s entries-applied=%d%n",
+            past.getBalance(), past.getEntriesApplied());
+
+        for (String accountNumber : accountNumbers) {
+            assertTrue(ledgerService.getBalance(accountNumber, null).getReconciled(), accountNumber);
+        }
+        BigDecimal fullHistory = jdbcTemplate.queryForObject(FULL_HISTORY_SQL, BigDecimal.class, hot.getId(), 0);
+        assertEquals(0, new BigDecimal("1000000.00").add(fullHistory).compareTo(current.getBalance()));
+    }
+
+    private <T> T measure(String path, int rounds, Supplier<T> query) {
+        T result = null;
+        for (int i = 0; i < rounds; i++) {
+            long started = System.nanoTime();
+            result = query.get();
+            System.out.printf("[ledger] path=%s time=%.2fms%n", path, (System.nanoTime() - started) / 1e6);
+        }
+        return result;
+    }
+
+    /**
+     * Inserts single-sided entries for the hot account spread over the past year, and moves its
+     * stored balance by their sum so that it still reconciles.
+     */
+    private void insertHistory(Long accountId, LocalDateTime historyStart) {
+        Random random = new Random(42);
+        long secondsPerEntry = Math.max(1, 365L * 24 * 3600 / ENTRIES);
+        BigDecimal net = BigDecimal.ZERO;
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= ENTRIES; i++) {
+            boolean credit = random.nextBoolean();
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 10_000), 2);
+            net = credit ? net.add(amount) : net.subtract(amount);
+            batch.add(new Object[]{HISTORY_TRANSACTION_IDS + i, credit ? "CREDIT" : "DEBIT", accountId, amount,
+                Timestamp.valueOf(historyStart.plusSeconds(i * secondsPerEntry))});
+            if (batch.size() == INSERT_BATCH || i == ENTRIES) {
+                jdbcTemplate.batchUpdate("INSERT INTO ledger_entries (transaction_id, direction, account_id, amount, " +
+                    "recorded_at) VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE id = ?", net, accountId);
+    }
+
+    private List<TransferRequest> transfers(List<String> accountNumbers, int count, long seed) {
+        Random random = new Random(seed);
+        List<TransferRequest> transfers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Half of the transfers touch the hot account
+            int from = random.nextBoolean() ? 0 : random.nextInt(accountNumbers.size());
+            int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+
+            TransferRequest transfer = new TransferRequest();
+            transfer.setFromAccountNumber(accountNumbers.get(from));
+            transfer.setToAccountNumber(accountNumbers.get(to));
+            transfer.setAmount(BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+            transfer.setCurrency(Currency.USD.name());
+            transfers.add(transfer);
+        }
+        return transfers;
+    }
+
+    private List<AccountResponse> createAccounts() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Ledger Benchmark");
+        customerRequest.setEmail("ledger@benchmark.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("LEDGER");
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            accounts.add(accountService.createAccount(accountRequest));
+        }
+        return accounts;
+    }
+}
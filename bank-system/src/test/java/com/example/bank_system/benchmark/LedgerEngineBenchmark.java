@@ -0,0 +1,213 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.engine.LedgerEngine;
+import com.example.bank_system.engine.LedgerWriteBehind;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.OutboxEvent;
+import com.example.bank_system.repository.OutboxEventRepository;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the same contended workload through the JPA transfer path and through the in-memory ledger
+ * engine, then checks that the engine's write-behind left MySQL with the same balances it holds
+ * in memory.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=LedgerEngineBenchmark}; tune with
+ * {@code -Dbench.threads}, {@code -Dbench.transfers} (per thread) and {@code -Dbench.accounts}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "bank.transfer.engine=ledger",
+    "bank.engine.journal-dir=${java.io.tmpdir}/ledger-benchmark-${random.uuid}"
+})
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class LedgerEngineBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int TRANSFERS_PER_THREAD = Integer.getInteger("bench.transfers", 250);
+    private static final int HOT_ACCOUNTS = Integer.getInteger("bench.accounts", 8);
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private LedgerWriteBehind writeBehind;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void ledgerEngineVersusJpaPath() throws Exception {
+        List<String> jpaAccounts = createHotAccounts("jpa");
+        ReflectionTestUtils.setField(transactionService, "ledgerEngine", null);
+        try {
+            run("jpa", jpaAccounts);
+        } finally {
+            ReflectionTestUtils.setField(transactionService, "ledgerEngine", ledgerEngine);
+        }
+        assertEquals(0, totalBalance(jpaAccounts).compareTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(HOT_ACCOUNTS))));
+
+        List<String> ledgerAccounts = createHotAccounts("ledger");
+        run("ledger", ledgerAccounts);
+
+        // Credits settle after the response; wait for them, then for the write-behind
+        BigDecimal expectedTotal = INITIAL_BALANCE.multiply(BigDecimal.valueOf(HOT_ACCOUNTS));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (engineTotal(ledgerAccounts).compareTo(expectedTotal) != 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, engineTotal(ledgerAccounts).compareTo(expectedTotal));
+        long flushStarted = System.nanoTime();
+        writeBehind.flushAll();
+        System.out.printf("[ledger] write-behind drained in %.1fms%n", (System.nanoTime() - flushStarted) / 1e6);
+        for (String accountNumber : ledgerAccounts) {
+            assertEquals(0, ledgerEngine.balance(accountNumber)
+                .compareTo(accountService.getAccountByNumber(accountNumber).getBalance()));
+        }
+
+        // Every completed transfer on both paths has exactly one outbox event, and the relay drains them
+        assertEquals(2L * THREADS * TRANSFERS_PER_THREAD, outboxEventRepository.count());
+        long relayStarted = System.nanoTime();
+        deadline = System.currentTimeMillis() + 60_000;
+        while (outboxEventRepository.countByStatus(OutboxEvent.OutboxStatus.PENDING) > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, outboxEventRepository.countByStatus(OutboxEvent.OutboxStatus.PENDING));
+        System.out.printf("[ledger] outbox drained in %.1fms%n", (System.nanoTime() - relayStarted) / 1e6);
+    }
+
+    private void run(String path, List<String> accountNumbers) throws Exception {
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> runTransfers(accountNumbers, start, failed)));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        long[] latencies = results.stream().map(this::join).flatMapToLong(Arrays::stream).toArray();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("[ledger] path=%s threads=%d accounts=%d transfers=%d failed=%d " +
+                "throughput=%.1f tx/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+            path, THREADS, HOT_ACCOUNTS, latencies.length, failed.get(),
+            latencies.length / (elapsedNanos / 1e9),
+            percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private long[] runTransfers(List<String> accountNumbers, CountDownLatch start, AtomicInteger failed)
+            throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[TRANSFERS_PER_THREAD];
+        start.await();
+        for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+            int from = random.nextInt(accountNumbers.size());
+            int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+
+            TransferRequest request = new TransferRequest();
+            request.setFromAccountNumber(accountNumbers.get(from));
+            request.setToAccountNumber(accountNumbers.get(to));
+            request.setAmount(BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+            request.setCurrency(Currency.USD.name());
+
+            long began = System.nanoTime();
+            try {
+                transactionService.processTransfer(request);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+            }
+            latencies[i] = System.nanoTime() - began;
+        }
+        return latencies;
+    }
+
+    private List<String> createHotAccounts(String label) {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Ledger " + label);
+        customerRequest.setEmail(label + "@ledger.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("LEDGER-" + label);
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(INITIAL_BALANCE);
+            accountRequest.setCurrency(Currency.USD);
+            AccountResponse account = accountService.createAccount(accountRequest);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private BigDecimal totalBalance(List<String> accountNumbers) {
+        return accountNumbers.stream()
+            .map(number -> accountService.getAccountByNumber(number).getBalance())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal engineTotal(List<String> accountNumbers) {
+        return accountNumbers.stream().map(ledgerEngine::balance).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
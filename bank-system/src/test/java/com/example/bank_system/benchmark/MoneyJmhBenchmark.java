@@ -0,0 +1,119 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.Money;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH microbenchmark of {@link Money} against the BigDecimal code it replaces: the balance check,
+ * debit and credit of one transfer, and the amount checks the analysis service runs per event.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=MoneyJmhBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyJmhBenchmark {
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100};
+
+    private final BigDecimal fromBalance = new BigDecimal("15000.00");
+    private final BigDecimal toBalance = new BigDecimal("2500.50");
+    private final BigDecimal amount = new BigDecimal("6000.00");
+
+    private final Money fromBalanceMoney = Money.of(fromBalance, Currency.USD);
+    private final Money toBalanceMoney = Money.of(toBalance, Currency.USD);
+    private final Money amountMoney = Money.of(amount, Currency.USD);
+    private final long amountMinor = amountMoney.amountMinor();
+
+    @Benchmark
+    public void bigDecimalTransfer(Blackhole blackhole) {
+        if (fromBalance.compareTo(amount) < 0) {
+            throw new IllegalStateException();
+        }
+        blackhole.consume(fromBalance.subtract(amount));
+        blackhole.consume(toBalance.add(amount));
+    }
+
+    @Benchmark
+    public void moneyTransfer(Blackhole blackhole) {
+        if (fromBalanceMoney.isLessThan(amountMoney)) {
+            throw new IllegalStateException();
+        }
+        blackhole.consume(fromBalanceMoney.minus(amountMoney));
+        blackhole.consume(toBalanceMoney.plus(amountMoney));
+    }
+
+    /** Transfer on entity balances, converting DECIMAL values to Money and back as the JPA path does. */
+    @Benchmark
+    public void moneyTransferFromDecimal(Blackhole blackhole) {
+        Money from = Money.of(fromBalance, Currency.USD);
+        Money amountToMove = Money.of(amount, Currency.USD);
+        if (from.isLessThan(amountToMove)) {
+            throw new IllegalStateException();
+        }
+        blackhole.consume(from.minus(amountToMove).toBigDecimal());
+        blackhole.consume(Money.of(toBalance, Currency.USD).plus(amountToMove).toBigDecimal());
+    }
+
+    /** The analysis service's previous checks, allocating their thresholds per event. */
+    @Benchmark
+    public int bigDecimalAnomalyChecks() {
+        int flags = 0;
+        if (amount.compareTo(new BigDecimal("10000.00")) >= 0) {
+            flags |= 1;
+        }
+        if (amount.compareTo(new BigDecimal("5000.00")) >= 0) {
+            flags |= 2;
+        }
+        if (amount.remainder(new BigDecimal("1000.00")).compareTo(BigDecimal.ZERO) == 0
+                && amount.compareTo(new BigDecimal("5000.00")) >= 0) {
+            flags |= 4;
+        }
+        return flags;
+    }
+
+    @Benchmark
+    public int minorUnitAnomalyChecks() {
+        long unit = POWERS_OF_TEN[2];
+        int flags = 0;
+        if (amountMinor >= 10_000 * unit) {
+            flags |= 1;
+        }
+        if (amountMinor >= 5_000 * unit) {
+            flags |= 2;
+        }
+        if (amountMinor % (1_000 * unit) == 0 && amountMinor >= 5_000 * unit) {
+            flags |= 4;
+        }
+        return flags;
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MoneyJmhBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
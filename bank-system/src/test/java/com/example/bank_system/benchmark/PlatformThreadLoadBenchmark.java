@@ -0,0 +1,22 @@
+package com.example.bank_system.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+/** {@link WebTierLoadBenchmark} on Tomcat's default pool of 200 platform threads. */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.tomcat.max-connections=12000",
+    "server.tomcat.accept-count=1000"
+})
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class PlatformThreadLoadBenchmark extends WebTierLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
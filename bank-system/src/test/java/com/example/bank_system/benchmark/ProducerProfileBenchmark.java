@@ -0,0 +1,230 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.config.KafkaProducerProfile;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.event.TransactionEventSerializer;
+import com.example.bank_system.service.ProducerBatchTuner;
+import com.example.bank_system.service.TransactionProducer;
+import com.example.bank_system.service.TransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes transfer events to an embedded broker with each {@link KafkaProducerProfile} and reports,
+ * per profile:
+ *
+ * <ul>
+ *   <li>saturated: {@code bench.records} events sent as fast as acknowledgements allow, with at most
+ *       {@code bench.max-in-flight} outstanding (default 500, the outbox relay's batch size), as
+ *       records per second and send latency;</li>
+ *   <li>paced: a constant {@code bench.rate} per second for {@code bench.seconds}, with latency from
+ *       each send's scheduled start, which is where linger shows up.</li>
+ * </ul>
+ *
+ * <p>Sends go through {@link TransactionProducer} with the application's producer settings, and
+ * {@code bench.encoding} selects the event encoding. The adaptive profile runs with
+ * {@link ProducerBatchTuner} adjusting every {@code bench.tune-interval-ms}; the sending thread applies
+ * each change between two sends, as the outbox relay does between two batches. It also reports the
+ * linger and batch size it ended each phase with. The producer's average batch size and
+ * compression ratio come from its own metrics.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=ProducerProfileBenchmark}; choose profiles with
+ * {@code -Dbench.profiles=balanced,adaptive}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = {"transaction", ProducerProfileBenchmark.TOPIC})
+class ProducerProfileBenchmark {
+
+    static final String TOPIC = "producer-profile";
+
+    private static final String PROFILES = System.getProperty("bench.profiles", "low-latency,balanced,throughput,adaptive");
+    private static final int RECORDS = Integer.getInteger("bench.records", 100_000);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("bench.max-in-flight", 500);
+    private static final int RATE = Integer.getInteger("bench.rate", 1000);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final String ENCODING = System.getProperty("bench.encoding", "json");
+    private static final long TUNE_INTERVAL_MS = Long.getLong("bench.tune-interval-ms", 1000);
+
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void producerProfiles() throws InterruptedException {
+        for (String name : PROFILES.split(",")) {
+            KafkaProducerProfile profile = KafkaProducerProfile.of(name);
+            DefaultKafkaProducerFactory<String, Object> producerFactory = producerFactory(profile);
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            TransactionProducer producer =
+                new TransactionProducer(new KafkaTemplate<>(producerFactory), new TransferMetrics(meterRegistry));
+            Tuning tuning = new Tuning(profile == KafkaProducerProfile.ADAPTIVE
+                ? new ProducerBatchTuner(producerFactory, meterRegistry, 20, 262144, 50, 500) : null);
+            try {
+                // Unreported warm-up: connection, metadata and JIT
+                saturated(producer, RECORDS / 10, tuning);
+
+                report(name, "saturated", saturated(producer, RECORDS, tuning), producerFactory, tuning.tuner);
+                report(name, "paced", paced(producer, tuning), producerFactory, tuning.tuner);
+            } finally {
+                producerFactory.destroy();
+            }
+        }
+    }
+
+    private DefaultKafkaProducerFactory<String, Object> producerFactory(KafkaProducerProfile profile) {
+        // The settings KafkaConfig.producerFactory uses
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TransactionEventSerializer.class);
+        configProps.put(TransactionEventSerializer.ENCODING_CONFIG, ENCODING);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        profile.applyTo(configProps);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    private Stats saturated(TransactionProducer producer, int records, Tuning tuning) throws InterruptedException {
+        Stats stats = new Stats();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < records; i++) {
+            inFlight.acquire();
+            long began = System.nanoTime();
+            tuning.tick(began);
+            send(producer, i, began, stats, inFlight);
+        }
+        awaitAll(inFlight);
+        stats.elapsedNanos = System.nanoTime() - startedAt;
+        return stats;
+    }
+
+    private Stats paced(TransactionProducer producer, Tuning tuning) throws InterruptedException {
+        Stats stats = new Stats();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long startedAt = System.nanoTime();
+        long records = (long) SECONDS * RATE;
+        for (long i = 0; i < records; i++) {
+            long scheduledAt = startedAt + i * intervalNanos;
+            long wait;
+            while ((wait = scheduledAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            tuning.tick(System.nanoTime());
+            send(producer, i, scheduledAt, stats, inFlight);
+        }
+        awaitAll(inFlight);
+        stats.elapsedNanos = System.nanoTime() - startedAt;
+        return stats;
+    }
+
+    private void send(TransactionProducer producer, long id, long startedAt, Stats stats, Semaphore inFlight) {
+        producer.sendTransactionEventPipelined(TOPIC, String.valueOf(id), event(id)).whenComplete((result, failure) -> {
+            if (failure == null) {
+                stats.latency.recordValue(Math.min(System.nanoTime() - startedAt, HIGHEST_LATENCY_NANOS));
+            } else {
+                stats.errors.incrementAndGet();
+            }
+            inFlight.release();
+        });
+    }
+
+    private static void awaitAll(Semaphore inFlight) throws InterruptedException {
+        if (!inFlight.tryAcquire(MAX_IN_FLIGHT, 2, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Sends still unacknowledged after two minutes");
+        }
+    }
+
+    private static void report(String profile, String phase, Stats stats,
+                               DefaultKafkaProducerFactory<String, Object> producerFactory, ProducerBatchTuner tuner) {
+        long sent = stats.latency.getTotalCount();
+        String tuned = tuner == null ? ""
+            : String.format(" linger=%dms batch-size=%d", tuner.currentLingerMs(), tuner.currentBatchSize());
+        System.out.printf("[producer-profile] profile=%s phase=%s records=%d errors=%d records/s=%.0f "
+                + "p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms batch-avg=%.0fB compression=%.2f%s%n",
+            profile, phase, sent, stats.errors.get(), sent * 1e9 / stats.elapsedNanos,
+            millis(stats, 50), millis(stats, 99), millis(stats, 99.9), stats.latency.getMaxValue() / 1e6,
+            producerMetric(producerFactory, "batch-size-avg"), producerMetric(producerFactory, "compression-rate-avg"),
+            tuned);
+    }
+
+    private static double millis(Stats stats, double percentile) {
+        return stats.latency.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    private static double producerMetric(DefaultKafkaProducerFactory<String, Object> producerFactory, String name) {
+        try (Producer<String, Object> producer = producerFactory.createProducer()) {
+            for (Map.Entry<MetricName, ? extends Metric> metric : producer.metrics().entrySet()) {
+                if (metric.getKey().group().equals("producer-metrics") && metric.getKey().name().equals(name)) {
+                    return ((Number) metric.getValue().metricValue()).doubleValue();
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static TransactionEvent event(long id) {
+        return new TransactionEvent("transaction", LocalDateTime.of(2025, 1, 15, 10, 30, 45, 123_000_000), 3001L + id,
+            new TransactionEvent.AccountDetails(2001L, new BigDecimal("15000.00"), new BigDecimal("13749.25"),
+                new TransactionEvent.CustomerDetails(1001L, "John Doe", "individual", "123456789", null)),
+            new TransactionEvent.AccountDetails(2002L, new BigDecimal("250000.00"), new BigDecimal("251250.75"),
+                new TransactionEvent.CustomerDetails(1002L, "Tech Corp Ltd", "business", null, "BRN123456")),
+            new BigDecimal("1250.75"), 125_075L, 2, "USD", "Invoice 2025-0142 payment",
+            new TransactionEvent.Metadata("bank-system", "api"));
+    }
+
+    /** Runs the adaptive tuner every {@code bench.tune-interval-ms} and applies its change between two sends. */
+    private static final class Tuning {
+        final ProducerBatchTuner tuner;
+        long nextAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TUNE_INTERVAL_MS);
+
+        Tuning(ProducerBatchTuner tuner) {
+            this.tuner = tuner;
+        }
+
+        void tick(long now) {
+            if (tuner != null && now >= nextAt) {
+                tuner.adjust();
+                tuner.applyPendingChange();
+                nextAt = now + TimeUnit.MILLISECONDS.toNanos(TUNE_INTERVAL_MS);
+            }
+        }
+    }
+
+    private static final class Stats {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3);
+        final AtomicLong errors = new AtomicLong();
+        long elapsedNanos;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bank_system.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts JDBC round trips: every {@code execute*} call and every {@code executeBatch} call on a
+ * statement handed out by the application's {@link DataSource} counts as one.
+ *
+ * <p>Import into a benchmark with {@code @Import(StatementCounter.class)} and read
+ * {@link #roundTrips()} around the code under measurement.
+ */
+@TestConfiguration
+public class StatementCounter {
+
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    public static long roundTrips() {
+        return ROUND_TRIPS.get();
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return proxy(DataSource.class, dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && !(result instanceof Proxy)) {
+                return proxy(Connection.class, connection);
+            }
+            if (result instanceof Statement statement && !(result instanceof Proxy)) {
+                return proxy(statementType(statement), statement);
+            }
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                ROUND_TRIPS.incrementAndGet();
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Statement> statementType(Statement statement) {
+        if (statement instanceof java.sql.CallableStatement) {
+            return (Class<Statement>) (Class<?>) java.sql.CallableStatement.class;
+        }
+        if (statement instanceof java.sql.PreparedStatement) {
+            return (Class<Statement>) (Class<?>) java.sql.PreparedStatement.class;
+        }
+        return Statement.class;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
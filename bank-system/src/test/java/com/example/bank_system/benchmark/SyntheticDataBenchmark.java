@@ -0,0 +1,100 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.synthetic.SyntheticDataGenerator;
+import com.example.bank_system.synthetic.SyntheticDataSpec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Loads a synthetic data set into the embedded database with {@link SyntheticDataGenerator} and
+ * prints rows per second, then deletes it, loads it again from the same seed and checks that both
+ * loads hold the same customers, accounts and transactions. Finally creates a customer through the
+ * service layer, which must not collide with the loaded ids.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=SyntheticDataBenchmark}; tune with
+ * {@code -Dbench.customers}, {@code -Dbench.transactions} and, for the generator,
+ * {@code -DargLine="-Dbank.synthetic.threads=8 -Dbank.synthetic.batch-size=5000"}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class SyntheticDataBenchmark {
+
+    private static final int CUSTOMERS = Integer.getInteger("bench.customers", 100_000);
+    private static final int TRANSACTIONS = Integer.getInteger("bench.transactions", 1_000_000);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loadIsFastAndDeterministic() throws Exception {
+        SyntheticDataSpec spec = new SyntheticDataSpec(42, CUSTOMERS, 0.12, 0.03, 3, TRANSACTIONS, 365,
+            LocalDate.of(2025, 1, 1), 50, 0.3);
+
+        String first = load(spec);
+        // A DELETE of this size takes H2 far longer than the load itself
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.execute("TRUNCATE TABLE transactions");
+        jdbcTemplate.execute("TRUNCATE TABLE accounts");
+        jdbcTemplate.execute("TRUNCATE TABLE customers");
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        String second = load(spec);
+        assertEquals(first, second);
+
+        CreateIndividualCustomerRequest request = new CreateIndividualCustomerRequest();
+        request.setName("After Load");
+        request.setEmail("after-load@benchmark.test");
+        request.setPhone("+1000000000");
+        request.setAddress("1 Benchmark Way");
+        request.setNationalId("AFTER");
+        request.setDateOfBirth("1990-01-01");
+        customerService.createIndividualCustomer(request);
+    }
+
+    /** Loads the data set and returns a digest of its content, independent of the surrogate ids. */
+    private String load(SyntheticDataSpec spec) throws Exception {
+        SyntheticDataGenerator.Summary summary = generator.generate(spec);
+        long rows = summary.customers() + summary.accounts() + (long) summary.transactions();
+        System.out.printf("[synthetic] customers=%d accounts=%d transactions=%d time=%.1fs rows/s=%.0f%n",
+            summary.customers(), summary.accounts(), summary.transactions(), summary.durationMs() / 1e3,
+            rows / (summary.durationMs() / 1e3));
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        jdbcTemplate.query("SELECT c.email, c.customer_type, c.name, a.account_number, a.account_type, a.currency, " +
+            "a.balance FROM accounts a JOIN customers c ON c.id = a.customer_id ORDER BY a.account_number",
+            (RowCallbackHandler) row -> update(digest, row.getString(1), row.getString(2), row.getString(3),
+                row.getString(4), row.getString(5), row.getString(6), row.getString(7)));
+        jdbcTemplate.query("SELECT t.transaction_id, f.account_number, a.account_number, t.amount, t.type, t.status, " +
+            "t.created_at FROM transactions t JOIN accounts f ON f.id = t.from_account_id " +
+            "JOIN accounts a ON a.id = t.to_account_id ORDER BY t.transaction_id",
+            (RowCallbackHandler) row -> update(digest, row.getString(1), row.getString(2), row.getString(3),
+                row.getString(4), row.getString(5), row.getString(6), row.getString(7)));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String... values) {
+        digest.update(String.join("|", values).getBytes(StandardCharsets.UTF_8));
+    }
+}
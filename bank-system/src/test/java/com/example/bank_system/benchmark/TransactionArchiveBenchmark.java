@@ -0,0 +1,190 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.archive.TransactionArchiveJob;
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.AccountStatementResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.AccountStatementService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.TransactionExportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads two years of transactions, then archives the first year with {@link TransactionArchiveJob}
+ * and compares the table size, statement latency (first page and a full walk of one account's
+ * history) and a full export before and after. The walk and the export must return the same
+ * transactions once half of them are read from segment files.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=TransactionArchiveBenchmark}; tune with
+ * {@code -Dbench.transactions} and {@code -Dbench.accounts}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "bank.transactions.archive.enabled=true",
+    "bank.transactions.archive.dir=target/benchmark-archive",
+    "bank.transactions.archive.retain-months=12",
+    "bank.transactions.archive.interval-ms=86400000"
+})
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class TransactionArchiveBenchmark {
+
+    private static final int TRANSACTIONS = Integer.getInteger("bench.transactions", 500_000);
+    private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 200);
+    private static final int PAGE_SIZE = 100;
+    private static final int INSERT_BATCH = 10_000;
+    private static final Path ARCHIVE_DIR = Path.of("target/benchmark-archive");
+
+    @Autowired
+    private TransactionArchiveJob transactionArchiveJob;
+
+    @Autowired
+    private AccountStatementService accountStatementService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statementsAndExportsBeforeAndAfterArchiving() throws Exception {
+        FileSystemUtils.deleteRecursively(ARCHIVE_DIR);
+        List<AccountResponse> accounts = createAccounts();
+        AccountResponse account = accounts.get(0);
+        YearMonth firstRetained = YearMonth.now().minusMonths(12);
+        LocalDateTime start = firstRetained.minusMonths(12).atDay(1).atStartOfDay();
+
+        long started = System.nanoTime();
+        insertTransactions(accounts, start, Duration.between(start, LocalDateTime.now()).toSeconds());
+        System.out.printf("[archive] loaded transactions=%d accounts=%d in %.1fs%n",
+            TRANSACTIONS, ACCOUNTS, (System.nanoTime() - started) / 1e9);
+
+        List<String> walkBefore = measure("table", account, accounts.get(1).getId());
+
+        started = System.nanoTime();
+        int months = transactionArchiveJob.archiveMonthsBefore(firstRetained);
+        long archiveBytes;
+        try (Stream<Path> files = Files.list(ARCHIVE_DIR)) {
+            archiveBytes = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        System.out.printf("[archive] archived months=%d in %.1fs, segment bytes=%d%n",
+            months, (System.nanoTime() - started) / 1e9, archiveBytes);
+        assertEquals(12, months);
+
+        List<String> walkAfter = measure("table+archive", account, accounts.get(1).getId());
+        assertEquals(walkBefore, walkAfter);
+    }
+
+    /** Prints table size and latencies; returns the account's full statement, newest first. */
+    private List<String> measure(String label, AccountResponse account, Long exportAccountId) throws IOException {
+        Long tableRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        List<String> walk = null;
+        for (int round = 0; round < 3; round++) {
+            long started = System.nanoTime();
+            accountStatementService.getStatement(account.getAccountNumber(), null, null, null, PAGE_SIZE);
+            double firstPageMillis = (System.nanoTime() - started) / 1e6;
+
+            List<String> seen = new ArrayList<>();
+            int pages = 0;
+            String cursor = null;
+            started = System.nanoTime();
+            do {
+                AccountStatementResponse page = accountStatementService.getStatement(account.getAccountNumber(),
+                    null, null, cursor, PAGE_SIZE);
+                page.getEntries().forEach(entry -> seen.add(entry.getTransactionId()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+            double walkMillis = (System.nanoTime() - started) / 1e6;
+
+            started = System.nanoTime();
+            long exported = transactionExportService.writeExport(exportAccountId, LocalDateTime.of(1970, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59), TransactionExportService.Format.CSV, false,
+                OutputStream.nullOutputStream());
+            double exportMillis = (System.nanoTime() - started) / 1e6;
+
+            System.out.printf("[archive] path=%s table-rows=%d first-page=%.2fms walk=%.1fms (pages=%d rows=%d) " +
+                    "export=%.1fms (rows=%d)%n", label, tableRows, firstPageMillis, walkMillis, pages, seen.size(),
+                exportMillis, exported);
+            assertTrue(walk == null || walk.equals(seen));
+            walk = seen;
+        }
+        return walk;
+    }
+
+    /** Inserts the transactions directly, spread evenly from {@code start} to now. */
+    private void insertTransactions(List<AccountResponse> accounts, LocalDateTime start, long spanSeconds) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= TRANSACTIONS; i++) {
+            int from = random.nextInt(accounts.size());
+            int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+            batch.add(new Object[]{(long) i, "BENCH" + i, accounts.get(from).getId(), accounts.get(to).getId(),
+                BigDecimal.valueOf(random.nextInt(1, 100_000), 2),
+                Timestamp.valueOf(start.plusSeconds(spanSeconds * (i - 1) / TRANSACTIONS))});
+            if (batch.size() == INSERT_BATCH || i == TRANSACTIONS) {
+                jdbcTemplate.batchUpdate("INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, " +
+                    "amount, type, status, created_at) VALUES (?, ?, ?, ?, ?, 'TRANSFER', 'COMPLETED', ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private List<AccountResponse> createAccounts() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Archive Benchmark");
+        customerRequest.setEmail("archive@benchmark.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("ARCHIVE");
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            accounts.add(accountService.createAccount(accountRequest));
+        }
+        return accounts;
+    }
+}
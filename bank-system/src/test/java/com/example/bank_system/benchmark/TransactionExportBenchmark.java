@@ -0,0 +1,230 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.TransactionExportRow;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.repository.TransactionRepository;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports one account's history through {@code GET /api/accounts/{accountNumber}/transactions/export}
+ * as CSV, gzipped CSV and NDJSON, and, for comparison, loads the same rows into a List. While each
+ * runs, a sampler forces a GC every {@value #SAMPLE_INTERVAL_MS} ms and records the live heap, so
+ * the reported growth is what the export holds on to, not garbage. Run it at two sizes to see the
+ * streaming exports stay flat while the List grows with the rows.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=TransactionExportBenchmark}; tune with
+ * {@code -Dbench.transactions}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class TransactionExportBenchmark {
+
+    private static final int TRANSACTIONS = Integer.getInteger("bench.transactions", 500_000);
+    private static final int COUNTERPARTIES = 100;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int SAMPLE_INTERVAL_MS = 250;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void streamingExportVersusList() throws Exception {
+        List<AccountResponse> accounts = createAccounts();
+        AccountResponse exported = accounts.get(0);
+        insertTransactions(accounts);
+
+        // H2 keeps the last result of a repeated query, so the first pass pays for materialising it
+        download(exported.getAccountNumber(), "format=csv");
+        for (String query : List.of("format=csv", "format=csv&gzip=true", "format=ndjson")) {
+            measure("export " + query, () -> download(exported.getAccountNumber(), query));
+        }
+        measure("list", () -> transactionTemplate.execute(status -> {
+            List<TransactionExportRow> rows = transactionRepository.streamForExport(exported.getId(),
+                START.minusYears(1), START.plusYears(100)).toList();
+            return new long[]{rows.size(), 0};
+        }));
+    }
+
+    /** Runs the task while sampling the live heap, then prints rows, bytes, time and heap growth. */
+    private void measure(String path, Callable<long[]> task) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(before);
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                System.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            }
+        });
+
+        long started = System.nanoTime();
+        sampler.start();
+        long[] rowsAndBytes = task.call();
+        sampler.interrupt();
+        sampler.join();
+        double elapsedMillis = (System.nanoTime() - started) / 1e6;
+
+        assertEquals(TRANSACTIONS, rowsAndBytes[0]);
+        System.out.printf("[export] path=%s rows=%d bytes=%d time=%.0fms rows/s=%.0f live-heap-growth=%.1fMB%n",
+            path, rowsAndBytes[0], rowsAndBytes[1], elapsedMillis, rowsAndBytes[0] / (elapsedMillis / 1000),
+            (peak.get() - before) / 1e6);
+    }
+
+    /** Downloads the export, counting rows (lines after the CSV header) and bytes on the wire. */
+    private long[] download(String accountNumber, String query) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/"
+            + accountNumber + "/transactions/export?" + query)).build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+
+        boolean gzip = query.contains("gzip=true");
+        CountingInputStream counting = new CountingInputStream(response.body());
+        long lines;
+        try (InputStream in = gzip ? new GZIPInputStream(counting, 64 * 1024) : counting) {
+            lines = countLines(in);
+        }
+        return new long[]{query.contains("format=csv") ? lines - 1 : lines, counting.count};
+    }
+
+    private static long countLines(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long lines = 0;
+        for (int read; (read = in.read(buffer)) != -1; ) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    /** Inserts the transactions directly, each between the exported account and one of the others. */
+    private void insertTransactions(List<AccountResponse> accounts) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= TRANSACTIONS; i++) {
+            Long counterparty = accounts.get(1 + random.nextInt(accounts.size() - 1)).getId();
+            boolean outgoing = random.nextBoolean();
+            batch.add(new Object[]{(long) i, "EXPORT" + i, outgoing ? accounts.get(0).getId() : counterparty,
+                outgoing ? counterparty : accounts.get(0).getId(), BigDecimal.valueOf(random.nextInt(1, 100_000), 2),
+                "Benchmark transfer " + i, Timestamp.valueOf(START.plusSeconds(i)), Timestamp.valueOf(START.plusSeconds(i))});
+            if (batch.size() == INSERT_BATCH || i == TRANSACTIONS) {
+                jdbcTemplate.batchUpdate("INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, " +
+                    "amount, type, status, description, created_at, processed_at) " +
+                    "VALUES (?, ?, ?, ?, ?, 'TRANSFER', 'COMPLETED', ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private List<AccountResponse> createAccounts() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Export Benchmark");
+        customerRequest.setEmail("export@benchmark.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("EXPORT");
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (int i = 0; i <= COUNTERPARTIES; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            accounts.add(accountService.createAccount(accountRequest));
+        }
+        return accounts;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.TransactionService;
+import com.example.bank_system.service.TransferConcurrencyStrategy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers a small set of hot accounts from many threads with each concurrency strategy and
+ * checks that every transfer completes, retrying conflicts where needed, and that no money is
+ * created or lost. Reports throughput and latency percentiles.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=TransferContentionBenchmark}; tune with
+ * {@code -Dbench.threads}, {@code -Dbench.transfers} (per thread) and {@code -Dbench.accounts}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class TransferContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int TRANSFERS_PER_THREAD = Integer.getInteger("bench.transfers", 250);
+    private static final int HOT_ACCOUNTS = Integer.getInteger("bench.accounts", 8);
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @ParameterizedTest
+    @EnumSource(TransferConcurrencyStrategy.class)
+    void contendedTransfersCompleteAndPreserveTotalBalance(TransferConcurrencyStrategy strategy) throws Exception {
+        ReflectionTestUtils.setField(transactionService, "concurrencyStrategy", strategy);
+        List<String> accountNumbers = createHotAccounts(strategy);
+        BigDecimal totalBefore = totalBalance(accountNumbers);
+
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> runTransfers(accountNumbers, start, failed)));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        long[] latencies = results.stream().map(this::join).flatMapToLong(Arrays::stream).toArray();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        assertEquals(0, failed.get(), failed.get() + " transfers failed with " + strategy);
+        BigDecimal totalAfter = totalBalance(accountNumbers);
+        assertEquals(0, totalBefore.compareTo(totalAfter),
+            "Total balance changed from " + totalBefore + " to " + totalAfter + " with " + strategy);
+
+        Arrays.sort(latencies);
+        System.out.printf("[contention] strategy=%s threads=%d accounts=%d transfers=%d failed=%d " +
+                "throughput=%.1f tx/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+            strategy, THREADS, HOT_ACCOUNTS, latencies.length, failed.get(),
+            latencies.length / (elapsedNanos / 1e9),
+            percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private long[] runTransfers(List<String> accountNumbers, CountDownLatch start, AtomicInteger failed)
+            throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[TRANSFERS_PER_THREAD];
+        start.await();
+        for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+            int from = random.nextInt(accountNumbers.size());
+            int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+
+            TransferRequest request = new TransferRequest();
+            request.setFromAccountNumber(accountNumbers.get(from));
+            request.setToAccountNumber(accountNumbers.get(to));
+            request.setAmount(BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+            request.setCurrency(Currency.USD.name());
+
+            long began = System.nanoTime();
+            try {
+                transactionService.processTransfer(request);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+            }
+            latencies[i] = System.nanoTime() - began;
+        }
+        return latencies;
+    }
+
+    private List<String> createHotAccounts(TransferConcurrencyStrategy strategy) {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Contention " + strategy);
+        customerRequest.setEmail(strategy.name().toLowerCase() + "@contention.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("BENCH-" + strategy.ordinal());
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(INITIAL_BALANCE);
+            accountRequest.setCurrency(Currency.USD);
+            AccountResponse account = accountService.createAccount(accountRequest);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private BigDecimal totalBalance(List<String> accountNumbers) {
+        return accountNumbers.stream()
+            .map(number -> accountService.getAccountByNumber(number).getBalance())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.TransactionApiResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.BusinessCustomer;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.Customer;
+import com.example.bank_system.entity.IndividualCustomer;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.CustomerRepository;
+import com.example.bank_system.service.CustomerDescriptorCache;
+import com.example.bank_system.service.TransactionEventBuilder;
+import com.example.bank_system.service.TransactionService;
+import com.example.bank_system.service.TransferValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JMH microbenchmark of the CPU work a single transfer does outside the database: the request and
+ * balance checks, building the Kafka event and the API response, and the event's JSON round trip
+ * (written to the outbox with Spring's ObjectMapper, read back by the relay and serialized again by
+ * the producer's {@link JsonSerializer}). Customer descriptors are served from a warm
+ * {@link CustomerDescriptorCache}, as on a busy node. Transaction ids are covered by
+ * {@link IdGeneratorJmhBenchmark}.
+ *
+ * <p>Runs with the GC profiler, so each result comes with its allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation); results are also written to
+ * {@code target/jmh-transfer-hot-path.json} for comparison between builds.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=TransferHotPathJmhBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+// The JSON round trip takes about ten seconds of warmup to reach steady state on a single core
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferHotPathJmhBenchmark {
+
+    private static final String TOPIC = "transaction";
+
+    private final TransferValidator transferValidator = new TransferValidator();
+    // Spring Boot's defaults for the application ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    private TransactionEventBuilder eventBuilder;
+    private TransactionService transactionService;
+    private Transaction transaction;
+    private Account fromAccount;
+    private Account toAccount;
+    private TransactionEvent event;
+    private String payload;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        IndividualCustomer individual = new IndividualCustomer("John Doe", "john.doe@email.com", "+1234567890",
+            "123 Main St, City", "123456789", "1990-01-15", "Software Engineer");
+        individual.setId(1001L);
+        BusinessCustomer business = new BusinessCustomer("Tech Corp Ltd", "info@techcorp.com", "+1987654321",
+            "456 Business Ave, City", "BRN123456", "Technology", "Software Development", "TAX789123");
+        business.setId(1002L);
+        fromAccount = account(2001L, "ACC1735689600000001", individual, Account.AccountType.CHECKING, "15000.00");
+        toAccount = account(2002L, "ACC1735689600000011", business, Account.AccountType.BUSINESS, "250000.00");
+
+        transaction = new Transaction();
+        transaction.setId(3001L);
+        transaction.setTransactionId("TXN17356896000000100002A");
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setAmount(new BigDecimal("1250.75"));
+        transaction.setType(Transaction.TransactionType.TRANSFER);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setDescription("Invoice 2025-0142 payment");
+        transaction.setReferenceNumber("INV-2025-0142");
+        transaction.setProcessedAt(LocalDateTime.of(2025, 1, 15, 10, 30, 45, 123_000_000));
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        Map<Long, Customer> customers = Map.of(individual.getId(), individual, business.getId(), business);
+        when(customerRepository.findById(any())).thenAnswer(invocation ->
+            Optional.ofNullable(customers.get(invocation.<Long>getArgument(0))));
+        CustomerDescriptorCache descriptorCache =
+            new CustomerDescriptorCache(customerRepository, new SimpleMeterRegistry(), 10000, 300000);
+        descriptorCache.get(individual.getId());
+        descriptorCache.get(business.getId());
+
+        eventBuilder = new TransactionEventBuilder(descriptorCache);
+        transactionService = new TransactionService(null, null, null, eventBuilder, null, null, transferValidator,
+            null, null, descriptorCache, null, null);
+        event = buildTransactionEvent();
+        payload = objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public void validateTransfer() {
+        transferValidator.validateRequestCurrency("USD", fromAccount, toAccount);
+        transferValidator.validateTransfer(fromAccount, toAccount, transaction.getAmount());
+    }
+
+    @Benchmark
+    public TransactionEvent buildTransactionEvent() {
+        return eventBuilder.buildTransactionEvent(transaction, "transaction",
+            new BigDecimal("15000.00"), new BigDecimal("13749.25"),
+            new BigDecimal("250000.00"), new BigDecimal("251250.75"), "USD");
+    }
+
+    @Benchmark
+    public TransactionApiResponse buildTransactionApiResponse() {
+        return transactionService.buildTransactionApiResponse(transaction, "USD");
+    }
+
+    /** The outbox row's payload, written in the transfer's transaction. */
+    @Benchmark
+    public String writeOutboxPayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    /** The relay reading the payload back and the producer serializing it, with its type headers. */
+    @Benchmark
+    public byte[] relayOutboxPayload() throws JsonProcessingException {
+        TransactionEvent read = objectMapper.readValue(payload, TransactionEvent.class);
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), read);
+    }
+
+    /** Everything above for one transfer. */
+    @Benchmark
+    public void transfer(Blackhole blackhole) throws JsonProcessingException {
+        validateTransfer();
+        TransactionEvent built = buildTransactionEvent();
+        blackhole.consume(objectMapper.writeValueAsString(built));
+        blackhole.consume(jsonSerializer.serialize(TOPIC, new RecordHeaders(), built));
+        blackhole.consume(buildTransactionApiResponse());
+    }
+
+    private static Account account(Long id, String accountNumber, Customer customer, Account.AccountType type,
+                                   String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountNumber(accountNumber);
+        account.setCustomer(customer);
+        account.setAccountType(type);
+        account.setBalance(new BigDecimal(balance));
+        account.setCurrency(Currency.USD);
+        account.setStatus(Account.AccountStatus.ACTIVE);
+        return account;
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TransferHotPathJmhBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-transfer-hot-path.json")
+            .build()).run();
+    }
+}
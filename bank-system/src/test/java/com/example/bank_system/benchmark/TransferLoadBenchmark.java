@@ -0,0 +1,410 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Repeatable HTTP load test of {@code POST /api/v1/transfer} and the account lookup and statement
+ * endpoints, against the embedded database and Kafka broker. Latencies go into one HdrHistogram per
+ * endpoint; the run writes p50/p90/p99/p99.9/max, throughput and errors by status to a JSON report
+ * meant to be diffed between releases, plus each endpoint's full percentile distribution as a
+ * {@code .hgrm} file next to it, and the app's {@code /actuator/prometheus} scrape as
+ * {@code load-report-metrics.prom}, with the transfer phase timers of {@code TransferMetrics}.
+ *
+ * <ul>
+ *   <li>{@code bench.mode=closed}: {@code bench.clients} clients, each sending its next request as
+ *       soon as the previous one returns, so throughput follows the server.</li>
+ *   <li>{@code bench.mode=open}: requests start at a constant {@code bench.rate} per second whether or
+ *       not earlier ones have returned, and latency is measured from each request's scheduled start,
+ *       so a stalled server shows up in the percentiles instead of slowing the client down. At most
+ *       {@code bench.max-in-flight} requests are outstanding; beyond that the schedule falls behind
+ *       and the wait counts as latency.</li>
+ * </ul>
+ *
+ * <p>Accounts are picked uniformly or, with {@code bench.skew=zipf}, with Zipf-distributed hot accounts
+ * ({@code bench.zipf-exponent}). {@code bench.transfer-percent} of the requests are transfers; the rest
+ * are split evenly between the two GET endpoints. The request sequence is seeded ({@code bench.seed}),
+ * so runs with the same settings send the same requests. An unreported warm-up of
+ * {@code bench.warmup-seconds} in the same mode runs first.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=TransferLoadBenchmark}; tune with the properties above,
+ * {@code -Dbench.seconds}, {@code -Dbench.accounts} and {@code -Dbench.report} (the report path).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class TransferLoadBenchmark {
+
+    private static final String MODE = System.getProperty("bench.mode", "closed");
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 16);
+    private static final int RATE = Integer.getInteger("bench.rate", 200);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("bench.max-in-flight", 1000);
+    private static final String SKEW = System.getProperty("bench.skew", "uniform");
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("bench.zipf-exponent", "1.1"));
+    private static final int TRANSFER_PERCENT = Integer.getInteger("bench.transfer-percent", 50);
+    private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 1000);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 10);
+    private static final long SEED = Long.getLong("bench.seed", 42);
+    private static final Path REPORT = Path.of(System.getProperty("bench.report", "target/load-report.json"));
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    enum Endpoint { TRANSFER, ACCOUNT, STATEMENT }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void loadTest() throws Exception {
+        if (!MODE.equals("open") && !MODE.equals("closed")) {
+            throw new IllegalArgumentException("bench.mode must be open or closed: " + MODE);
+        }
+        AccountPicker picker = switch (SKEW) {
+            case "uniform" -> AccountPicker.uniform(createAccounts());
+            case "zipf" -> AccountPicker.zipf(createAccounts(), ZIPF_EXPONENT);
+            default -> throw new IllegalArgumentException("bench.skew must be uniform or zipf: " + SKEW);
+        };
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+        run(client, picker, WARMUP_SECONDS, SEED - 1);
+        Stats stats = run(client, picker, SECONDS, SEED);
+        writeReport(stats);
+        writeMetrics(client);
+    }
+
+    private Stats run(HttpClient client, AccountPicker picker, int seconds, long seed) throws Exception {
+        Stats stats = new Stats();
+        if (MODE.equals("open")) {
+            runOpenLoop(client, picker, seconds, seed, stats);
+        } else {
+            runClosedLoop(client, picker, seconds, seed, stats);
+        }
+        return stats;
+    }
+
+    private void runOpenLoop(HttpClient client, AccountPicker picker, int seconds, long seed, Stats stats)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long startedAt = System.nanoTime();
+        long requests = (long) seconds * RATE;
+        for (long i = 0; i < requests; i++) {
+            long scheduledAt = startedAt + i * intervalNanos;
+            long wait;
+            while ((wait = scheduledAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = nextEndpoint(random);
+            HttpRequest request = request(endpoint, picker, random);
+            inFlight.acquire();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                stats.record(endpoint, System.nanoTime() - scheduledAt, response, failure);
+                inFlight.release();
+            });
+        }
+        if (!inFlight.tryAcquire(MAX_IN_FLIGHT, REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Requests still in flight after the timeout");
+        }
+        stats.elapsedNanos = System.nanoTime() - startedAt;
+    }
+
+    private void runClosedLoop(HttpClient client, AccountPicker picker, int seconds, long seed, Stats stats)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        List<Future<?>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofPlatform().name("load-client-", 0).factory())) {
+            for (int c = 0; c < CLIENTS; c++) {
+                SplittableRandom random = new SplittableRandom(seed * 31 + c);
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        Endpoint endpoint = nextEndpoint(random);
+                        HttpRequest request = request(endpoint, picker, random);
+                        long began = System.nanoTime();
+                        HttpResponse<Void> response = null;
+                        Exception failure = null;
+                        try {
+                            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        } catch (Exception e) {
+                            failure = e;
+                        }
+                        stats.record(endpoint, System.nanoTime() - began, response, failure);
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            deadline[0] = startedAt + TimeUnit.SECONDS.toNanos(seconds);
+            start.countDown();
+            for (Future<?> future : clients) {
+                future.get();
+            }
+            stats.elapsedNanos = System.nanoTime() - startedAt;
+        }
+    }
+
+    private static Endpoint nextEndpoint(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < TRANSFER_PERCENT) {
+            return Endpoint.TRANSFER;
+        }
+        return (roll - TRANSFER_PERCENT) % 2 == 0 ? Endpoint.ACCOUNT : Endpoint.STATEMENT;
+    }
+
+    private HttpRequest request(Endpoint endpoint, AccountPicker picker, SplittableRandom random) {
+        String account = picker.next(random);
+        return switch (endpoint) {
+            case TRANSFER -> {
+                String to = picker.nextOtherThan(account, random);
+                String body = """
+                    {"fromAccountNumber":"%s","toAccountNumber":"%s","amount":%s,"currency":"USD"}"""
+                    .formatted(account, to, BigDecimal.valueOf(random.nextInt(1, 1000), 2));
+                yield HttpRequest.newBuilder(uri("/api/v1/transfer"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            }
+            case ACCOUNT -> HttpRequest.newBuilder(uri("/api/accounts/" + account))
+                .timeout(REQUEST_TIMEOUT).GET().build();
+            case STATEMENT -> HttpRequest.newBuilder(uri("/api/accounts/" + account + "/transactions?limit=20"))
+                .timeout(REQUEST_TIMEOUT).GET().build();
+        };
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /** Accounts ranked hottest first, as created. */
+    private List<String> createAccounts() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Transfer Load");
+        customerRequest.setEmail("transfer-load@load.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("LOAD-TRANSFER");
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            AccountResponse account = accountService.createAccount(accountRequest);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private void writeReport(Stats stats) throws Exception {
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_LATENCY_NANOS, 3);
+        Map<String, Long> totalErrors = new TreeMap<>();
+        long totalRequests = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = stats.latencies.get(endpoint);
+            Map<String, Long> errors = stats.errors(endpoint);
+            EndpointReport report = EndpointReport.of(histogram, errors, stats.elapsedNanos);
+            endpoints.put(endpoint.name().toLowerCase(), report);
+            total.add(histogram);
+            errors.forEach((cause, count) -> totalErrors.merge(cause, count, Long::sum));
+            totalRequests += report.requests();
+            writeDistribution(endpoint.name().toLowerCase(), histogram);
+        }
+        EndpointReport overall = EndpointReport.of(total, totalErrors, stats.elapsedNanos);
+
+        Report report = new Report(MODE, SKEW, SKEW.equals("zipf") ? ZIPF_EXPONENT : null,
+            MODE.equals("open") ? RATE : null, MODE.equals("closed") ? CLIENTS : null, ACCOUNTS, TRANSFER_PERCENT,
+            SECONDS, SEED, overall, endpoints);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), report);
+
+        System.out.printf("[load] mode=%s skew=%s %s requests=%d errors=%d throughput=%.1f req/s report=%s%n",
+            MODE, SKEW, MODE.equals("open") ? "rate=" + RATE : "clients=" + CLIENTS, totalRequests,
+            overall.errors(), overall.throughputPerSecond(), REPORT);
+        endpoints.put("all", overall);
+        endpoints.forEach((name, endpoint) -> System.out.printf(
+            "[load]   %-9s requests=%d errors=%d p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n",
+            name, endpoint.requests(), endpoint.errors(), endpoint.latencyMs().p50(), endpoint.latencyMs().p99(),
+            endpoint.latencyMs().p999(), endpoint.latencyMs().max()));
+    }
+
+    /** Includes the warm-up: the app's meters are cumulative. */
+    private void writeMetrics(HttpClient client) throws Exception {
+        String name = REPORT.getFileName().toString().replaceFirst("\\.json$", "") + "-metrics.prom";
+        client.send(HttpRequest.newBuilder(uri("/actuator/prometheus")).timeout(REQUEST_TIMEOUT).GET().build(),
+            HttpResponse.BodyHandlers.ofFile(REPORT.toAbsolutePath().resolveSibling(name)));
+    }
+
+    private static void writeDistribution(String endpoint, Histogram histogram) throws Exception {
+        String name = REPORT.getFileName().toString().replaceFirst("\\.json$", "") + "-" + endpoint + ".hgrm";
+        try (PrintStream out = new PrintStream(REPORT.resolveSibling(name).toFile())) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    /** Latencies and errors per endpoint, recorded from any thread. */
+    private static class Stats {
+
+        final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        final Map<Endpoint, Map<String, LongAdder>> errors = new EnumMap<>(Endpoint.class);
+        long elapsedNanos;
+
+        Stats() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3));
+                errors.put(endpoint, new ConcurrentHashMap<>());
+            }
+        }
+
+        void record(Endpoint endpoint, long latencyNanos, HttpResponse<?> response, Throwable failure) {
+            latencies.get(endpoint).recordValue(Math.min(latencyNanos, HIGHEST_LATENCY_NANOS));
+            if (failure instanceof CompletionException && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            String cause = failure != null ? failure.getClass().getSimpleName()
+                : response.statusCode() >= 300 ? String.valueOf(response.statusCode()) : null;
+            if (cause != null) {
+                errors.get(endpoint).computeIfAbsent(cause, key -> new LongAdder()).increment();
+            }
+        }
+
+        Map<String, Long> errors(Endpoint endpoint) {
+            Map<String, Long> counts = new TreeMap<>();
+            errors.get(endpoint).forEach((cause, count) -> counts.put(cause, count.sum()));
+            return counts;
+        }
+    }
+
+    /** Picks accounts uniformly or by Zipf rank, from an inverse cumulative distribution. */
+    private record AccountPicker(List<String> accounts, double[] cumulative) {
+
+        static AccountPicker uniform(List<String> accounts) {
+            return new AccountPicker(accounts, null);
+        }
+
+        static AccountPicker zipf(List<String> accounts, double exponent) {
+            double[] cumulative = new double[accounts.size()];
+            double sum = 0;
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                cumulative[rank] /= sum;
+            }
+            return new AccountPicker(accounts, cumulative);
+        }
+
+        String next(SplittableRandom random) {
+            if (cumulative == null) {
+                return accounts.get(random.nextInt(accounts.size()));
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return accounts.get(Math.min(index < 0 ? -index - 1 : index, accounts.size() - 1));
+        }
+
+        String nextOtherThan(String account, SplittableRandom random) {
+            String other;
+            do {
+                other = next(random);
+            } while (other.equals(account));
+            return other;
+        }
+    }
+
+    record Report(String mode, String skew, Double zipfExponent, Integer targetRate, Integer clients,
+                  int accounts, int transferPercent, int seconds, long seed,
+                  EndpointReport total, Map<String, EndpointReport> endpoints) {
+    }
+
+    record EndpointReport(long requests, long errors, Map<String, Long> errorsByCause, double throughputPerSecond,
+                          Latency latencyMs) {
+
+        static EndpointReport of(Histogram histogram, Map<String, Long> errors, long elapsedNanos) {
+            long requests = histogram.getTotalCount();
+            return new EndpointReport(requests, errors.values().stream().mapToLong(Long::longValue).sum(), errors,
+                requests / (elapsedNanos / 1e9), Latency.of(histogram));
+        }
+    }
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(histogram.getMean() / 1e6, millis(histogram, 50), millis(histogram, 90),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1e6);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.BatchTransferRequest;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.BatchTransferService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reports JDBC round trips and wall-clock time per transfer for the single transfer path and the
+ * batch endpoint, plus per row for account creation. Use it to compare id generation and
+ * Hibernate batching settings.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=TransferRoundTripBenchmark}; tune with
+ * {@code -Dbench.transfers} and {@code -Dbench.accounts}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+@Import(StatementCounter.class)
+class TransferRoundTripBenchmark {
+
+    private static final int TRANSFERS = Integer.getInteger("bench.transfers", 2000);
+    private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 200);
+    private static final int WARMUP_TRANSFERS = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void roundTripsPerTransfer() {
+        CustomerResponse customer = createCustomer();
+
+        long roundTripsBefore = StatementCounter.roundTrips();
+        long started = System.nanoTime();
+        List<String> accountNumbers = createAccounts(customer);
+        report("create-account", ACCOUNTS, roundTripsBefore, started);
+
+        for (TransferRequest transfer : transfers(accountNumbers, WARMUP_TRANSFERS, 1)) {
+            transactionService.processTransfer(transfer);
+        }
+
+        List<TransferRequest> singles = transfers(accountNumbers, TRANSFERS, 2);
+        roundTripsBefore = StatementCounter.roundTrips();
+        started = System.nanoTime();
+        for (TransferRequest transfer : singles) {
+            transactionService.processTransfer(transfer);
+        }
+        report("single-transfer", TRANSFERS, roundTripsBefore, started);
+
+        BatchTransferRequest batch = new BatchTransferRequest();
+        batch.setTransfers(transfers(accountNumbers, TRANSFERS, 3));
+        roundTripsBefore = StatementCounter.roundTrips();
+        started = System.nanoTime();
+        batchTransferService.processBatch(batch);
+        report("batch-transfer", TRANSFERS, roundTripsBefore, started);
+    }
+
+    private void report(String path, int rows, long roundTripsBefore, long startedNanos) {
+        long roundTrips = StatementCounter.roundTrips() - roundTripsBefore;
+        double elapsedMillis = (System.nanoTime() - startedNanos) / 1e6;
+        System.out.printf("[round-trips] path=%s rows=%d round-trips=%d per-row=%.2f time=%.0fms per-row=%.3fms%n",
+            path, rows, roundTrips, (double) roundTrips / rows, elapsedMillis, elapsedMillis / rows);
+    }
+
+    private List<TransferRequest> transfers(List<String> accountNumbers, int count, long seed) {
+        Random random = new Random(seed);
+        List<TransferRequest> transfers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int from = random.nextInt(accountNumbers.size());
+            int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+
+            TransferRequest transfer = new TransferRequest();
+            transfer.setFromAccountNumber(accountNumbers.get(from));
+            transfer.setToAccountNumber(accountNumbers.get(to));
+            transfer.setAmount(BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+            transfer.setCurrency(Currency.USD.name());
+            transfers.add(transfer);
+        }
+        return transfers;
+    }
+
+    private CustomerResponse createCustomer() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Round Trips");
+        customerRequest.setEmail("round-trips@benchmark.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("ROUND-TRIPS");
+        customerRequest.setDateOfBirth("1990-01-01");
+        return customerService.createIndividualCustomer(customerRequest);
+    }
+
+    private List<String> createAccounts(CustomerResponse customer) {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            AccountResponse account = accountService.createAccount(accountRequest);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.bank_system.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link WebTierLoadBenchmark} with the {@code virtual-threads} profile: requests on virtual
+ * threads, limited to {@code bank.web.max-concurrent-requests} in front of the JDBC pool.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.tomcat.max-connections=12000",
+    "server.tomcat.accept-count=1000",
+    "spring.datasource.hikari.maximum-pool-size=32",
+    "bank.web.max-concurrent-requests=64",
+    "bank.web.admission-timeout-ms=5000"
+})
+@ActiveProfiles({"virtual-threads", "benchmark"})
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class VirtualThreadLoadBenchmark extends WebTierLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
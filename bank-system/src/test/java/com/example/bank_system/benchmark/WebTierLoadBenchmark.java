@@ -0,0 +1,195 @@
+package com.example.bank_system.benchmark;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP load test of the web tier: for each level of concurrent clients, every client loops for
+ * {@code bench.seconds} doing account lookups and (one in ten) transfers between random accounts,
+ * and the run reports throughput, latency percentiles and errors (including 503 rejections). A short
+ * unreported warm-up round runs first so JIT compilation and connection setup do not skew the first level.
+ * {@link PlatformThreadLoadBenchmark} and {@link VirtualThreadLoadBenchmark} run it against
+ * Tomcat's platform thread pool and against virtual threads with the concurrency guardrail.
+ *
+ * <p>Run both with {@code mvn test -Pbenchmark -Dtest='*ThreadLoadBenchmark'}; tune with
+ * {@code -Dbench.clients=1000,5000,10000}, {@code -Dbench.seconds}, {@code -Dbench.warmup-seconds} and {@code -Dbench.accounts}.
+ * Each client holds its own connection, so 10k clients need a file descriptor limit above 20k.
+ */
+abstract class WebTierLoadBenchmark {
+
+    private static final int[] CLIENT_LEVELS = Arrays.stream(System.getProperty("bench.clients", "1000,2500").split(","))
+        .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 200);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 20);
+    private static final int WARMUP_CLIENTS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    abstract String mode();
+
+    @Test
+    void loadTest() throws Exception {
+        List<String> accountNumbers = createAccounts();
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+        run(client, accountNumbers, WARMUP_CLIENTS, WARMUP_SECONDS, false);
+        for (int clients : CLIENT_LEVELS) {
+            run(client, accountNumbers, clients, SECONDS, true);
+        }
+    }
+
+    private void run(HttpClient client, List<String> accountNumbers, int clients, int seconds, boolean report)
+            throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        // Platform threads on the client side, so in virtual mode the clients do not compete with the
+        // server's requests for the same virtual-thread carriers
+        ThreadFactory clientThreads = Thread.ofPlatform().name("load-client-", 0).stackSize(256 * 1024).factory();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(clientThreads)) {
+            for (int c = 0; c < clients; c++) {
+                results.add(executor.submit(() -> runClient(client, accountNumbers, start, deadline, errors, rejected)));
+            }
+            long startedAt = System.nanoTime();
+            deadline[0] = startedAt + Duration.ofSeconds(seconds).toNanos();
+            start.countDown();
+
+            long[] latencies = results.stream().map(WebTierLoadBenchmark::join).flatMapToLong(Arrays::stream).toArray();
+            long elapsedNanos = System.nanoTime() - startedAt;
+            if (!report) {
+                return;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("[web] mode=%s clients=%d requests=%d errors=%d rejected=%d throughput=%.1f req/s " +
+                    "p50=%.2fms p99=%.2fms max=%.2fms%n",
+                mode(), clients, latencies.length, errors.get(), rejected.get(),
+                latencies.length / (elapsedNanos / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    private long[] runClient(HttpClient client, List<String> accountNumbers, CountDownLatch start, long[] deadline,
+                             AtomicInteger errors, AtomicInteger rejected) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[64];
+        int count = 0;
+        start.await();
+        while (System.nanoTime() < deadline[0]) {
+            HttpRequest request = random.nextInt(10) == 0
+                ? transferRequest(accountNumbers, random)
+                : HttpRequest.newBuilder(uri("/api/accounts/" + accountNumbers.get(random.nextInt(accountNumbers.size()))))
+                    .timeout(Duration.ofSeconds(60)).GET().build();
+
+            long began = System.nanoTime();
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 503) {
+                    rejected.incrementAndGet();
+                } else if (status >= 300) {
+                    errors.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - began;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private HttpRequest transferRequest(List<String> accountNumbers, ThreadLocalRandom random) {
+        int from = random.nextInt(accountNumbers.size());
+        int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+        String body = """
+            {"fromAccountNumber":"%s","toAccountNumber":"%s","amount":%s,"currency":"USD"}"""
+            .formatted(accountNumbers.get(from), accountNumbers.get(to), BigDecimal.valueOf(random.nextInt(1, 1000), 2));
+        return HttpRequest.newBuilder(uri("/api/v1/transfer"))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private List<String> createAccounts() {
+        CreateIndividualCustomerRequest customerRequest = new CreateIndividualCustomerRequest();
+        customerRequest.setName("Load " + mode());
+        customerRequest.setEmail(mode() + "@load.test");
+        customerRequest.setPhone("+1000000000");
+        customerRequest.setAddress("1 Benchmark Way");
+        customerRequest.setNationalId("LOAD-" + mode());
+        customerRequest.setDateOfBirth("1990-01-01");
+        CustomerResponse customer = customerService.createIndividualCustomer(customerRequest);
+
+        List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest accountRequest = new CreateAccountRequest();
+            accountRequest.setCustomerId(customer.getId());
+            accountRequest.setAccountType(Account.AccountType.CHECKING);
+            accountRequest.setInitialBalance(new BigDecimal("1000000.00"));
+            accountRequest.setCurrency(Currency.USD);
+            AccountResponse account = accountService.createAccount(accountRequest);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
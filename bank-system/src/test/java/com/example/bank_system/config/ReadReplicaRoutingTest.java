@@ -0,0 +1,143 @@
+package com.example.bank_system.config;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.dto.TransactionApiResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.service.AccountService;
+import com.example.bank_system.service.CustomerService;
+import com.example.bank_system.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application against two embedded databases, one as the primary and one as the replica
+ * (see {@code application-replica.properties}). Replication is simulated by copying the primary, so
+ * anything written after the copy shows which database a read went to.
+ */
+@SpringBootTest
+@ActiveProfiles("replica")
+@EmbeddedKafka(partitions = 3, topics = "transaction")
+class ReadReplicaRoutingTest {
+
+    private static final long MAX_LAG_MS = 1000;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    void readOnlyTransactions_ReadFromReplicaUntilTheirAccountsAreWritten() throws InterruptedException {
+        // Given: replicated accounts, no longer recently written
+        CustomerResponse customer = createCustomer();
+        AccountResponse from = createAccount(customer);
+        AccountResponse to = createAccount(customer);
+        replicate();
+        Thread.sleep(MAX_LAG_MS + 100);
+
+        // When: a change reaches the primary only
+        new JdbcTemplate(primaryDataSource).update("UPDATE accounts SET balance = 500.00 WHERE id = ?", from.getId());
+
+        // Then: reads are served by the replica
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountByNumber(from.getAccountNumber()).getBalance()));
+
+        // When: a transfer moves money, still not replicated
+        transactionService.processTransfer(transfer(from, to, "10.00"));
+
+        // Then: the accounts it wrote, and their owner's list, are read from the primary
+        assertEquals(0, new BigDecimal("490.00").compareTo(accountService.getAccountByNumber(from.getAccountNumber()).getBalance()));
+        assertEquals(0, new BigDecimal("110.00").compareTo(accountService.getAccountByNumber(to.getAccountNumber()).getBalance()));
+        List<AccountResponse> accounts = accountService.getAccountsByCustomerId(customer.getId());
+        assertTrue(accounts.stream().anyMatch(account -> new BigDecimal("490.00").compareTo(account.getBalance()) == 0));
+
+        // And once the lag window has passed, the replica again
+        Thread.sleep(MAX_LAG_MS + 100);
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountByNumber(from.getAccountNumber()).getBalance()));
+    }
+
+    @Test
+    void readFromPrimary_TransferStatusSeesUnreplicatedTransfer() {
+        // Given
+        CustomerResponse customer = createCustomer();
+        AccountResponse from = createAccount(customer);
+        AccountResponse to = createAccount(customer);
+        replicate();
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transfer(from, to, "25.00"));
+
+        // Then: the replica does not have the transfer, the status read finds it on the primary
+        String transactionId = new JdbcTemplate(primaryDataSource)
+            .queryForObject("SELECT transaction_id FROM transactions WHERE id = ?", String.class, response.getTransactionId());
+        assertEquals(0, new JdbcTemplate(replicaDataSource)
+            .queryForObject("SELECT COUNT(*) FROM transactions WHERE transaction_id = ?", Integer.class, transactionId));
+        assertEquals("COMPLETED", transactionService.getTransferStatus(transactionId).getStatus());
+    }
+
+    /** Replaces the replica with a copy of the primary, schema and rows. */
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    private CustomerResponse createCustomer() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        CreateIndividualCustomerRequest request = new CreateIndividualCustomerRequest();
+        request.setName("Replica Test");
+        request.setEmail("replica-" + suffix + "@test.example");
+        request.setPhone("+1000000000");
+        request.setAddress("1 Replica Way");
+        request.setNationalId("REPLICA-" + suffix);
+        request.setDateOfBirth("1990-01-01");
+        return customerService.createIndividualCustomer(request);
+    }
+
+    private AccountResponse createAccount(CustomerResponse customer) {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setCustomerId(customer.getId());
+        request.setAccountType(Account.AccountType.CHECKING);
+        request.setInitialBalance(new BigDecimal("100.00"));
+        request.setCurrency(Currency.USD);
+        return accountService.createAccount(request);
+    }
+
+    private static TransferRequest transfer(AccountResponse from, AccountResponse to, String amount) {
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromAccountNumber(from.getAccountNumber());
+        transfer.setToAccountNumber(to.getAccountNumber());
+        transfer.setAmount(new BigDecimal(amount));
+        transfer.setCurrency(Currency.USD.name());
+        return transfer;
+    }
+}
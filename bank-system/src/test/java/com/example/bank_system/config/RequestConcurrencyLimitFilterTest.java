@@ -0,0 +1,114 @@
+package com.example.bank_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestConcurrencyLimitFilter(1, 50, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void doFilter_UnderLimit_PassesRequestThrough() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(apiRequest(), response, chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, meterRegistry.get("bank.web.requests.active").gauge().value());
+    }
+
+    @Test
+    void doFilter_LimitReached_RejectsWith503AfterTimeout() throws Exception {
+        // Given: one request holds the only permit
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(apiRequest(), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(apiRequest(), response, chain);
+
+        // Then
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Server is busy, please retry"));
+        assertEquals(1.0, meterRegistry.get("bank.web.requests.rejected").counter().count());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doFilter_AsyncRequest_HoldsPermitUntilComplete() throws Exception {
+        // Given: a streamed response that goes on after the filter chain returns
+        MockHttpServletRequest request = apiRequest();
+        request.setAsyncSupported(true);
+        FilterChain asyncChain = (servletRequest, servletResponse) -> servletRequest.startAsync();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("bank.web.requests.active").gauge().value());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        request.getAsyncContext().complete();
+        assertEquals(0.0, meterRegistry.get("bank.web.requests.active").gauge().value());
+    }
+
+    @Test
+    void doFilter_NonApiPath_NotLimited() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        // When & Then
+        assertTrue(filter.shouldNotFilter(request));
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/accounts/ACC123456789");
+    }
+}
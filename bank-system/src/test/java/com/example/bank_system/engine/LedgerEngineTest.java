@@ -0,0 +1,197 @@
+package com.example.bank_system.engine;
+
+import com.example.bank_system.entity.*;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.EngineCheckpointRepository;
+import com.example.bank_system.service.BusinessIdGenerator;
+import com.example.bank_system.service.TransactionEventBuilder;
+import com.example.bank_system.service.TransferValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.bank_system.TransferFixtures.account;
+import static com.example.bank_system.TransferFixtures.transfer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerEngineTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private EngineCheckpointRepository checkpointRepository;
+
+    @Mock
+    private LedgerWriteBehind writeBehind;
+
+    @Mock
+    private TransactionIdAllocator idAllocator;
+
+    @Mock
+    private TransactionEventBuilder transactionEventBuilder;
+
+    @TempDir
+    Path journalDir;
+
+    private final AtomicLong ids = new AtomicLong(100);
+    private LedgerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accountRepository.findAll()).thenAnswer(invocation -> List.of(
+            account(1L, "ACC000000001", "1000.00"), account(2L, "ACC000000002", "2000.00")));
+        lenient().when(checkpointRepository.findAll()).thenReturn(List.of());
+        lenient().when(idAllocator.nextId()).thenAnswer(invocation -> ids.incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void transfer_AcrossShards_DebitsThenCredits() throws IOException {
+        // Given
+        engine = startEngine();
+
+        // When
+        Transaction transaction = engine.transfer(transfer("ACC000000001", "ACC000000002", "300.00"), null);
+
+        // Then
+        assertEquals(101L, transaction.getId());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, transaction.getStatus());
+        JournalRecord credit = awaitCredit();
+        assertEquals(new BigDecimal("700.00"), credit.counterpartyBalanceAfter());
+        engine.transferEvent(credit);
+        verify(transactionEventBuilder).buildSuccessfulTransferEvent(argThat(event -> event.getId() == 101L),
+            eq(new BigDecimal("1000.00")), eq(new BigDecimal("700.00")),
+            eq(new BigDecimal("2000.00")), eq(new BigDecimal("2300.00")), eq("USD"));
+        assertEquals(new BigDecimal("700.00"), engine.balance("ACC000000001"));
+        assertEquals(new BigDecimal("2300.00"), engine.balance("ACC000000002"));
+    }
+
+    @Test
+    void transfer_InsufficientBalance_RejectedWithoutChanges() throws IOException {
+        // Given
+        engine = startEngine();
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> engine.transfer(transfer("ACC000000001", "ACC000000002", "1000.01"), null));
+        assertEquals("Insufficient balance", exception.getMessage());
+        assertEquals(new BigDecimal("1000.00"), engine.balance("ACC000000001"));
+        verify(writeBehind, never()).enqueue(any());
+    }
+
+    @Test
+    void transfer_UnknownAccount_ThrowsException() throws IOException {
+        // Given
+        engine = startEngine();
+        when(accountRepository.findByAccountNumber("ACC999999999")).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> engine.transfer(transfer("ACC000000001", "ACC999999999", "10.00"), null));
+        assertEquals("Account not found: ACC999999999", exception.getMessage());
+    }
+
+    @Test
+    void updateStatus_SourceSuspended_RejectsLaterTransfers() throws IOException {
+        // Given
+        engine = startEngine();
+        engine.transfer(transfer("ACC000000001", "ACC000000002", "100.00"), null);
+
+        // When
+        engine.updateStatus("ACC000000001", Account.AccountStatus.SUSPENDED);
+
+        // Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> engine.transfer(transfer("ACC000000001", "ACC000000002", "100.00"), null));
+        assertEquals("Source account is not active", exception.getMessage());
+        assertEquals(new BigDecimal("900.00"), engine.balance("ACC000000001"));
+    }
+
+    @Test
+    void start_AfterCrash_ReplaysJournalAfterCheckpoint() throws Exception {
+        // Given: transfers journaled but never written to MySQL
+        LedgerEngine first = startEngine();
+        first.transfer(transfer("ACC000000001", "ACC000000002", "300.00"), null);
+        first.transfer(transfer("ACC000000002", "ACC000000001", "50.00"), null);
+        first.stop();
+
+        // When
+        engine = startEngine();
+
+        // Then
+        assertEquals(new BigDecimal("750.00"), engine.balance("ACC000000001"));
+        assertEquals(new BigDecimal("2250.00"), engine.balance("ACC000000002"));
+        verify(writeBehind, atLeastOnce()).flushAll();
+        try (var files = Files.list(journalDir)) {
+            assertTrue(files.noneMatch(path -> path.getFileName().toString().startsWith("retired-")));
+        }
+    }
+
+    @Test
+    void start_DebitWithoutCredit_ReissuesCredit() throws Exception {
+        // Given: the source shard journaled the debit, the process died before the credit
+        Path active = Files.createDirectories(journalDir.resolve("active"));
+        try (LedgerJournal journal = new LedgerJournal(active.resolve("shard-1.journal"), false)) {
+            journal.append(List.of(new JournalRecord(JournalRecord.Type.DEBIT, 1, 1L, 7L, "TXN1", 1L, 2L,
+                new BigDecimal("300.00"), "USD", null, null, "KEY-7", LocalDateTime.now(), 1L, new BigDecimal("700.00"),
+                null)));
+        }
+
+        // When
+        engine = startEngine();
+
+        // Then
+        assertEquals(new BigDecimal("700.00"), engine.balance("ACC000000001"));
+        assertEquals(new BigDecimal("2300.00"), engine.balance("ACC000000002"));
+        JournalRecord credit = awaitCredit();
+        assertEquals(7L, credit.transactionId());
+        assertEquals("KEY-7", credit.idempotencyKey());
+        assertEquals(new BigDecimal("700.00"), credit.counterpartyBalanceAfter());
+    }
+
+    private LedgerEngine startEngine() throws IOException {
+        LedgerEngine ledgerEngine = new LedgerEngine(accountRepository, checkpointRepository, writeBehind,
+            idAllocator, new TransferValidator(), transactionEventBuilder, new BusinessIdGenerator(0));
+        ReflectionTestUtils.setField(ledgerEngine, "shardCount", 2);
+        ReflectionTestUtils.setField(ledgerEngine, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(ledgerEngine, "fsync", false);
+        ledgerEngine.start();
+        return ledgerEngine;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JournalRecord awaitCredit() {
+        ArgumentCaptor<List<JournalRecord>> enqueued = ArgumentCaptor.forClass(List.class);
+        verify(writeBehind, timeout(2000).atLeast(2)).enqueue(enqueued.capture());
+        return enqueued.getAllValues().stream()
+            .flatMap(List::stream)
+            .filter(record -> record.type() == JournalRecord.Type.CREDIT)
+            .findFirst()
+            .orElseThrow();
+    }
+}
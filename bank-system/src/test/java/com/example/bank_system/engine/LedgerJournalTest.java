@@ -0,0 +1,95 @@
+package com.example.bank_system.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendAndRead_RoundTripsRecords() throws IOException {
+        // Given
+        Path path = directory.resolve("shard-0.journal");
+        JournalRecord debit = record(JournalRecord.Type.DEBIT, 1, "Rent", "REF001", "700.00");
+        JournalRecord credit = record(JournalRecord.Type.CREDIT, 2, null, null, "2300.00");
+
+        // When
+        try (LedgerJournal journal = new LedgerJournal(path, true)) {
+            journal.append(List.of(debit));
+            journal.append(List.of(credit));
+        }
+
+        // Then
+        assertEquals(List.of(debit, credit), LedgerJournal.read(path));
+    }
+
+    @Test
+    void read_TornTail_ReturnsAcknowledgedRecordsOnly() throws IOException {
+        // Given
+        Path path = directory.resolve("shard-0.journal");
+        JournalRecord debit = record(JournalRecord.Type.DEBIT, 1, "Rent", "REF001", "700.00");
+        long validLength;
+        try (LedgerJournal journal = new LedgerJournal(path, false)) {
+            journal.append(List.of(debit));
+            validLength = journal.position();
+            journal.append(List.of(record(JournalRecord.Type.CREDIT, 2, null, null, "2300.00")));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength + 10);
+        }
+
+        // When
+        List<JournalRecord> records = LedgerJournal.read(path);
+
+        // Then
+        assertEquals(List.of(debit), records);
+    }
+
+    @Test
+    void truncateTo_DropsFailedAppend() throws IOException {
+        // Given
+        Path path = directory.resolve("shard-0.journal");
+        JournalRecord debit = record(JournalRecord.Type.DEBIT, 1, "Rent", "REF001", "700.00");
+
+        // When
+        try (LedgerJournal journal = new LedgerJournal(path, false)) {
+            journal.append(List.of(debit));
+            long position = journal.position();
+            journal.append(List.of(record(JournalRecord.Type.DEBIT, 2, null, null, "400.00")));
+            journal.truncateTo(position);
+        }
+
+        // Then
+        assertEquals(List.of(debit), LedgerJournal.read(path));
+    }
+
+    @Test
+    void balanceBefore_UndoesTheChange() {
+        assertEquals(new BigDecimal("1000.00"),
+            record(JournalRecord.Type.DEBIT, 1, null, null, "700.00").balanceBefore());
+        assertEquals(new BigDecimal("2000.00"),
+            record(JournalRecord.Type.CREDIT, 2, null, null, "2300.00").balanceBefore());
+    }
+
+    private JournalRecord record(JournalRecord.Type type, long sequence, String description, String reference,
+                                 String balanceAfter) {
+        long accountId = type == JournalRecord.Type.DEBIT ? 1L : 2L;
+        return new JournalRecord(type, 0, sequence, 42L, "TXN1700000000000ABCDEF12", 1L, 2L,
+            new BigDecimal("300.00"), "USD", description, reference, reference,
+            LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+            accountId, new BigDecimal(balanceAfter),
+            type == JournalRecord.Type.CREDIT ? new BigDecimal("700.00") : null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bank_system.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_ConvertsToMinorUnitsOfTheCurrency() {
+        assertEquals(123456, Money.of(new BigDecimal("1234.56"), Currency.USD).amountMinor());
+        assertEquals(1200, Money.of(new BigDecimal("12"), Currency.EUR).amountMinor());
+        assertEquals(500, Money.of(new BigDecimal("500"), Currency.JPY).amountMinor());
+    }
+
+    @Test
+    void of_TrailingZerosBeyondCurrencyScale_Accepted() {
+        // JPY balances come back from the DECIMAL(19,2) column as 100.00
+        assertEquals(100, Money.of(new BigDecimal("100.00"), Currency.JPY).amountMinor());
+    }
+
+    @Test
+    void of_TooManyDecimalPlaces_ThrowsException() {
+        RuntimeException usd = assertThrows(RuntimeException.class,
+            () -> Money.of(new BigDecimal("10.005"), Currency.USD));
+        assertEquals("Amount 10.005 has more than 2 decimal places, the most USD allows", usd.getMessage());
+
+        RuntimeException jpy = assertThrows(RuntimeException.class,
+            () -> Money.of(new BigDecimal("0.5"), Currency.JPY));
+        assertEquals("Amount 0.5 has more than 0 decimal places, the most JPY allows", jpy.getMessage());
+    }
+
+    @Test
+    void toBigDecimal_UsesCurrencyScale() {
+        assertEquals(new BigDecimal("1234.56"), Money.ofMinor(123456, Currency.USD).toBigDecimal());
+        assertEquals(new BigDecimal("500"), Money.ofMinor(500, Currency.JPY).toBigDecimal());
+        assertEquals("-0.05 GBP", Money.ofMinor(-5, Currency.GBP).toString());
+    }
+
+    @Test
+    void plusAndMinus_AreExact() {
+        Money balance = Money.of(new BigDecimal("0.30"), Currency.USD);
+        Money tenCents = Money.of(new BigDecimal("0.10"), Currency.USD);
+
+        assertEquals(Money.ofMinor(0, Currency.USD), balance.minus(tenCents).minus(tenCents).minus(tenCents));
+        assertEquals(Money.ofMinor(40, Currency.USD), balance.plus(tenCents));
+        assertTrue(tenCents.minus(balance).isNegative());
+        assertTrue(tenCents.isLessThan(balance));
+    }
+
+    @Test
+    void plus_Overflow_ThrowsException() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, Currency.USD);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1, Currency.USD)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE, Currency.USD).minus(Money.ofMinor(1, Currency.USD)));
+    }
+
+    @Test
+    void of_OutOfLongRange_ThrowsException() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("100000000000000000.00"), Currency.USD));
+    }
+
+    @Test
+    void arithmetic_DifferentCurrencies_ThrowsException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> Money.ofMinor(1, Currency.USD).plus(Money.ofMinor(1, Currency.EUR)));
+        assertEquals("Currency mismatch: USD and EUR", exception.getMessage());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bank_system.event;
+
+import com.example.event_schema.EventEncoding;
+import com.example.event_schema.TransactionEventCodec;
+import com.example.event_schema.TransactionEventRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionEventSerializerTest {
+
+    @Test
+    void serialize_Binary_WritesCodecRecordWithHeader() {
+        // Given
+        TransactionEventSerializer serializer = serializer("binary");
+        RecordHeaders headers = new RecordHeaders();
+
+        // When
+        byte[] value = serializer.serialize("transaction", headers, event());
+
+        // Then
+        assertArrayEquals(EventEncoding.BINARY.headerValue(), headers.lastHeader(EventEncoding.HEADER).value());
+        TransactionEventRecord record = TransactionEventCodec.decode(value);
+        assertEquals(1_736_937_045_123_000L, record.timestampMicros());
+        assertEquals(125_075L, record.amountMinor());
+        assertEquals(1_500_000L, record.fromAccount().balanceBeforeMinor());
+        assertEquals(25_125_075L, record.toAccount().balanceAfterMinor());
+        assertEquals("Tech Corp Ltd", record.toAccount().customerName());
+        assertEquals("api", record.source());
+    }
+
+    @Test
+    void serialize_DefaultEncoding_WritesJsonWithoutHeader() {
+        // Given
+        TransactionEventSerializer serializer = serializer(null);
+        RecordHeaders headers = new RecordHeaders();
+
+        // When
+        String value = new String(serializer.serialize("transaction", headers, event()), StandardCharsets.UTF_8);
+
+        // Then
+        assertNull(headers.lastHeader(EventEncoding.HEADER));
+        assertTrue(value.contains("\"timestamp\":\"2025-01-15T10:30:45.123Z\""), value);
+    }
+
+    @Test
+    void serialize_BinaryEventWithoutMinorUnits_FallsBackToJson() {
+        // Given
+        TransactionEventSerializer serializer = serializer("binary");
+        TransactionEvent legacy = event();
+        legacy.setAmountMinor(null);
+        TransactionEvent subCent = event();
+        subCent.getFromAccount().setBalanceAfter(new BigDecimal("13749.255"));
+        RecordHeaders headers = new RecordHeaders();
+
+        // When
+        serializer.serialize("transaction", headers, legacy);
+        serializer.serialize("transaction", headers, subCent);
+
+        // Then
+        assertNull(headers.lastHeader(EventEncoding.HEADER));
+    }
+
+    private static TransactionEventSerializer serializer(String encoding) {
+        TransactionEventSerializer serializer = new TransactionEventSerializer();
+        serializer.configure(encoding != null ? Map.of(TransactionEventSerializer.ENCODING_CONFIG, encoding) : Map.of(),
+            false);
+        return serializer;
+    }
+
+    private static TransactionEvent event() {
+        return new TransactionEvent("transaction", LocalDateTime.of(2025, 1, 15, 10, 30, 45, 123_000_000), 3001L,
+            new TransactionEvent.AccountDetails(2001L, new BigDecimal("15000.00"), new BigDecimal("13749.25"),
+                new TransactionEvent.CustomerDetails(1001L, "John Doe", "individual", "123456789", null)),
+            new TransactionEvent.AccountDetails(2002L, new BigDecimal("250000.00"), new BigDecimal("251250.75"),
+                new TransactionEvent.CustomerDetails(1002L, "Tech Corp Ltd", "business", null, "BRN123456")),
+            new BigDecimal("1250.75"), 125_075L, 2, "USD", "Invoice 2025-0142 payment",
+            new TransactionEvent.Metadata("bank-system", "api"));
+    }
+}
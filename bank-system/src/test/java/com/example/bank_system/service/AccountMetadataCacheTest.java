@@ -0,0 +1,83 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransferAccountView;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountMetadataCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final AccountMetadataCache cache = new AccountMetadataCache(meterRegistry, 10000, 30000, now::get);
+
+    @Test
+    void put_StoresMetadataWithoutBalance() {
+        // When
+        TransferAccountView cached = cache.put(view("ACC1"), cache.stamp());
+
+        // Then
+        assertNull(cached.getBalance());
+        assertEquals(cached, cache.get("ACC1"));
+        assertEquals(Account.AccountStatus.ACTIVE, cache.get("ACC1").getStatus());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void get_ExpiredEntry_IsAMiss() {
+        // Given
+        cache.put(view("ACC1"), cache.stamp());
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(30000));
+
+        // Then
+        assertNull(cache.get("ACC1"));
+        assertEquals(0, cache.size());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void put_AfterInvalidationDuringLoad_IsNotCached() {
+        // Given
+        long stamp = cache.stamp();
+        cache.invalidate("ACC1"); // e.g. a status change committed while the view was being loaded
+
+        // When
+        TransferAccountView loaded = cache.put(view("ACC1"), stamp);
+
+        // Then
+        assertEquals("ACC1", loaded.getAccountNumber());
+        assertNull(cache.get("ACC1"));
+    }
+
+    @Test
+    void put_OverMaxSize_EvictsLeastRecentlyUsed() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccountMetadataCache cache = new AccountMetadataCache(meterRegistry, 2, 30000, now::get);
+        cache.put(view("ACC1"), cache.stamp());
+        cache.put(view("ACC2"), cache.stamp());
+        cache.get("ACC1");
+
+        // When
+        cache.put(view("ACC3"), cache.stamp());
+
+        // Then
+        assertNotNull(cache.get("ACC1"));
+        assertNull(cache.get("ACC2"));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    private static TransferAccountView view(String accountNumber) {
+        return new TransferAccountView(1L, accountNumber, Currency.USD, Account.AccountStatus.ACTIVE,
+            new BigDecimal("1000.00"), 1L);
+    }
+}
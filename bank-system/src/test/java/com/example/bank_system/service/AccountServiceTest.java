@@ -1,14 +1,19 @@
 package com.example.bank_system.service;
 
 import com.example.bank_system.dto.*;
+import com.example.bank_system.engine.LedgerEngine;
 import com.example.bank_system.entity.*;
 import com.example.bank_system.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,7 +23,6 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +34,15 @@ class AccountServiceTest {
     @Mock
     private CustomerService customerService;
 
+    @Spy
+    private BusinessIdGenerator idGenerator = new BusinessIdGenerator(0);
+
+    @Spy
+    private AccountMetadataCache metadataCache = new AccountMetadataCache(new SimpleMeterRegistry(), 10000, 30000);
+
+    @Mock
+    private ReplicaStalenessGuard stalenessGuard;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -65,7 +78,6 @@ class AccountServiceTest {
     void createAccount_Success() {
         // Given
         when(customerService.findCustomerById(1L)).thenReturn(customer);
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
 
         // When
@@ -83,7 +95,22 @@ class AccountServiceTest {
         assertEquals("John Doe", response.getCustomerName());
         
         verify(customerService).findCustomerById(1L);
-        verify(accountRepository).save(any(Account.class));
+        // The account number is generated in memory, without probing the database
+        verify(accountRepository).save(argThat(saved -> saved.getAccountNumber().matches("ACC\\d{16}")));
+        verifyNoMoreInteractions(accountRepository);
+        verify(stalenessGuard).recordWrite(account);
+    }
+
+    @Test
+    void createAccount_InitialBalanceBeyondCurrencyPrecision_ThrowsException() {
+        // Given
+        createAccountRequest.setInitialBalance(new BigDecimal("1000.005"));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountService.createAccount(createAccountRequest));
+        assertEquals("Amount 1000.005 has more than 2 decimal places, the most USD allows", exception.getMessage());
+        verifyNoInteractions(accountRepository);
     }
 
     @Test
@@ -113,6 +140,160 @@ class AccountServiceTest {
         verify(accountRepository).findByAccountNumber("INVALID");
     }
 
+    @Test
+    void findAccountsForUpdate_ReturnsAccountsInRequestOrder() {
+        // Given
+        Account destination = new Account();
+        destination.setId(2L);
+        destination.setAccountNumber("ACC987654321");
+        when(accountRepository.findIdsByAccountNumberIn(List.of("ACC987654321", "ACC123456789")))
+            .thenReturn(List.of(1L, 2L));
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L)))
+            .thenReturn(List.of(account, destination)); // locked in ascending id order
+
+        // When
+        List<Account> result = accountService.findAccountsForUpdate("ACC987654321", "ACC123456789");
+
+        // Then
+        assertEquals(List.of(destination, account), result);
+    }
+
+    @Test
+    void findAccountsForUpdate_NotFound_ThrowsException() {
+        // Given
+        when(accountRepository.findIdsByAccountNumberIn(List.of("ACC123456789", "INVALID")))
+            .thenReturn(List.of(1L));
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L))).thenReturn(List.of(account));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountService.findAccountsForUpdate("ACC123456789", "INVALID"));
+        assertEquals("Account not found: INVALID", exception.getMessage());
+    }
+
+    @Test
+    void findTransferAccounts_ReturnsViewsInRequestOrderFromOneQuery() {
+        // Given
+        TransferAccountView source = view(1L, "ACC123456789");
+        TransferAccountView destination = view(2L, "ACC987654321");
+        when(accountRepository.findTransferViewsByAccountNumberIn(List.of("ACC987654321", "ACC123456789")))
+            .thenReturn(List.of(source, destination));
+
+        // When
+        List<TransferAccountView> result = accountService.findTransferAccounts("ACC987654321", "ACC123456789");
+
+        // Then
+        assertEquals(List.of(destination, source), result);
+        verify(accountRepository).findTransferViewsByAccountNumberIn(any());
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    void findTransferAccounts_NotFound_ThrowsException() {
+        // Given
+        when(accountRepository.findTransferViewsByAccountNumberIn(List.of("ACC123456789", "INVALID")))
+            .thenReturn(List.of(view(1L, "ACC123456789")));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountService.findTransferAccounts("ACC123456789", "INVALID"));
+        assertEquals("Account not found: INVALID", exception.getMessage());
+    }
+
+    @Test
+    void findTransferMetadata_SecondLookup_ServedFromCache() {
+        // Given
+        when(accountRepository.findTransferViewsByAccountNumberIn(List.of("ACC123456789", "ACC987654321")))
+            .thenReturn(List.of(view(1L, "ACC123456789"), view(2L, "ACC987654321")));
+        accountService.findTransferMetadata("ACC123456789", "ACC987654321");
+
+        // When
+        List<TransferAccountView> result = accountService.findTransferMetadata("ACC123456789", "ACC987654321");
+
+        // Then
+        assertEquals("ACC123456789", result.get(0).getAccountNumber());
+        assertEquals("ACC987654321", result.get(1).getAccountNumber());
+        assertNull(result.get(0).getBalance());
+        verify(accountRepository, times(1)).findTransferViewsByAccountNumberIn(any());
+    }
+
+    @Test
+    void updateAccountStatus_InvalidatesCachedMetadata() {
+        // Given
+        when(accountRepository.findTransferViewsByAccountNumberIn(List.of("ACC123456789", "ACC987654321")))
+            .thenReturn(List.of(view(1L, "ACC123456789"), view(2L, "ACC987654321")));
+        accountService.findTransferMetadata("ACC123456789", "ACC987654321");
+        when(accountRepository.updateStatus("ACC123456789", Account.AccountStatus.SUSPENDED)).thenReturn(1);
+        account.setStatus(Account.AccountStatus.SUSPENDED);
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+
+        // When
+        AccountResponse response = accountService.updateAccountStatus("ACC123456789", Account.AccountStatus.SUSPENDED);
+
+        // Then
+        assertEquals(Account.AccountStatus.SUSPENDED, response.getStatus());
+        assertNull(metadataCache.get("ACC123456789"));
+        assertNotNull(metadataCache.get("ACC987654321"));
+    }
+
+    @Test
+    void updateAccountStatus_LedgerEngine_AppliesStatusToEngine() {
+        // Given
+        LedgerEngine ledgerEngine = mock(LedgerEngine.class);
+        ReflectionTestUtils.setField(accountService, "ledgerEngine", ledgerEngine);
+        when(accountRepository.updateStatus("ACC123456789", Account.AccountStatus.INACTIVE)).thenReturn(1);
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+
+        // When
+        accountService.updateAccountStatus("ACC123456789", Account.AccountStatus.INACTIVE);
+
+        // Then
+        verify(ledgerEngine).updateStatus("ACC123456789", Account.AccountStatus.INACTIVE);
+    }
+
+    @Test
+    void updateAccountStatus_NotFound_ThrowsException() {
+        // Given
+        when(accountRepository.updateStatus("INVALID", Account.AccountStatus.CLOSED)).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountService.updateAccountStatus("INVALID", Account.AccountStatus.CLOSED));
+        assertEquals("Account not found: INVALID", exception.getMessage());
+        verify(metadataCache, never()).invalidateAfterCommit(any());
+    }
+
+    @Test
+    void applyAtomicTransfer_DestinationNoLongerActive_InvalidatesAndThrows() {
+        // Given
+        TransferAccountView source = view(1L, "ACC123456789");
+        TransferAccountView destination = view(2L, "ACC987654321");
+        when(accountRepository.debitIfSufficient(1L, new BigDecimal("10.00"))).thenReturn(1);
+        when(accountRepository.creditIfActive(2L, new BigDecimal("10.00"))).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountService.applyAtomicTransfer(source, destination, new BigDecimal("10.00")));
+        assertEquals("Destination account is not active", exception.getMessage());
+        verify(metadataCache).invalidate("ACC987654321");
+    }
+
+    @Test
+    void applyAtomicTransfer_DebitRejected_ReportsInsufficientBalanceForActiveAccount() {
+        // Given
+        TransferAccountView source = view(2L, "ACC123456789");
+        TransferAccountView destination = view(1L, "ACC987654321");
+        when(accountRepository.creditIfActive(1L, new BigDecimal("10.00"))).thenReturn(1);
+        when(accountRepository.debitIfSufficient(2L, new BigDecimal("10.00"))).thenReturn(0);
+        when(accountRepository.findStatusById(2L)).thenReturn(Account.AccountStatus.ACTIVE);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountService.applyAtomicTransfer(source, destination, new BigDecimal("10.00")));
+        assertEquals("Insufficient balance", exception.getMessage());
+        verify(metadataCache, never()).invalidate(any());
+    }
+
     @Test
     void getAccountByNumber_Success() {
         // Given
@@ -125,7 +306,10 @@ class AccountServiceTest {
         assertNotNull(response);
         assertEquals("ACC123456789", response.getAccountNumber());
         assertEquals("John Doe", response.getCustomerName());
-        verify(accountRepository).findByAccountNumber("ACC123456789");
+        // Recent writes are checked before the first query picks the replica or the primary
+        InOrder inOrder = inOrder(stalenessGuard, accountRepository);
+        inOrder.verify(stalenessGuard).routeAccountRead("ACC123456789");
+        inOrder.verify(accountRepository).findByAccountNumber("ACC123456789");
     }
 
     @Test
@@ -168,4 +352,9 @@ class AccountServiceTest {
         assertTrue(responses.isEmpty());
         verify(accountRepository).findByCustomerId(1L);
     }
+
+    private static TransferAccountView view(Long id, String accountNumber) {
+        return new TransferAccountView(id, accountNumber, Currency.USD, Account.AccountStatus.ACTIVE,
+            new BigDecimal("1000.00"), 1L);
+    }
 }
@@ -0,0 +1,137 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.archive.TransactionArchive;
+import com.example.bank_system.dto.AccountStatementResponse;
+import com.example.bank_system.dto.AccountStatementRow;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatementServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123456000);
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ReplicaStalenessGuard stalenessGuard;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @InjectMocks
+    private AccountStatementService accountStatementService;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = new Account();
+        account.setId(1L);
+        account.setAccountNumber("ACC123456789");
+        account.setCurrency(Currency.EUR);
+    }
+
+    @Test
+    void getStatement_FullPage_ReturnsCursorToTheLastRow() {
+        // Given
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+        when(transactionRepository.findStatementPage(eq(1L), any(), any(), eq(Long.MAX_VALUE), eq(2)))
+            .thenReturn(List.of(row(11L, CREATED_AT.plusSeconds(1)), row(10L, CREATED_AT)));
+
+        // When
+        AccountStatementResponse page = accountStatementService.getStatement("ACC123456789", null, null, null, 2);
+
+        // Then
+        assertEquals(Currency.EUR, page.getCurrency());
+        assertEquals(List.of("TXN11", "TXN10"),
+            page.getEntries().stream().map(AccountStatementResponse.Entry::getTransactionId).toList());
+        assertEquals(new AccountStatementService.Position(CREATED_AT, 10L),
+            AccountStatementService.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    void getStatement_WithCursor_ContinuesAfterIt() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        String cursor = AccountStatementService.encodeCursor(new AccountStatementService.Position(CREATED_AT, 10L));
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+        when(transactionRepository.findStatementPage(1L, from, CREATED_AT, 10L, 50))
+            .thenReturn(List.of(row(9L, CREATED_AT)));
+
+        // When
+        AccountStatementResponse page = accountStatementService.getStatement("ACC123456789", from, null, cursor, null);
+
+        // Then
+        assertEquals(1, page.getEntries().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getStatement_TableRunsOut_ContinuesIntoTheArchive() {
+        // Given
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+        when(transactionRepository.findStatementPage(eq(1L), any(), any(), eq(Long.MAX_VALUE), eq(3)))
+            .thenReturn(List.of(row(11L, CREATED_AT)));
+        when(transactionArchive.findStatementRows(eq(1L), any(), eq(CREATED_AT), eq(11L), eq(2)))
+            .thenReturn(List.of(row(9L, CREATED_AT.minusMonths(13)), row(8L, CREATED_AT.minusMonths(14))));
+
+        // When
+        AccountStatementResponse page = accountStatementService.getStatement("ACC123456789", null, null, null, 3);
+
+        // Then: the next page starts from the last archived row
+        assertEquals(List.of("TXN11", "TXN9", "TXN8"),
+            page.getEntries().stream().map(AccountStatementResponse.Entry::getTransactionId).toList());
+        assertEquals(new AccountStatementService.Position(CREATED_AT.minusMonths(14), 8L),
+            AccountStatementService.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    void getStatement_InvalidCursor_ThrowsException() {
+        // Given
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountStatementService.getStatement("ACC123456789", null, null, "not-a-cursor", null));
+        assertEquals("Invalid cursor", exception.getMessage());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getStatement_LimitTooLarge_ThrowsException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> accountStatementService.getStatement("ACC123456789", null, null, null, 501));
+        assertEquals("limit must be between 1 and 500", exception.getMessage());
+        verify(transactionRepository, never()).findStatementPage(any(), any(), any(), anyLong(), anyInt());
+    }
+
+    private static AccountStatementRow row(Long id, LocalDateTime createdAt) {
+        return new AccountStatementRow(id, "TXN" + id, "DEBIT", "ACC987654321", new BigDecimal("10.00"),
+            "TRANSFER", "COMPLETED", null, createdAt);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransferAccountView;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.dto.TransferStatusResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.exception.TransferQueueFullException;
+import com.example.bank_system.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static com.example.bank_system.TransferFixtures.account;
+import static com.example.bank_system.TransferFixtures.transfer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransferServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncTransferService asyncTransferService;
+    private TransferRequest transferRequest;
+    private Account fromAccount;
+    private Account toAccount;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(transactionService.buildTransferStatusResponse(any())).thenAnswer(AsyncTransferServiceTest::status);
+        lenient().when(transactionService.buildTransferStatusResponse(any(), any(), any(), any()))
+            .thenAnswer(AsyncTransferServiceTest::status);
+
+        meterRegistry = new SimpleMeterRegistry();
+        asyncTransferService = new AsyncTransferService(transactionService, transactionRepository, accountService,
+            new TransferValidator(), new BusinessIdGenerator(0), transactionTemplate, RestClient.builder(),
+            meterRegistry, 1000);
+        ReflectionTestUtils.setField(asyncTransferService, "workerCount", 0);
+        ReflectionTestUtils.setField(asyncTransferService, "callbackHosts", "callbacks.example.com, 127.0.0.1");
+
+        transferRequest = transfer("ACC123456789", "ACC987654321", "500.00");
+
+        fromAccount = account(1L, "ACC123456789", "1000.00");
+        toAccount = account(2L, "ACC987654321", "2000.00");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncTransferService.stop();
+    }
+
+    @Test
+    void submit_ValidTransfer_StoresPendingAndQueues() {
+        // Given
+        asyncTransferService.start();
+        stubAccountsAndSave();
+
+        // When
+        TransferStatusResponse response = asyncTransferService.submit(transferRequest, null, null);
+
+        // Then
+        assertEquals("PENDING", response.getStatus());
+        assertTrue(response.getTransactionId().startsWith("TXN"));
+        assertEquals(1, asyncTransferService.queued());
+        verify(transactionRepository).saveAndFlush(argThat(saved ->
+            saved.getStatus() == Transaction.TransactionStatus.PENDING && saved.getProcessedAt() == null));
+        verifyNoMoreInteractions(accountService);
+        verify(transactionService, never()).processPendingTransfer(any(), any());
+    }
+
+    @Test
+    void submit_QueueFull_RejectsWithoutStoring() {
+        // Given
+        ReflectionTestUtils.setField(asyncTransferService, "queueCapacity", 1);
+        asyncTransferService.start();
+        stubAccountsAndSave();
+        asyncTransferService.submit(transferRequest, null, null);
+
+        // When & Then
+        assertThrows(TransferQueueFullException.class, () -> asyncTransferService.submit(transferRequest, null, null));
+        verify(transactionRepository, times(1)).saveAndFlush(any());
+        assertEquals(1.0, meterRegistry.get("bank.transfer.async.rejected").counter().count());
+    }
+
+    @Test
+    void submit_InvalidTransfer_ReleasesQueueSlot() {
+        // Given
+        ReflectionTestUtils.setField(asyncTransferService, "queueCapacity", 1);
+        asyncTransferService.start();
+        transferRequest.setAmount(new BigDecimal("500.001"));
+        when(accountService.findTransferMetadata("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(view(fromAccount), view(toAccount)));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> asyncTransferService.submit(transferRequest, null, null));
+        assertEquals("Amount 500.001 has more than 2 decimal places, the most USD allows", exception.getMessage());
+
+        transferRequest.setAmount(new BigDecimal("500.00"));
+        when(accountService.getAccountReference(any())).thenReturn(fromAccount, toAccount);
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertEquals("PENDING", asyncTransferService.submit(transferRequest, null, null).getStatus());
+    }
+
+    @Test
+    void submit_UsedIdempotencyKey_ReturnsExistingTransfer() {
+        // Given
+        asyncTransferService.start();
+        Transaction existing = new Transaction();
+        existing.setTransactionId("TXN123");
+        existing.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(transactionRepository.findByFromAccountNumberAndIdempotencyKey("ACC123456789", "key-1"))
+            .thenReturn(Optional.of(existing));
+
+        // When
+        TransferStatusResponse response = asyncTransferService.submit(transferRequest, "key-1", null);
+
+        // Then
+        assertEquals("TXN123", response.getTransactionId());
+        assertEquals("COMPLETED", response.getStatus());
+        assertEquals(0, asyncTransferService.queued());
+        verify(transactionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void submit_InvalidCallbackUrl_ThrowsException() {
+        asyncTransferService.start();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> asyncTransferService.submit(transferRequest, null, "file:///etc/passwd"));
+        assertEquals("Callback URL must be an absolute http or https URL", exception.getMessage());
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void submit_CallbackHostNotAllowed_ThrowsException() {
+        asyncTransferService.start();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> asyncTransferService.submit(transferRequest, null, "http://169.254.169.254/latest/meta-data"));
+        assertEquals("Callback host is not allowed: 169.254.169.254", exception.getMessage());
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void worker_SlowCallback_KeepsProcessingTransfers() throws InterruptedException {
+        // Given: callbacks that stay stuck until released
+        CountDownLatch callbackHost = new CountDownLatch(1);
+        when(transactionService.getTransferStatus(any())).thenAnswer(invocation -> {
+            callbackHost.await();
+            return new TransferStatusResponse();
+        });
+        ReflectionTestUtils.setField(asyncTransferService, "workerCount", 1);
+        ReflectionTestUtils.setField(asyncTransferService, "callbackThreads", 1);
+        stubAccountsAndSave();
+        asyncTransferService.start();
+
+        // When
+        asyncTransferService.submit(transferRequest, null, "http://127.0.0.1:9/transfers");
+        asyncTransferService.submit(transferRequest, null, "http://127.0.0.1:9/transfers");
+
+        // Then
+        verify(transactionService, timeout(5000).times(2)).processPendingTransfer(any(), any());
+        verify(transactionService, timeout(5000)).getTransferStatus(any());
+        callbackHost.countDown();
+    }
+
+    @Test
+    void start_PendingTransfersLeftOver_ProcessesThem() {
+        // Given
+        Transaction pending = new Transaction();
+        pending.setId(7L);
+        pending.setTransactionId("TXN7");
+        pending.setFromAccount(fromAccount);
+        pending.setToAccount(toAccount);
+        pending.setAmount(new BigDecimal("10.00"));
+        pending.setStatus(Transaction.TransactionStatus.PENDING);
+        when(transactionRepository.findWithAccountsByStatus(Transaction.TransactionStatus.PENDING))
+            .thenReturn(List.of(pending));
+        ReflectionTestUtils.setField(asyncTransferService, "workerCount", 1);
+
+        // When
+        asyncTransferService.start();
+
+        // Then
+        verify(transactionService, timeout(5000)).processPendingTransfer(eq(7L), argThat(request ->
+            request.getFromAccountNumber().equals("ACC123456789") && request.getCurrency().equals("USD")));
+    }
+
+    private void stubAccountsAndSave() {
+        when(accountService.findTransferMetadata("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(view(fromAccount), view(toAccount)));
+        when(accountService.getAccountReference(1L)).thenReturn(fromAccount);
+        when(accountService.getAccountReference(2L)).thenReturn(toAccount);
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static TransferStatusResponse status(InvocationOnMock invocation) {
+        Transaction transaction = invocation.getArgument(0);
+        TransferStatusResponse response = new TransferStatusResponse();
+        response.setTransactionId(transaction.getTransactionId());
+        response.setStatus(transaction.getStatus().name());
+        return response;
+    }
+
+    private static TransferAccountView view(Account account) {
+        return new TransferAccountView(account.getId(), account.getAccountNumber(), account.getCurrency(),
+            account.getStatus(), null, 1L);
+    }
+}
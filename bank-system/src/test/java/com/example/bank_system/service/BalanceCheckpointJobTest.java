@@ -0,0 +1,118 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.AccountBalance;
+import com.example.bank_system.dto.LedgerDelta;
+import com.example.bank_system.entity.AccountBalanceCheckpoint;
+import com.example.bank_system.entity.LedgerCheckpointWatermark;
+import com.example.bank_system.repository.AccountBalanceCheckpointRepository;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.LedgerCheckpointWatermarkRepository;
+import com.example.bank_system.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCheckpointJobTest {
+
+    private static final LocalDateTime PREVIOUS_CUTOFF = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private static final LocalDateTime CUTOFF = PREVIOUS_CUTOFF.plusMinutes(5);
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountBalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private LedgerCheckpointWatermarkRepository watermarkRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BalanceCheckpointJob balanceCheckpointJob;
+
+    @Test
+    void checkpointOnce_FoldsNewEntriesOntoLatestCheckpoints() {
+        // Given: account 1 was checkpointed before, account 2 has its first entries
+        LedgerCheckpointWatermark watermark = new LedgerCheckpointWatermark(LedgerCheckpointWatermark.ID, PREVIOUS_CUTOFF, null);
+        when(watermarkRepository.lockById(LedgerCheckpointWatermark.ID)).thenReturn(Optional.of(watermark));
+        when(ledgerEntryRepository.findDeltasRecordedBetween(PREVIOUS_CUTOFF, CUTOFF)).thenReturn(List.of(
+            new LedgerDelta(1L, new BigDecimal("-30.00"), 2L), new LedgerDelta(2L, new BigDecimal("30.00"), 2L)));
+        when(checkpointRepository.findLatestByAccountIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            new AccountBalanceCheckpoint(7L, 1L, PREVIOUS_CUTOFF, new BigDecimal("100.00"), 4L)));
+        // Account 2 received another 5.00 after the cutoff
+        when(ledgerEntryRepository.findDeltasRecordedBetween(CUTOFF, LedgerService.LATEST))
+            .thenReturn(List.of(new LedgerDelta(2L, new BigDecimal("5.00"), 1L)));
+        when(accountRepository.findBalancesByIdIn(List.of(2L)))
+            .thenReturn(List.of(new AccountBalance(2L, new BigDecimal("85.00"))));
+
+        // When
+        int written = balanceCheckpointJob.checkpointOnce(CUTOFF);
+
+        // Then
+        assertEquals(2, written);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AccountBalanceCheckpoint>> saved = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        Map<Long, AccountBalanceCheckpoint> checkpoints = saved.getValue().stream()
+            .collect(Collectors.toMap(AccountBalanceCheckpoint::getAccountId, Function.identity()));
+        assertEquals(new BigDecimal("70.00"), checkpoints.get(1L).getBalance());
+        assertEquals(new BigDecimal("80.00"), checkpoints.get(2L).getBalance());
+        assertEquals(CUTOFF, checkpoints.get(2L).getAsOf());
+        assertEquals(CUTOFF, watermark.getCheckpointedThrough());
+        verify(watermarkRepository).save(watermark);
+    }
+
+    @Test
+    void checkpointOnce_WatermarkHeldByAnotherInstance_Skips() {
+        // Given
+        when(watermarkRepository.lockById(LedgerCheckpointWatermark.ID)).thenReturn(Optional.empty());
+        when(watermarkRepository.existsById(LedgerCheckpointWatermark.ID)).thenReturn(true);
+
+        // When
+        int written = balanceCheckpointJob.checkpointOnce(CUTOFF);
+
+        // Then
+        assertEquals(-1, written);
+        verifyNoInteractions(ledgerEntryRepository, checkpointRepository);
+    }
+
+    @Test
+    void checkpointOnce_NoNewEntries_OnlyAdvancesWatermark() {
+        // Given
+        LedgerCheckpointWatermark watermark = new LedgerCheckpointWatermark(LedgerCheckpointWatermark.ID, PREVIOUS_CUTOFF, null);
+        when(watermarkRepository.lockById(LedgerCheckpointWatermark.ID)).thenReturn(Optional.of(watermark));
+        when(ledgerEntryRepository.findDeltasRecordedBetween(PREVIOUS_CUTOFF, CUTOFF)).thenReturn(List.of());
+
+        // When
+        int written = balanceCheckpointJob.checkpointOnce(CUTOFF);
+
+        // Then
+        assertEquals(0, written);
+        assertEquals(CUTOFF, watermark.getCheckpointedThrough());
+        verify(checkpointRepository, never()).findLatestByAccountIdIn(anyList());
+        verify(accountRepository, never()).findBalancesByIdIn(any());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.BatchTransferRequest;
+import com.example.bank_system.dto.BatchTransferResponse;
+import com.example.bank_system.dto.TransactionApiResponse;
+import com.example.bank_system.dto.TransferRequest;
+import com.example.bank_system.entity.*;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.example.bank_system.TransferFixtures.account;
+import static com.example.bank_system.TransferFixtures.transfer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Spy
+    private TransferValidator transferValidator = new TransferValidator();
+
+    @Spy
+    private BusinessIdGenerator idGenerator = new BusinessIdGenerator(0);
+
+    @Mock
+    private TransactionEventBuilder transactionEventBuilder;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private ReplicaStalenessGuard stalenessGuard;
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    private Account accountA;
+    private Account accountB;
+    private Account accountC;
+
+    @BeforeEach
+    void setUp() {
+        accountA = account(1L, "ACC000000001", "300.00");
+        accountB = account(2L, "ACC000000002", "100.00");
+        accountC = account(3L, "ACC000000003", "0.00");
+    }
+
+    @Test
+    void processBatch_Success_AppliesTransfersInOrderWithOneLockAndOneFlush() {
+        // Given: B can only fund its transfer to C after receiving A's transfer
+        BatchTransferRequest request = batch(
+            transfer("ACC000000001", "ACC000000002", "200.00"),
+            transfer("ACC000000002", "ACC000000003", "250.00"));
+        when(accountRepository.findIdsByAccountNumberIn(anyList())).thenReturn(List.of(3L, 1L, 2L));
+        when(accountRepository.findAllByIdInForUpdate(List.of(1L, 2L, 3L)))
+            .thenReturn(List.of(accountA, accountB, accountC));
+        when(transactionService.buildTransactionApiResponse(any(Transaction.class), anyString()))
+            .thenReturn(new TransactionApiResponse());
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        // When
+        BatchTransferResponse response = batchTransferService.processBatch(request);
+
+        // Then
+        assertEquals("COMPLETED", response.getStatus());
+        assertEquals(2, response.getTransferCount());
+        assertEquals(2, response.getTransactions().size());
+        assertEquals(new BigDecimal("100.00"), accountA.getBalance());
+        assertEquals(new BigDecimal("50.00"), accountB.getBalance());
+        assertEquals(new BigDecimal("250.00"), accountC.getBalance());
+
+        verify(accountRepository, times(1)).findAllByIdInForUpdate(anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        verify(session).setJdbcBatchSize(1000);
+        verify(ledgerService).recordTransfers(saved.getValue());
+        verify(transactionRepository).flush();
+        verify(transactionEventBuilder).buildSuccessfulTransferEvent(any(Transaction.class),
+            eq(new BigDecimal("300.00")), eq(new BigDecimal("100.00")),
+            eq(new BigDecimal("100.00")), eq(new BigDecimal("300.00")), eq("USD"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).enqueueAll(events.capture());
+        assertEquals(2, events.getValue().size());
+    }
+
+    @Test
+    void processBatch_InsufficientBalance_RejectsWholeBatch() {
+        // Given
+        BatchTransferRequest request = batch(
+            transfer("ACC000000001", "ACC000000002", "100.00"),
+            transfer("ACC000000003", "ACC000000001", "50.00"));
+        when(accountRepository.findIdsByAccountNumberIn(anyList())).thenReturn(List.of(1L, 2L, 3L));
+        when(accountRepository.findAllByIdInForUpdate(anyList())).thenReturn(List.of(accountA, accountB, accountC));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> batchTransferService.processBatch(request));
+        assertEquals("Batch transfer rejected at item 1: Insufficient balance", exception.getMessage());
+
+        verifyNoInteractions(transactionRepository);
+        verify(outboxService, never()).enqueueAll(any());
+    }
+
+    @Test
+    void processBatch_AccountNotFound_RejectsWholeBatch() {
+        // Given
+        BatchTransferRequest request = batch(transfer("ACC000000001", "ACC999999999", "10.00"));
+        when(accountRepository.findIdsByAccountNumberIn(anyList())).thenReturn(List.of(1L));
+        when(accountRepository.findAllByIdInForUpdate(anyList())).thenReturn(List.of(accountA));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> batchTransferService.processBatch(request));
+        assertEquals("Batch transfer rejected at item 0: Account not found: ACC999999999", exception.getMessage());
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private BatchTransferRequest batch(TransferRequest... transfers) {
+        BatchTransferRequest request = new BatchTransferRequest();
+        request.setTransfers(List.of(transfers));
+        return request;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.bank_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessIdGeneratorTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void nextTransactionId_KeepsExistingFormat() {
+        // Given
+        BusinessIdGenerator generator = new BusinessIdGenerator(42);
+
+        // When
+        String id = generator.nextTransactionId();
+
+        // Then
+        assertTrue(id.matches("TXN\\d{13}[0-9A-F]{8}"), id);
+        assertEquals(42, Integer.parseInt(id.substring(16), 16) >>> 24);
+    }
+
+    @Test
+    void nextAccountNumber_KeepsExistingFormat() {
+        // Given
+        BusinessIdGenerator generator = new BusinessIdGenerator(7);
+
+        // When
+        String accountNumber = generator.nextAccountNumber();
+
+        // Then
+        assertTrue(accountNumber.matches("ACC\\d{16}"), accountNumber);
+        assertEquals(7, Integer.parseInt(accountNumber.substring(16)) / 10);
+    }
+
+    @Test
+    void constructor_NodeIdOutOfRange_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new BusinessIdGenerator(100));
+        assertEquals("bank.id.node-id must be between 0 and 99: 100", exception.getMessage());
+    }
+
+    @Test
+    void nextTransactionId_ManyThreads_AllUnique() throws Exception {
+        BusinessIdGenerator generator = new BusinessIdGenerator(1);
+        assertUniqueAcrossThreads(generator::nextTransactionId, 100_000);
+    }
+
+    @Test
+    void nextAccountNumber_ManyThreads_AllUnique() throws Exception {
+        // Far more than 10 per millisecond, so the generator has to borrow future milliseconds
+        BusinessIdGenerator generator = new BusinessIdGenerator(1);
+        assertUniqueAcrossThreads(generator::nextAccountNumber, 20_000);
+    }
+
+    @Test
+    void nextAccountNumber_TwoNodes_NeverCollide() {
+        // Given: two instances reading the same frozen clock
+        BusinessIdGenerator first = new BusinessIdGenerator(1, new SnowflakeIdGenerator(1, () -> 0),
+            new SnowflakeIdGenerator(10, () -> 1_700_000_000_000L));
+        BusinessIdGenerator second = new BusinessIdGenerator(2, new SnowflakeIdGenerator(1, () -> 0),
+            new SnowflakeIdGenerator(10, () -> 1_700_000_000_000L));
+
+        // When
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(first.nextAccountNumber());
+            numbers.add(second.nextAccountNumber());
+        }
+
+        // Then
+        assertEquals(2000, numbers.size());
+    }
+
+    @Test
+    void constructor_SequenceSpaceWouldOverflow_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1L << 24));
+    }
+
+    @Test
+    void next_ClockMovesBackwards_StaysMonotonic() {
+        // Given
+        AtomicLong clock = new AtomicLong(1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(4, clock::get);
+        long before = generator.next();
+
+        // When
+        clock.set(900);
+        long after = generator.next();
+
+        // Then
+        assertTrue(after > before);
+        assertEquals(1_000, generator.millis(after));
+        assertEquals(1, generator.sequence(after));
+    }
+
+    @Test
+    void next_SequenceExhausted_BorrowsNextMillisecond() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(2, () -> 1_000);
+        generator.next();
+        generator.next();
+
+        // When
+        long value = generator.next();
+
+        // Then
+        assertEquals(1_001, generator.millis(value));
+        assertEquals(0, generator.sequence(value));
+    }
+
+    private static void assertUniqueAcrossThreads(Supplier<String> generator, int perThread) throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    String previous = "";
+                    for (int i = 0; i < perThread; i++) {
+                        String id = generator.get();
+                        // Same length and time-prefixed, so string order is generation order
+                        assertTrue(id.compareTo(previous) > 0, id + " after " + previous);
+                        ids.add(id);
+                        previous = id;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(THREADS * perThread, ids.size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.CustomerDescriptor;
+import com.example.bank_system.entity.BusinessCustomer;
+import com.example.bank_system.entity.IndividualCustomer;
+import com.example.bank_system.entity.VIPCustomer;
+import com.example.bank_system.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerDescriptorCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerDescriptorCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CustomerDescriptorCache(customerRepository, new SimpleMeterRegistry(), 10000, 300000);
+    }
+
+    @Test
+    void get_IndividualCustomer_LoadsOnceThenServesFromCache() {
+        // Given
+        IndividualCustomer customer = new IndividualCustomer();
+        customer.setId(1L);
+        customer.setName("John Doe");
+        customer.setNationalId("123456789");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        // When
+        cache.get(1L);
+        CustomerDescriptor descriptor = cache.get(1L);
+
+        // Then
+        assertEquals(new CustomerDescriptor(1L, "individual", "John Doe", "123456789", null), descriptor);
+        verify(customerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void get_AfterInvalidation_ReloadsCustomer() {
+        // Given
+        BusinessCustomer customer = new BusinessCustomer();
+        customer.setId(2L);
+        customer.setName("Tech Corp");
+        customer.setBusinessRegistrationNumber("BRN-1");
+        when(customerRepository.findById(2L)).thenReturn(Optional.of(customer));
+        cache.get(2L);
+        customer.setName("Tech Corp Ltd");
+
+        // When
+        cache.invalidateAfterCommit(2L); // no transaction: invalidated immediately
+        CustomerDescriptor descriptor = cache.get(2L);
+
+        // Then
+        assertEquals(new CustomerDescriptor(2L, "business", "Tech Corp Ltd", null, "BRN-1"), descriptor);
+        verify(customerRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void describe_VipCustomer_UsesVipPersonalId() {
+        // Given
+        VIPCustomer customer = new VIPCustomer();
+        customer.setId(3L);
+        customer.setName("Jane Smith");
+
+        // When
+        CustomerDescriptor descriptor = CustomerDescriptorCache.describe(customer);
+
+        // Then
+        assertEquals("vip", descriptor.type());
+        assertEquals("VIP-3", descriptor.personalId());
+    }
+
+    @Test
+    void get_UnknownCustomer_ThrowsException() {
+        // Given
+        when(customerRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> cache.get(9L));
+        assertEquals("Customer not found: 9", exception.getMessage());
+    }
+}
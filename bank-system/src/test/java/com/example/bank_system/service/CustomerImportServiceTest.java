@@ -0,0 +1,163 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.CustomerImportResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.BusinessCustomer;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.IndividualCustomer;
+import com.example.bank_system.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportServiceTest {
+
+    private static final String CSV_HEADER = "customerType,name,email,phone,address,nationalId,dateOfBirth,"
+        + "businessRegistrationNumber,businessType,industry,taxId,accountType,initialBalance,currency\n";
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ReplicaStalenessGuard stalenessGuard;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerImportService customerImportService;
+
+    @BeforeEach
+    void setUp() {
+        customerImportService = new CustomerImportService(customerRepository, new BusinessIdGenerator(0), stalenessGuard,
+            Validation.buildDefaultValidatorFactory().getValidator(), new TransactionTemplate(transactionManager),
+            entityManager, new ObjectMapper());
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+    }
+
+    @Test
+    void importCustomers_Csv_InsertsValidRowsAndReportsTheOthers() throws Exception {
+        // Given
+        String csv = CSV_HEADER
+            + "INDIVIDUAL,Ann Lee,ann@example.com,+1000,\"1 Main St, Springfield\",ID-1,1990-01-01,,,,,CHECKING,250.00,EUR\n"
+            + "BUSINESS,Acme,acme@example.com,+1001,2 Main St,,,REG-1,LLC,Retail,TAX-1,,,\n"
+            + "INDIVIDUAL,Bob,taken@example.com,+1002,3 Main St,ID-2,1991-01-01,,,,,,,\n"
+            + "INDIVIDUAL,No Id,noid@example.com,+1003,4 Main St,,1992-01-01,,,,,,,\n"
+            + "INDIVIDUAL,Ann Again,ANN@example.com,+1004,5 Main St,ID-3,1993-01-01,,,,,,,\n"
+            + "PARTNER,Who,who@example.com,+1005,6 Main St,,,,,,,,,\n"
+            + "INDIVIDUAL,Bad Account,bad@example.com,+1006,7 Main St,ID-4,1994-01-01,,,,,CHECKING,-5,USD\n"
+            + "INDIVIDUAL,Half Cent,half@example.com,+1007,8 Main St,ID-5,1995-01-01,,,,,CHECKING,10.005,USD\n";
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        // When
+        CustomerImportResponse response = customerImportService.importCustomers(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CustomerImportService.Format.CSV);
+
+        // Then
+        assertEquals(8, response.getTotalRows());
+        assertEquals(2, response.getImportedCustomers());
+        assertEquals(1, response.getCreatedAccounts());
+        assertEquals(6, response.getFailedRows());
+        assertEquals(List.of(
+                new CustomerImportResponse.RowError(4, "taken@example.com", "Customer with email already exists"),
+                new CustomerImportResponse.RowError(5, "noid@example.com", "National ID is required"),
+                new CustomerImportResponse.RowError(6, "ANN@example.com", "Duplicate email in import file"),
+                new CustomerImportResponse.RowError(7, "who@example.com", "customerType must be INDIVIDUAL, BUSINESS or VIP"),
+                new CustomerImportResponse.RowError(8, "bad@example.com", "Initial balance cannot be negative"),
+                new CustomerImportResponse.RowError(9, "half@example.com",
+                    "Amount 10.005 has more than 2 decimal places, the most USD allows")),
+            response.getErrors());
+
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(3)).persist(persisted.capture());
+        IndividualCustomer ann = (IndividualCustomer) persisted.getAllValues().get(0);
+        assertEquals("1 Main St, Springfield", ann.getAddress());
+        assertInstanceOf(BusinessCustomer.class, persisted.getAllValues().get(1));
+        Account account = (Account) persisted.getAllValues().get(2);
+        assertSame(ann, account.getCustomer());
+        assertEquals(Currency.EUR, account.getCurrency());
+        assertEquals(0, new BigDecimal("250.00").compareTo(account.getBalance()));
+        assertNotNull(account.getAccountNumber());
+        verify(entityManager).flush();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void importCustomers_BatchInsertConflicts_RetriesRowsOneByOne() throws Exception {
+        // Given: another request takes the second email between the check and the insert
+        String ndjson = """
+            {"customerType":"INDIVIDUAL","name":"Ann","email":"ann@example.com","phone":"+1","address":"A","nationalId":"1","dateOfBirth":"1990-01-01"}
+            {"customerType":"INDIVIDUAL","name":"Bob","email":"bob@example.com","phone":"+2","address":"B","nationalId":"2","dateOfBirth":"1990-01-01"}
+            not json
+            """;
+        doThrow(new DataIntegrityViolationException("duplicate"))
+            .doNothing()
+            .doThrow(new DataIntegrityViolationException("duplicate"))
+            .when(entityManager).flush();
+
+        // When
+        CustomerImportResponse response = customerImportService.importCustomers(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), CustomerImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(3, response.getTotalRows());
+        assertEquals(1, response.getImportedCustomers());
+        assertEquals(2, response.getErrors().size());
+        assertEquals(new CustomerImportResponse.RowError(2, "bob@example.com", "Customer with email already exists"),
+            response.getErrors().get(0));
+        assertEquals(3, response.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void importCustomers_EmailRepeatedInLaterBatch_ReportedAsExisting() throws Exception {
+        // Given: the first row is committed before the second batch checks its emails
+        ReflectionTestUtils.setField(customerImportService, "batchSize", 1);
+        String csv = CSV_HEADER
+            + "INDIVIDUAL,Ann Lee,ann@example.com,+1000,1 Main St,ID-1,1990-01-01,,,,,,,\n"
+            + "INDIVIDUAL,Ann Again,ann@example.com,+1001,2 Main St,ID-2,1991-01-01,,,,,,,\n";
+        when(customerRepository.findExistingEmails(anyCollection()))
+            .thenReturn(List.of())
+            .thenReturn(List.of("ann@example.com"));
+
+        // When
+        CustomerImportResponse response = customerImportService.importCustomers(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CustomerImportService.Format.CSV);
+
+        // Then
+        assertEquals(1, response.getImportedCustomers());
+        assertEquals(List.of(new CustomerImportResponse.RowError(3, "ann@example.com", "Customer with email already exists")),
+            response.getErrors());
+        verify(entityManager, times(1)).persist(any());
+    }
+
+    @Test
+    void parseFormat_Unsupported_ThrowsException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> CustomerImportService.parseFormat("xlsx"));
+        assertEquals("Unsupported import format: xlsx", exception.getMessage());
+    }
+}
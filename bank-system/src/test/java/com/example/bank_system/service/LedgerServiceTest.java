@@ -0,0 +1,159 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.LedgerBalanceResponse;
+import com.example.bank_system.dto.LedgerDelta;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.AccountBalanceCheckpoint;
+import com.example.bank_system.entity.LedgerEntry;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.repository.AccountBalanceCheckpointRepository;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.LedgerEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    private static final LocalDateTime CHECKPOINT_AS_OF = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountBalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private ReplicaStalenessGuard stalenessGuard;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private LedgerService ledgerService;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = new Account();
+        account.setId(1L);
+        account.setAccountNumber("ACC123456789");
+        account.setBalance(new BigDecimal("150.00"));
+    }
+
+    @Test
+    void recordTransfer_PersistsOneDebitAndOneCredit() {
+        // Given
+        Account toAccount = new Account();
+        toAccount.setId(2L);
+        Transaction transaction = new Transaction();
+        transaction.setId(10L);
+        transaction.setFromAccount(account);
+        transaction.setToAccount(toAccount);
+        transaction.setAmount(new BigDecimal("25.00"));
+
+        // When
+        ledgerService.recordTransfer(transaction);
+
+        // Then
+        ArgumentCaptor<LedgerEntry> entries = ArgumentCaptor.forClass(LedgerEntry.class);
+        verify(entityManager, times(2)).persist(entries.capture());
+        LedgerEntry debit = entries.getAllValues().get(0);
+        LedgerEntry credit = entries.getAllValues().get(1);
+        assertEquals(LedgerEntry.Direction.DEBIT, debit.getDirection());
+        assertEquals(1L, debit.getAccountId());
+        assertEquals(LedgerEntry.Direction.CREDIT, credit.getDirection());
+        assertEquals(2L, credit.getAccountId());
+        assertEquals(10L, credit.getTransactionId());
+        assertEquals(debit.getRecordedAt(), credit.getRecordedAt());
+    }
+
+    @Test
+    void getBalance_Current_AppliesEntriesAfterLatestCheckpointAndReconciles() {
+        // Given
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+        when(checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(1L, LedgerService.LATEST))
+            .thenReturn(Optional.of(checkpoint(new BigDecimal("100.00"))));
+        when(ledgerEntryRepository.findDeltaRecordedBetween(1L, CHECKPOINT_AS_OF, LedgerService.LATEST))
+            .thenReturn(Optional.of(new LedgerDelta(1L, new BigDecimal("50.00"), 3L)));
+
+        // When
+        LedgerBalanceResponse response = ledgerService.getBalance("ACC123456789", null);
+
+        // Then
+        assertEquals(new BigDecimal("150.00"), response.getBalance());
+        assertEquals(CHECKPOINT_AS_OF, response.getCheckpointAsOf());
+        assertEquals(3L, response.getEntriesApplied());
+        assertEquals(new BigDecimal("150.00"), response.getAccountBalance());
+        assertTrue(response.getReconciled());
+    }
+
+    @Test
+    void getBalance_StoredBalanceDrifted_IsNotReconciled() {
+        // Given
+        account.setBalance(new BigDecimal("175.00"));
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+        when(checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(1L, LedgerService.LATEST))
+            .thenReturn(Optional.of(checkpoint(new BigDecimal("150.00"))));
+        when(ledgerEntryRepository.findDeltaRecordedBetween(any(), any(), any())).thenReturn(Optional.empty());
+
+        // When
+        LedgerBalanceResponse response = ledgerService.getBalance("ACC123456789", null);
+
+        // Then
+        assertEquals(new BigDecimal("150.00"), response.getBalance());
+        assertFalse(response.getReconciled());
+    }
+
+    @Test
+    void getBalance_BeforeFirstCheckpoint_WorksBackFromIt() {
+        // Given
+        LocalDateTime asOf = CHECKPOINT_AS_OF.minusDays(1);
+        when(accountRepository.findByAccountNumber("ACC123456789")).thenReturn(Optional.of(account));
+        when(checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(1L, asOf))
+            .thenReturn(Optional.empty());
+        when(checkpointRepository.findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(1L, asOf))
+            .thenReturn(Optional.of(checkpoint(new BigDecimal("100.00"))));
+        when(ledgerEntryRepository.findDeltaRecordedBetween(1L, asOf, CHECKPOINT_AS_OF))
+            .thenReturn(Optional.of(new LedgerDelta(1L, new BigDecimal("-20.00"), 1L)));
+
+        // When
+        LedgerBalanceResponse response = ledgerService.getBalance("ACC123456789", asOf);
+
+        // Then
+        assertEquals(new BigDecimal("120.00"), response.getBalance());
+        assertNull(response.getReconciled());
+        verify(ledgerEntryRepository, never()).findDeltasRecordedBetween(any(), any());
+    }
+
+    @Test
+    void getBalance_UnknownAccount_ThrowsException() {
+        when(accountRepository.findByAccountNumber("ACC000000000")).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> ledgerService.getBalance("ACC000000000", null));
+        assertEquals("Account not found: ACC000000000", exception.getMessage());
+    }
+
+    private static AccountBalanceCheckpoint checkpoint(BigDecimal balance) {
+        return new AccountBalanceCheckpoint(5L, 1L, CHECKPOINT_AS_OF, balance, 10L);
+    }
+}
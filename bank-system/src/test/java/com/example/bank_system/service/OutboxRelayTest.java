@@ -0,0 +1,143 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.entity.OutboxEvent;
+import com.example.bank_system.event.TransactionEvent;
+import com.example.bank_system.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionProducer transactionProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxService, transactionProducer,
+            transactionTemplate, meterRegistry);
+    }
+
+    @Test
+    void relayBatch_AllAcknowledged_MarksAllPublished() {
+        // Given
+        when(outboxEventRepository.lockNextPending(500)).thenReturn(List.of(outboxEvent(1L), outboxEvent(2L)));
+        when(outboxService.readEvent(any())).thenReturn(new TransactionEvent());
+        when(transactionProducer.sendTransactionEventPipelined(eq("transaction"), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        int published = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(2, published);
+        verify(transactionProducer, times(2)).sendTransactionEventPipelined(eq("transaction"), anyString(), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)),
+            eq(OutboxEvent.OutboxStatus.PUBLISHED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_SendFails_LeavesFailedEventPending() {
+        // Given
+        when(outboxEventRepository.lockNextPending(500)).thenReturn(List.of(outboxEvent(1L), outboxEvent(2L)));
+        when(outboxService.readEvent(any())).thenReturn(new TransactionEvent());
+        CompletableFuture<SendResult<String, Object>> failed =
+            CompletableFuture.failedFuture(new RuntimeException("Broker unavailable"));
+        when(transactionProducer.sendTransactionEventPipelined(eq("transaction"), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null))
+            .thenReturn(failed);
+
+        // When
+        int published = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(1, published);
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)),
+            eq(OutboxEvent.OutboxStatus.PUBLISHED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_AdaptiveProfile_AppliesTunerChangeBeforeSending() {
+        // Given
+        ProducerBatchTuner tuner = mock(ProducerBatchTuner.class);
+        ReflectionTestUtils.setField(outboxRelay, "producerBatchTuner", tuner);
+        when(outboxEventRepository.lockNextPending(500)).thenReturn(List.of(outboxEvent(1L)));
+        when(outboxService.readEvent(any())).thenReturn(new TransactionEvent());
+        when(transactionProducer.sendTransactionEventPipelined(eq("transaction"), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relayBatch();
+
+        // Then
+        InOrder inOrder = inOrder(tuner, transactionProducer);
+        inOrder.verify(tuner).applyPendingChange();
+        inOrder.verify(transactionProducer).sendTransactionEventPipelined(eq("transaction"), anyString(), any());
+    }
+
+    @Test
+    void relayBatch_NothingPending_SendsNothing() {
+        // Given
+        when(outboxEventRepository.lockNextPending(500)).thenReturn(List.of());
+
+        // When
+        int published = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(0, published);
+        verifyNoInteractions(transactionProducer);
+        verify(outboxEventRepository, never()).markPublished(any(), any(), any());
+    }
+
+    @Test
+    void lagGauge_ReportsAgeOfOldestPendingEvent() {
+        // Given
+        when(outboxEventRepository.findOldestCreatedAt(OutboxEvent.OutboxStatus.PENDING))
+            .thenReturn(LocalDateTime.now().minusSeconds(30));
+
+        // When
+        double lag = meterRegistry.get("bank.outbox.lag").gauge().value();
+
+        // Then
+        assertTrue(lag >= 30 && lag < 60);
+    }
+
+    private OutboxEvent outboxEvent(Long id) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setId(id);
+        outboxEvent.setTopic("transaction");
+        outboxEvent.setMessageKey(String.valueOf(id));
+        outboxEvent.setPayload("{}");
+        outboxEvent.setStatus(OutboxEvent.OutboxStatus.PENDING);
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.bank_system.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProducerBatchTunerTest {
+
+    @Mock
+    private ProducerFactory<String, Object> producerFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProducerBatchTuner tuner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tuner = new ProducerBatchTuner(producerFactory, meterRegistry, 20, 262144, 50, 500);
+    }
+
+    @Test
+    void adjust_SendRateRises_GrowsLingerAndBatchOneStepPerRun() {
+        // Given
+        Timer sends = meterRegistry.timer(TransferMetrics.KAFKA_SEND, "topic", "transaction");
+        for (int i = 0; i < 1000; i++) {
+            sends.record(Duration.ofMillis(2));
+        }
+
+        // When
+        tuner.adjust();
+        tuner.applyPendingChange();
+        tuner.adjust(4000, 5);
+        tuner.applyPendingChange();
+
+        // Then
+        InOrder inOrder = inOrder(producerFactory);
+        inOrder.verify(producerFactory).updateConfigs(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 2, ProducerConfig.BATCH_SIZE_CONFIG, 32768));
+        inOrder.verify(producerFactory).reset();
+        inOrder.verify(producerFactory).updateConfigs(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 4, ProducerConfig.BATCH_SIZE_CONFIG, 65536));
+        inOrder.verify(producerFactory).reset();
+        assertEquals(4, meterRegistry.get("bank.kafka.producer.linger").gauge().value());
+        assertEquals(65536, meterRegistry.get("bank.kafka.producer.batch.size").gauge().value());
+    }
+
+    @Test
+    void adjust_SustainedHighRate_StopsAtTheLimits() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            tuner.adjust(1_000_000, 5);
+            tuner.applyPendingChange();
+        }
+
+        // Then
+        assertEquals(20, tuner.currentLingerMs());
+        assertEquals(262144, tuner.currentBatchSize());
+        verify(producerFactory, times(5)).reset();
+    }
+
+    @Test
+    void adjust_LatencyOverBudget_ShrinksEvenAtHighRate() {
+        // Given
+        tuner.adjust(4000, 5);
+        tuner.applyPendingChange();
+        tuner.adjust(4000, 5);
+        tuner.applyPendingChange();
+
+        // When
+        tuner.adjust(4000, 80);
+        tuner.applyPendingChange();
+
+        // Then
+        assertEquals(2, tuner.currentLingerMs());
+        assertEquals(32768, tuner.currentBatchSize());
+    }
+
+    @Test
+    void adjust_RateDrops_ShrinksBackToTheStartingPoint() {
+        // Given
+        tuner.adjust(4000, 5);
+        tuner.applyPendingChange();
+
+        // When
+        tuner.adjust(100, 1);
+        tuner.applyPendingChange();
+        tuner.adjust(100, 1);
+        tuner.applyPendingChange();
+
+        // Then
+        assertEquals(1, tuner.currentLingerMs());
+        assertEquals(16384, tuner.currentBatchSize());
+        verify(producerFactory, times(2)).reset();
+    }
+
+    @Test
+    void adjust_RateDropsBeforeChangeApplied_DropsTheChange() {
+        // Given: a step up decided but not yet applied by the relay
+        tuner.adjust(4000, 5);
+        assertEquals(1, tuner.currentLingerMs());
+
+        // When
+        tuner.adjust(100, 1);
+        tuner.applyPendingChange();
+
+        // Then
+        assertEquals(1, tuner.currentLingerMs());
+        verify(producerFactory, never()).updateConfigs(any());
+        verify(producerFactory, never()).reset();
+    }
+
+    @Test
+    void adjust_ExtraLingerWouldExceedBudget_KeepsSettings() {
+        // When
+        tuner.adjust(4000, 49.5);
+        tuner.applyPendingChange();
+
+        // Then
+        assertEquals(1, tuner.currentLingerMs());
+        verify(producerFactory, never()).updateConfigs(any());
+        verify(producerFactory, never()).reset();
+    }
+}
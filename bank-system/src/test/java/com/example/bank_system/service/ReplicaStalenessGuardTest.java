@@ -0,0 +1,84 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransferAccountView;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaStalenessGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ReplicaStalenessGuard guard = new ReplicaStalenessGuard(true, 2000, now::get);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordWrite_MarksAccountAndOwnerUntilMaxLagPasses() {
+        // When
+        guard.recordWrite(view("ACC1", 7L));
+
+        // Then
+        assertTrue(guard.isRecentlyWritten(ReplicaStalenessGuard.accountKey("ACC1")));
+        assertTrue(guard.isRecentlyWritten(ReplicaStalenessGuard.customerKey(7L)));
+        assertFalse(guard.isRecentlyWritten(ReplicaStalenessGuard.accountKey("ACC2")));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+        assertFalse(guard.isRecentlyWritten(ReplicaStalenessGuard.accountKey("ACC1")));
+    }
+
+    @Test
+    void recordWrite_InTransaction_MarksOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        guard.recordWrite(view("ACC1", 7L));
+
+        // Then
+        assertFalse(guard.isRecentlyWritten(ReplicaStalenessGuard.accountKey("ACC1")));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(guard.isRecentlyWritten(ReplicaStalenessGuard.accountKey("ACC1")));
+    }
+
+    @Test
+    void recordWrite_AfterLagWindow_SweepsExpiredMarks() {
+        // Given
+        guard.recordWrite(view("ACC1", 7L));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2500));
+
+        // When
+        guard.recordWrite(view("ACC2", 8L));
+
+        // Then: only ACC2 and its owner remain
+        assertEquals(2, guard.size());
+    }
+
+    @Test
+    void recordWrite_RoutingDisabled_MarksNothing() {
+        // Given
+        ReplicaStalenessGuard disabled = new ReplicaStalenessGuard(false, 2000, now::get);
+
+        // When
+        disabled.recordWrite(view("ACC1", 7L));
+
+        // Then
+        assertEquals(0, disabled.size());
+    }
+
+    private static TransferAccountView view(String accountNumber, Long customerId) {
+        return new TransferAccountView(1L, accountNumber, Currency.USD, Account.AccountStatus.ACTIVE, null, customerId);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.archive.ArchivedTransaction;
+import com.example.bank_system.archive.TransactionArchive;
+import com.example.bank_system.dto.TransactionExportRow;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.TransactionArchiveSegment;
+import com.example.bank_system.repository.AccountRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 12, 31, 23, 59, 59);
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TransactionExportService transactionExportService;
+
+    @BeforeEach
+    void setUp() {
+        transactionExportService = new TransactionExportService(accountRepository, transactionRepository,
+            transactionArchive, objectMapper, transactionManager);
+    }
+
+    @Test
+    void writeExport_Csv_QuotesFieldsThatNeedIt() throws Exception {
+        // Given
+        when(transactionRepository.streamForExport(1L, FROM, TO)).thenReturn(Stream.of(
+            row("TXN1", "Rent, March", null),
+            row("TXN2", "Invoice \"42\"", LocalDateTime.of(2025, 3, 1, 9, 0, 1))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = transactionExportService.writeExport(1L, FROM, TO, TransactionExportService.Format.CSV, false, out);
+
+        // Then
+        assertEquals(2, rows);
+        assertEquals(TransactionExportService.CSV_HEADER + "\n"
+                + "TXN1,2025-03-01T09:00,,ACC1,ACC2,10.50,USD,TRANSFER,COMPLETED,\"Rent, March\",,\n"
+                + "TXN2,2025-03-01T09:00,2025-03-01T09:00:01,ACC1,ACC2,10.50,USD,TRANSFER,COMPLETED,\"Invoice \"\"42\"\"\",,\n",
+            out.toString(StandardCharsets.UTF_8));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void writeExport_NdjsonGzip_WritesOneJsonObjectPerLine() throws Exception {
+        // Given
+        when(transactionRepository.streamForExport(1L, FROM, TO)).thenReturn(Stream.of(
+            row("TXN1", "Rent\nMarch", null), row("TXN2", null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        transactionExportService.writeExport(1L, FROM, TO, TransactionExportService.Format.NDJSON, true, out);
+
+        // Then
+        String[] lines = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+            StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("TXN1", first.get("transactionId").asText());
+        assertEquals("Rent\nMarch", first.get("description").asText());
+        assertEquals("2025-03-01T09:00:00", first.get("createdAt").asText());
+        assertTrue(lines[0].contains("\"amount\":10.50"));
+    }
+
+    @Test
+    void writeExport_ArchivedMonths_WritesThemBeforeTheTable() throws Exception {
+        // Given: an archived month with one transaction inside the range and one before it
+        TransactionArchiveSegment segment = new TransactionArchiveSegment();
+        when(transactionArchive.segments(FROM, TO)).thenReturn(List.of(segment));
+        when(transactionArchive.read(segment, 1L)).thenReturn(List.of(
+            archived("TXN0", FROM.minusSeconds(1)), archived("TXN1", FROM)));
+        when(transactionRepository.streamForExport(1L, FROM, TO)).thenReturn(Stream.of(row("TXN2", null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = transactionExportService.writeExport(1L, FROM, TO, TransactionExportService.Format.CSV, false, out);
+
+        // Then
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("TXN1,2025-01-01T00:00,,ACC1,ACC2,10.50,USD,TRANSFER,COMPLETED,,,", lines[1]);
+        assertTrue(lines[2].startsWith("TXN2,"));
+    }
+
+    @Test
+    void prepareExport_UnsupportedFormat_ThrowsException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> transactionExportService.prepareExport("ACC1", null, null, "xml", false));
+        assertEquals("Unsupported export format: xml", exception.getMessage());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void prepareExport_Gzip_NamesTheFileAfterTheAccount() {
+        // Given
+        Account account = new Account();
+        account.setId(1L);
+        when(accountRepository.findByAccountNumber("ACC1")).thenReturn(Optional.of(account));
+
+        // When
+        TransactionExportService.Export export = transactionExportService.prepareExport("ACC1", null, null, "NDJSON", true);
+
+        // Then
+        assertEquals("transactions-ACC1.ndjson.gz", export.fileName());
+        assertEquals("application/gzip", export.mediaType().toString());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private static TransactionExportRow row(String transactionId, String description, LocalDateTime processedAt) {
+        return new TransactionExportRow(transactionId, LocalDateTime.of(2025, 3, 1, 9, 0), processedAt, "ACC1", "ACC2",
+            new BigDecimal("10.50"), "USD", "TRANSFER", "COMPLETED", description, null, null);
+    }
+
+    private static ArchivedTransaction archived(String transactionId, LocalDateTime createdAt) {
+        return new ArchivedTransaction(1L, transactionId, 1L, 2L, "ACC1", "ACC2", "USD", new BigDecimal("10.50"),
+            "TRANSFER", "COMPLETED", null, null, null, createdAt, null);
+    }
+}
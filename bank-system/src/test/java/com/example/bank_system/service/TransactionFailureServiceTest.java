@@ -0,0 +1,103 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.AccountResponse;
+import com.example.bank_system.dto.CreateAccountRequest;
+import com.example.bank_system.dto.CreateIndividualCustomerRequest;
+import com.example.bank_system.dto.CustomerResponse;
+import com.example.bank_system.entity.Account;
+import com.example.bank_system.entity.Currency;
+import com.example.bank_system.entity.Transaction;
+import com.example.bank_system.repository.OutboxEventRepository;
+import com.example.bank_system.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records a failed transfer against an embedded database, where the attempt's id was already taken
+ * from the sequence but its row was rolled back.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:failure;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "logging.level.com.example.bank_system=WARN"
+})
+@EmbeddedKafka(partitions = 1, topics = "transaction")
+class TransactionFailureServiceTest {
+
+    @Autowired
+    private TransactionFailureService transactionFailureService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void handleTransferFailure_AttemptRolledBack_StoresFailedTransaction() {
+        // Given: an attempt that had its id assigned and was then rolled back
+        CustomerResponse customer = createCustomer();
+        Account from = accountService.findAccountByNumber(createAccount(customer).getAccountNumber());
+        Account to = accountService.findAccountByNumber(createAccount(customer).getAccountNumber());
+        Transaction attempt = new Transaction();
+        attempt.setId(Long.MAX_VALUE - 1);
+        attempt.setTransactionId("TXN-FAILED-ATTEMPT");
+        attempt.setFromAccount(from);
+        attempt.setToAccount(to);
+        attempt.setAmount(new BigDecimal("25.00"));
+        attempt.setType(Transaction.TransactionType.TRANSFER);
+        attempt.setStatus(Transaction.TransactionStatus.COMPLETED);
+        attempt.setIdempotencyKey("KEY-1");
+        long outboxBefore = outboxEventRepository.count();
+
+        // When
+        transactionFailureService.handleTransferFailure(attempt, new BigDecimal("100.00"), new BigDecimal("100.00"),
+            "USD", new RuntimeException("Database error"));
+
+        // Then
+        Transaction failed = transactionRepository.findByTransactionId("TXN-FAILED-ATTEMPT").orElseThrow();
+        assertEquals(Transaction.TransactionStatus.FAILED, failed.getStatus());
+        assertEquals("Database error", failed.getFailureReason());
+        assertNull(failed.getIdempotencyKey());
+        assertNotEquals(Long.MAX_VALUE - 1, failed.getId());
+        assertEquals(outboxBefore + 1, outboxEventRepository.count());
+    }
+
+    private CustomerResponse createCustomer() {
+        CreateIndividualCustomerRequest request = new CreateIndividualCustomerRequest();
+        request.setName("Failure Test");
+        request.setEmail("failure@test.example");
+        request.setPhone("+1000000000");
+        request.setAddress("1 Failure Way");
+        request.setNationalId("FAILURE-1");
+        request.setDateOfBirth("1990-01-01");
+        return customerService.createIndividualCustomer(request);
+    }
+
+    private AccountResponse createAccount(CustomerResponse customer) {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setCustomerId(customer.getId());
+        request.setAccountType(Account.AccountType.CHECKING);
+        request.setInitialBalance(new BigDecimal("100.00"));
+        request.setCurrency(Currency.USD);
+        return accountService.createAccount(request);
+    }
+}
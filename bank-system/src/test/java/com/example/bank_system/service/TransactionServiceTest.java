@@ -1,22 +1,34 @@
 package com.example.bank_system.service;
 
 import com.example.bank_system.dto.*;
+import com.example.bank_system.engine.LedgerEngine;
 import com.example.bank_system.entity.*;
 import com.example.bank_system.event.TransactionEvent;
 import com.example.bank_system.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +41,37 @@ class TransactionServiceTest {
     private AccountService accountService;
 
     @Mock
-    private TransactionProducer transactionProducer;
+    private OutboxService outboxService;
 
     @Mock
     private TransactionEventBuilder transactionEventBuilder;
 
+    @Mock
+    private TransactionFailureService transactionFailureService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private TransferValidator transferValidator = new TransferValidator();
+
+    @Spy
+    private BusinessIdGenerator idGenerator = new BusinessIdGenerator(0);
+
+    @Spy
+    private TransferIdempotencyCache idempotencyCache = new TransferIdempotencyCache();
+
+    @Mock
+    private CustomerDescriptorCache customerDescriptorCache;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -46,6 +84,13 @@ class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(customerDescriptorCache.get(1L))
+            .thenReturn(new CustomerDescriptor(1L, "individual", "John Doe", "123456789", null));
+        lenient().when(customerDescriptorCache.get(2L))
+            .thenReturn(new CustomerDescriptor(2L, "business", "Tech Corp", null, "BRN-1"));
+
         transferRequest = new TransferRequest();
         transferRequest.setFromAccountNumber("ACC123456789");
         transferRequest.setToAccountNumber("ACC987654321");
@@ -97,9 +142,9 @@ class TransactionServiceTest {
     @Test
     void processTransfer_Success() {
         // Given
-        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
-        when(accountService.findAccountByNumber("ACC987654321")).thenReturn(toAccount);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         TransactionEvent successEvent = new TransactionEvent();
         when(transactionEventBuilder.buildSuccessfulTransferEvent(any(), any(), any(), any(), any(), anyString()))
@@ -120,10 +165,155 @@ class TransactionServiceTest {
         assertEquals(new BigDecimal("500.00"), fromAccount.getBalance());
         assertEquals(new BigDecimal("2500.00"), toAccount.getBalance());
 
-        verify(accountService).findAccountByNumber("ACC123456789");
-        verify(accountService).findAccountByNumber("ACC987654321");
-        verify(transactionRepository, times(2)).save(any(Transaction.class)); // Once for creation, once for completion
-        verify(transactionProducer).sendTransactionEvent(successEvent);
+        verify(accountService).findAccountsForUpdate("ACC123456789", "ACC987654321");
+        verify(accountService, never()).findAccountByNumber(anyString());
+        // A single insert of the completed row, flushed together with the account updates and ledger entries
+        verify(transactionRepository, times(1)).save(argThat(saved ->
+            saved.getStatus() == Transaction.TransactionStatus.COMPLETED && saved.getProcessedAt() != null));
+        InOrder writes = inOrder(ledgerService, transactionRepository);
+        writes.verify(ledgerService).recordTransfer(any(Transaction.class));
+        writes.verify(transactionRepository).flush();
+        verify(outboxService).enqueue(successEvent);
+    }
+
+    @Test
+    void processTransfer_Success_TimesEachPhase() {
+        // Given
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        transactionService.processTransfer(transferRequest);
+
+        // Then
+        for (TransferMetrics.Phase phase : TransferMetrics.Phase.values()) {
+            assertEquals(1, meterRegistry.get("bank.transfer.phase").tag("phase", phase.name().toLowerCase())
+                .tag("currency", "USD").tag("outcome", "success").timer().count(), phase.name());
+        }
+        assertEquals(1, meterRegistry.get("bank.transfer").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void processTransfer_LedgerEngine_BypassesJpaPath() {
+        // Given
+        LedgerEngine ledgerEngine = mock(LedgerEngine.class);
+        ReflectionTestUtils.setField(transactionService, "ledgerEngine", ledgerEngine);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(ledgerEngine.transfer(transferRequest, "REF001")).thenReturn(transaction);
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transferRequest);
+
+        // Then
+        assertEquals(1L, response.getTransactionId());
+        assertEquals("COMPLETED", response.getStatus());
+        verifyNoInteractions(transactionTemplate, outboxService);
+        verify(transactionRepository, never()).save(any());
+        verify(accountService, never()).findAccountsForUpdate(anyString(), anyString());
+    }
+
+    @Test
+    void processTransfer_AtomicUpdate_UsesConditionalUpdate() {
+        // Given
+        ReflectionTestUtils.setField(transactionService, "concurrencyStrategy", TransferConcurrencyStrategy.ATOMIC_UPDATE);
+        TransferAccountView fromView = view(fromAccount);
+        TransferAccountView toView = view(toAccount);
+        when(accountService.findTransferMetadata("ACC123456789", "ACC987654321")).thenReturn(List.of(fromView, toView));
+        when(accountService.getAccountReference(1L)).thenReturn(fromAccount);
+        when(accountService.getAccountReference(2L)).thenReturn(toAccount);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountService.getCurrentBalance(1L)).thenReturn(new BigDecimal("500.00"));
+        when(accountService.getCurrentBalance(2L)).thenReturn(new BigDecimal("2500.00"));
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transferRequest);
+
+        // Then
+        assertEquals("COMPLETED", response.getStatus());
+        assertEquals("individual", response.getFromAccount().getCustomerType());
+        assertEquals("Tech Corp", response.getToAccount().getCustomerName());
+        verify(accountService).applyAtomicTransfer(fromView, toView, new BigDecimal("500.00"));
+        verify(accountService, never()).findAccountByNumber(anyString());
+        verify(accountService, never()).findAccountsForUpdate(anyString(), anyString());
+        verify(accountService, never()).saveAccount(any());
+        verify(transactionEventBuilder).buildSuccessfulTransferEvent(any(), eq(fromView), eq(toView),
+            eq(new BigDecimal("1000.00")), eq(new BigDecimal("500.00")),
+            eq(new BigDecimal("2000.00")), eq(new BigDecimal("2500.00")), eq("USD"));
+
+        // Entity balances are left untouched; the database is the source of truth
+        assertEquals(new BigDecimal("1000.00"), fromAccount.getBalance());
+    }
+
+    @Test
+    void processTransfer_AtomicUpdateInactiveAccount_ThrowsBeforeUpdating() {
+        // Given
+        ReflectionTestUtils.setField(transactionService, "concurrencyStrategy", TransferConcurrencyStrategy.ATOMIC_UPDATE);
+        TransferAccountView fromView = view(fromAccount);
+        fromView.setStatus(Account.AccountStatus.SUSPENDED);
+        when(accountService.findTransferMetadata("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromView, view(toAccount)));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> transactionService.processTransfer(transferRequest));
+        assertEquals("Source account is not active", exception.getMessage());
+        verify(accountService, never()).applyAtomicTransfer(any(), any(), any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void processTransfer_ConcurrentUpdate_RetriesInNewTransaction() {
+        // Given
+        ReflectionTestUtils.setField(transactionService, "concurrencyStrategy", TransferConcurrencyStrategy.OPTIMISTIC);
+        ReflectionTestUtils.setField(transactionService, "retryBackoffMs", 0L);
+        TransactionApiResponse committed = new TransactionApiResponse();
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+            .doReturn(committed)
+            .when(transactionTemplate).execute(any());
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transferRequest);
+
+        // Then
+        assertSame(committed, response);
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(1, meterRegistry.get("bank.transfer.retries").tag("currency", "USD").counter().count());
+    }
+
+    @Test
+    void processTransfer_VersionConflictOnFlush_RetriedWithoutFailureRecord() {
+        // Given
+        ReflectionTestUtils.setField(transactionService, "concurrencyStrategy", TransferConcurrencyStrategy.OPTIMISTIC);
+        ReflectionTestUtils.setField(transactionService, "retryBackoffMs", 0L);
+        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
+        when(accountService.findAccountByNumber("ACC987654321")).thenReturn(toAccount);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+            .doNothing()
+            .when(transactionRepository).flush();
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transferRequest);
+
+        // Then
+        assertEquals("COMPLETED", response.getStatus());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(transactionFailureService, never()).handleTransferFailure(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void processTransfer_ConcurrentUpdate_GivesUpAfterMaxAttempts() {
+        // Given
+        ReflectionTestUtils.setField(transactionService, "retryBackoffMs", 0L);
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+            .when(transactionTemplate).execute(any());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> transactionService.processTransfer(transferRequest));
+        assertEquals("Transfer failed due to concurrent updates, please retry", exception.getMessage());
+        verify(transactionTemplate, times(5)).execute(any());
     }
 
     @Test
@@ -136,7 +326,7 @@ class TransactionServiceTest {
             () -> transactionService.processTransfer(transferRequest));
         assertEquals("Currency is required and cannot be null or empty", exception.getMessage());
 
-        verify(accountService, never()).findAccountByNumber(anyString());
+        verify(accountService, never()).findAccountsForUpdate(anyString(), anyString());
         verify(transactionRepository, never()).save(any());
     }
 
@@ -144,24 +334,28 @@ class TransactionServiceTest {
     void processTransfer_InsufficientBalance_ThrowsException() {
         // Given
         fromAccount.setBalance(new BigDecimal("100.00")); // Less than transfer amount
-        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
-        when(accountService.findAccountByNumber("ACC987654321")).thenReturn(toAccount);
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
             () -> transactionService.processTransfer(transferRequest));
         assertEquals("Insufficient balance", exception.getMessage());
 
-        verify(accountService).findAccountByNumber("ACC123456789");
-        verify(accountService).findAccountByNumber("ACC987654321");
+        verify(accountService).findAccountsForUpdate("ACC123456789", "ACC987654321");
         verify(transactionRepository, never()).save(any());
+        assertEquals(1, meterRegistry.get("bank.transfer.phase").tag("phase", "validation")
+            .tag("outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("bank.transfer").tag("outcome", "failure").timer().count());
+        assertNull(meterRegistry.find("bank.transfer.phase").tag("phase", "insert").timer());
     }
 
     @Test
     void processTransfer_SameAccount_ThrowsException() {
         // Given
         transferRequest.setToAccountNumber("ACC123456789"); // Same as from account
-        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC123456789"))
+            .thenReturn(List.of(fromAccount, fromAccount));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -175,8 +369,8 @@ class TransactionServiceTest {
         // This will trigger validateRequestCurrency error first
         fromAccount.setCurrency(Currency.EUR);
         toAccount.setCurrency(Currency.USD);
-        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
-        when(accountService.findAccountByNumber("ACC987654321")).thenReturn(toAccount);
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -189,8 +383,8 @@ class TransactionServiceTest {
     void processTransfer_InactiveAccount_ThrowsException() {
         // Given
         fromAccount.setStatus(Account.AccountStatus.INACTIVE);
-        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
-        when(accountService.findAccountByNumber("ACC987654321")).thenReturn(toAccount);
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -198,33 +392,30 @@ class TransactionServiceTest {
         assertEquals("Source account is not active", exception.getMessage());
     }
 
+    @Test
+    void processTransfer_MoreDecimalsThanCurrencyAllows_ThrowsException() {
+        // Given
+        transferRequest.setAmount(new BigDecimal("10.005"));
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+
+        // When & Then: rejected instead of being rounded by the DECIMAL(19,2) column
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> transactionService.processTransfer(transferRequest));
+        assertEquals("Amount 10.005 has more than 2 decimal places, the most USD allows", exception.getMessage());
+        assertEquals(new BigDecimal("1000.00"), fromAccount.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
     @Test
     void processTransfer_DatabaseError_HandlesException() {
         // Given
-        when(accountService.findAccountByNumber("ACC123456789")).thenReturn(fromAccount);
-        when(accountService.findAccountByNumber("ACC987654321")).thenReturn(toAccount);
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
 
-        // Mock the repository save calls:
-        // 1st call: createTransaction method (succeeds)
-        // 2nd call: completion save in try block (fails)
-        // 3rd call: failed transaction save in catch block (succeeds)
-        Transaction createdTransaction = new Transaction();
-        createdTransaction.setId(1L);
-        createdTransaction.setTransactionId("TXN123456789");
-        createdTransaction.setFromAccount(fromAccount);
-        createdTransaction.setToAccount(toAccount);
-        createdTransaction.setAmount(new BigDecimal("500.00"));
-        createdTransaction.setType(Transaction.TransactionType.TRANSFER);
-        createdTransaction.setStatus(Transaction.TransactionStatus.PENDING);
-
-        when(transactionRepository.save(any(Transaction.class)))
-            .thenReturn(createdTransaction)  // 1st call: createTransaction succeeds
-            .thenThrow(new RuntimeException("Database error"))  // 2nd call: completion fails
-            .thenReturn(createdTransaction);  // 3rd call: failed transaction save succeeds
-
-        TransactionEvent failedEvent = new TransactionEvent();
-        when(transactionEventBuilder.buildFailedTransferEvent(any(), any(), any(), anyString()))
-            .thenReturn(failedEvent);
+        // The insert and account updates are flushed together, so write errors surface on flush
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new RuntimeException("Database error")).when(transactionRepository).flush();
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -233,8 +424,156 @@ class TransactionServiceTest {
         // Use contains() for more flexible matching
         assertTrue(exception.getMessage().contains("Database error"));
 
-        verify(transactionProducer).sendTransactionEvent(failedEvent);
-        verify(transactionRepository, times(3)).save(any(Transaction.class));
+        // The failure record and failed event are written by TransactionFailureService in its own transaction
+        verify(transactionFailureService).handleTransferFailure(argThat(failed -> failed.getTransactionId() != null),
+            eq(new BigDecimal("1000.00")), eq(new BigDecimal("2000.00")), eq("USD"), any(RuntimeException.class));
+        verify(outboxService, never()).enqueue(any());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
+
+    @Test
+    void processTransfer_CompletedIdempotencyKey_ReturnsStoredResult() {
+        // Given
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(transactionRepository.findByFromAccountNumberAndIdempotencyKey("ACC123456789", "KEY-1"))
+            .thenReturn(Optional.of(transaction));
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transferRequest, "KEY-1");
+
+        // Then
+        assertEquals(1L, response.getTransactionId());
+        assertEquals("USD", response.getCurrency());
+        verifyNoInteractions(accountService, transactionTemplate, outboxService);
+    }
+
+    @Test
+    void processTransfer_RepeatedReferenceNumber_TransfersOnce() {
+        // Given
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TransactionApiResponse first = transactionService.processTransfer(transferRequest);
+        TransactionApiResponse retry = transactionService.processTransfer(transferRequest);
+
+        // Then
+        assertSame(first, retry);
+        assertEquals(new BigDecimal("500.00"), fromAccount.getBalance());
+        verify(accountService, times(1)).findAccountsForUpdate("ACC123456789", "ACC987654321");
+        verify(transactionRepository).save(argThat(saved -> "REF001".equals(saved.getIdempotencyKey())));
+    }
+
+    @Test
+    void processTransfer_DuplicateKeyOnInsert_ReturnsOriginalTransfer() {
+        // Given: another instance committed the same key after our lookup
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("Duplicate entry")).when(transactionRepository).flush();
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(transactionRepository.findByFromAccountNumberAndIdempotencyKey("ACC123456789", "KEY-1"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(transaction));
+
+        // When
+        TransactionApiResponse response = transactionService.processTransfer(transferRequest, "KEY-1");
+
+        // Then
+        assertEquals(1L, response.getTransactionId());
+        verifyNoInteractions(transactionFailureService, outboxService);
+    }
+
+    @Test
+    void processTransfer_IdempotencyKeyTooLong_ThrowsException() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> transactionService.processTransfer(transferRequest, "K".repeat(256)));
+        assertEquals("Idempotency key must be at most 255 characters", exception.getMessage());
+        verifyNoInteractions(accountService, transactionRepository);
+    }
+
+    @Test
+    void processPendingTransfer_CompletesPendingTransaction() {
+        // Given
+        when(transactionRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(transaction));
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        // When
+        transactionService.processPendingTransfer(1L, transferRequest);
+
+        // Then: the PENDING row is completed in place, not inserted again
+        assertEquals(Transaction.TransactionStatus.COMPLETED, transaction.getStatus());
+        assertEquals("TXN123456789", transaction.getTransactionId());
+        assertEquals(new BigDecimal("500.00"), fromAccount.getBalance());
+        assertEquals(new BigDecimal("2500.00"), toAccount.getBalance());
+        verify(transactionRepository).flush();
+        verify(outboxService).enqueue(any());
+        verify(idGenerator, never()).nextTransactionId();
+        verifyNoInteractions(transactionFailureService);
+    }
+
+    @Test
+    void processPendingTransfer_AlreadyProcessed_Skips() {
+        // Given
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(transactionRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(transaction));
+
+        // When
+        transactionService.processPendingTransfer(1L, transferRequest);
+
+        // Then
+        verify(accountService, never()).findAccountsForUpdate(anyString(), anyString());
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(outboxService, transactionFailureService);
+    }
+
+    @Test
+    void processPendingTransfer_InsufficientBalance_MarksFailed() {
+        // Given
+        fromAccount.setBalance(new BigDecimal("100.00"));
+        when(transactionRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(transaction));
+        when(accountService.findAccountsForUpdate("ACC123456789", "ACC987654321"))
+            .thenReturn(List.of(fromAccount, toAccount));
+
+        // When
+        transactionService.processPendingTransfer(1L, transferRequest);
+
+        // Then
+        verify(transactionFailureService).handlePendingTransferFailure(1L, "Insufficient balance");
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void getTransferStatus_ReturnsTransferState() {
+        // Given
+        transaction.setStatus(Transaction.TransactionStatus.FAILED);
+        transaction.setFailureReason("Insufficient balance");
+        when(transactionRepository.findWithAccountsByTransactionId("TXN123456789")).thenReturn(Optional.of(transaction));
+
+        // When
+        TransferStatusResponse status = transactionService.getTransferStatus("TXN123456789");
+
+        // Then
+        assertEquals("TXN123456789", status.getTransactionId());
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("Insufficient balance", status.getFailureReason());
+        assertEquals("ACC123456789", status.getFromAccountNumber());
+        assertEquals("ACC987654321", status.getToAccountNumber());
+        assertEquals("USD", status.getCurrency());
+    }
+
+    @Test
+    void getTransferStatus_UnknownTransaction_ThrowsException() {
+        when(transactionRepository.findWithAccountsByTransactionId("TXN0")).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> transactionService.getTransferStatus("TXN0"));
+        assertEquals("Transaction not found: TXN0", exception.getMessage());
     }
 
     @Test
@@ -261,4 +600,9 @@ class TransactionServiceTest {
         assertEquals("Tech Corp", response.getToAccount().getCustomerName());
         assertEquals("business", response.getToAccount().getCustomerType());
     }
+
+    private static TransferAccountView view(Account account) {
+        return new TransferAccountView(account.getId(), account.getAccountNumber(), account.getCurrency(),
+            account.getStatus(), null, account.getCustomer().getId());
+    }
 }
@@ -0,0 +1,90 @@
+package com.example.bank_system.service;
+
+import com.example.bank_system.dto.TransactionApiResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferIdempotencyCacheTest {
+
+    private final TransferIdempotencyCache cache = new TransferIdempotencyCache();
+
+    @Test
+    void computeOnce_ConcurrentDuplicate_WaitsForFirstResult() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionApiResponse result = new TransactionApiResponse();
+        CompletableFuture<TransactionApiResponse> first = CompletableFuture.supplyAsync(() ->
+            cache.computeOnce("ACC1:KEY", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return result;
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<TransactionApiResponse> duplicate = CompletableFuture.supplyAsync(() ->
+            cache.computeOnce("ACC1:KEY", () -> {
+                executions.incrementAndGet();
+                return new TransactionApiResponse();
+            }));
+        release.countDown();
+
+        // Then
+        assertSame(result, first.get(5, TimeUnit.SECONDS));
+        assertSame(result, duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void computeOnce_FailedTransfer_ReleasesKey() {
+        // Given
+        assertThrows(RuntimeException.class, () -> cache.computeOnce("ACC1:KEY", () -> {
+            throw new RuntimeException("Insufficient balance");
+        }));
+
+        // When
+        TransactionApiResponse result = new TransactionApiResponse();
+        TransactionApiResponse retried = cache.computeOnce("ACC1:KEY", () -> result);
+
+        // Then
+        assertSame(result, retried);
+    }
+
+    @Test
+    void computeOnce_OverCapacity_EvictsLeastRecentlyUsed() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        cache.computeOnce("A", TransactionApiResponse::new);
+        cache.computeOnce("B", TransactionApiResponse::new);
+
+        // When
+        cache.computeOnce("C", TransactionApiResponse::new);
+
+        // Then
+        assertEquals(2, cache.size());
+        AtomicInteger executions = new AtomicInteger();
+        cache.computeOnce("A", () -> {
+            executions.incrementAndGet();
+            return new TransactionApiResponse();
+        });
+        assertEquals(1, executions.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
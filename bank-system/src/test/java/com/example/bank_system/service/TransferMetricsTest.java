@@ -0,0 +1,54 @@
+package com.example.bank_system.service;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferMetricsTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    private final TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
+    @Test
+    void timeKafkaSend_RecordsUntilAcknowledged() {
+        // Given
+        CompletableFuture<String> acked = new CompletableFuture<>();
+        CompletableFuture<String> failed = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> returned = transferMetrics.timeKafkaSend("transaction", "EUR", () -> acked);
+        transferMetrics.timeKafkaSend("transaction", "EUR", () -> failed);
+        clock.add(Duration.ofMillis(40));
+        acked.complete("offset 7");
+        failed.completeExceptionally(new IllegalStateException("broker down"));
+
+        // Then
+        assertSame(acked, returned);
+        assertEquals(40, meterRegistry.get("bank.kafka.send").tag("topic", "transaction").tag("currency", "EUR")
+            .tag("outcome", "success").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, meterRegistry.get("bank.kafka.send").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void time_UnknownCurrency_IsTaggedOther() {
+        // When
+        assertThrows(RuntimeException.class, () -> transferMetrics.time(TransferMetrics.Phase.VALIDATION, "XYZ", () -> {
+            throw new RuntimeException("Currency mismatch");
+        }));
+        transferMetrics.time(TransferMetrics.Phase.LOOKUP, null, () -> { });
+
+        // Then
+        assertEquals(1, meterRegistry.get("bank.transfer.phase").tag("phase", "validation").tag("currency", "other")
+            .tag("outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("bank.transfer.phase").tag("phase", "lookup").tag("currency", "other")
+            .tag("outcome", "success").timer().count());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bank_system.synthetic;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate HISTORY_END = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void generate_SameSeed_InsertsTheSameRows() {
+        // Given
+        SyntheticDataSpec spec = spec(7, 0.3);
+
+        // When
+        Map<String, List<Object[]>> first = generate(spec);
+        Map<String, List<Object[]>> second = generate(spec);
+        Map<String, List<Object[]>> otherSeed = generate(spec(8, 0.3));
+
+        // Then
+        assertEquals(first.keySet(), second.keySet());
+        for (String table : first.keySet()) {
+            assertEquals(first.get(table).size(), second.get(table).size());
+            for (int i = 0; i < first.get(table).size(); i++) {
+                assertArrayEquals(first.get(table).get(i), second.get(table).get(i), table + " row " + i);
+            }
+        }
+        assertNotEquals(first.get("customers").get(0)[3], otherSeed.get("customers").get(0)[3]);
+    }
+
+    @Test
+    void generate_TransactionsStayWithinACurrencyAndFavourHotMerchants() {
+        // When
+        Map<String, List<Object[]>> rows = generate(spec(11, 0.4));
+
+        // Then
+        assertEquals(2000, rows.get("customers").size());
+        Set<Object> customerTypes = new HashSet<>();
+        rows.get("customers").forEach(customer -> customerTypes.add(customer[1]));
+        assertEquals(Set.of("INDIVIDUAL", "BUSINESS", "VIP"), customerTypes);
+
+        Map<Object, Object> currencyByAccount = new HashMap<>();
+        rows.get("accounts").forEach(account -> currencyByAccount.put(account[0], account[4]));
+        assertEquals(Set.of("USD", "EUR", "ILS", "GBP", "JPY", "CAD"), new HashSet<>(currencyByAccount.values()));
+
+        List<Object[]> transactions = rows.get("transactions");
+        assertEquals(20_000, transactions.size());
+        Map<Object, Integer> paymentsByMerchant = new HashMap<>();
+        for (Object[] transaction : transactions) {
+            assertNotEquals(transaction[2], transaction[3]);
+            assertEquals(currencyByAccount.get(transaction[2]), currencyByAccount.get(transaction[3]));
+            if ("PAYMENT".equals(transaction[5])) {
+                paymentsByMerchant.merge(transaction[3], 1, Integer::sum);
+            }
+        }
+        int payments = paymentsByMerchant.values().stream().mapToInt(Integer::intValue).sum();
+        assertTrue(paymentsByMerchant.size() <= 50);
+        assertEquals(0.4, payments / (double) transactions.size(), 0.03);
+    }
+
+    private static SyntheticDataSpec spec(long seed, double hotMerchantShare) {
+        return new SyntheticDataSpec(seed, 2000, 0.12, 0.03, 3, 20_000, 365, HISTORY_END, 50, hotMerchantShare);
+    }
+
+    /** Runs the generator against mocks and returns the inserted rows per table, ordered by id. */
+    private static Map<String, List<Object[]>> generate(SyntheticDataSpec spec) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        Map<String, ConcurrentLinkedQueue<Object[]>> inserted = new ConcurrentHashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            String table = invocation.<String>getArgument(0).split(" ")[2];
+            inserted.computeIfAbsent(table, key -> new ConcurrentLinkedQueue<>())
+                .addAll(invocation.<List<Object[]>>getArgument(1));
+            return new int[0];
+        });
+        SequenceIdAllocator idAllocator = mock(SequenceIdAllocator.class);
+        Map<Class<?>, AtomicLong> sequences = new ConcurrentHashMap<>();
+        when(idAllocator.allocate(any(), anyInt())).thenAnswer(invocation -> {
+            AtomicLong sequence = sequences.computeIfAbsent(invocation.getArgument(0), key -> new AtomicLong());
+            long[] ids = new long[invocation.<Integer>getArgument(1)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = sequence.incrementAndGet();
+            }
+            return ids;
+        });
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), idAllocator);
+        ReflectionTestUtils.setField(generator, "batchSize", 700);
+        ReflectionTestUtils.setField(generator, "threads", 3);
+
+        SyntheticDataGenerator.Summary summary = generator.generate(spec);
+
+        assertEquals(spec.transactions(), summary.transactions());
+        Map<String, List<Object[]>> rows = new HashMap<>();
+        inserted.forEach((table, tableRows) -> {
+            List<Object[]> sorted = new ArrayList<>(tableRows);
+            sorted.sort(Comparator.comparingLong(row -> (Long) row[0]));
+            rows.put(table, sorted);
+        });
+        assertEquals(summary.accounts(), rows.get("accounts").size());
+        return rows;
+    }
+}
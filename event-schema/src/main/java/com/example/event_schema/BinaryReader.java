@@ -0,0 +1,55 @@
+package com.example.event_schema;
+
+import java.nio.charset.StandardCharsets;
+
+/** Reads what {@link BinaryWriter} wrote; truncated or malformed input fails with IllegalArgumentException. */
+final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + position);
+    }
+
+    long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        long length = readVarLong() - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.length - position) {
+            throw new IllegalArgumentException("String of " + length + " bytes exceeds the record at offset " + position);
+        }
+        String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        return value;
+    }
+
+    boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    private byte readByte() {
+        if (position >= buffer.length) {
+            throw new IllegalArgumentException("Record truncated at offset " + position);
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.event_schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/** Appends varints and length-prefixed strings to a growing byte array. */
+final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    BinaryWriter(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    /** Unsigned LEB128: seven bits per byte, low bits first. */
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /** Zigzag-encoded, so small negative values stay short too. */
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /** Length plus one, then UTF-8; a length of zero is null. */
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.event_schema;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * How a Kafka record's value is encoded, carried in the {@value #HEADER} record header. Records
+ * without the header are JSON, so consumers that understand both can be deployed before producers
+ * switch to {@link #BINARY}.
+ */
+public enum EventEncoding {
+
+    /** Jackson JSON, as written by Spring's {@code JsonSerializer}. */
+    JSON,
+    /** {@link TransactionEventCodec}; the value starts with its schema id. */
+    BINARY;
+
+    public static final String HEADER = "event-encoding";
+
+    private final byte[] headerValue = name().toLowerCase().getBytes(StandardCharsets.US_ASCII);
+
+    public byte[] headerValue() {
+        return headerValue.clone();
+    }
+
+    /** The encoding a header value names; a missing header means JSON. */
+    public static EventEncoding fromHeader(byte[] value) {
+        if (value == null) {
+            return JSON;
+        }
+        return of(new String(value, StandardCharsets.US_ASCII));
+    }
+
+    /** Parses {@code json} or {@code binary}, case-insensitively. */
+    public static EventEncoding of(String name) {
+        for (EventEncoding encoding : values()) {
+            if (encoding.name().equalsIgnoreCase(name)) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unknown event encoding: " + name);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.event_schema;
+
+/**
+ * Compact binary encoding of {@link TransactionEventRecord}.
+ *
+ * <p>A record starts with its schema id as a varint, followed by the fields in declaration order:
+ * longs as zigzag varints, strings as a varint length (plus one, zero for null) and UTF-8 bytes.
+ * Nullable longs are preceded by a bit mask saying which are present, so an absent value costs one
+ * bit. A typical transfer event takes about a quarter of its JSON size.
+ *
+ * <p>A layout change gets a new schema id; {@link #decode} rejects ids it does not know, so
+ * consumers must be upgraded before producers write a new one.
+ */
+public final class TransactionEventCodec {
+
+    /** Schema id of the layout described above. */
+    public static final int SCHEMA_V1 = 1;
+
+    private static final int TIMESTAMP = 1;
+    private static final int TRANSACTION_ID = 1 << 1;
+
+    private static final int PARTY_PRESENT = 1;
+    private static final int ACCOUNT_ID = 1 << 1;
+    private static final int BALANCE_BEFORE = 1 << 2;
+    private static final int BALANCE_AFTER = 1 << 3;
+    private static final int CUSTOMER_ID = 1 << 4;
+
+    private TransactionEventCodec() {
+    }
+
+    public static byte[] encode(TransactionEventRecord event) {
+        BinaryWriter writer = new BinaryWriter(160);
+        writer.writeVarLong(SCHEMA_V1);
+        writer.writeVarLong((event.timestampMicros() != null ? TIMESTAMP : 0)
+            | (event.transactionId() != null ? TRANSACTION_ID : 0));
+        writer.writeString(event.eventType());
+        if (event.timestampMicros() != null) {
+            writer.writeSignedVarLong(event.timestampMicros());
+        }
+        if (event.transactionId() != null) {
+            writer.writeSignedVarLong(event.transactionId());
+        }
+        writeParty(writer, event.fromAccount());
+        writeParty(writer, event.toAccount());
+        writer.writeSignedVarLong(event.amountMinor());
+        writer.writeVarLong(event.minorUnits());
+        writer.writeString(event.currency());
+        writer.writeString(event.description());
+        writer.writeString(event.processedBy());
+        writer.writeString(event.source());
+        return writer.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the schema id is unknown or the record is malformed
+     */
+    public static TransactionEventRecord decode(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        long schemaId = reader.readVarLong();
+        if (schemaId != SCHEMA_V1) {
+            throw new IllegalArgumentException("Unknown transaction event schema id: " + schemaId);
+        }
+        long present = reader.readVarLong();
+        String eventType = reader.readString();
+        Long timestampMicros = (present & TIMESTAMP) != 0 ? reader.readSignedVarLong() : null;
+        Long transactionId = (present & TRANSACTION_ID) != 0 ? reader.readSignedVarLong() : null;
+        TransactionEventRecord.Party fromAccount = readParty(reader);
+        TransactionEventRecord.Party toAccount = readParty(reader);
+        long amountMinor = reader.readSignedVarLong();
+        int minorUnits = (int) reader.readVarLong();
+        TransactionEventRecord event = new TransactionEventRecord(eventType, timestampMicros, transactionId,
+            fromAccount, toAccount, amountMinor, minorUnits, reader.readString(), reader.readString(),
+            reader.readString(), reader.readString());
+        if (reader.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected bytes after the end of the record");
+        }
+        return event;
+    }
+
+    private static void writeParty(BinaryWriter writer, TransactionEventRecord.Party party) {
+        if (party == null) {
+            writer.writeVarLong(0);
+            return;
+        }
+        writer.writeVarLong(PARTY_PRESENT
+            | (party.accountId() != null ? ACCOUNT_ID : 0)
+            | (party.balanceBeforeMinor() != null ? BALANCE_BEFORE : 0)
+            | (party.balanceAfterMinor() != null ? BALANCE_AFTER : 0)
+            | (party.customerId() != null ? CUSTOMER_ID : 0));
+        writeIfPresent(writer, party.accountId());
+        writeIfPresent(writer, party.balanceBeforeMinor());
+        writeIfPresent(writer, party.balanceAfterMinor());
+        writeIfPresent(writer, party.customerId());
+        writer.writeString(party.customerName());
+        writer.writeString(party.customerType());
+        writer.writeString(party.personalId());
+        writer.writeString(party.businessNumber());
+    }
+
+    private static TransactionEventRecord.Party readParty(BinaryReader reader) {
+        long present = reader.readVarLong();
+        if ((present & PARTY_PRESENT) == 0) {
+            return null;
+        }
+        Long accountId = (present & ACCOUNT_ID) != 0 ? reader.readSignedVarLong() : null;
+        Long balanceBefore = (present & BALANCE_BEFORE) != 0 ? reader.readSignedVarLong() : null;
+        Long balanceAfter = (present & BALANCE_AFTER) != 0 ? reader.readSignedVarLong() : null;
+        Long customerId = (present & CUSTOMER_ID) != 0 ? reader.readSignedVarLong() : null;
+        return new TransactionEventRecord.Party(accountId, balanceBefore, balanceAfter, customerId,
+            reader.readString(), reader.readString(), reader.readString(), reader.readString());
+    }
+
+    private static void writeIfPresent(BinaryWriter writer, Long value) {
+        if (value != null) {
+            writer.writeSignedVarLong(value);
+        }
+    }
+}
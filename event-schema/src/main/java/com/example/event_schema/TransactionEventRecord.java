@@ -0,0 +1,32 @@
+package com.example.event_schema;
+
+/**
+ * A transaction event as it goes over the wire, independent of either application's model. Amounts
+ * and balances are whole numbers of the currency's minor units ({@code minorUnits} decimal places);
+ * the timestamp is microseconds since the epoch, UTC. Any field may be null except the amount.
+ */
+public record TransactionEventRecord(
+    String eventType,
+    Long timestampMicros,
+    Long transactionId,
+    Party fromAccount,
+    Party toAccount,
+    long amountMinor,
+    int minorUnits,
+    String currency,
+    String description,
+    String processedBy,
+    String source) {
+
+    /** One side of the transfer: the account, its balance around the transfer and its customer. */
+    public record Party(
+        Long accountId,
+        Long balanceBeforeMinor,
+        Long balanceAfterMinor,
+        Long customerId,
+        String customerName,
+        String customerType,
+        String personalId,
+        String businessNumber) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.event_schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionEventCodecTest {
+
+    @Test
+    void encode_DecodesToTheSameRecord() {
+        // Given
+        TransactionEventRecord event = new TransactionEventRecord("transaction", 1_736_937_045_123_456L,
+            1_234_567L,
+            new TransactionEventRecord.Party(2001L, 1_500_000L, 1_374_925L, 1001L,
+                "John Doe", "individual", "123456789", null),
+            new TransactionEventRecord.Party(2002L, 25_000_000L, 25_125_075L, 1002L,
+                "Tech Corp Ltd", "business", null, "BRN123456"),
+            125_075L, 2, "USD", "Invoice 2025-0142 — paid", "bank-system", "api");
+
+        // When
+        byte[] encoded = TransactionEventCodec.encode(event);
+
+        // Then
+        assertEquals(event, TransactionEventCodec.decode(encoded));
+        assertEquals(TransactionEventCodec.SCHEMA_V1, encoded[0]);
+        assertTrue(encoded.length < 200, "encoded size " + encoded.length);
+    }
+
+    @Test
+    void encode_NullsAndNegativeValues_RoundTrip() {
+        // Given
+        TransactionEventRecord event = new TransactionEventRecord(null, -1L, null,
+            new TransactionEventRecord.Party(null, null, -250L, null, null, null, null, null),
+            null, Long.MIN_VALUE, 0, "JPY", "", null, null);
+
+        // When
+        TransactionEventRecord decoded = TransactionEventCodec.decode(TransactionEventCodec.encode(event));
+
+        // Then
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void decode_UnknownSchemaOrTruncatedRecord_Throws() {
+        // Given
+        byte[] encoded = TransactionEventCodec.encode(new TransactionEventRecord("transaction", 1L, 2L, null, null,
+            300L, 2, "EUR", "Rent", null, null));
+        byte[] otherSchema = encoded.clone();
+        otherSchema[0] = 2;
+
+        // When & Then
+        assertEquals("Unknown transaction event schema id: 2",
+            assertThrows(IllegalArgumentException.class, () -> TransactionEventCodec.decode(otherSchema)).getMessage());
+        assertThrows(IllegalArgumentException.class,
+            () -> TransactionEventCodec.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(IllegalArgumentException.class,
+            () -> TransactionEventCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+
+    @Test
+    void fromHeader_MissingHeaderIsJson() {
+        assertEquals(EventEncoding.JSON, EventEncoding.fromHeader(null));
+        assertEquals(EventEncoding.BINARY, EventEncoding.fromHeader(EventEncoding.BINARY.headerValue()));
+        assertThrows(IllegalArgumentException.class, () -> EventEncoding.of("avro"));
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -47,9 +46,9 @@ public class KafkaConfig {
 
         // Configure the actual deserializers
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, TransactionEventDeserializer.class);
 
-        // Configure JsonDeserializer to ignore type headers and use our target type
+        // Configure the JSON fallback to ignore type headers and use our target type
         configProps.put("spring.json.use.type.headers", "false");
         configProps.put("spring.json.value.default.type", TransactionEvent.class.getName());
         configProps.put("spring.json.trusted.packages", "*");
@@ -0,0 +1,109 @@
+package com.example.transaction_analysis.config;
+
+import com.example.event_schema.EventEncoding;
+import com.example.event_schema.TransactionEventCodec;
+import com.example.event_schema.TransactionEventRecord;
+import com.example.transaction_analysis.model.Account;
+import com.example.transaction_analysis.model.Customer;
+import com.example.transaction_analysis.model.TransactionEvent;
+import com.example.transaction_analysis.model.TransactionMetadata;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Kafka value deserializer for transaction events. Records carrying the {@link EventEncoding#HEADER}
+ * header with value {@code binary} are decoded with {@link TransactionEventCodec}; records without it
+ * are JSON and go to Spring's {@link JsonDeserializer}, configured from the same consumer properties.
+ */
+public class TransactionEventDeserializer implements Deserializer<TransactionEvent> {
+
+    private final JsonDeserializer<TransactionEvent> json = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public TransactionEvent deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public TransactionEvent deserialize(String topic, Headers headers, byte[] data) {
+        Header header = headers.lastHeader(EventEncoding.HEADER);
+        if (EventEncoding.fromHeader(header != null ? header.value() : null) != EventEncoding.BINARY) {
+            return json.deserialize(topic, headers, data);
+        }
+        if (data == null) {
+            return null;
+        }
+        try {
+            return toEvent(TransactionEventCodec.decode(data));
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Can't decode binary transaction event from topic " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+
+    static TransactionEvent toEvent(TransactionEventRecord record) {
+        int minorUnits = record.minorUnits();
+        TransactionEvent event = new TransactionEvent();
+        event.setEventType(record.eventType());
+        if (record.timestampMicros() != null) {
+            long micros = record.timestampMicros();
+            event.setTimestamp(Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                    Math.floorMod(micros, 1_000_000) * 1_000L));
+        }
+        event.setTransactionId(record.transactionId());
+        event.setFromAccount(toAccount(record.fromAccount(), minorUnits));
+        event.setToAccount(toAccount(record.toAccount(), minorUnits));
+        event.setAmount(BigDecimal.valueOf(record.amountMinor(), minorUnits));
+        event.setAmountMinor(record.amountMinor());
+        event.setMinorUnits(minorUnits);
+        event.setCurrency(record.currency());
+        event.setDescription(record.description());
+        if (record.processedBy() != null || record.source() != null) {
+            TransactionMetadata metadata = new TransactionMetadata();
+            metadata.setProcessedBy(record.processedBy());
+            metadata.setSource(record.source());
+            event.setMetadata(metadata);
+        }
+        return event;
+    }
+
+    private static Account toAccount(TransactionEventRecord.Party party, int minorUnits) {
+        if (party == null) {
+            return null;
+        }
+        Account account = new Account();
+        account.setId(party.accountId());
+        account.setBalanceBefore(decimal(party.balanceBeforeMinor(), minorUnits));
+        account.setBalanceAfter(decimal(party.balanceAfterMinor(), minorUnits));
+        if (party.customerId() != null || party.customerName() != null) {
+            Customer customer = new Customer();
+            customer.setId(party.customerId());
+            customer.setName(party.customerName());
+            customer.setType(party.customerType());
+            customer.setPersonalId(party.personalId());
+            customer.setBusinessNumber(party.businessNumber());
+            account.setCustomer(customer);
+        }
+        return account;
+    }
+
+    private static BigDecimal decimal(Long minor, int minorUnits) {
+        return minor != null ? BigDecimal.valueOf(minor, minorUnits) : null;
+    }
+}
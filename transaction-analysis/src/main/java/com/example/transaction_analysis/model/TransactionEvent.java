@@ -22,6 +22,15 @@ public class TransactionEvent {
     private Account toAccount;
 
     private BigDecimal amount;
+
+    /** {@code amount} in the currency's minor units; absent in events from older producers. */
+    @JsonProperty("amountMinor")
+    private Long amountMinor;
+
+    /** Decimal places of the currency's minor unit. */
+    @JsonProperty("minorUnits")
+    private Integer minorUnits;
+
     private String currency;
     private String description;
     private TransactionMetadata metadata;
@@ -5,14 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-
 @Service
 @Slf4j
 public class TransactionConsumerService {
 
-    private static final BigDecimal LARGE_TRANSACTION_THRESHOLD = new BigDecimal("10000.00");
-    private static final BigDecimal SUSPICIOUS_AMOUNT_THRESHOLD = new BigDecimal("50000.00");
+    // Thresholds in whole currency units, compared against the amount in minor units
+    private static final long LARGE_TRANSACTION_THRESHOLD = 10_000;
+    private static final long SUSPICIOUS_AMOUNT_THRESHOLD = 50_000;
+    private static final long BUSINESS_TO_INDIVIDUAL_THRESHOLD = 5_000;
+    private static final long STRUCTURING_THRESHOLD = 5_000;
+    private static final long ROUND_AMOUNT = 1_000;
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
 
     @KafkaListener(topics = "transaction", groupId = "transaction-analysis-group")
     public void consumeTransactionEvent(TransactionEvent event) {
@@ -44,20 +47,23 @@ public class TransactionConsumerService {
     }
 
     private void checkForAnomalies(TransactionEvent event) {
+        long amountMinor = amountMinor(event);
+        long unit = POWERS_OF_TEN[minorUnits(event)];
+
         // Check for large transactions
-        if (event.getAmount().compareTo(LARGE_TRANSACTION_THRESHOLD) >= 0) {
+        if (amountMinor >= LARGE_TRANSACTION_THRESHOLD * unit) {
             log.warn("🚨 ANOMALY DETECTED: Large transaction detected - Amount: {} {}",
                     event.getAmount(), event.getCurrency());
         }
 
         // Check for suspicious amounts
-        if (event.getAmount().compareTo(SUSPICIOUS_AMOUNT_THRESHOLD) >= 0) {
+        if (amountMinor >= SUSPICIOUS_AMOUNT_THRESHOLD * unit) {
             log.error("🚨 HIGH RISK ANOMALY: Suspicious large amount - Amount: {} {}",
                     event.getAmount(), event.getCurrency());
         }
 
         // Check for negative balance after transaction
-        if (event.getFromAccount().getBalanceAfter().compareTo(BigDecimal.ZERO) < 0) {
+        if (event.getFromAccount().getBalanceAfter().signum() < 0) {
             log.warn("🚨 ANOMALY DETECTED: Negative balance after transaction - Account: {}, Balance: {}",
                     event.getFromAccount().getId(), event.getFromAccount().getBalanceAfter());
         }
@@ -65,14 +71,13 @@ public class TransactionConsumerService {
         // Check for business to individual large transfers
         if ("business".equals(event.getFromAccount().getCustomer().getType()) &&
             "individual".equals(event.getToAccount().getCustomer().getType()) &&
-            event.getAmount().compareTo(new BigDecimal("5000.00")) >= 0) {
+            amountMinor >= BUSINESS_TO_INDIVIDUAL_THRESHOLD * unit) {
             log.warn("🚨 ANOMALY DETECTED: Large business-to-individual transfer - Amount: {} {}",
                     event.getAmount(), event.getCurrency());
         }
 
         // Check for round number transactions (potential money laundering pattern)
-        if (event.getAmount().remainder(new BigDecimal("1000.00")).equals(BigDecimal.ZERO) &&
-            event.getAmount().compareTo(new BigDecimal("5000.00")) >= 0) {
+        if (amountMinor % (ROUND_AMOUNT * unit) == 0 && amountMinor >= STRUCTURING_THRESHOLD * unit) {
             log.warn("🚨 ANOMALY DETECTED: Round number large transaction (potential structuring) - Amount: {} {}",
                     event.getAmount(), event.getCurrency());
         }
@@ -83,4 +88,19 @@ public class TransactionConsumerService {
             log.info("ℹ️ API-initiated transaction detected");
         }
     }
+
+    private static long amountMinor(TransactionEvent event) {
+        if (event.getAmountMinor() != null && event.getMinorUnits() != null) {
+            return event.getAmountMinor();
+        }
+        return event.getAmount().movePointRight(minorUnits(event)).longValue();
+    }
+
+    /** Decimal places of the event's amount, from the event or, for older events, from the amount itself. */
+    private static int minorUnits(TransactionEvent event) {
+        if (event.getAmountMinor() != null && event.getMinorUnits() != null) {
+            return event.getMinorUnits();
+        }
+        return Math.min(Math.max(event.getAmount().scale(), 0), POWERS_OF_TEN.length - 1);
+    }
 }
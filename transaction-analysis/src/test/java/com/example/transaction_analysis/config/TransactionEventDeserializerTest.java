@@ -0,0 +1,85 @@
+package com.example.transaction_analysis.config;
+
+import com.example.event_schema.EventEncoding;
+import com.example.event_schema.TransactionEventCodec;
+import com.example.event_schema.TransactionEventRecord;
+import com.example.transaction_analysis.model.TransactionEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionEventDeserializerTest {
+
+    private TransactionEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        deserializer = new TransactionEventDeserializer();
+        deserializer.configure(Map.of(
+                "spring.json.use.type.headers", "false",
+                "spring.json.value.default.type", TransactionEvent.class.getName(),
+                "spring.json.trusted.packages", "*"), false);
+    }
+
+    @Test
+    void deserialize_BinaryHeader_DecodesCodecRecord() {
+        // Given
+        byte[] data = TransactionEventCodec.encode(new TransactionEventRecord("transaction",
+                1_736_937_045_123_456L, 3001L,
+                new TransactionEventRecord.Party(2001L, 1_500_000L, 1_374_925L, 1001L,
+                        "John Doe", "individual", "123456789", null),
+                new TransactionEventRecord.Party(2002L, 25_000_000L, 25_125_075L, 1002L,
+                        "Tech Corp Ltd", "business", null, "BRN123456"),
+                125_075L, 2, "USD", "Invoice 2025-0142 payment", "bank-system", "api"));
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(EventEncoding.HEADER, EventEncoding.BINARY.headerValue());
+
+        // When
+        TransactionEvent event = deserializer.deserialize("transaction", headers, data);
+
+        // Then
+        assertEquals(Instant.parse("2025-01-15T10:30:45.123456Z"), event.getTimestamp());
+        assertEquals(new BigDecimal("1250.75"), event.getAmount());
+        assertEquals(125_075L, event.getAmountMinor());
+        assertEquals(new BigDecimal("13749.25"), event.getFromAccount().getBalanceAfter());
+        assertEquals("John Doe", event.getFromAccount().getCustomer().getName());
+        assertEquals("BRN123456", event.getToAccount().getCustomer().getBusinessNumber());
+        assertEquals("api", event.getMetadata().getSource());
+    }
+
+    @Test
+    void deserialize_NoHeader_ReadsJson() {
+        // Given
+        byte[] data = """
+                {"eventType":"transaction","timestamp":"2025-01-15T10:30:45.123Z","transactionId":3001,
+                 "amount":1250.75,"amountMinor":125075,"minorUnits":2,"currency":"USD"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        TransactionEvent event = deserializer.deserialize("transaction", new RecordHeaders(), data);
+
+        // Then
+        assertEquals(3001L, event.getTransactionId());
+        assertEquals(Instant.parse("2025-01-15T10:30:45.123Z"), event.getTimestamp());
+        assertEquals(new BigDecimal("1250.75"), event.getAmount());
+    }
+
+    @Test
+    void deserialize_MalformedBinaryRecord_ThrowsSerializationException() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(EventEncoding.HEADER, EventEncoding.BINARY.headerValue());
+
+        // When & Then
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("transaction", headers, new byte[]{9, 0}));
+    }
+}